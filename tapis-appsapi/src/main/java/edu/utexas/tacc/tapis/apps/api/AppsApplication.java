@@ -15,6 +15,7 @@ import edu.utexas.tacc.tapis.apps.api.resources.AppResource;
 import edu.utexas.tacc.tapis.apps.api.resources.GeneralResource;
 import edu.utexas.tacc.tapis.apps.api.resources.PermsResource;
 import edu.utexas.tacc.tapis.apps.api.resources.ShareResource;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator;
 import edu.utexas.tacc.tapis.shared.security.ServiceClients;
 import edu.utexas.tacc.tapis.shared.security.ServiceContext;
 import edu.utexas.tacc.tapis.shared.security.TenantManager;
@@ -111,6 +112,10 @@ public class AppsApplication extends ResourceConfig
       // Set admin tenant also, needed when building a client for calling other services (such as SK) as ourselves.
       siteAdminTenantId = TenantManager.getInstance(url).getSiteAdminTenantId(siteId);
 
+      // Load and compile the json schemas used to validate request bodies.
+      System.out.println("Loading request json schemas");
+      RequestValidator.init();
+
       // Initialize bindings for HK2 dependency injection
       register(new AbstractBinder() {
         @Override
@@ -178,9 +183,9 @@ public class AppsApplication extends ResourceConfig
    */
   private static class ServiceShutdown extends Thread
   {
-    private final AppsService svc;
+    private final AppsServiceImpl svc;
 
-    ServiceShutdown(AppsService svc1) {
+    ServiceShutdown(AppsServiceImpl svc1) {
       svc = svc1;
     }
 
@@ -189,7 +194,7 @@ public class AppsApplication extends ResourceConfig
     {
       System.out.printf("**** Stopping Applications Service. Version: %s ****%n", TapisUtils.getTapisFullVersion());
       // Perform any remaining shutdown steps
-//      svc.shutDown();
+      svc.shutDown();
     }
   }
 }
@@ -72,7 +72,8 @@ public final class JobAttributes
     isMpi = a.getIsMpi();
     mpiCmd = a.getMpiCmd();
     cmdPrefix = a.getCmdPrefix();
-    parameterSet = new ParameterSet(a.getParameterSet());
+    // ParameterSet is not set when jobAttributes was not fetched, e.g. for a summary listing
+    parameterSet = (a.getParameterSet() == null) ? null : new ParameterSet(a.getParameterSet());
     fileInputs = a.getFileInputs();
     fileInputArrays = a.getFileInputArrays();
     nodeCount = a.getNodeCount();
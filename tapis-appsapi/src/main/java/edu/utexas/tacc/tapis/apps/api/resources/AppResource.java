@@ -1,10 +1,17 @@
 package edu.utexas.tacc.tapis.apps.api.resources;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.servlet.ServletContext;
 import javax.ws.rs.BadRequestException;
@@ -24,11 +31,15 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import edu.utexas.tacc.tapis.apps.model.*;
@@ -37,6 +48,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.glassfish.grizzly.http.server.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 
@@ -54,8 +68,6 @@ import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidator;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidatorSpec;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadLocal;
 import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
@@ -70,7 +82,15 @@ import edu.utexas.tacc.tapis.apps.api.requests.ReqPutApp;
 import edu.utexas.tacc.tapis.apps.api.responses.RespApp;
 import edu.utexas.tacc.tapis.apps.api.responses.RespAppHistory;
 import edu.utexas.tacc.tapis.apps.api.responses.RespApps;
+import edu.utexas.tacc.tapis.apps.api.responses.RespAppsBulk;
+import edu.utexas.tacc.tapis.apps.api.responses.RespCachedApp;
+import edu.utexas.tacc.tapis.apps.api.responses.results.AppsListMetadata;
+import edu.utexas.tacc.tapis.apps.api.responses.results.ResultAppCreate;
+import edu.utexas.tacc.tapis.apps.api.responses.results.TapisAppDTO;
 import edu.utexas.tacc.tapis.apps.api.utils.ApiUtils;
+import edu.utexas.tacc.tapis.apps.api.utils.AppResponseCache;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
 import edu.utexas.tacc.tapis.apps.service.AppsService;
 
 import static edu.utexas.tacc.tapis.apps.model.App.*;
@@ -95,12 +115,6 @@ public class AppResource
 
   private static final String APPLICATIONS_SVC = StringUtils.capitalize(TapisConstants.SERVICE_NAME_APPS);
 
-  // Json schema resource files.
-  private static final String FILE_APP_CREATE_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/AppPostRequest.json";
-  private static final String FILE_APP_PUT_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/AppPutRequest.json";
-  private static final String FILE_APP_UPDATE_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/AppPatchRequest.json";
-  private static final String FILE_APP_SEARCH_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/AppSearchRequest.json";
-
   // Message keys
   private static final String INVALID_JSON_INPUT = "NET_INVALID_JSON_INPUT";
   private static final String JSON_VALIDATION_ERR = "TAPIS_JSON_VALIDATION_ERROR";
@@ -116,6 +130,20 @@ public class AppResource
   // Format strings
   private static final String APPS_CNT_STR = "%d applications";
 
+  // Query parameter for cursor based paging. Not a search condition.
+  private static final String CURSOR_PARM = "cursor";
+
+  // Media type for streaming a listing of apps, one app per line
+  private static final String APPLICATION_NDJSON = "application/x-ndjson";
+  private static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+
+  // Maximum number of apps in a bulk create request
+  private static final int MAX_BULK_CREATE = 1000;
+  private static final String BULK_PATH = "/bulk";
+
+  // Most history items allowed in a page when a limit is given
+  private static final int MAX_HISTORY_LIMIT = 1000;
+
   // Operation names
   private static final String OP_ENABLE = "enableApp";
   private static final String OP_DISABLE = "disableApp";
@@ -202,9 +230,8 @@ public class AppResource
       _log.error(msg, e);
       throw new BadRequestException(msg);
     }
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, FILE_APP_CREATE_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.APP_CREATE, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -212,8 +239,10 @@ public class AppResource
       throw new BadRequestException(msg);
     }
     // ------------------------- Create an App from the json and validate constraints -------------------------
+    // Parse once, the tree is used for binding and for checking which attributes are present.
+    JsonObject topObj = parseRequestObject(rawJson, opName);
     ReqPostApp req;
-    try { req = TapisGsonUtils.getGson().fromJson(rawJson, ReqPostApp.class); }
+    try { req = TapisGsonUtils.getGson().fromJson(topObj, ReqPostApp.class); }
     catch (JsonSyntaxException e)
     {
       msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, e.getMessage());
@@ -229,7 +258,7 @@ public class AppResource
     }
 
     // Create an app from the request
-    App app = createAppFromPostRequest(rUser.getOboTenantId(), req, rawJson);
+    App app = createAppFromPostRequest(rUser.getOboTenantId(), req, topObj);
 
     // So far no need to scrub out secrets, so scrubbed and raw are the same.
     String scrubbedJson = rawJson;
@@ -300,6 +329,169 @@ public class AppResource
     return createSuccessResponse(Status.CREATED, ApiUtils.getMsgAuth("APPAPI_CREATED", rUser, appId), resp1);
   }
 
+  /**
+   * Create apps in bulk
+   * Request body is a JSON array where each element is a create request as for createApp.
+   * Each app is reported separately with the status it would have received from createApp, so the response
+   *   status is 200 unless the request as a whole is invalid.
+   * @param payloadStream - request body
+   * @param securityContext - user identity
+   * @return response containing the outcome for each app
+   */
+  @POST
+  @Path("bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response createApps(InputStream payloadStream,
+                             @Context SecurityContext securityContext) throws TapisClientException
+  {
+    String opName = "createApps";
+    // ------------------------- Retrieve and validate thread context -------------------------
+    TapisThreadContext threadContext = TapisThreadLocal.tapisThreadContext.get();
+    // Check that we have all we need from the context, the jwtTenantId and jwtUserId
+    // Utility method returns null if all OK and appropriate error response if there was a problem.
+    Response resp = ApiUtils.checkContext(threadContext, PRETTY);
+    if (resp != null) return resp;
+
+    // Create a user that collects together tenant, user and request information needed by the service call
+    ResourceRequestUser rUser = new ResourceRequestUser((AuthenticatedUser) securityContext.getUserPrincipal());
+
+    // Trace this request.
+    if (_log.isTraceEnabled()) ApiUtils.logRequest(rUser, className, opName, _request.getRequestURL().toString());
+
+    // ------------------------- Extract and validate payload -------------------------
+    // Read the payload into a string.
+    String rawJson;
+    String msg;
+    try { rawJson = IOUtils.toString(payloadStream, StandardCharsets.UTF_8); }
+    catch (Exception e)
+    {
+      msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName , e.getMessage());
+      _log.error(msg, e);
+      throw new BadRequestException(msg);
+    }
+    // Payload must be an array of create requests
+    JsonElement payload;
+    try { payload = TapisGsonUtils.getGson().fromJson(rawJson, JsonElement.class); }
+    catch (JsonSyntaxException e)
+    {
+      msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, e.getMessage());
+      _log.error(msg, e);
+      throw new BadRequestException(msg);
+    }
+    if (payload == null || !payload.isJsonArray())
+    {
+      msg = ApiUtils.getMsgAuth("APPAPI_BULK_NOT_ARRAY", rUser);
+      _log.error(msg);
+      throw new BadRequestException(msg);
+    }
+    JsonArray reqArray = payload.getAsJsonArray();
+    if (reqArray.size() > MAX_BULK_CREATE)
+    {
+      msg = ApiUtils.getMsgAuth("APPAPI_BULK_TOO_MANY", rUser, reqArray.size(), MAX_BULK_CREATE);
+      _log.error(msg);
+      throw new BadRequestException(msg);
+    }
+
+    // ------------------------- Create an App from each element -------------------------
+    // Elements that fail validation against the schema are reported and skipped.
+    var results = new ResultAppCreate[reqArray.size()];
+    var apps = new ArrayList<App>();
+    var rawDataList = new ArrayList<String>();
+    var appIdx = new ArrayList<Integer>();
+    for (int i = 0; i < reqArray.size(); i++)
+    {
+      JsonElement item = reqArray.get(i);
+      String itemJson = item.toString();
+      ReqPostApp req = null;
+      String errMsg = null;
+      try
+      {
+        RequestValidator.validate(RequestType.APP_CREATE, itemJson);
+        // The element is already parsed as part of the payload, bind directly from it.
+        if (item.isJsonObject()) req = TapisGsonUtils.getGson().fromJson(item, ReqPostApp.class);
+      }
+      catch (TapisJSONException e) { errMsg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage()); }
+      catch (JsonSyntaxException e) { errMsg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, e.getMessage()); }
+      if (errMsg == null && req == null) errMsg = ApiUtils.getMsgAuth(CREATE_ERR, rUser, "N/A", "ReqPostApp == null");
+      if (errMsg != null)
+      {
+        _log.warn(errMsg);
+        results[i] = newBulkResult(null, null, Status.BAD_REQUEST, errMsg, null);
+        continue;
+      }
+      // So far no need to scrub out secrets, so scrubbed and raw are the same.
+      apps.add(createAppFromPostRequest(rUser.getOboTenantId(), req, item.getAsJsonObject()));
+      rawDataList.add(itemJson);
+      appIdx.add(i);
+    }
+
+    // ---------------------------- Make service call to create the apps -------------------------------
+    List<AppCreateResult> createResults;
+    try
+    {
+      createResults = service.createApps(rUser, apps, rawDataList);
+    }
+    catch (IllegalArgumentException e)
+    {
+      // IllegalArgumentException indicates somehow a bad argument made it this far
+      msg = ApiUtils.getMsgAuth(CREATE_ERR, rUser, "N/A", e.getMessage());
+      _log.error(msg);
+      throw new BadRequestException(msg);
+    }
+    // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
+    catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
+    // As final fallback
+    catch (Exception e)
+    {
+      msg = ApiUtils.getMsgAuth(CREATE_ERR, rUser, "N/A", e.getMessage());
+      _log.error(msg, e);
+      throw new WebApplicationException(msg);
+    }
+
+    // ---------------------------- Success -------------------------------
+    // Map each outcome to the status and message a single create would have returned.
+    String baseUrl = StringUtils.removeEnd(_request.getRequestURL().toString(), BULK_PATH);
+    int numCreated = 0;
+    for (int j = 0; j < appIdx.size(); j++)
+    {
+      AppCreateResult r = createResults.get(j);
+      String appId = r.getId();
+      String appVersion = r.getVersion();
+      ResultAppCreate result;
+      switch (r.getOutcome())
+      {
+        case CREATED ->
+        {
+          numCreated++;
+          result = newBulkResult(appId, appVersion, Status.CREATED,
+                                 ApiUtils.getMsgAuth("APPAPI_CREATED", rUser, appId), baseUrl + "/" + appId);
+        }
+        case EXISTS -> result = newBulkResult(appId, appVersion, Status.CONFLICT,
+                                              ApiUtils.getMsgAuth("APPAPI_APP_EXISTS", rUser, appId, appVersion), null);
+        case INVALID ->
+        {
+          if (r.getMessage().contains("APPLIB_CREATE_RESERVED"))
+            result = newBulkResult(appId, appVersion, Status.CONFLICT,
+                                   ApiUtils.getMsgAuth("APPAPI_CREATE_RESERVED", rUser, appId), null);
+          else if (r.getMessage().contains("APPLIB_CREATE_VER_RESERVED"))
+            result = newBulkResult(appId, appVersion, Status.CONFLICT,
+                                   ApiUtils.getMsgAuth("APPAPI_CREATE_VER_RESERVED", rUser, appId, appVersion), null);
+          else
+            result = newBulkResult(appId, appVersion, Status.BAD_REQUEST,
+                                   ApiUtils.getMsgAuth(CREATE_ERR, rUser, appId, r.getMessage()), null);
+        }
+        case FORBIDDEN -> result = newBulkResult(appId, appVersion, Status.FORBIDDEN, r.getMessage(), null);
+        default -> result = newBulkResult(appId, appVersion, Status.INTERNAL_SERVER_ERROR,
+                                          ApiUtils.getMsgAuth(CREATE_ERR, rUser, appId, r.getMessage()), null);
+      }
+      results[appIdx.get(j)] = result;
+    }
+    RespAppsBulk resp1 = new RespAppsBulk(Arrays.asList(results));
+    return createSuccessResponse(Status.OK, ApiUtils.getMsgAuth("APPAPI_BULK_CREATED", rUser, results.length,
+                                                                numCreated), resp1);
+  }
+
   /**
    * Update selected attributes of an app
    * @param appId - id of the app
@@ -344,9 +536,8 @@ public class AppResource
       throw new BadRequestException(msg);
     }
 
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, FILE_APP_UPDATE_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.APP_PATCH, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -355,13 +546,13 @@ public class AppResource
     }
 
     // ------------------------- Create a PatchApp from the json -------------------------
+    // Parse once, the tree is used for binding and for checking which attributes are present.
+    JsonObject topObj = parseRequestObject(rawJson, opName);
     PatchApp patchApp;
     try
     {
-      patchApp = TapisGsonUtils.getGson().fromJson(rawJson, PatchApp.class);
+      patchApp = TapisGsonUtils.getGson().fromJson(topObj, PatchApp.class);
       // If json does not contain jobType then set jobType to a special value to indicate it was not present.
-      // Turn the request string into a json object and check
-      JsonObject topObj = TapisGsonUtils.getGson().fromJson(rawJson, JsonObject.class);
       if (!topObj.has(App.JOB_TYPE_FIELD)) patchApp.setJobType(JobType.UNSET);
     }
     catch (JsonSyntaxException e)
@@ -375,7 +566,7 @@ public class AppResource
 
     // Notes require special handling. Else they end up as a LinkedTreeMap which causes trouble when attempting to
     // convert to a JsonObject.
-    patchApp.setNotes(extractNotes(rawJson));
+    patchApp.setNotes(extractNotes(topObj));
 
     // No attributes are required. Constraints validated and defaults filled in on server side.
     // No secrets in PatchApp so no need to scrub
@@ -460,11 +651,10 @@ public class AppResource
       _log.error(msg, e);
       throw new BadRequestException(msg);
     }
-    // Create validator specification and validate the json against the schema
+    // Validate the json against the schema
     // NOTE that CREATE and PUT are very similar schemas.
     // Only difference should be for PUT there are no required properties.
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, FILE_APP_PUT_REQUEST);
-    try { JsonValidator.validate(spec); }
+    try { RequestValidator.validate(RequestType.APP_PUT, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -473,8 +663,10 @@ public class AppResource
     }
 
     // ------------------------- Create an App from the json and validate constraints -------------------------
+    // Parse once, the tree is used for binding and for checking which attributes are present.
+    JsonObject topObj = parseRequestObject(rawJson, opName);
     ReqPutApp req;
-    try { req = TapisGsonUtils.getGson().fromJson(rawJson, ReqPutApp.class); }
+    try { req = TapisGsonUtils.getGson().fromJson(topObj, ReqPutApp.class); }
     catch (JsonSyntaxException e)
     {
       msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, e.getMessage());
@@ -490,7 +682,7 @@ public class AppResource
     }
 
     // Create an App from the request
-    App putApp = createAppFromPutRequest(rUser.getOboTenantId(), appId, appVersion, req, rawJson);
+    App putApp = createAppFromPutRequest(rUser.getOboTenantId(), appId, appVersion, req, topObj);
 
     if (_log.isTraceEnabled()) _log.trace(ApiUtils.getMsgAuth("APPAPI_PUT_TRACE", rUser, rawJson));
 
@@ -725,6 +917,10 @@ public class AppResource
     List<String> selectList = threadContext.getSearchParameters().getSelectList();
     if (selectList == null || selectList.isEmpty()) selectList = DEFAULT_GETAPP_ATTRS;
 
+    // If client already has the current representation then respond with 304 Not Modified
+    resp = checkNotModified(rUser, appId, null, requireExecPerm, null, resourceTenant, selectList);
+    if (resp != null) return resp;
+
     App app;
     try
     {
@@ -745,8 +941,7 @@ public class AppResource
 
     // ---------------------------- Success -------------------------------
     // Success means we retrieved the app information.
-    RespApp resp1 = new RespApp(app, selectList);
-    return createSuccessResponse(Status.OK, MsgUtils.getMsg(TAPIS_FOUND, "App", appId), resp1);
+    return createAppResponse(app, selectList, ApiUtils.getAppETag(app, selectList));
   }
 
   /**
@@ -789,6 +984,10 @@ public class AppResource
     List<String> selectList = threadContext.getSearchParameters().getSelectList();
     if (selectList == null || selectList.isEmpty()) selectList = DEFAULT_GETAPP_ATTRS;
 
+    // If client already has the current representation then respond with 304 Not Modified
+    resp = checkNotModified(rUser, appId, appVersion, requireExecPerm, impersonationId, resourceTenant, selectList);
+    if (resp != null) return resp;
+
     App app;
     try
     {
@@ -809,8 +1008,7 @@ public class AppResource
 
     // ---------------------------- Success -------------------------------
     // Success means we retrieved the app information.
-    RespApp resp1 = new RespApp(app, selectList);
-    return createSuccessResponse(Status.OK, MsgUtils.getMsg(TAPIS_FOUND, "App", appId), resp1);
+    return createAppResponse(app, selectList, ApiUtils.getAppETag(app, selectList));
   }
 
   /**
@@ -822,15 +1020,18 @@ public class AppResource
    * @param showDeleted - whether to included resources that have been marked as deleted.
    * @param listType - allows for filtering results based on authorization: OWNED, SHARED_PUBLIC, ALL
    * @param impersonationId - use provided Tapis username instead of oboUser when checking auth
+   * @param cursor - cursor returned in the metadata of the previous page, for paging without skip or startAfter
    * @return - list of apps accessible by requester and matching search conditions.
+   *           Streamed as NDJSON if requested using the Accept header, see getSearchStreamResponse().
    */
   @GET
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
   public Response getApps(@Context SecurityContext securityContext,
                           @QueryParam("showDeleted") @DefaultValue("false") boolean showDeleted,
                           @QueryParam("listType") @DefaultValue("OWNED") String listType,
-                          @QueryParam("impersonationId") String impersonationId) throws TapisClientException
+                          @QueryParam("impersonationId") String impersonationId,
+                          @QueryParam(CURSOR_PARM) String cursor) throws TapisClientException
   {
     String opName = "getApps";
     // Check that we have all we need from the context, the jwtTenantId and jwtUserId
@@ -845,7 +1046,7 @@ public class AppResource
     // Trace this request.
     if (_log.isTraceEnabled()) ApiUtils.logRequest(rUser, className, opName, _request.getRequestURL().toString(),
                                                    "showDeleted="+showDeleted, "listType="+listType,
-                                                   "impersonationId="+impersonationId);
+                                                   "impersonationId="+impersonationId, "cursor="+cursor);
 
     // ThreadContext designed to never return null for SearchParameters
     SearchParameters srchParms = threadContext.getSearchParameters();
@@ -854,7 +1055,13 @@ public class AppResource
     Response successResponse;
     try
     {
-      successResponse = getSearchResponse(rUser, null, srchParms, showDeleted, listType, impersonationId);
+      successResponse = getSearchResponse(rUser, null, srchParms, showDeleted, listType, impersonationId, cursor);
+    }
+    catch (IllegalArgumentException e)
+    {
+      String msg = ApiUtils.getMsgAuth("APPAPI_LIST_ERROR", rUser, e.getMessage());
+      _log.error(msg);
+      throw new BadRequestException(msg);
     }
     // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
     catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
@@ -874,15 +1081,18 @@ public class AppResource
    * @param securityContext - user identity
    * @param showDeleted - whether to included resources that have been marked as deleted.
    * @param listType - allows for filtering results based on authorization: OWNED, SHARED_PUBLIC, ALL
+   * @param cursor - cursor returned in the metadata of the previous page, for paging without skip or startAfter
    * @return - list of apps accessible by requester and matching search conditions.
+   *           Streamed as NDJSON if requested using the Accept header, see getSearchStreamResponse().
    */
   @GET
   @Path("search")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
   public Response searchAppsQueryParameters(@Context SecurityContext securityContext,
                                             @QueryParam("showDeleted") @DefaultValue("false") boolean showDeleted,
-                                            @QueryParam("listType") @DefaultValue("OWNED") String listType)
+                                            @QueryParam("listType") @DefaultValue("OWNED") String listType,
+                                            @QueryParam(CURSOR_PARM) String cursor)
           throws TapisClientException
   {
     String opName = "searchAppsGet";
@@ -897,15 +1107,18 @@ public class AppResource
 
     // Trace this request.
     if (_log.isTraceEnabled()) ApiUtils.logRequest(rUser, className, opName, _request.getRequestURL().toString(), "showDeleted="+showDeleted,
-                                                   "listType="+listType);
+                                                   "listType="+listType, "cursor="+cursor);
 
     // Create search list based on query parameters
+    // The cursor is a paging parameter, so it must not be treated as a search condition.
     // Note that some validation is done for each condition but the back end will handle translating LIKE wildcard
     //   characters (* and !) and deal with escaped characters.
     List<String> searchList;
     try
     {
-      searchList = SearchUtils.buildListFromQueryParms(_uriInfo.getQueryParameters());
+      MultivaluedMap<String, String> queryParms = new MultivaluedHashMap<>(_uriInfo.getQueryParameters());
+      queryParms.remove(CURSOR_PARM);
+      searchList = SearchUtils.buildListFromQueryParms(queryParms);
     }
     catch (IllegalArgumentException e)
     {
@@ -922,7 +1135,13 @@ public class AppResource
     Response successResponse;
     try
     {
-      successResponse = getSearchResponse(rUser, null, srchParms, showDeleted, listType, null);
+      successResponse = getSearchResponse(rUser, null, srchParms, showDeleted, listType, null, cursor);
+    }
+    catch (IllegalArgumentException e)
+    {
+      String msg = ApiUtils.getMsgAuth("APPAPI_LIST_ERROR", rUser, e.getMessage());
+      _log.error(msg);
+      throw new BadRequestException(msg);
     }
     // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
     catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
@@ -946,16 +1165,19 @@ public class AppResource
    * @param securityContext - user identity
    * @param showDeleted - whether to included resources that have been marked as deleted.
    * @param listType - allows for filtering results based on authorization: OWNED, SHARED_PUBLIC, ALL
+   * @param cursor - cursor returned in the metadata of the previous page, for paging without skip or startAfter
    * @return - list of apps accessible by requester and matching search conditions.
+   *           Streamed as NDJSON if requested using the Accept header, see getSearchStreamResponse().
    */
   @POST
   @Path("search")
   @Consumes(MediaType.APPLICATION_JSON)
-  @Produces(MediaType.APPLICATION_JSON)
+  @Produces({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
   public Response searchAppsRequestBody(InputStream payloadStream,
                                         @Context SecurityContext securityContext,
                                         @QueryParam("showDeleted") @DefaultValue("false") boolean showDeleted,
-                                        @QueryParam("listType") @DefaultValue("OWNED") String listType)
+                                        @QueryParam("listType") @DefaultValue("OWNED") String listType,
+                                        @QueryParam(CURSOR_PARM) String cursor)
           throws TapisClientException
   {
     String opName = "searchAppsPost";
@@ -970,7 +1192,7 @@ public class AppResource
 
     // Trace this request.
     if (_log.isTraceEnabled()) ApiUtils.logRequest(rUser, className, opName, _request.getRequestURL().toString(), "showDeleted="+showDeleted,
-                                                   "listType="+listType);
+                                                   "listType="+listType, "cursor="+cursor);
 
     // ------------------------- Extract and validate payload -------------------------
     // Read the payload into a string.
@@ -983,9 +1205,8 @@ public class AppResource
       _log.error(msg, e);
       throw new BadRequestException(msg);
     }
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, FILE_APP_SEARCH_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.APP_SEARCH, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -1015,7 +1236,13 @@ public class AppResource
     Response successResponse;
     try
     {
-      successResponse = getSearchResponse(rUser, sqlSearchStr, srchParms, showDeleted, listType, null);
+      successResponse = getSearchResponse(rUser, sqlSearchStr, srchParms, showDeleted, listType, null, cursor);
+    }
+    catch (IllegalArgumentException e)
+    {
+      msg = ApiUtils.getMsgAuth("APPAPI_LIST_ERROR", rUser, e.getMessage());
+      _log.error(msg);
+      throw new BadRequestException(msg);
     }
     // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
     catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
@@ -1033,6 +1260,12 @@ public class AppResource
 
   /**
    * getHistory
+   * Retrieve history of changes for an application.
+   * NOTE: The query parameters limit and startAfter are handled in the filter QueryParametersRequestFilter.
+   *       For history, startAfter is the seqId of the last item returned in the previous page.
+   *       If no limit is given, or the limit is 0 or less, the full history is returned.
+   *       A limit above the maximum page size is rejected.
+   *       The metadata hasMore and lastSeqId tell the caller if there are more items and where to start the next page.
    * @param appId - name of the app
    * @param securityContext - user identity
    * @return Response with system history object as the result
@@ -1053,13 +1286,32 @@ public class AppResource
     // Create a user that collects together tenant, user and request information needed by the service call
     ResourceRequestUser rUser = new ResourceRequestUser((AuthenticatedUser) securityContext.getUserPrincipal());
 
-    //RespAbstract resp1;
-    List<AppHistoryItem> appHistory;
-    
+    // ThreadContext designed to never return null for SearchParameters
+    // No limit means the full history
+    SearchParameters srchParms = threadContext.getSearchParameters();
+    int limit = (srchParms.getLimit() == null) ? -1 : srchParms.getLimit();
+    if (limit > MAX_HISTORY_LIMIT)
+    {
+      String msg = ApiUtils.getMsgAuth("APPAPI_HISTORY_LIMIT", rUser, appId, limit, MAX_HISTORY_LIMIT);
+      _log.error(msg);
+      throw new BadRequestException(msg);
+    }
+    String startAfter = srchParms.getStartAfter();
+
+    // History items are read from the DB using a cursor.
+    // For a page one extra item is read to find out if there are more items after the page.
+    List<AppHistoryItem> appHistory = new ArrayList<>();
+    boolean appFound;
     try
     {
       // Retrieve system history List
-      appHistory = service.getAppHistory(rUser, appId);
+      appFound = service.getAppHistory(rUser, appId, (limit > 0) ? limit + 1 : limit, startAfter, appHistory::add);
+    }
+    catch (IllegalArgumentException e)
+    {
+      String msg = ApiUtils.getMsgAuth("APPAPI_HISTORY_ERROR", rUser, appId, e.getMessage());
+      _log.error(msg);
+      throw new BadRequestException(msg);
     }
     // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
     catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
@@ -1071,13 +1323,15 @@ public class AppResource
       throw new WebApplicationException(msg);
     }
 
-    // App or history not found
-    if (appHistory == null || appHistory.isEmpty())
+    // App or history not found. An empty page after the first page is not an error.
+    if (!appFound || (appHistory.isEmpty() && StringUtils.isBlank(startAfter)))
       throw new NotFoundException(ApiUtils.getMsgAuth(NOT_FOUND, rUser, appId));
 
     // ---------------------------- Success -------------------------------
     // Success means we retrieved the system history information.
-    RespAppHistory resp1 = new RespAppHistory(appHistory);
+    boolean hasMore = (limit > 0 && appHistory.size() > limit);
+    if (hasMore) appHistory.remove(appHistory.size() - 1);
+    RespAppHistory resp1 = new RespAppHistory(appHistory, limit, startAfter, hasMore);
     return createSuccessResponse(Status.OK, MsgUtils.getMsg(TAPIS_FOUND, "AppHistory", appId), resp1);
   }
 
@@ -1233,14 +1487,15 @@ public class AppResource
   /**
    * Create an app from a ReqPostApp
    * Check for req == null must have already been done
+   * topObj is the parsed request the req was bound from
    */
-  private static App createAppFromPostRequest(String tenantId, ReqPostApp req, String rawJson)
+  private static App createAppFromPostRequest(String tenantId, ReqPostApp req, JsonObject topObj)
   {
     // Make sure jobAttributes are filled in as needed with proper defaults for parameterSet.
     JobAttributes apiJobAttrs = processJobAttrs(req.jobAttributes);
 
-    // Extract Notes from the raw json.
-    JsonObject notes = extractNotes(rawJson);
+    // Extract Notes from the parsed request.
+    JsonObject notes = extractNotes(topObj);
 
     // Create App
     var app = new App(-1, -1, tenantId, req.id, req.version, req.description, req.jobType, req.owner, req.enabled,
@@ -1255,20 +1510,20 @@ public class AppResource
           apiJobAttrs.memoryMB, apiJobAttrs.maxMinutes, apiJobAttrs.subscriptions, apiJobAttrs.tags,
           req.tags, notes, null, false, null, null);
     // Update App from request to get proper defaults
-    updateAppFromRequest(app, rawJson);
+    updateAppFromRequest(app, topObj);
     return app;
   }
 
   /**
    * Create an App from a ReqPutApp
    */
-  private static App createAppFromPutRequest(String tenantId, String id, String version, ReqPutApp req, String rawJson)
+  private static App createAppFromPutRequest(String tenantId, String id, String version, ReqPutApp req, JsonObject topObj)
   {
     // Make sure jobAttributes are filled in as needed with proper defaults for parameterSet.
     JobAttributes apiJobAttrs = processJobAttrs(req.jobAttributes);
 
-    // Extract Notes from the raw json.
-    JsonObject notes = extractNotes(rawJson);
+    // Extract Notes from the parsed request.
+    JsonObject notes = extractNotes(topObj);
 
     // NOTE: Following attributes are not updatable and must be filled in on service side.
     String owner = null;
@@ -1287,7 +1542,7 @@ public class AppResource
           apiJobAttrs.memoryMB, apiJobAttrs.maxMinutes, apiJobAttrs.subscriptions, apiJobAttrs.tags,
           req.tags, notes, null, false, null, null);
     // Update App from request to get proper defaults
-    updateAppFromRequest(app, rawJson);
+    updateAppFromRequest(app, topObj);
     return app;
   }
 
@@ -1324,14 +1579,11 @@ public class AppResource
    * approaches caused problems with the json marshalling. This method ensures notes end up as a JsonObject rather
    * than a LinkedTreeMap.
    */
-  private static JsonObject extractNotes(String rawJson)
+  private static JsonObject extractNotes(JsonObject topObj)
   {
     JsonObject notes = null;
     // Check inputs
-    if (StringUtils.isBlank(rawJson)) return notes;
-    // Turn the request string into a json object and extract the notes object
-    JsonObject topObj = TapisGsonUtils.getGson().fromJson(rawJson, JsonObject.class);
-    if (!topObj.has(App.NOTES_FIELD)) return notes;
+    if (topObj == null || !topObj.has(App.NOTES_FIELD)) return notes;
     notes = topObj.getAsJsonObject(App.NOTES_FIELD);
     return notes;
   }
@@ -1373,9 +1625,10 @@ public class AppResource
    *  Common method to return a list of applications given a search list and search parameters.
    *  srchParms must be non-null
    *  One of srchParms.searchList or sqlSearchStr must be non-null
+   *  If the page is full then the metadata includes a cursor for fetching the next page.
    */
   private Response getSearchResponse(ResourceRequestUser rUser, String sqlSearchStr, SearchParameters srchParms,
-                                     boolean showDeleted, String listType, String impersonationId)
+                                     boolean showDeleted, String listType, String impersonationId, String cursor)
           throws TapisException, TapisClientException
   {
     RespAbstract resp1;
@@ -1399,33 +1652,152 @@ public class AppResource
     // Determine if select contains shareInfo
     boolean fetchShareInfo = isShareInfoRequested(selectList);
 
+    // If client asked for NDJSON then stream the apps rather than building the full response in memory
+    if (isNdjsonRequested())
+    {
+      return getSearchStreamResponse(rUser, sqlSearchStr, searchList, selectList, limit, orderByList, orderBy, skip,
+                                     startAfter, cursor, showDeleted, listType, fetchShareInfo, impersonationId,
+                                     computeTotal);
+    }
+
+    // If we need the count and there is a limit then have the service compute it along with the page.
+    // Authorization for the listing is resolved once and the page and total come from a single query.
+    boolean pageTotal = computeTotal && limit > 0;
+
     // Call service method to fetch apps
+    // Pass in the select list so only the columns needed for the response are fetched.
+    AppsPage page;
     if (StringUtils.isBlank(sqlSearchStr))
-      apps = service.getApps(rUser, searchList, limit, orderByList, skip, startAfter, showDeleted, listType,
-                             fetchShareInfo, impersonationId);
+      page = service.getAppsPage(rUser, searchList, selectList, limit, orderByList, skip, startAfter, cursor,
+                                 showDeleted, listType, fetchShareInfo, impersonationId, pageTotal);
     else
-      apps = service.getAppsUsingSqlSearchStr(rUser, sqlSearchStr, limit, orderByList, skip,
-                                                  startAfter, showDeleted, listType, fetchShareInfo);
-    if (apps == null) apps = Collections.emptyList();
+      page = service.getAppsPageUsingSqlSearchStr(rUser, sqlSearchStr, selectList, limit, orderByList, skip,
+                                                  startAfter, cursor, showDeleted, listType, fetchShareInfo,
+                                                  pageTotal);
+    apps = (page == null) ? Collections.emptyList() : page.getApps();
     itemCountStr = String.format(APPS_CNT_STR, apps.size());
     if (computeTotal && limit <= 0) totalCount = apps.size();
+    else if (pageTotal && page != null) totalCount = page.getTotalCount();
 
-    // If we need the count and there was a limit then we need to make a call
-    // This is a separate call from getApps() because unlike getApps() we do not want to include the limit or skip,
-    //   and we do not need to fetch all the data. One benefit is that the method is simpler and easier to follow
-    //   compared to attempting to fold everything into getApps().
-    if (computeTotal && limit > 0)
-    {
-      totalCount = service.getAppsTotalCount(rUser, searchList, orderByList, startAfter, showDeleted,
-                                             listType, impersonationId);
-    }
+    // A full page means there may be more items. The cursor marks where the next page starts.
+    String nextCursor = (page == null) ? null : page.getNextCursor();
 
     // ---------------------------- Success -------------------------------
-    resp1 = new RespApps(apps, limit, orderBy, skip, startAfter, totalCount, selectList);
+    resp1 = new RespApps(apps, limit, orderBy, skip, startAfter, totalCount, selectList, nextCursor);
 
     return createSuccessResponse(Status.OK, MsgUtils.getMsg(TAPIS_FOUND, APPLICATIONS_SVC, itemCountStr), resp1);
   }
 
+  /*
+   * Streaming version of getSearchResponse(), used when the client asks for NDJSON.
+   * Apps are read from the DB in batches and each one is written as a line of json, so memory use does not depend
+   *   on the number of apps. The last line holds the listing metadata, see writeNdjson().
+   * Nothing is written before the first app, so errors found while processing the request, such as an invalid
+   *   listType or search, are reported with the usual status codes.
+   */
+  private Response getSearchStreamResponse(ResourceRequestUser rUser, String sqlSearchStr, List<String> searchList,
+                                           List<String> selectList, int limit, List<OrderBy> orderByList,
+                                           String orderBy, int skip, String startAfter, String cursor,
+                                           boolean showDeleted, String listType, boolean fetchShareInfo,
+                                           String impersonationId, boolean computeTotal)
+  {
+    StreamingOutput output = outputStream ->
+    {
+      AppsListing listing = consumer -> StringUtils.isBlank(sqlSearchStr)
+        ? service.streamApps(rUser, searchList, selectList, limit, orderByList, skip, startAfter, cursor, showDeleted,
+                             listType, fetchShareInfo, impersonationId, computeTotal, consumer)
+        : service.streamAppsUsingSqlSearchStr(rUser, sqlSearchStr, selectList, limit, orderByList, skip, startAfter,
+                                              cursor, showDeleted, listType, fetchShareInfo, computeTotal, consumer);
+      try
+      {
+        writeNdjson(outputStream, listing, selectList, limit, orderBy, skip, startAfter, computeTotal);
+      }
+      catch (IllegalArgumentException e)
+      {
+        String msg = ApiUtils.getMsgAuth("APPAPI_LIST_ERROR", rUser, e.getMessage());
+        _log.error(msg);
+        throw new BadRequestException(msg);
+      }
+      // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
+      catch (NotFoundException | NotAuthorizedException | ForbiddenException e) { throw e; }
+      // As final fallback
+      catch (Exception e)
+      {
+        String msg = ApiUtils.getMsgAuth(SELECT_ERR, rUser, e.getMessage());
+        _log.error(msg, e);
+        throw new WebApplicationException(msg);
+      }
+    };
+    return Response.ok(output, APPLICATION_NDJSON_TYPE).build();
+  }
+
+  /*
+   * A listing of apps that passes each app to a consumer, see AppsService.streamApps()
+   */
+  interface AppsListing { AppsPage list(Consumer<App> consumer) throws Exception; }
+
+  /*
+   * Write the apps from a listing as NDJSON, one app per line, followed by a line holding the listing metadata in
+   *   the form {"metadata": {...}}. A response without the metadata line was cut short by an error.
+   */
+  static void writeNdjson(OutputStream outputStream, AppsListing listing, List<String> selectList, int limit,
+                          String orderBy, int skip, String startAfter, boolean computeTotal)
+          throws Exception
+  {
+    Gson gson = TapisGsonUtils.getGson(false);
+    var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    // Number of apps written, needed for the metadata
+    int[] count = {0};
+    AppsPage page = listing.list(app ->
+    {
+      try
+      {
+        gson.toJson(new TapisAppDTO(app).getDisplayObject(selectList), writer);
+        writer.write('\n');
+      }
+      catch (IOException e) { throw new UncheckedIOException(e); }
+      count[0]++;
+    });
+
+    // A full page means there may be more items. The cursor marks where the next page starts.
+    AppsListMetadata meta = new AppsListMetadata();
+    meta.recordCount = count[0];
+    meta.recordLimit = limit;
+    meta.recordsSkipped = skip;
+    meta.orderBy = orderBy;
+    meta.startAfter = startAfter;
+    meta.totalCount = (computeTotal && limit <= 0) ? count[0] : page.getTotalCount();
+    meta.nextCursor = page.getNextCursor();
+    var metaLine = new JsonObject();
+    metaLine.add("metadata", gson.toJsonTree(meta));
+    gson.toJson(metaLine, writer);
+    writer.write('\n');
+    writer.flush();
+  }
+
+  /*
+   * Determine if the client asked for NDJSON rather than json, using the Accept header.
+   */
+  private boolean isNdjsonRequested()
+  {
+    return isNdjsonRequested(_httpHeaders.getAcceptableMediaTypes());
+  }
+
+  /*
+   * Determine if NDJSON is requested given the acceptable media types, in order of preference.
+   * json is used unless NDJSON is listed before json and any wildcard.
+   */
+  static boolean isNdjsonRequested(List<MediaType> acceptableMediaTypes)
+  {
+    for (MediaType mediaType : acceptableMediaTypes)
+    {
+      if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) return false;
+      if (mediaType.isCompatible(APPLICATION_NDJSON_TYPE)) return true;
+      if (mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)) return false;
+    }
+    return false;
+  }
+
   /**
    * Create an OK response given message and base response to put in result
    * @param msg - message for resp.message
@@ -1437,12 +1809,94 @@ public class AppResource
     return Response.status(status).entity(TapisRestUtils.createSuccessResponse(msg, PRETTY, resp)).build();
   }
 
+  /*
+   * Create an OK response for a retrieved app with an entity tag.
+   * The serialized app is cached keyed by the entity tag, so for a cached app only the envelope is rendered.
+   * Caller must have already checked that the user is authorized to see the app.
+   */
+  private static Response createAppResponse(App app, List<String> selectList, String etag)
+  {
+    String envelopeJson = TapisRestUtils.createSuccessResponse(MsgUtils.getMsg(TAPIS_FOUND, "App", app.getId()),
+                                                               PRETTY, new RespCachedApp());
+    byte[] body = AppResponseCache.render(etag, envelopeJson, () -> new RespApp(app, selectList).result, PRETTY);
+    return Response.status(Status.OK).tag(new EntityTag(etag)).entity(body).build();
+  }
+
+  /*
+   * For a getApp request with an If-None-Match header, check if the client already has the current representation
+   *   of the app. Uses the app metadata rather than the full app, authorization is checked the same way.
+   * Return a 304 Not Modified response if so, else null and the request should be processed as usual.
+   */
+  private Response checkNotModified(ResourceRequestUser rUser, String appId, String appVersion, boolean requireExecPerm,
+                                    String impersonationId, String resourceTenant, List<String> selectList)
+          throws TapisClientException
+  {
+    String ifNoneMatch = _httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+    if (StringUtils.isBlank(ifNoneMatch)) return null;
+    App appMetadata;
+    try
+    {
+      appMetadata = service.getAppMetadata(rUser, appId, appVersion, requireExecPerm, impersonationId, resourceTenant);
+    }
+    // Pass through "not found" or "not auth" exceptions to let exception mapper handle it.
+    catch (NotFoundException | NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
+    // As final fallback
+    catch (Exception e)
+    {
+      String msg = ApiUtils.getMsgAuth("APPAPI_GET_NAME_ERROR", rUser, appId, e.getMessage());
+      _log.error(msg, e);
+      throw new WebApplicationException(msg);
+    }
+    if (appMetadata == null) throw new NotFoundException(ApiUtils.getMsgAuth(NOT_FOUND, rUser, appId));
+    String etag = ApiUtils.getAppETag(appMetadata, selectList);
+    if (!ApiUtils.etagMatches(ifNoneMatch, etag)) return null;
+    return Response.notModified(new EntityTag(etag)).build();
+  }
+
+  /*
+   * Build the result for one app in a bulk create request
+   */
+  private static ResultAppCreate newBulkResult(String appId, String appVersion, Status status, String msg, String url)
+  {
+    var result = new ResultAppCreate();
+    result.id = appId;
+    result.version = appVersion;
+    result.status = status.getStatusCode();
+    result.message = msg;
+    result.url = url;
+    return result;
+  }
+
+  /*
+   * Parse a request body that has passed validation against its schema into a json object.
+   * Request bodies are parsed into a tree once. The tree is used for binding to the request class,
+   *   extracting notes and checking which attributes are present.
+   */
+  private static JsonObject parseRequestObject(String rawJson, String opName)
+  {
+    String msg;
+    JsonElement topElement;
+    try { topElement = TapisGsonUtils.getGson().fromJson(rawJson, JsonElement.class); }
+    catch (JsonSyntaxException e)
+    {
+      msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, e.getMessage());
+      _log.error(msg, e);
+      throw new BadRequestException(msg);
+    }
+    if (topElement == null || !topElement.isJsonObject())
+    {
+      msg = MsgUtils.getMsg(INVALID_JSON_INPUT, opName, "Request body is not a json object");
+      _log.error(msg);
+      throw new BadRequestException(msg);
+    }
+    return topElement.getAsJsonObject();
+  }
+
   /*
    * Fill in defaults as needed for JobType, maxJobs, maxJobsPerUser, NodeCount, CoresPerNode, MemoryMB, MaxMinutes
    */
-  private static void updateAppFromRequest(App app, String rawJson)
+  private static void updateAppFromRequest(App app, JsonObject topObj)
   {
-    JsonObject topObj = TapisGsonUtils.getGson().fromJson(rawJson, JsonObject.class);
     if (!topObj.has(App.JOB_TYPE_FIELD)) app.setJobType(DEFAULT_JOB_TYPE);
     if (!topObj.has(App.MAX_JOBS_FIELD)) app.setMaxJobs(DEFAULT_MAX_JOBS);
     if (!topObj.has(App.MAX_JOBS_PER_USER_FIELD)) app.setMaxJobsPerUser(DEFAULT_MAX_JOBS_PER_USER);
@@ -1,15 +1,21 @@
 package edu.utexas.tacc.tapis.apps.api.resources;
 
+import java.util.LinkedHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.security.PermitAll;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.GET;
+import javax.ws.rs.NotAuthorizedException;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.SecurityContext;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -19,13 +25,19 @@ import edu.utexas.tacc.tapis.client.shared.exceptions.TapisClientException;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
 import edu.utexas.tacc.tapis.shared.security.ServiceContext;
 import edu.utexas.tacc.tapis.shared.security.TenantManager;
+import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
+import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadLocal;
 import edu.utexas.tacc.tapis.shared.utils.CallSiteToggle;
 import edu.utexas.tacc.tapis.shared.utils.TapisUtils;
 import edu.utexas.tacc.tapis.sharedapi.responses.RespBasic;
+import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
+import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.sharedapi.utils.TapisRestUtils;
 import edu.utexas.tacc.tapis.sharedapi.utils.TapisRestUtils.RESPONSE_STATUS;
 import edu.utexas.tacc.tapis.apps.api.AppsApplication;
+import edu.utexas.tacc.tapis.apps.api.responses.RespMetrics;
 import edu.utexas.tacc.tapis.apps.api.utils.ApiUtils;
+import edu.utexas.tacc.tapis.apps.api.utils.AppResponseCache;
 import edu.utexas.tacc.tapis.apps.service.AppsServiceImpl;
 import edu.utexas.tacc.tapis.apps.utils.LibUtils;
 
@@ -228,6 +240,45 @@ public class GeneralResource
     return Response.ok(resp).build();
   }
 
+  /**
+   * Metrics endpoint.
+   * Reports runtime metrics for the service such as DB connection pool usage, so that pool starvation
+   * can be observed during bursts of requests.
+   * Metrics include tenant and user identities, so a service JWT or a tenant admin is required.
+   * @param securityContext - user identity
+   * @return a success response containing the metrics
+   */
+  @GET
+  @Path("/metrics")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getMetrics(@Context SecurityContext securityContext) throws TapisClientException
+  {
+    // Check that we have all we need from the context, the jwtTenantId and jwtUserId
+    // Utility method returns null if all OK and appropriate error response if there was a problem.
+    TapisThreadContext threadContext = TapisThreadLocal.tapisThreadContext.get();
+    Response resp = ApiUtils.checkContext(threadContext, true);
+    if (resp != null) return resp;
+
+    // Create a user that collects together tenant, user and request information needed by the service call
+    ResourceRequestUser rUser = new ResourceRequestUser((AuthenticatedUser) securityContext.getUserPrincipal());
+
+    LinkedHashMap<String, Object> metrics;
+    try { metrics = new LinkedHashMap<>(svcImpl.getServiceMetrics(rUser)); }
+    // Pass through "not auth" exceptions to let exception mapper handle it.
+    catch (NotAuthorizedException | ForbiddenException | TapisClientException e) { throw e; }
+    // As final fallback
+    catch (Exception e)
+    {
+      _log.error(e.getMessage(), e);
+      throw new WebApplicationException(e.getMessage());
+    }
+    metrics.put("appResponseCache", AppResponseCache.getSnapshot());
+    RespMetrics resp1 = new RespMetrics(metrics);
+    return Response.ok(TapisRestUtils.createSuccessResponse(MsgUtils.getMsg("TAPIS_FOUND", "Metrics", "Apps Service"),
+                                                            true, resp1)).build();
+  }
+
   /* **************************************************************************** */
   /*                                Private Methods                               */
   /* **************************************************************************** */
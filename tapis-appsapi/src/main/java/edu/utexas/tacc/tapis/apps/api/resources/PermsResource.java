@@ -26,8 +26,6 @@ import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidator;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidatorSpec;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadLocal;
 import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
@@ -36,6 +34,8 @@ import edu.utexas.tacc.tapis.sharedapi.responses.RespNameArray;
 import edu.utexas.tacc.tapis.sharedapi.responses.results.ResultNameArray;
 import edu.utexas.tacc.tapis.sharedapi.utils.TapisRestUtils;
 import edu.utexas.tacc.tapis.apps.api.utils.ApiUtils;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
 import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.model.App.Permission;
 import edu.utexas.tacc.tapis.apps.service.AppsService;
@@ -61,9 +61,6 @@ public class PermsResource
   // Local logger.
   private static final Logger _log = LoggerFactory.getLogger(PermsResource.class);
 
-  // Json schema resource files.
-  private static final String FILE_PERMS_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/PermsRequest.json";
-
   // Field names used in Json
   private static final String PERMISSIONS_FIELD = "permissions";
 
@@ -384,9 +381,8 @@ public class PermsResource
                                           String json, Set<Permission> permsList)
   {
     String msg;
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(json, FILE_PERMS_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.PERMS, json); }
     catch (TapisJSONException e)
     {
       msg = ApiUtils.getMsgAuth("APPAPI_PERMS_JSON_INVALID", rUser, appId, userName, e.getMessage());
@@ -32,8 +32,6 @@ import com.google.gson.JsonSyntaxException;
 import edu.utexas.tacc.tapis.client.shared.exceptions.TapisClientException;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidator;
-import edu.utexas.tacc.tapis.shared.schema.JsonValidatorSpec;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadLocal;
 import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
@@ -45,6 +43,8 @@ import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.sharedapi.utils.TapisRestUtils;
 import edu.utexas.tacc.tapis.apps.api.responses.RespAppsShare;
 import edu.utexas.tacc.tapis.apps.api.utils.ApiUtils;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
 import edu.utexas.tacc.tapis.apps.model.AppShare;
 import edu.utexas.tacc.tapis.apps.service.AppsService;
 
@@ -64,9 +64,6 @@ public class ShareResource
   // Local logger.
   private static final Logger _log = LoggerFactory.getLogger(ShareResource.class);
 
-  //Json schema resource files.
-  private static final String SHARE_APPS_REQUEST = "/edu/utexas/tacc/tapis/apps/api/jsonschema/ShareAppsRequest.json";
-  
   // Message keys
   private static final String TAPIS_FOUND = "TAPIS_FOUND";
   private static final String NOT_FOUND = "APPAPI_NOT_FOUND";
@@ -191,9 +188,8 @@ public class ShareResource
       _log.error(msg, e);
       throw new BadRequestException(msg);
     }
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, SHARE_APPS_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.SHARE, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -278,9 +274,8 @@ public class ShareResource
       _log.error(msg, e);
       throw new BadRequestException(msg);
     }
-    // Create validator specification and validate the json against the schema
-    JsonValidatorSpec spec = new JsonValidatorSpec(rawJson, SHARE_APPS_REQUEST);
-    try { JsonValidator.validate(spec); }
+    // Validate the json against the schema
+    try { RequestValidator.validate(RequestType.SHARE, rawJson); }
     catch (TapisJSONException e)
     {
       msg = MsgUtils.getMsg(JSON_VALIDATION_ERR, e.getMessage());
@@ -1,5 +1,6 @@
 package edu.utexas.tacc.tapis.apps.api.responses;
 
+import edu.utexas.tacc.tapis.apps.api.responses.results.AppHistoryListMetadata;
 import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
 import edu.utexas.tacc.tapis.sharedapi.responses.RespAbstract;
 
@@ -12,8 +13,16 @@ public final class RespAppHistory extends RespAbstract
 {
   public List<AppHistoryItem> result;
 
-  public RespAppHistory(List<AppHistoryItem> shList)
+  public RespAppHistory(List<AppHistoryItem> shList, int limit, String startAfter, boolean hasMore)
   {
     result = shList;
+
+    AppHistoryListMetadata meta = new AppHistoryListMetadata();
+    meta.recordCount = result.size();
+    meta.recordLimit = limit;
+    meta.startAfter = startAfter;
+    meta.hasMore = hasMore;
+    meta.lastSeqId = result.isEmpty() ? null : result.get(result.size() - 1).getSeqId();
+    metadata = meta;
   }
 }
@@ -1,8 +1,8 @@
 package edu.utexas.tacc.tapis.apps.api.responses;
 
+import edu.utexas.tacc.tapis.apps.api.responses.results.AppsListMetadata;
 import edu.utexas.tacc.tapis.apps.api.responses.results.TapisAppDTO;
 import edu.utexas.tacc.tapis.sharedapi.responses.RespAbstract;
-import edu.utexas.tacc.tapis.sharedapi.responses.results.ResultListMetadata;
 import edu.utexas.tacc.tapis.apps.model.App;
 
 import java.util.List;
@@ -16,7 +16,7 @@ public final class RespApps extends RespAbstract
   public JsonArray result;
 
   public RespApps(List<App> appList, int limit, String orderBy, int skip, String startAfter, int totalCount,
-                  List<String> selectList)
+                  List<String> selectList, String nextCursor)
   {
     result = new JsonArray();
     for (App app : appList)
@@ -24,13 +24,14 @@ public final class RespApps extends RespAbstract
       result.add(new TapisAppDTO(app).getDisplayObject(selectList));
     }
 
-    ResultListMetadata meta = new ResultListMetadata();
+    AppsListMetadata meta = new AppsListMetadata();
     meta.recordCount = result.size();
     meta.recordLimit = limit;
     meta.recordsSkipped = skip;
     meta.orderBy = orderBy;
     meta.startAfter = startAfter;
     meta.totalCount = totalCount;
+    meta.nextCursor = nextCursor;
     metadata = meta;
   }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package edu.utexas.tacc.tapis.apps.api.responses;
+
+import edu.utexas.tacc.tapis.apps.api.responses.results.ResultAppCreate;
+import edu.utexas.tacc.tapis.sharedapi.responses.RespAbstract;
+
+import java.util.List;
+
+/*
+  Results from a bulk create of App resources, one item per app in request order.
+ */
+public final class RespAppsBulk extends RespAbstract
+{
+  public List<ResultAppCreate> result;
+
+  public RespAppsBulk(List<ResultAppCreate> results)
+  {
+    result = results;
+  }
+}
@@ -0,0 +1,13 @@
+package edu.utexas.tacc.tapis.apps.api.responses;
+
+import edu.utexas.tacc.tapis.apps.api.utils.AppResponseCache;
+import edu.utexas.tacc.tapis.sharedapi.responses.RespAbstract;
+
+/*
+  Envelope for a retrieval of an App resource where the serialized result is taken from AppResponseCache.
+  The result is rendered as a placeholder that AppResponseCache.render() replaces.
+ */
+public final class RespCachedApp extends RespAbstract
+{
+  public String result = AppResponseCache.RESULT_PLACEHOLDER;
+}
@@ -0,0 +1,18 @@
+package edu.utexas.tacc.tapis.apps.api.responses;
+
+import edu.utexas.tacc.tapis.sharedapi.responses.RespAbstract;
+
+import java.util.Map;
+
+/*
+  Results from a retrieval of service runtime metrics.
+ */
+public final class RespMetrics extends RespAbstract
+{
+  public Map<String, Object> result;
+
+  public RespMetrics(Map<String, Object> metrics)
+  {
+    result = metrics;
+  }
+}
@@ -0,0 +1,15 @@
+package edu.utexas.tacc.tapis.apps.api.responses.results;
+
+import edu.utexas.tacc.tapis.sharedapi.responses.results.ResultListMetadata;
+
+/*
+  Metadata for a page of AppHistory items.
+  hasMore is true when there are more items after this page.
+  lastSeqId is the seqId of the last item in the page, to use as the startAfter query parameter
+  when requesting the next page. lastSeqId is null when the page is empty.
+ */
+public final class AppHistoryListMetadata extends ResultListMetadata
+{
+  public boolean hasMore;
+  public Integer lastSeqId;
+}
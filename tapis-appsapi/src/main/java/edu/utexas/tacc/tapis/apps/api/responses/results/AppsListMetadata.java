@@ -0,0 +1,13 @@
+package edu.utexas.tacc.tapis.apps.api.responses.results;
+
+import edu.utexas.tacc.tapis.sharedapi.responses.results.ResultListMetadata;
+
+/*
+  Metadata for a page of App resources.
+  Adds the cursor to use as the cursor query parameter when requesting the next page.
+  nextCursor is null when there are no more items.
+ */
+public final class AppsListMetadata extends ResultListMetadata
+{
+  public String nextCursor;
+}
@@ -0,0 +1,15 @@
+package edu.utexas.tacc.tapis.apps.api.responses.results;
+
+/*
+  Outcome for one app in a bulk create request.
+  status is the HTTP status the app would have received from a single create request, e.g. 201, 400, 403, 409.
+  url is set only when the app was created.
+ */
+public final class ResultAppCreate
+{
+  public String id;
+  public String version;
+  public int status;
+  public String message;
+  public String url;
+}
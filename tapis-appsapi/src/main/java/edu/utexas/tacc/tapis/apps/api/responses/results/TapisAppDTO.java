@@ -116,10 +116,10 @@ public final class TapisAppDTO
   }
 
   // Build a JsonObject with all displayable attributes
+  // Tree is built directly rather than by writing a json string and parsing it.
   private JsonObject allAttrs()
   {
-    String jsonStr = gson.toJson(this);
-    return gson.fromJson(jsonStr, JsonObject.class).getAsJsonObject();
+    return gson.toJsonTree(this).getAsJsonObject();
   }
 
   // Add summary attributes to a json object
@@ -140,7 +140,6 @@ public final class TapisAppDTO
    */
   private void addDisplayField(JsonObject jsonObject, String attrName)
   {
-    String jsonStr;
     switch (attrName) {
       case TENANT_FIELD -> jsonObject.addProperty(TENANT_FIELD, tenant);
       case ID_FIELD -> jsonObject.addProperty(ID_FIELD, id);
@@ -158,10 +157,7 @@ public final class TapisAppDTO
       case MAX_JOBS_FIELD -> jsonObject.addProperty(MAX_JOBS_FIELD, maxJobs);
       case MAX_JOBS_PER_USER_FIELD -> jsonObject.addProperty(MAX_JOBS_PER_USER_FIELD, maxJobsPerUser);
       case STRICT_FILE_INPUTS_FIELD -> jsonObject.addProperty(STRICT_FILE_INPUTS_FIELD, String.valueOf(strictFileInputs));
-      case JOB_ATTRS_FIELD -> {
-        jsonStr = gson.toJson(jobAttributes);
-        jsonObject.add(JOB_ATTRS_FIELD, gson.fromJson(jsonStr, JsonObject.class));
-      }
+      case JOB_ATTRS_FIELD -> jsonObject.add(JOB_ATTRS_FIELD, gson.toJsonTree(jobAttributes));
       case TAGS_FIELD -> jsonObject.add(TAGS_FIELD, gson.toJsonTree(tags));
       case NOTES_FIELD -> jsonObject.add(NOTES_FIELD, notes);
       case UUID_FIELD -> jsonObject.addProperty(UUID_FIELD, uuid.toString());
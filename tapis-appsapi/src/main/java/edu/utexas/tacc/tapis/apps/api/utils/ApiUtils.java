@@ -1,9 +1,17 @@
 package edu.utexas.tacc.tapis.apps.api.utils;
 
 import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.gson.JsonElement;
@@ -12,6 +20,7 @@ import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
 import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
 import edu.utexas.tacc.tapis.sharedapi.utils.TapisRestUtils;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
+import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.service.AppsService;
 
 
@@ -33,6 +42,9 @@ public class ApiUtils
   // Location of message bundle files
   private static final String MESSAGE_BUNDLE = "edu.utexas.tacc.tapis.apps.api.AppApiMessages";
 
+  // Compiled regex for splitting around ","
+  private static final Pattern COMMA_SPLIT = Pattern.compile(",");
+
   /* **************************************************************************** */
   /*                                Public Methods                                */
   /* **************************************************************************** */
@@ -185,4 +197,55 @@ public class ApiUtils
     String msg = ApiUtils.getMsgAuth("APPAPI_TRACE_REQUEST", rUser, className, opName, reqUrl, argListStr);
     _log.trace(msg);
   }
+
+  /**
+   * Compute a strong entity tag for the representation of an app returned by getApp.
+   * Built from the attributes set by AppsService.getAppMetadata, so the same tag is computed from a full App or
+   *   from its metadata. The uuid and updated timestamp identify the version content, the remaining attributes are
+   *   those that can change without a change to updated. The select list determines which attributes are returned.
+   * @param app - App or App metadata, including dynamically computed share info
+   * @param selectList - select list used to build the response
+   * @return entity tag value, without quotes
+   */
+  public static String getAppETag(App app, List<String> selectList)
+  {
+    var sharedWithUsers = new TreeSet<String>();
+    if (app.getSharedWithUsers() != null) sharedWithUsers.addAll(app.getSharedWithUsers());
+    String tagStr = String.join("\n", app.getTenant(), app.getId(), app.getVersion(), String.valueOf(app.getUuid()),
+                                String.valueOf(app.getUpdated()), app.getOwner(), String.valueOf(app.isEnabled()),
+                                String.valueOf(app.isVersionEnabled()), String.valueOf(app.isLocked()),
+                                String.valueOf(app.isContainerized()), String.valueOf(app.isDeleted()),
+                                String.valueOf(app.isPublic()), String.join(",", sharedWithUsers),
+                                String.valueOf(app.getSharedAppCtx()), String.join(",", selectList));
+    try
+    {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(tagStr.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+    catch (NoSuchAlgorithmException e)
+    {
+      // SHA-256 is required to be supported by every Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Check whether an If-None-Match header value matches an entity tag.
+   * Uses weak comparison as required for If-None-Match, "*" matches any tag.
+   * @param ifNoneMatch - header value, may be null
+   * @param etag - entity tag value, without quotes
+   * @return true if the header matches the tag
+   */
+  public static boolean etagMatches(String ifNoneMatch, String etag)
+  {
+    if (StringUtils.isBlank(ifNoneMatch)) return false;
+    String quotedTag = "\"" + etag + "\"";
+    for (String tag : COMMA_SPLIT.split(ifNoneMatch))
+    {
+      tag = tag.trim();
+      if (tag.startsWith("W/")) tag = tag.substring(2);
+      if (tag.equals("*") || tag.equals(quotedTag)) return true;
+    }
+    return false;
+  }
 }
@@ -0,0 +1,200 @@
+package edu.utexas.tacc.tapis.apps.api.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.google.gson.JsonElement;
+
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+/*
+ * Cache of the serialized "result" section of getApp responses, as UTF-8 bytes.
+ *   Entries are keyed by the app ETag, see ApiUtils.getAppETag(). The ETag identifies the representation of one
+ *   version of an app for a select list and sharing context, so an entry never needs to be invalidated. Entries for
+ *   representations that are no longer current are simply not requested again and are evicted.
+ * Memory is bounded by the total size of the cached bytes, least recently used entries are evicted first.
+ *   Results larger than a fixed limit are not cached.
+ * Only use for an app the requesting user has already been authorized to see.
+ * Hit, miss and eviction counts are kept for reporting through a Snapshot.
+ * This class is non-instantiable
+ */
+public final class AppResponseCache
+{
+  // Private constructor to make it non-instantiable
+  private AppResponseCache() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                               Constants                                */
+  /* ********************************************************************** */
+  // Value rendered in the envelope where the cached result is spliced in. Gson does not escape any of its characters.
+  public static final String RESULT_PLACEHOLDER = "apps-cached-result-" + UUID.randomUUID();
+  private static final String QUOTED_PLACEHOLDER = "\"" + RESULT_PLACEHOLDER + "\"";
+
+  private static final long MAX_TOTAL_BYTES = 64L * 1024 * 1024;
+  private static final int MAX_ENTRY_BYTES = 1024 * 1024;
+  // Approximate memory used by an entry in addition to its bytes, the key is a 43 character ETag
+  private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  // Access ordered, so iteration starts with the least recently used entry. Guarded by itself.
+  private static final Map<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+  private static long totalBytes;
+  private static final AtomicLong hits = new AtomicLong();
+  private static final AtomicLong misses = new AtomicLong();
+  private static final AtomicLong evictions = new AtomicLong();
+  private static final AtomicLong notCached = new AtomicLong();
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Build a response body by splicing the result for a key into an envelope rendered with RESULT_PLACEHOLDER as
+   *   its result. On a cache miss the result is serialized and cached. The result is serialized with the same Gson
+   *   settings as the envelope and indented to match it, so the body is the same as rendering the full response.
+   * @param key - ETag of the app representation
+   * @param envelopeJson - success response rendered with RESULT_PLACEHOLDER as the result
+   * @param result - supplies the result on a cache miss
+   * @param prettyPrint - whether the envelope was pretty printed
+   * @return response body
+   */
+  public static byte[] render(String key, String envelopeJson, Supplier<JsonElement> result, boolean prettyPrint)
+  {
+    int i = envelopeJson.indexOf(QUOTED_PLACEHOLDER);
+    if (i < 0) throw new IllegalArgumentException("Response envelope does not contain the result placeholder");
+    byte[] resultBytes = get(key);
+    if (resultBytes == null)
+    {
+      String resultJson = TapisGsonUtils.getGson(prettyPrint).toJson(result.get());
+      // Nested lines of a pretty printed result are indented by the indent of the line the result starts on
+      String indent = getLineIndent(envelopeJson, i);
+      if (!indent.isEmpty()) resultJson = resultJson.replace("\n", "\n" + indent);
+      resultBytes = resultJson.getBytes(StandardCharsets.UTF_8);
+      put(key, resultBytes);
+    }
+    byte[] prefix = envelopeJson.substring(0, i).getBytes(StandardCharsets.UTF_8);
+    byte[] suffix = envelopeJson.substring(i + QUOTED_PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8);
+    byte[] body = new byte[prefix.length + resultBytes.length + suffix.length];
+    System.arraycopy(prefix, 0, body, 0, prefix.length);
+    System.arraycopy(resultBytes, 0, body, prefix.length, resultBytes.length);
+    System.arraycopy(suffix, 0, body, prefix.length + resultBytes.length, suffix.length);
+    return body;
+  }
+
+  /**
+   * Take a point in time snapshot of the cache metrics.
+   * @return snapshot
+   */
+  public static Snapshot getSnapshot() { return new Snapshot(); }
+
+  /* ********************************************************************** */
+  /*                         Package-Private Methods                        */
+  /* ********************************************************************** */
+
+  static byte[] get(String key)
+  {
+    byte[] value;
+    synchronized (entries) { value = entries.get(key); }
+    if (value == null) misses.incrementAndGet();
+    else hits.incrementAndGet();
+    return value;
+  }
+
+  static void put(String key, byte[] value)
+  {
+    if (value.length > MAX_ENTRY_BYTES)
+    {
+      notCached.incrementAndGet();
+      return;
+    }
+    synchronized (entries)
+    {
+      byte[] old = entries.put(key, value);
+      if (old != null) totalBytes -= entrySize(old);
+      totalBytes += entrySize(value);
+      Iterator<byte[]> it = entries.values().iterator();
+      while (totalBytes > MAX_TOTAL_BYTES && it.hasNext())
+      {
+        totalBytes -= entrySize(it.next());
+        it.remove();
+        evictions.incrementAndGet();
+      }
+    }
+  }
+
+  static void clear()
+  {
+    synchronized (entries)
+    {
+      entries.clear();
+      totalBytes = 0;
+    }
+  }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  private static long entrySize(byte[] value) { return (long) value.length + ENTRY_OVERHEAD_BYTES; }
+
+  /*
+   * Get the leading whitespace of the line containing position pos
+   */
+  private static String getLineIndent(String s, int pos)
+  {
+    int lineStart = s.lastIndexOf('\n', pos) + 1;
+    int end = lineStart;
+    while (end < pos && s.charAt(end) == ' ') end++;
+    return s.substring(lineStart, end);
+  }
+
+  /* ********************************************************************** */
+  /*                            Nested types                                */
+  /* ********************************************************************** */
+
+  /*
+   * Immutable view of the cache metrics
+   */
+  public static final class Snapshot
+  {
+    private final int size;
+    private final long totalBytes;
+    private final long maxTotalBytes;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long notCached;
+    private final double hitRatio;
+
+    private Snapshot()
+    {
+      synchronized (entries)
+      {
+        size = entries.size();
+        totalBytes = AppResponseCache.totalBytes;
+      }
+      maxTotalBytes = MAX_TOTAL_BYTES;
+      hits = AppResponseCache.hits.get();
+      misses = AppResponseCache.misses.get();
+      evictions = AppResponseCache.evictions.get();
+      notCached = AppResponseCache.notCached.get();
+      hitRatio = (hits + misses == 0) ? 0d : (double) hits / (hits + misses);
+    }
+
+    public int getSize() { return size; }
+    public long getTotalBytes() { return totalBytes; }
+    public long getMaxTotalBytes() { return maxTotalBytes; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getNotCached() { return notCached; }
+    public double getHitRatio() { return hitRatio; }
+  }
+}
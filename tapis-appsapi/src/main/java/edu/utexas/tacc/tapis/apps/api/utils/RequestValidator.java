@@ -0,0 +1,143 @@
+package edu.utexas.tacc.tapis.apps.api.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
+
+/*
+ * Validation of request bodies against the json schemas for each type of request.
+ *   Schemas are loaded from the classpath and compiled once, normally during startup by calling init().
+ *   Compiled schemas are immutable and are shared by all requests.
+ * References in a schema of the form resource:///<path>, such as the references to Definitions.json, are
+ *   resolved against the classpath when the schema is compiled.
+ * This class is non-instantiable
+ */
+public final class RequestValidator
+{
+  // Private constructor to make it non-instantiable
+  private RequestValidator() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                               Constants                                */
+  /* ********************************************************************** */
+  private static final String SCHEMA_DIR = "/edu/utexas/tacc/tapis/apps/api/jsonschema/";
+  private static final String RESOURCE_SCHEME = "resource:";
+
+  /* ********************************************************************** */
+  /*                                 Enums                                  */
+  /* ********************************************************************** */
+  public enum RequestType
+  {
+    APP_CREATE("AppPostRequest.json"),
+    APP_PUT("AppPutRequest.json"),
+    APP_PATCH("AppPatchRequest.json"),
+    APP_SEARCH("AppSearchRequest.json"),
+    PERMS("PermsRequest.json"),
+    SHARE("ShareAppsRequest.json");
+
+    private final String schemaFile;
+    RequestType(String fileName) { schemaFile = SCHEMA_DIR + fileName; }
+    public String getSchemaFile() { return schemaFile; }
+  }
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  // Compiled schema for each request type. Set once by init().
+  private static volatile Map<RequestType, Schema> schemas;
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Load and compile the schemas for all request types. Subsequent calls have no effect.
+   * Called during startup so that a missing or invalid schema is reported before any requests are handled.
+   * @throws IllegalStateException - if a schema could not be loaded or compiled
+   */
+  public static synchronized void init()
+  {
+    if (schemas != null) return;
+    var compiled = new EnumMap<RequestType, Schema>(RequestType.class);
+    for (RequestType requestType : RequestType.values())
+    {
+      compiled.put(requestType, loadSchema(requestType.getSchemaFile()));
+    }
+    schemas = Collections.unmodifiableMap(compiled);
+  }
+
+  /**
+   * Validate a request body against the schema for a type of request.
+   * @param requestType - type of request
+   * @param json - request body
+   * @throws TapisJSONException - if the body is not a json object or does not conform to the schema
+   */
+  public static void validate(RequestType requestType, String json) throws TapisJSONException
+  {
+    if (schemas == null) init();
+    Schema schema = schemas.get(requestType);
+    JSONObject jsonObject;
+    try { jsonObject = new JSONObject(new JSONTokener(StringUtils.defaultString(json))); }
+    catch (JSONException e)
+    {
+      throw new TapisJSONException(ApiUtils.getMsg("APPAPI_SCHEMA_INVALID_JSON", requestType.getSchemaFile(),
+                                                    e.getMessage()), e);
+    }
+    try { schema.validate(jsonObject); }
+    catch (ValidationException e)
+    {
+      throw new TapisJSONException(ApiUtils.getMsg("APPAPI_SCHEMA_VALIDATION_ERROR", requestType.getSchemaFile(),
+                                                    String.join("; ", e.getAllMessages())), e);
+    }
+  }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  /*
+   * Load a schema file from the classpath and compile it, including any schemas it references
+   */
+  private static Schema loadSchema(String schemaFile)
+  {
+    InputStream schemaStream = RequestValidator.class.getResourceAsStream(schemaFile);
+    if (schemaStream == null) throw new IllegalStateException(ApiUtils.getMsg("APPAPI_SCHEMA_LOAD_ERROR", schemaFile, "Not found"));
+    try (InputStream in = schemaStream)
+    {
+      SchemaLoader loader = SchemaLoader.builder()
+                                        .schemaClient(RequestValidator::getSchemaResource)
+                                        .schemaJson(new JSONObject(new JSONTokener(in)))
+                                        .draftV7Support()
+                                        .build();
+      return loader.load().build();
+    }
+    catch (IOException | RuntimeException e)
+    {
+      throw new IllegalStateException(ApiUtils.getMsg("APPAPI_SCHEMA_LOAD_ERROR", schemaFile, e.getMessage()), e);
+    }
+  }
+
+  /*
+   * Open a schema referenced from another schema. Only references to the classpath are supported.
+   */
+  private static InputStream getSchemaResource(String url)
+  {
+    if (!url.startsWith(RESOURCE_SCHEME)) throw new IllegalArgumentException("Unsupported schema reference: " + url);
+    String path = "/" + StringUtils.stripStart(StringUtils.substringBefore(url.substring(RESOURCE_SCHEME.length()), "#"), "/");
+    InputStream in = RequestValidator.class.getResourceAsStream(path);
+    if (in == null) throw new IllegalArgumentException("Schema reference not found: " + url);
+    return in;
+  }
+}
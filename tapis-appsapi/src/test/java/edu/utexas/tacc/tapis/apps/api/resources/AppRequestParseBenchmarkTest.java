@@ -0,0 +1,144 @@
+package edu.utexas.tacc.tapis.apps.api.resources;
+
+import java.util.function.Supplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.BenchmarkUtils;
+import edu.utexas.tacc.tapis.apps.api.requests.ReqPostApp;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+import static edu.utexas.tacc.tapis.apps.model.App.JOB_ATTRS_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.JOB_TYPE_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.MAX_JOBS_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.NOTES_FIELD;
+
+/**
+ * Benchmarks for parsing the body of an app create request, for large app definitions with many appArgs and
+ *   file inputs.
+ * Compares the previous parsing, where the body string was parsed by Gson once for binding to ReqPostApp, once to
+ *   extract notes and once to check which attributes are present, with the current parsing, where the body is
+ *   parsed into a tree once and the tree is used for all three. Validation against the schema parses the body
+ *   string in both cases, it is reported separately for comparison.
+ * Only runs when benchmarks are enabled, see BenchmarkUtils.
+ */
+public class AppRequestParseBenchmarkTest
+{
+  private static final Gson gson = TapisGsonUtils.getGson();
+  private static final int ITERATIONS = 500;
+  // Number of appArgs in each request, the request has half as many file inputs
+  private static final int[] ARG_COUNTS = {10, 100, 1000};
+
+  private final String[] requests = new String[ARG_COUNTS.length];
+
+  @BeforeClass
+  public void setup()
+  {
+    BenchmarkUtils.checkEnabled();
+    System.out.println("Executing BeforeClass setup method: " + AppRequestParseBenchmarkTest.class.getSimpleName());
+    for (int i = 0; i < ARG_COUNTS.length; i++) { requests[i] = makeRequest(ARG_COUNTS[i]); }
+  }
+
+  @Test(groups={"unit"})
+  public void benchmarkCreateRequest()
+  {
+    for (int i = 0; i < ARG_COUNTS.length; i++)
+    {
+      String rawJson = requests[i];
+      String label = "appArgs=" + ARG_COUNTS[i] + " bytes=" + rawJson.length();
+      // Sanity check that both approaches bind the same request and the body is valid
+      Assert.assertEquals(gson.toJson(current(rawJson)), gson.toJson(legacy(rawJson)));
+      run("legacy " + label, () -> legacy(rawJson));
+      run("current " + label, () -> current(rawJson));
+      run("schemaValidation " + label, () -> validate(rawJson));
+    }
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  // Previous parsing, the body string is parsed for binding, notes and attribute presence checks
+  private static ReqPostApp legacy(String rawJson)
+  {
+    ReqPostApp req = gson.fromJson(rawJson, ReqPostApp.class);
+    JsonObject notesObj = gson.fromJson(rawJson, JsonObject.class);
+    req.notes = notesObj.has(NOTES_FIELD) ? notesObj.getAsJsonObject(NOTES_FIELD) : null;
+    JsonObject topObj = gson.fromJson(rawJson, JsonObject.class);
+    if (!topObj.has(JOB_TYPE_FIELD) || !topObj.has(MAX_JOBS_FIELD) || !topObj.has(JOB_ATTRS_FIELD)) req.maxJobs = -1;
+    return req;
+  }
+
+  // Current parsing, the body string is parsed into a tree once
+  private static ReqPostApp current(String rawJson)
+  {
+    JsonObject topObj = gson.fromJson(rawJson, JsonElement.class).getAsJsonObject();
+    ReqPostApp req = gson.fromJson(topObj, ReqPostApp.class);
+    req.notes = topObj.has(NOTES_FIELD) ? topObj.getAsJsonObject(NOTES_FIELD) : null;
+    if (!topObj.has(JOB_TYPE_FIELD) || !topObj.has(MAX_JOBS_FIELD) || !topObj.has(JOB_ATTRS_FIELD)) req.maxJobs = -1;
+    return req;
+  }
+
+  private static String validate(String rawJson)
+  {
+    try { RequestValidator.validate(RequestType.APP_CREATE, rawJson); }
+    catch (Exception e) { throw new AssertionError("Request failed schema validation: " + e.getMessage(), e); }
+    return rawJson;
+  }
+
+  private static String makeRequest(int argCount)
+  {
+    var req = new JsonObject();
+    req.addProperty("id", "bench-app");
+    req.addProperty("version", "1.0");
+    req.addProperty("description", "Benchmark app with a large number of args and file inputs");
+    req.addProperty("containerImage", "docker.io/tapis/benchmark:1.0");
+    req.addProperty("jobType", "BATCH");
+    req.addProperty("maxJobs", 10);
+    var appArgs = new JsonArray();
+    for (int i = 0; i < argCount; i++)
+    {
+      var arg = new JsonObject();
+      arg.addProperty("name", "arg" + i);
+      arg.addProperty("arg", "--option" + i + " value" + i);
+      arg.addProperty("description", "Description of app arg " + i);
+      arg.addProperty("inputMode", "INCLUDE_ON_DEMAND");
+      appArgs.add(arg);
+    }
+    var parameterSet = new JsonObject();
+    parameterSet.add("appArgs", appArgs);
+    var fileInputs = new JsonArray();
+    for (int i = 0; i < argCount / 2; i++)
+    {
+      var fileInput = new JsonObject();
+      fileInput.addProperty("name", "input" + i);
+      fileInput.addProperty("description", "Description of file input " + i);
+      fileInput.addProperty("inputMode", "OPTIONAL");
+      fileInput.addProperty("sourceUrl", "tapis://system1/data/input" + i);
+      fileInput.addProperty("targetPath", "input" + i);
+      fileInputs.add(fileInput);
+    }
+    var jobAttributes = new JsonObject();
+    jobAttributes.addProperty("description", "Job for benchmark app");
+    jobAttributes.add("parameterSet", parameterSet);
+    jobAttributes.add("fileInputs", fileInputs);
+    req.add(JOB_ATTRS_FIELD, jobAttributes);
+    var notes = new JsonObject();
+    notes.addProperty("project", "benchmark");
+    req.add(NOTES_FIELD, notes);
+    return gson.toJson(req);
+  }
+
+  private static void run(String label, Supplier<Object> op)
+  {
+    BenchmarkUtils.run("AppRequestParse " + label, ITERATIONS, ITERATIONS, op);
+  }
+}
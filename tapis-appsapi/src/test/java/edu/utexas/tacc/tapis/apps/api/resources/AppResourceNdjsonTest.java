@@ -0,0 +1,113 @@
+package edu.utexas.tacc.tapis.apps.api.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import com.google.gson.JsonObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.apps.model.AppsPage;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+/**
+ * Tests for streaming app listings as NDJSON: selection of NDJSON using the Accept header and the lines written.
+ */
+@Test(groups={"unit"})
+public class AppResourceNdjsonTest
+{
+  private static final MediaType NDJSON = new MediaType("application", "x-ndjson");
+  private static final MediaType JSON = MediaType.APPLICATION_JSON_TYPE;
+  private static final List<String> SELECT_LIST = List.of("id", "version");
+
+  /*
+   * NDJSON is only used when it is preferred over json and no wildcard is preferred over it
+   */
+  @Test
+  public void testNdjsonRequested()
+  {
+    Assert.assertTrue(AppResource.isNdjsonRequested(List.of(NDJSON)));
+    Assert.assertTrue(AppResource.isNdjsonRequested(List.of(NDJSON, JSON)));
+    Assert.assertTrue(AppResource.isNdjsonRequested(List.of(NDJSON, MediaType.WILDCARD_TYPE)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of()));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(JSON)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(JSON, NDJSON)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(MediaType.WILDCARD_TYPE)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(MediaType.WILDCARD_TYPE, NDJSON)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(new MediaType("application", "*"), NDJSON)));
+    Assert.assertFalse(AppResource.isNdjsonRequested(List.of(MediaType.TEXT_PLAIN_TYPE)));
+  }
+
+  /*
+   * Each app is written as a line followed by a line with the listing metadata
+   */
+  @Test
+  public void testWriteNdjson() throws Exception
+  {
+    var out = new ByteArrayOutputStream();
+    AppResource.writeNdjson(out, consumer -> {
+      consumer.accept(makeApp("app1"));
+      consumer.accept(makeApp("app2"));
+      return new AppsPage(null, 5, "cursor1");
+    }, SELECT_LIST, 2, "id(asc)", 1, null, true);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    Assert.assertEquals(lines.length, 3);
+    Assert.assertEquals(parse(lines[0]).get("id").getAsString(), "app1");
+    Assert.assertEquals(parse(lines[1]).get("id").getAsString(), "app2");
+    Assert.assertEquals(parse(lines[1]).get("version").getAsString(), "1.0");
+    JsonObject meta = parse(lines[2]).getAsJsonObject("metadata");
+    Assert.assertNotNull(meta, "Last line should hold the metadata");
+    Assert.assertEquals(meta.get("recordCount").getAsInt(), 2);
+    Assert.assertEquals(meta.get("recordLimit").getAsInt(), 2);
+    Assert.assertEquals(meta.get("recordsSkipped").getAsInt(), 1);
+    Assert.assertEquals(meta.get("orderBy").getAsString(), "id(asc)");
+    Assert.assertEquals(meta.get("totalCount").getAsInt(), 5);
+    Assert.assertEquals(meta.get("nextCursor").getAsString(), "cursor1");
+
+    // With no limit the total is the number of apps written
+    out = new ByteArrayOutputStream();
+    AppResource.writeNdjson(out, consumer -> {
+      consumer.accept(makeApp("app1"));
+      return new AppsPage(null, AppsPage.TOTAL_NOT_COMPUTED);
+    }, SELECT_LIST, -1, null, 0, null, true);
+    lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    Assert.assertEquals(lines.length, 2);
+    meta = parse(lines[1]).getAsJsonObject("metadata");
+    Assert.assertEquals(meta.get("totalCount").getAsInt(), 1);
+    Assert.assertTrue(!meta.has("nextCursor") || meta.get("nextCursor").isJsonNull());
+  }
+
+  /*
+   * A listing that fails part way through is passed to the caller and no metadata line is written
+   */
+  @Test
+  public void testWriteNdjsonFailure()
+  {
+    var out = new ByteArrayOutputStream();
+    Assert.expectThrows(IllegalStateException.class, () ->
+      AppResource.writeNdjson(out, consumer -> {
+        consumer.accept(makeApp("app1"));
+        throw new IllegalStateException("listing failed");
+      }, SELECT_LIST, 10, null, 0, null, false));
+    Assert.assertFalse(out.toString(StandardCharsets.UTF_8).contains("metadata"));
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  private static App makeApp(String id)
+  {
+    return new App(1, "dev", id, "1.0", "owner1", true, true, false);
+  }
+
+  private static JsonObject parse(String line)
+  {
+    return TapisGsonUtils.getGson().fromJson(line, JsonObject.class);
+  }
+}
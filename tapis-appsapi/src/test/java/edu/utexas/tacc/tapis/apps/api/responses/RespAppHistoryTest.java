@@ -0,0 +1,47 @@
+package edu.utexas.tacc.tapis.apps.api.responses;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.api.responses.results.AppHistoryListMetadata;
+import edu.utexas.tacc.tapis.apps.model.App.AppOperation;
+import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
+
+/**
+ * Tests for the paging metadata returned with app history.
+ */
+@Test(groups={"unit"})
+public class RespAppHistoryTest
+{
+  /*
+   * The metadata holds the seqId of the last item and if there are more items after the page
+   */
+  @Test
+  public void testMetadata()
+  {
+    List<AppHistoryItem> items = new ArrayList<>();
+    items.add(makeItem(3));
+    items.add(makeItem(7));
+    var meta = (AppHistoryListMetadata) new RespAppHistory(items, 2, "1", true).metadata;
+    Assert.assertEquals(meta.recordCount, 2);
+    Assert.assertEquals(meta.recordLimit, 2);
+    Assert.assertEquals(meta.startAfter, "1");
+    Assert.assertTrue(meta.hasMore);
+    Assert.assertEquals(meta.lastSeqId, Integer.valueOf(7));
+
+    // An empty last page
+    meta = (AppHistoryListMetadata) new RespAppHistory(new ArrayList<>(), 2, "7", false).metadata;
+    Assert.assertEquals(meta.recordCount, 0);
+    Assert.assertFalse(meta.hasMore);
+    Assert.assertNull(meta.lastSeqId);
+  }
+
+  private static AppHistoryItem makeItem(int seqId)
+  {
+    return new AppHistoryItem(seqId, "dev", "user1", "dev", "user1", "1.0", AppOperation.modify, null, Instant.now());
+  }
+}
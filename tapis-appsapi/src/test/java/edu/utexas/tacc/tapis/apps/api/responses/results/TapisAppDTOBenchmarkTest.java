@@ -0,0 +1,150 @@
+package edu.utexas.tacc.tapis.apps.api.responses.results;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.BenchmarkUtils;
+import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.apps.model.App.FileInputMode;
+import edu.utexas.tacc.tapis.apps.model.App.Runtime;
+import edu.utexas.tacc.tapis.apps.model.App.RuntimeOption;
+import edu.utexas.tacc.tapis.apps.model.FileInput;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+import static edu.utexas.tacc.tapis.apps.model.App.DESCRIPTION_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.ID_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.JOB_ATTRS_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.OWNER_FIELD;
+import static edu.utexas.tacc.tapis.apps.model.App.VERSION_FIELD;
+
+/**
+ * Benchmarks for rendering the result of app retrievals, i.e. a list of TapisAppDTO display objects serialized
+ *   to a json string.
+ * Compares the previous rendering, which wrote each DTO to a json string and parsed it back to build the tree,
+ *   with the current rendering, which builds the tree directly. Responses of 1, 100 and 10,000 apps are rendered,
+ *   both with all attributes and with a select list that includes jobAttributes.
+ * Only runs when benchmarks are enabled, see BenchmarkUtils.
+ */
+public class TapisAppDTOBenchmarkTest
+{
+  private static final Gson gson = TapisGsonUtils.getGson();
+  // Number of apps rendered in each timed run, iterations are scaled so each run renders about this many apps
+  private static final int APPS_PER_RUN = 200000;
+  private static final int[] RESPONSE_SIZES = {1, 100, 10000};
+  private static final List<String> SELECT_LIST = List.of(ID_FIELD, VERSION_FIELD, OWNER_FIELD, DESCRIPTION_FIELD,
+                                                               JOB_ATTRS_FIELD);
+
+  private final List<App> apps = new ArrayList<>();
+
+  @BeforeClass
+  public void setup()
+  {
+    BenchmarkUtils.checkEnabled();
+    System.out.println("Executing BeforeClass setup method: " + TapisAppDTOBenchmarkTest.class.getSimpleName());
+    for (int i = 0; i < RESPONSE_SIZES[RESPONSE_SIZES.length - 1]; i++) { apps.add(makeApp(i)); }
+  }
+
+  @Test(groups={"unit"})
+  public void benchmarkAllAttributes()
+  {
+    runAll("allAttributes", null);
+  }
+
+  @Test(groups={"unit"})
+  public void benchmarkSelectList()
+  {
+    runAll("selectList", SELECT_LIST);
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  private void runAll(String label, List<String> selectList)
+  {
+    for (int size : RESPONSE_SIZES)
+    {
+      List<App> appList = apps.subList(0, size);
+      // Sanity check that both approaches give the same result
+      Assert.assertEquals(render(appList, a -> current(a, selectList)), render(appList, a -> legacy(a, selectList)));
+      int iterations = Math.max(5, APPS_PER_RUN / size);
+      BenchmarkUtils.run("TapisAppDTO " + label + " legacy apps=" + size, iterations, iterations,
+                         () -> render(appList, a -> legacy(a, selectList)));
+      BenchmarkUtils.run("TapisAppDTO " + label + " current apps=" + size, iterations, iterations,
+                         () -> render(appList, a -> current(a, selectList)));
+    }
+  }
+
+  // Build the result array and serialize it once, as done for a RespApps response
+  private static String render(List<App> appList, Function<App, JsonObject> displayObject)
+  {
+    var result = new JsonArray();
+    for (App app : appList) { result.add(displayObject.apply(app)); }
+    return gson.toJson(result);
+  }
+
+  private static JsonObject current(App app, List<String> selectList)
+  {
+    return new TapisAppDTO(app).getDisplayObject(selectList);
+  }
+
+  // Previous rendering, json string round trip for the whole DTO or for jobAttributes.
+  // The select list path is the previous addDisplayField for the attributes in SELECT_LIST.
+  private static JsonObject legacy(App app, List<String> selectList)
+  {
+    var dto = new TapisAppDTO(app);
+    if (selectList == null) return gson.fromJson(gson.toJson(dto), JsonObject.class);
+    var obj = new JsonObject();
+    if (!selectList.contains(ID_FIELD)) obj.addProperty(ID_FIELD, dto.id);
+    for (String attrName : selectList)
+    {
+      switch (attrName)
+      {
+        case ID_FIELD -> obj.addProperty(ID_FIELD, dto.id);
+        case VERSION_FIELD -> obj.addProperty(VERSION_FIELD, dto.version);
+        case OWNER_FIELD -> obj.addProperty(OWNER_FIELD, dto.owner);
+        case DESCRIPTION_FIELD -> obj.addProperty(DESCRIPTION_FIELD, dto.description);
+        case JOB_ATTRS_FIELD -> {
+          String jsonStr = gson.toJson(dto.jobAttributes);
+          obj.add(JOB_ATTRS_FIELD, gson.fromJson(jsonStr, JsonObject.class));
+        }
+        default -> throw new IllegalArgumentException("Attribute not supported by legacy rendering: " + attrName);
+      }
+    }
+    return obj;
+  }
+
+  private static App makeApp(int i)
+  {
+    var app = new App(i, "dev", "bench-app-" + i, "1.0", "owner" + (i % 10), true, true, false);
+    app.setDescription("Benchmark app " + i + " with a description of typical length for an app definition");
+    app.setUuid(UUID.randomUUID());
+    app.setRuntime(Runtime.DOCKER);
+    app.setRuntimeOptions(List.of(RuntimeOption.NONE));
+    app.setJobDescription("Job description for benchmark app " + i);
+    app.setExecSystemConstraints(new String[] {"Arch == x86_64"});
+    app.setTags(new String[] {"benchmark", "tag" + (i % 5), "value with spaces"});
+    var notes = new JsonObject();
+    notes.addProperty("project", "benchmark");
+    notes.addProperty("created", Instant.EPOCH.toString());
+    app.setNotes(notes);
+    var fileInputs = new ArrayList<FileInput>();
+    for (int j = 0; j < 5; j++)
+    {
+      fileInputs.add(new FileInput("input" + j, "File input " + j, FileInputMode.OPTIONAL, true, null, null,
+                                   "tapis://system1/data/input" + j, "input" + j));
+    }
+    app.setFileInputs(fileInputs);
+    return app;
+  }
+}
@@ -0,0 +1,81 @@
+package edu.utexas.tacc.tapis.apps.api.utils;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class AppResponseCacheTest
+{
+  @BeforeMethod
+  public void setUp()
+  {
+    AppResponseCache.clear();
+  }
+
+  /*
+   * Test that a spliced response is the same as rendering the full response, both on a miss and on a hit
+   */
+  @Test(groups={"unit"})
+  public void testRender()
+  {
+    var result = new JsonObject();
+    result.addProperty("id", "app1");
+    var tags = new JsonArray();
+    tags.add("tag1");
+    tags.add("tag2 é");
+    result.add("tags", tags);
+    var before = AppResponseCache.getSnapshot();
+    for (boolean pretty : new boolean[] {true, false})
+    {
+      var envelope = new JsonObject();
+      envelope.addProperty("status", "success");
+      envelope.addProperty("result", AppResponseCache.RESULT_PLACEHOLDER);
+      String envelopeJson = TapisGsonUtils.getGson(pretty).toJson(envelope);
+      envelope.add("result", result);
+      String expected = TapisGsonUtils.getGson(pretty).toJson(envelope);
+      String key = "etag-" + pretty;
+      byte[] body1 = AppResponseCache.render(key, envelopeJson, () -> result, pretty);
+      assertEquals(new String(body1, StandardCharsets.UTF_8), expected);
+      byte[] body2 = AppResponseCache.render(key, envelopeJson, () -> { throw new AssertionError("not cached"); }, pretty);
+      assertEquals(body2, body1);
+    }
+    var snapshot = AppResponseCache.getSnapshot();
+    assertEquals(snapshot.getSize(), 2);
+    assertEquals(snapshot.getMisses() - before.getMisses(), 2);
+    assertEquals(snapshot.getHits() - before.getHits(), 2);
+  }
+
+  /*
+   * Test that the total size is bounded and the least recently used entries are evicted first
+   */
+  @Test(groups={"unit"})
+  public void testEviction()
+  {
+    byte[] oneMb = new byte[1024 * 1024];
+    AppResponseCache.put("first", oneMb);
+    AppResponseCache.put("second", oneMb);
+    for (int i = 0; i < 70; i++)
+    {
+      // Keep the first entry recently used
+      assertNotNull(AppResponseCache.get("first"));
+      AppResponseCache.put("k" + i, oneMb);
+    }
+    var snapshot = AppResponseCache.getSnapshot();
+    assertTrue(snapshot.getTotalBytes() <= snapshot.getMaxTotalBytes(), "Cache exceeded max size");
+    assertTrue(snapshot.getEvictions() > 0);
+    assertNotNull(AppResponseCache.get("first"));
+    assertNull(AppResponseCache.get("second"));
+
+    // Entries over the size limit are not cached
+    long notCached = snapshot.getNotCached();
+    AppResponseCache.put("large", new byte[oneMb.length + 1]);
+    assertNull(AppResponseCache.get("large"));
+    assertEquals(AppResponseCache.getSnapshot().getNotCached(), notCached + 1);
+  }
+}
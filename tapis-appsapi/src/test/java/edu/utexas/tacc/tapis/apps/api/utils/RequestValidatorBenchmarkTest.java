@@ -0,0 +1,95 @@
+package edu.utexas.tacc.tapis.apps.api.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.BenchmarkUtils;
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
+import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
+import edu.utexas.tacc.tapis.shared.schema.JsonValidator;
+import edu.utexas.tacc.tapis.shared.schema.JsonValidatorSpec;
+
+/**
+ * Benchmarks for validating request bodies against the json schemas.
+ * Compares the previous validation, a new JsonValidatorSpec and a call to JsonValidator for each request, with
+ *   validation using the schemas compiled once by RequestValidator. A request of each type is validated, with
+ *   small and large app create requests.
+ * Only runs when benchmarks are enabled, see BenchmarkUtils.
+ */
+public class RequestValidatorBenchmarkTest
+{
+  private static final int ITERATIONS = 2000;
+  // Number of appArgs in the large create request
+  private static final int LARGE_ARG_COUNT = 500;
+
+  // Label -> request type and body
+  private final Map<String, Map.Entry<RequestType, String>> requests = new LinkedHashMap<>();
+
+  @BeforeClass
+  public void setup()
+  {
+    BenchmarkUtils.checkEnabled();
+    System.out.println("Executing BeforeClass setup method: " + RequestValidatorBenchmarkTest.class.getSimpleName());
+    requests.put("createSmall", Map.entry(RequestType.APP_CREATE, makeCreateRequest(1)));
+    requests.put("createLarge", Map.entry(RequestType.APP_CREATE, makeCreateRequest(LARGE_ARG_COUNT)));
+    requests.put("put", Map.entry(RequestType.APP_PUT, "{\"description\": \"updated\", \"containerImage\": \"image2\"}"));
+    requests.put("patch", Map.entry(RequestType.APP_PATCH, "{\"description\": \"patched\"}"));
+    requests.put("search", Map.entry(RequestType.APP_SEARCH, "{\"search\": [\"id.like.app*\", \"AND\", \"enabled.eq.true\"]}"));
+    requests.put("perms", Map.entry(RequestType.PERMS, "{\"permissions\": [\"READ\", \"MODIFY\"]}"));
+    requests.put("share", Map.entry(RequestType.SHARE, "{\"users\": [\"user1\", \"user2\"]}"));
+    RequestValidator.init();
+  }
+
+  @Test(groups={"unit"})
+  public void benchmarkValidation()
+  {
+    for (Map.Entry<String, Map.Entry<RequestType, String>> request : requests.entrySet())
+    {
+      RequestType requestType = request.getValue().getKey();
+      String json = request.getValue().getValue();
+      String label = request.getKey() + " bytes=" + json.length();
+      run("legacy " + label, () -> JsonValidator.validate(new JsonValidatorSpec(json, requestType.getSchemaFile())));
+      run("precompiled " + label, () -> RequestValidator.validate(requestType, json));
+    }
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  private static String makeCreateRequest(int argCount)
+  {
+    var sb = new StringBuilder("{\"id\": \"bench-app\", \"version\": \"1.0\", \"containerImage\": \"image1\", ");
+    sb.append("\"jobAttributes\": {\"parameterSet\": {\"appArgs\": [");
+    for (int i = 0; i < argCount; i++)
+    {
+      if (i > 0) sb.append(", ");
+      sb.append("{\"name\": \"arg").append(i).append("\", \"arg\": \"--option").append(i)
+        .append("\", \"description\": \"Description of app arg ").append(i).append("\"}");
+    }
+    sb.append("]}, \"fileInputs\": [");
+    for (int i = 0; i < argCount; i++)
+    {
+      if (i > 0) sb.append(", ");
+      sb.append("{\"name\": \"input").append(i).append("\", \"sourceUrl\": \"tapis://system1/data/input").append(i)
+        .append("\", \"targetPath\": \"input").append(i).append("\"}");
+    }
+    sb.append("]}}");
+    return sb.toString();
+  }
+
+  private interface Validation { void validate() throws TapisJSONException; }
+
+  // Run a validation repeatedly, failing if the request is not valid
+  private static void run(String label, Validation op)
+  {
+    BenchmarkUtils.run("RequestValidator " + label, ITERATIONS, ITERATIONS, () -> {
+      try { op.validate(); }
+      catch (TapisJSONException e) { throw new AssertionError("Request failed schema validation: " + label, e); }
+      return label;
+    });
+  }
+}
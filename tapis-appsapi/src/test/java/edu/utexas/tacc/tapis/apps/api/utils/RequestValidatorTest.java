@@ -0,0 +1,62 @@
+package edu.utexas.tacc.tapis.apps.api.utils;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.api.utils.RequestValidator.RequestType;
+import edu.utexas.tacc.tapis.shared.exceptions.TapisJSONException;
+
+import static org.testng.Assert.*;
+
+public class RequestValidatorTest
+{
+  private static final String CREATE_JSON = "{\"id\": \"app1\", \"version\": \"1.0\", \"containerImage\": \"image1\"}";
+
+  @BeforeClass
+  public void setUp()
+  {
+    // All schemas, including referenced definitions, must load and compile
+    RequestValidator.init();
+  }
+
+  /*
+   * Test that valid requests pass validation for each request type
+   */
+  @Test(groups={"unit"})
+  public void testValidRequests() throws TapisJSONException
+  {
+    RequestValidator.validate(RequestType.APP_CREATE, CREATE_JSON);
+    RequestValidator.validate(RequestType.APP_PUT, "{\"description\": \"updated\"}");
+    RequestValidator.validate(RequestType.APP_PATCH, "{\"description\": \"patched\"}");
+    RequestValidator.validate(RequestType.APP_SEARCH, "{\"search\": [\"id.eq.app1\"]}");
+    RequestValidator.validate(RequestType.PERMS, "{\"permissions\": [\"READ\", \"MODIFY\"]}");
+    RequestValidator.validate(RequestType.SHARE, "{\"users\": [\"user1\"]}");
+  }
+
+  /*
+   * Test that invalid requests are rejected, including constraints from Definitions.json
+   */
+  @Test(groups={"unit"})
+  public void testInvalidRequests()
+  {
+    // Missing required attribute
+    assertInvalid(RequestType.APP_CREATE, "{\"id\": \"app1\", \"version\": \"1.0\"}");
+    // Attribute not in schema
+    assertInvalid(RequestType.APP_CREATE, CREATE_JSON.replace("}", ", \"noSuchAttribute\": true}"));
+    // Id longer than allowed by the AppId definition
+    assertInvalid(RequestType.APP_CREATE, CREATE_JSON.replace("app1", "a".repeat(81)));
+    // User name shorter than allowed by the UserName definition
+    assertInvalid(RequestType.SHARE, "{\"users\": [\"\"]}");
+    assertInvalid(RequestType.PERMS, "{\"permissions\": [\"DELETE\"]}");
+    // Not a json object
+    assertInvalid(RequestType.APP_PATCH, "[]");
+    assertInvalid(RequestType.APP_PATCH, "not json");
+    assertInvalid(RequestType.APP_PATCH, "");
+    assertInvalid(RequestType.APP_PATCH, null);
+  }
+
+  private static void assertInvalid(RequestType requestType, String json)
+  {
+    assertThrows(TapisJSONException.class, () -> RequestValidator.validate(requestType, json));
+  }
+}
@@ -20,17 +20,26 @@ public abstract class AbstractDao
   /* ********************************************************************** */
   // Tracing.
   private static final Logger _log = LoggerFactory.getLogger(AbstractDao.class);
-  
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  // Datasource is cached once created so that borrowing a connection never requires a lock.
+  private static volatile DataSource _dataSource;
+  private static final Object _dataSourceLock = new Object();
+
   /* ---------------------------------------------------------------------- */
   /* getConnection:                                                         */
   /* ---------------------------------------------------------------------- */
   /** Return a connection from the static datasource.  Create the datasource
    * on demand if it doesn't exist.
+   * No lock is held while waiting on the pool, so one slow borrower cannot
+   * block other threads. Time spent waiting is recorded in DbPoolMetrics.
    * 
    * @return a database connection
    * @throws TapisException on error
    */
-  protected static synchronized Connection getConnection() 
+  protected static Connection getConnection() 
    throws TapisException
   {
     // Use the existing datasource. 
@@ -38,12 +47,15 @@ public abstract class AbstractDao
     
     // Get the connection.
     Connection conn;
+    long startNanos = System.nanoTime();
     try {conn = ds.getConnection();}
       catch (Exception e) {
+        DbPoolMetrics.recordBorrowFailure(System.nanoTime() - startNanos, e);
         String msg = MsgUtils.getMsg("DB_FAILED_CONNECTION");
         _log.error(msg, e);
         throw new TapisDBConnectionException(msg, e);
       }
+    DbPoolMetrics.recordBorrow(System.nanoTime() - startNanos);
     
     return conn;
   }
@@ -51,8 +63,41 @@ public abstract class AbstractDao
   /* ---------------------------------------------------------------------- */
   /* getDataSource:                                                         */
   /* ---------------------------------------------------------------------- */
+  /** Return the static datasource, creating it on first use.  Only the
+   * creation path is synchronized.
+   *
+   * @return the datasource
+   * @throws TapisException on error
+   */
   protected static DataSource getDataSource() 
    throws TapisException
+  {
+    // Fast path, datasource already cached.
+    DataSource ds = _dataSource;
+    if (ds != null) return ds;
+
+    synchronized (_dataSourceLock) {
+      if (_dataSource == null) _dataSource = createDataSource();
+      return _dataSource;
+    }
+  }
+
+  /* ---------------------------------------------------------------------- */
+  /* getCachedDataSource:                                                   */
+  /* ---------------------------------------------------------------------- */
+  /** Return the datasource if it has been created, otherwise null.  Used
+   * for reporting so that a metrics request never creates the pool.
+   */
+  static DataSource getCachedDataSource()
+  {
+    return _dataSource;
+  }
+
+  /* ---------------------------------------------------------------------- */
+  /* createDataSource:                                                      */
+  /* ---------------------------------------------------------------------- */
+  private static DataSource createDataSource() 
+   throws TapisException
   {
     // Use the existing datasource. 
     DataSource ds = TapisDataSource.getDataSource();
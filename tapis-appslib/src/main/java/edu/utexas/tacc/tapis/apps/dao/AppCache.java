@@ -0,0 +1,245 @@
+package edu.utexas.tacc.tapis.apps.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jooq.DSLContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.utexas.tacc.tapis.apps.config.RuntimeParameters;
+import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.apps.utils.LibUtils;
+import edu.utexas.tacc.tapis.apps.utils.TtlCache;
+
+/*
+ * Cache of App objects fetched by AppsDaoImpl.getApp, keyed by tenant, app id, version and includeDeleted.
+ *   A request for the latest version is cached under a null version, an alias for whichever version is latest.
+ *   Copies are stored and returned so callers may modify the App they are given.
+ * Every DAO method that changes an app calls notifyChanged() in its transaction and invalidate() after commit.
+ *   notifyChanged() issues a Postgres NOTIFY that is delivered on commit to every service instance, where a LISTEN
+ *   thread invalidates all cached versions of the app. Entries also expire after a fixed time, so an instance that
+ *   misses a notification serves a stale app for at most that long. All entries are dropped whenever the listener
+ *   (re)connects, since notifications sent while it was not connected are lost.
+ * This class is non-instantiable
+ */
+public final class AppCache
+{
+  // Private constructor to make it non-instantiable
+  private AppCache() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                               Constants                                */
+  /* ********************************************************************** */
+  // Tracing.
+  private static final Logger _log = LoggerFactory.getLogger(AppCache.class);
+
+  // Channel used for notifications. Payload is "<tenant>:<appId>", tenant ids do not contain ":"
+  private static final String NOTIFY_CHANNEL = "apps_app_changed";
+  private static final String NOTIFY_SQL = "select pg_notify(?, ?)";
+
+  private static final int CACHE_MAX_SIZE = 5000;
+  private static final long CACHE_TTL_SECONDS = 60;
+
+  // How long the listener waits for notifications before checking its connection, and the wait before reconnecting
+  private static final int LISTEN_POLL_MS = 10000;
+  private static final long LISTEN_RETRY_MS = 5000;
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  private static final TtlCache<AppKey, App> apps = new TtlCache<>(CACHE_MAX_SIZE, CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+  private static final AtomicLong notificationsSent = new AtomicLong();
+  private static final AtomicLong notificationsReceived = new AtomicLong();
+  private static final AtomicLong listenerFailures = new AtomicLong();
+  private static final AtomicBoolean listenerStarted = new AtomicBoolean();
+  private static volatile boolean listening;
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Start the thread that listens for changes made by any service instance. Only the first call has any effect.
+   */
+  public static void startListener()
+  {
+    if (!listenerStarted.compareAndSet(false, true)) return;
+    Thread t = new Thread(AppCache::listen, "apps-cache-listener");
+    t.setDaemon(true);
+    t.start();
+  }
+
+  /**
+   * Take a point in time snapshot of the cache metrics.
+   * @return snapshot
+   */
+  public static Snapshot getSnapshot() { return new Snapshot(); }
+
+  /* ********************************************************************** */
+  /*                         Package-Private Methods                        */
+  /* ********************************************************************** */
+
+  // Read before fetching an app that will be passed to put()
+  static long getGeneration() { return apps.getGeneration(); }
+
+  /*
+   * Get a copy of a cached app, null if not cached. Use a null version for the latest version.
+   */
+  static App get(String tenant, String appId, String appVersion, boolean includeDeleted)
+  {
+    App app = apps.get(new AppKey(tenant, appId, appVersion, includeDeleted));
+    return (app == null) ? null : new App(app);
+  }
+
+  /*
+   * Cache a copy of an app fetched from the DB, unless the cache was invalidated after loadGeneration was read.
+   * An app fetched as the latest version is also cached under its own version.
+   */
+  static void put(String tenant, String appId, String appVersion, boolean includeDeleted, App app, long loadGeneration)
+  {
+    var copy = new App(app);
+    apps.put(new AppKey(tenant, appId, appVersion, includeDeleted), copy, loadGeneration);
+    if (appVersion == null) apps.put(new AppKey(tenant, appId, app.getVersion(), includeDeleted), copy, loadGeneration);
+  }
+
+  /*
+   * Notify all service instances that an app has changed. Must be called in the transaction making the change,
+   *   the notification is only delivered if the transaction commits.
+   */
+  static void notifyChanged(DSLContext db, String tenant, String appId)
+  {
+    db.fetch(NOTIFY_SQL, NOTIFY_CHANNEL, tenant + ":" + appId);
+    notificationsSent.incrementAndGet();
+  }
+
+  /*
+   * Drop all cached versions of an app in this service instance
+   */
+  static void invalidate(String tenant, String appId)
+  {
+    apps.invalidateIf(k -> k.isForApp(tenant, appId));
+  }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  /*
+   * Listen for notifications until the thread is interrupted, reconnecting after any failure.
+   * A dedicated connection is used rather than one from the pool, since it is held for the life of the service.
+   */
+  private static void listen()
+  {
+    RuntimeParameters parms = RuntimeParameters.getInstance();
+    while (!Thread.currentThread().isInterrupted())
+    {
+      try (Connection conn = DriverManager.getConnection(parms.getJdbcURL(), parms.getDbUser(), parms.getDbPassword());
+           Statement stmt = conn.createStatement())
+      {
+        conn.setAutoCommit(true);
+        stmt.execute("LISTEN " + NOTIFY_CHANNEL);
+        // Changes made while not listening were missed
+        apps.invalidateAll();
+        listening = true;
+        _log.info(LibUtils.getMsg("APPLIB_CACHE_LISTEN_START", NOTIFY_CHANNEL));
+        PGConnection pgConn = conn.unwrap(PGConnection.class);
+        while (!Thread.currentThread().isInterrupted())
+        {
+          PGNotification[] notifications = pgConn.getNotifications(LISTEN_POLL_MS);
+          // Nothing received, make sure the connection is still alive
+          if (notifications == null || notifications.length == 0) { stmt.execute("SELECT 1"); continue; }
+          for (PGNotification notification : notifications) { handleNotification(notification.getParameter()); }
+        }
+      }
+      catch (Exception e)
+      {
+        listening = false;
+        listenerFailures.incrementAndGet();
+        apps.invalidateAll();
+        _log.warn(LibUtils.getMsg("APPLIB_CACHE_LISTEN_ERROR", NOTIFY_CHANNEL, e.getMessage()), e);
+        try { Thread.sleep(LISTEN_RETRY_MS); }
+        catch (InterruptedException e1) { Thread.currentThread().interrupt(); }
+      }
+    }
+    listening = false;
+  }
+
+  private static void handleNotification(String payload)
+  {
+    notificationsReceived.incrementAndGet();
+    int i = (payload == null) ? -1 : payload.indexOf(':');
+    // Unexpected payload, drop everything to be safe
+    if (i < 0) apps.invalidateAll();
+    else invalidate(payload.substring(0, i), payload.substring(i + 1));
+  }
+
+  /* ********************************************************************** */
+  /*                            Nested types                                */
+  /* ********************************************************************** */
+
+  private static final class AppKey
+  {
+    private final String tenant;
+    private final String appId;
+    private final String appVersion;
+    private final boolean includeDeleted;
+
+    AppKey(String tenant1, String appId1, String appVersion1, boolean includeDeleted1)
+    {
+      tenant = tenant1;
+      appId = appId1;
+      appVersion = appVersion1;
+      includeDeleted = includeDeleted1;
+    }
+
+    boolean isForApp(String tenant1, String appId1) { return Objects.equals(tenant, tenant1) && Objects.equals(appId, appId1); }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) return true;
+      if (!(o instanceof AppKey)) return false;
+      var k = (AppKey) o;
+      return includeDeleted == k.includeDeleted && Objects.equals(tenant, k.tenant) && Objects.equals(appId, k.appId) &&
+             Objects.equals(appVersion, k.appVersion);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(tenant, appId, appVersion, includeDeleted); }
+  }
+
+  /*
+   * Immutable view of the cache metrics
+   */
+  public static final class Snapshot
+  {
+    private final TtlCache.Snapshot cache;
+    private final boolean listening;
+    private final long notificationsSent;
+    private final long notificationsReceived;
+    private final long listenerFailures;
+
+    private Snapshot()
+    {
+      cache = apps.getSnapshot();
+      listening = AppCache.listening;
+      notificationsSent = AppCache.notificationsSent.get();
+      notificationsReceived = AppCache.notificationsReceived.get();
+      listenerFailures = AppCache.listenerFailures.get();
+    }
+
+    public TtlCache.Snapshot getCache() { return cache; }
+    public boolean isListening() { return listening; }
+    public long getNotificationsSent() { return notificationsSent; }
+    public long getNotificationsReceived() { return notificationsReceived; }
+    public long getListenerFailures() { return listenerFailures; }
+  }
+}
@@ -2,6 +2,7 @@ package edu.utexas.tacc.tapis.apps.dao;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import edu.utexas.tacc.tapis.search.parser.ASTNode;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisException;
@@ -9,7 +10,9 @@ import edu.utexas.tacc.tapis.shared.threadlocal.OrderBy;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.model.App.AppOperation;
+import edu.utexas.tacc.tapis.apps.model.AppCreateResult;
 import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
+import edu.utexas.tacc.tapis.apps.model.AppsPage;
 
 import edu.utexas.tacc.tapis.apps.service.AppsServiceImpl.AuthListType;
 
@@ -18,6 +21,10 @@ public interface AppsDao
   boolean createApp(ResourceRequestUser rUser, App app, String changeDescription, String rawData)
           throws TapisException, IllegalStateException;
 
+  List<AppCreateResult> createApps(ResourceRequestUser rUser, List<App> apps, List<String> changeDescriptions,
+                                   List<String> rawDataList)
+          throws TapisException;
+
   void patchApp(ResourceRequestUser rUser, String appId, String appVersion, App patchedApp,
                 String changeDescription, String rawData)
           throws TapisException, IllegalStateException;
@@ -42,8 +49,14 @@ public interface AppsDao
 
   void migrateDB() throws TapisException;
 
+  boolean acquireLease(String leaseName, String holder, long leaseSeconds) throws TapisException;
+
+  void releaseLease(String leaseName, String holder) throws TapisException;
+
   boolean checkForApp(String tenant, String id, boolean includeDeleted) throws TapisException;
 
+  Set<String> getExistingAppIDs(String tenant, Set<String> ids, boolean includeDeleted) throws TapisException;
+
   boolean checkForAppVersion(String tenant, String id, String version, boolean includeDeleted) throws TapisException;
 
   boolean checkForApp(String tenant, String id, String version, boolean includeDeleted) throws TapisException;
@@ -56,6 +69,8 @@ public interface AppsDao
 
   App getApp(String tenant, String id, String version, boolean includeDeleted) throws TapisException;
 
+  App getAppMetadata(String tenant, String id, String version) throws TapisException;
+
   int getAppsCount(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST, List<OrderBy> orderByList,
                    String startAfter, Boolean versionSpecified, boolean showDeleted, AuthListType listType,
                    Set<String> viewableAppIDs, Set<String> sharedAppIDs)
@@ -66,9 +81,31 @@ public interface AppsDao
                     boolean showDeleted, AuthListType listType, Set<String> viewableAppIDs, Set<String> sharedAppIDs)
           throws TapisException;
 
+  List<App> getApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                    List<String> selectList, int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                    String cursor, Boolean versionSpecified, boolean showDeleted, AuthListType listType,
+                    Set<String> viewableAppIDs, Set<String> sharedAppIDs)
+          throws TapisException;
+
+  AppsPage getAppsPage(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                       List<String> selectList, int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                       String cursor, Boolean versionSpecified, boolean showDeleted, AuthListType listType,
+                       Set<String> viewableAppIDs, Set<String> sharedAppIDs, boolean computeTotal)
+          throws TapisException;
+
+  AppsPage streamApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                      List<String> selectList, int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                      String cursor, Boolean versionSpecified, boolean showDeleted, AuthListType listType,
+                      Set<String> viewableAppIDs, Set<String> sharedAppIDs, boolean computeTotal,
+                      Consumer<App> consumer)
+          throws TapisException;
+
   Set<String> getAppIDs(String tenant, boolean showDeleted) throws TapisException;
 
   String getAppOwner(String tenant, String id) throws TapisException;
 
   List<AppHistoryItem> getAppHistory(String oboTenantId, String appId) throws TapisException;
+
+  int getAppHistory(String oboTenantId, String appId, int limit, int startAfter, Consumer<AppHistoryItem> consumer)
+          throws TapisException;
 }
@@ -3,14 +3,21 @@ package edu.utexas.tacc.tapis.apps.dao;
 import java.sql.Connection;
 import java.sql.Types;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -19,25 +26,32 @@ import com.google.gson.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import org.flywaydb.core.Flyway;
 import org.jooq.Condition;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.JSONB;
 import org.jooq.OrderField;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
 import org.jooq.SelectConditionStep;
+import org.jooq.TableField;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.utexas.tacc.tapis.apps.gen.jooq.tables.records.AppUpdatesRecord;
+import edu.utexas.tacc.tapis.apps.gen.jooq.tables.records.AppsVersionsRecord;
 import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.model.App.AppOperation;
 import edu.utexas.tacc.tapis.apps.model.App.Runtime;
 import edu.utexas.tacc.tapis.apps.model.App.RuntimeOption;
+import edu.utexas.tacc.tapis.apps.model.AppCreateResult;
 import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
-import edu.utexas.tacc.tapis.apps.model.FileInput;
-import edu.utexas.tacc.tapis.apps.model.FileInputArray;
-import edu.utexas.tacc.tapis.apps.model.ReqSubscribe;
-import edu.utexas.tacc.tapis.apps.model.ParameterSet;
+import edu.utexas.tacc.tapis.apps.model.AppsPage;
 import edu.utexas.tacc.tapis.apps.service.AppsServiceImpl.AuthListType;
 import edu.utexas.tacc.tapis.search.parser.ASTBinaryExpression;
 import edu.utexas.tacc.tapis.search.parser.ASTLeaf;
@@ -57,7 +71,7 @@ import static edu.utexas.tacc.tapis.apps.gen.jooq.Tables.APPS;
 
 import edu.utexas.tacc.tapis.search.SearchUtils;
 import edu.utexas.tacc.tapis.search.SearchUtils.SearchOperator;
-import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+import edu.utexas.tacc.tapis.apps.utils.JsonbCodec;
 import edu.utexas.tacc.tapis.apps.utils.LibUtils;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisException;
 
@@ -82,15 +96,87 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
   private static final String EMPTY_JSON_ARRAY = "[]";
   private static final String[] EMPTY_STR_ARRAY = {};
 
+  // Number of rows fetched per round trip when streaming results using a DB cursor
+  private static final int HISTORY_FETCH_SIZE = 500;
+
+  // Number of apps read per DB call when streaming a listing of apps
+  private static final int APPS_STREAM_BATCH_SIZE = 500;
+
+  // Maximum number of apps inserted in one transaction when creating apps in bulk
+  public static final int BULK_CREATE_CHUNK_SIZE = 100;
+
+  // JSONB columns holding job attributes, fetched as raw JSONB rather than through the JsonElement binding.
+  // The App model decodes them only when first accessed. See App.setJsonbAttributes()
+  private static final Field<JSONB> PARAMETER_SET_JSONB = rawJsonbField(APPS_VERSIONS.PARAMETER_SET);
+  private static final Field<JSONB> FILE_INPUTS_JSONB = rawJsonbField(APPS_VERSIONS.FILE_INPUTS);
+  private static final Field<JSONB> FILE_INPUT_ARRAYS_JSONB = rawJsonbField(APPS_VERSIONS.FILE_INPUT_ARRAYS);
+  private static final Field<JSONB> SUBSCRIPTIONS_JSONB = rawJsonbField(APPS_VERSIONS.SUBSCRIPTIONS);
+
+  // Number of rows matching a listing before limit and offset are applied, computed in the same statement as the page
+  private static final Field<Integer> TOTAL_COUNT_FIELD = DSL.count().over().as("total_count");
+
   // Create a static Set of column names for tables APPS and APPS_VERSIONS
+  // Also create the list of all columns fetched when joining APPS and APPS_VERSIONS to build a full App.
   private static final Set<String> APPS_FIELDS = new HashSet<>();
   private static final Set<String> APPS_VERSIONS_FIELDS = new HashSet<>();
+  private static final List<Field<?>> APP_JOIN_FIELDS = new ArrayList<>();
   static
   {
     for (Field<?> field : APPS.fields()) { APPS_FIELDS.add(field.getName()); }
     for (Field<?> field : APPS_VERSIONS.fields()) { APPS_VERSIONS_FIELDS.add(field.getName()); }
+    APP_JOIN_FIELDS.addAll(Arrays.asList(APPS.fields()));
+    for (Field<?> field : APPS_VERSIONS.fields())
+    {
+      if (field.equals(APPS_VERSIONS.PARAMETER_SET)) APP_JOIN_FIELDS.add(PARAMETER_SET_JSONB);
+      else if (field.equals(APPS_VERSIONS.FILE_INPUTS)) APP_JOIN_FIELDS.add(FILE_INPUTS_JSONB);
+      else if (field.equals(APPS_VERSIONS.FILE_INPUT_ARRAYS)) APP_JOIN_FIELDS.add(FILE_INPUT_ARRAYS_JSONB);
+      else if (field.equals(APPS_VERSIONS.SUBSCRIPTIONS)) APP_JOIN_FIELDS.add(SUBSCRIPTIONS_JSONB);
+      else APP_JOIN_FIELDS.add(field);
+    }
   }
 
+  // Columns always fetched when a select list is used to limit the columns fetched for getApps().
+  // Includes the summary attributes (id, version, owner) and other small columns that service level code may check.
+  private static final List<Field<?>> BASE_SELECT_FIELDS =
+          List.of(APPS.SEQ_ID, APPS_VERSIONS.SEQ_ID, APPS.TENANT, APPS.ID, APPS_VERSIONS.VERSION, APPS.OWNER,
+                  APPS.ENABLED, APPS_VERSIONS.VERSION_ENABLED, APPS_VERSIONS.LOCKED, APPS.DELETED);
+
+  // Columns fetched by getAppMetadata
+  private static final List<Field<?>> METADATA_FIELDS = new ArrayList<>(BASE_SELECT_FIELDS);
+  static
+  {
+    METADATA_FIELDS.addAll(List.of(APPS.CONTAINERIZED, APPS_VERSIONS.UUID, APPS_VERSIONS.UPDATED));
+  }
+
+  // Columns needed for each attribute that may appear in a select list.
+  // Attributes not found here either have no column (e.g. sharedAppCtx) or are always fetched.
+  private static final Map<String, List<Field<?>>> SELECT_ATTR_FIELDS = Map.ofEntries(
+          Map.entry(App.DESCRIPTION_FIELD, List.of(APPS_VERSIONS.DESCRIPTION)),
+          Map.entry(App.CONTAINERIZED_FIELD, List.of(APPS.CONTAINERIZED)),
+          Map.entry(App.RUNTIME_FIELD, List.of(APPS_VERSIONS.RUNTIME)),
+          Map.entry(App.RUNTIMEVER_FIELD, List.of(APPS_VERSIONS.RUNTIME_VERSION)),
+          Map.entry(App.RUNTIMEOPTS_FIELD, List.of(APPS_VERSIONS.RUNTIME_OPTIONS)),
+          Map.entry(App.CONTAINERIMG_FIELD, List.of(APPS_VERSIONS.CONTAINER_IMAGE)),
+          Map.entry(App.JOB_TYPE_FIELD, List.of(APPS_VERSIONS.JOB_TYPE)),
+          Map.entry(App.MAX_JOBS_FIELD, List.of(APPS_VERSIONS.MAX_JOBS)),
+          Map.entry(App.MAX_JOBS_PER_USER_FIELD, List.of(APPS_VERSIONS.MAX_JOBS_PER_USER)),
+          Map.entry(App.STRICT_FILE_INPUTS_FIELD, List.of(APPS_VERSIONS.STRICT_FILE_INPUTS)),
+          Map.entry(App.JOB_ATTRS_FIELD, List.of(APPS_VERSIONS.JOB_DESCRIPTION, APPS_VERSIONS.DYNAMIC_EXEC_SYSTEM,
+                  APPS_VERSIONS.EXEC_SYSTEM_CONSTRAINTS, APPS_VERSIONS.EXEC_SYSTEM_ID, APPS_VERSIONS.EXEC_SYSTEM_EXEC_DIR,
+                  APPS_VERSIONS.EXEC_SYSTEM_INPUT_DIR, APPS_VERSIONS.EXEC_SYSTEM_OUTPUT_DIR,
+                  APPS_VERSIONS.DTN_SYSTEM_INPUT_DIR, APPS_VERSIONS.DTN_SYSTEM_OUTPUT_DIR,
+                  APPS_VERSIONS.EXEC_SYSTEM_LOGICAL_QUEUE, APPS_VERSIONS.ARCHIVE_SYSTEM_ID,
+                  APPS_VERSIONS.ARCHIVE_SYSTEM_DIR, APPS_VERSIONS.ARCHIVE_ON_APP_ERROR, APPS_VERSIONS.IS_MPI,
+                  APPS_VERSIONS.MPI_CMD, APPS_VERSIONS.CMD_PREFIX, PARAMETER_SET_JSONB, FILE_INPUTS_JSONB,
+                  FILE_INPUT_ARRAYS_JSONB, APPS_VERSIONS.NODE_COUNT, APPS_VERSIONS.CORES_PER_NODE,
+                  APPS_VERSIONS.MEMORY_MB, APPS_VERSIONS.MAX_MINUTES, SUBSCRIPTIONS_JSONB,
+                  APPS_VERSIONS.JOB_TAGS)),
+          Map.entry(App.TAGS_FIELD, List.of(APPS_VERSIONS.TAGS)),
+          Map.entry(App.NOTES_FIELD, List.of(APPS_VERSIONS.NOTES)),
+          Map.entry(App.UUID_FIELD, List.of(APPS_VERSIONS.UUID)),
+          Map.entry(App.CREATED_FIELD, List.of(APPS_VERSIONS.CREATED)),
+          Map.entry(App.UPDATED_FIELD, List.of(APPS_VERSIONS.UPDATED)));
+
   // Compiled regex for splitting around "\."
   private static final Pattern DOT_SPLIT = Pattern.compile("\\.");
 
@@ -122,34 +208,7 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     if (StringUtils.isBlank(app.getId())) LibUtils.logAndThrowNullParmException(opName, "appId");
     if (StringUtils.isBlank(app.getVersion())) LibUtils.logAndThrowNullParmException(opName, "appVersion");
 
-    // Make sure owner, runtime, notes, tags etc. are set
-    String owner = App.DEFAULT_OWNER;
-    Runtime runtime = App.DEFAULT_RUNTIME;
-    String[] runtimeOptionsStrArray = null;
-    String[] execSystemConstraintsStrArray = null;
-    JsonElement parameterSetJson = App.DEFAULT_PARAMETER_SET;
-    JsonElement fileInputsJson = App.DEFAULT_FILE_INPUTS;
-    JsonElement fileInputArraysJson = App.DEFAULT_FILE_INPUT_ARRAYS;
-    JsonElement subscriptionsJson = App.DEFAULT_SUBSCRIPTIONS;
-    String[] jobTagsStrArray = App.EMPTY_STR_ARRAY;
-    String[] tagsStrArray = App.EMPTY_STR_ARRAY;
-    JsonObject notesObj = App.DEFAULT_NOTES;
-
-    if (StringUtils.isNotBlank(app.getOwner())) owner = app.getOwner();
-    if (app.getRuntime() != null) runtime = app.getRuntime();
-    // Convert runtimeOptions array from enum to string
-    if (app.getRuntimeOptions() != null)
-    {
-      runtimeOptionsStrArray = app.getRuntimeOptions().stream().map(RuntimeOption::name).toArray(String[]::new);
-    }
-    if (app.getExecSystemConstraints() != null) execSystemConstraintsStrArray = app.getExecSystemConstraints();
-    if (app.getParameterSet() != null) parameterSetJson = TapisGsonUtils.getGson().toJsonTree(app.getParameterSet());
-    if (app.getFileInputs() != null) fileInputsJson = TapisGsonUtils.getGson().toJsonTree(app.getFileInputs());
-    if (app.getFileInputArrays() != null) fileInputArraysJson = TapisGsonUtils.getGson().toJsonTree(app.getFileInputArrays());
-    if (app.getSubscriptions() != null) subscriptionsJson = TapisGsonUtils.getGson().toJsonTree(app.getSubscriptions());
-    if (app.getJobTags() != null) jobTagsStrArray = app.getJobTags();
-    if (app.getTags() != null) tagsStrArray = app.getTags();
-    if (app.getNotes() != null) notesObj = app.getNotes();
+    String owner = StringUtils.isNotBlank(app.getOwner()) ? app.getOwner() : App.DEFAULT_OWNER;
 
     // Generated sequence IDs
     int appSeqId = -1;
@@ -165,97 +224,56 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       conn = getConnection();
       DSLContext db = DSL.using(conn);
 
-      // Check to see if app exists (even if deleted). If yes then throw IllegalStateException
-      if (isDeleted(db, app.getTenant(), app.getId()))
-        throw new IllegalStateException(LibUtils.getMsgAuth("APPLIB_APP_DELETED", rUser, app.getId()));
-
-      // If app (id+version) exists then throw IllegalStateException
-      if (checkIfAppExists(db, app.getTenant(), app.getId(), app.getVersion(), false))
-        throw new IllegalStateException(LibUtils.getMsgAuth("APPLIB_APP_EXISTS", rUser, app.getId(),
-                                                            app.getVersion()));
-      // If no top level app entry this is the first version. Create the initial top level record
-      if (!checkIfAppExists(db, app.getTenant(), app.getId(), null, false))
-      {
-        Record record = db.insertInto(APPS)
-                .set(APPS.TENANT, app.getTenant())
-                .set(APPS.ID, app.getId())
-                .set(APPS.LATEST_VERSION, app.getVersion())
-                .set(APPS.OWNER, owner)
-                .set(APPS.ENABLED, app.isEnabled())
-                .set(APPS.CONTAINERIZED, app.isContainerized())
-                .returningResult(APPS.SEQ_ID)
-                .fetchOne();
-        if (record != null) appSeqId = record.getValue(APPS.SEQ_ID);
-      }
-      else
+      // Create the top level record if this is the first version, else make the new version the latest version.
+      // Either way the APPS row is locked until commit, so concurrent creates of versions for the same app
+      //   are serialized rather than racing on the checks below.
+      // Any failure below rolls back the transaction, including the update of latest_version.
+      Record appsRecord = db.insertInto(APPS)
+              .set(APPS.TENANT, app.getTenant())
+              .set(APPS.ID, app.getId())
+              .set(APPS.LATEST_VERSION, app.getVersion())
+              .set(APPS.OWNER, owner)
+              .set(APPS.ENABLED, app.isEnabled())
+              .set(APPS.CONTAINERIZED, app.isContainerized())
+              .onConflict(APPS.TENANT, APPS.ID)
+              .doUpdate()
+              .set(APPS.LATEST_VERSION, app.getVersion())
+              .returningResult(APPS.SEQ_ID, APPS.DELETED)
+              .fetchOne();
+      if (appsRecord == null)
       {
-        // Top level record exists. Get the sequence Id.
-        appSeqId = getAppSeqIdUsingDb(db, app.getTenant(), app.getId());
+        throw new TapisException(LibUtils.getMsgAuth("APPLIB_DB_NULL_RESULT", rUser, app.getId(), opName));
       }
 
-      // Insert new record into APPS_VERSIONS
+      // If app exists but has been marked deleted then throw IllegalStateException
+      if (appsRecord.get(APPS.DELETED))
+        throw new IllegalStateException(LibUtils.getMsgAuth("APPLIB_APP_DELETED", rUser, app.getId()));
+
+      appSeqId = appsRecord.get(APPS.SEQ_ID);
+
+      // Insert new record into APPS_VERSIONS. If app (id+version) exists nothing is returned.
       Record record = db.insertInto(APPS_VERSIONS)
-              .set(APPS_VERSIONS.APP_SEQ_ID, appSeqId)
-              .set(APPS_VERSIONS.TENANT, app.getTenant())
-              .set(APPS_VERSIONS.ID, app.getId())
-              .set(APPS_VERSIONS.VERSION, app.getVersion())
-              .set(APPS_VERSIONS.DESCRIPTION, app.getDescription())
-              .set(APPS_VERSIONS.LOCKED, app.isLocked())
-              .set(APPS_VERSIONS.RUNTIME, runtime)
-              .set(APPS_VERSIONS.RUNTIME_VERSION, app.getRuntimeVersion())
-              .set(APPS_VERSIONS.RUNTIME_OPTIONS, runtimeOptionsStrArray)
-              .set(APPS_VERSIONS.CONTAINER_IMAGE, app.getContainerImage())
-              .set(APPS_VERSIONS.JOB_TYPE, app.getJobType())
-              .set(APPS_VERSIONS.MAX_JOBS, app.getMaxJobs())
-              .set(APPS_VERSIONS.MAX_JOBS_PER_USER, app.getMaxJobsPerUser())
-              .set(APPS_VERSIONS.JOB_DESCRIPTION, app.getJobDescription())
-              .set(APPS_VERSIONS.DYNAMIC_EXEC_SYSTEM, app.isDynamicExecSystem())
-              .set(APPS_VERSIONS.EXEC_SYSTEM_CONSTRAINTS, execSystemConstraintsStrArray)
-              .set(APPS_VERSIONS.EXEC_SYSTEM_ID, app.getExecSystemId())
-              .set(APPS_VERSIONS.EXEC_SYSTEM_EXEC_DIR, app.getExecSystemExecDir())
-              .set(APPS_VERSIONS.EXEC_SYSTEM_INPUT_DIR, app.getExecSystemInputDir())
-              .set(APPS_VERSIONS.EXEC_SYSTEM_OUTPUT_DIR, app.getExecSystemOutputDir())
-              .set(APPS_VERSIONS.DTN_SYSTEM_INPUT_DIR, app.getDtnSystemInputDir())
-              .set(APPS_VERSIONS.DTN_SYSTEM_OUTPUT_DIR, app.getDtnSystemOutputDir())
-              .set(APPS_VERSIONS.EXEC_SYSTEM_LOGICAL_QUEUE, app.getExecSystemLogicalQueue())
-              .set(APPS_VERSIONS.ARCHIVE_SYSTEM_ID, app.getArchiveSystemId())
-              .set(APPS_VERSIONS.ARCHIVE_SYSTEM_DIR, app.getArchiveSystemDir())
-              .set(APPS_VERSIONS.ARCHIVE_ON_APP_ERROR, app.isArchiveOnAppError())
-              .set(APPS_VERSIONS.IS_MPI, app.getIsMpi())
-              .set(APPS_VERSIONS.MPI_CMD, app.getMpiCmd())
-              .set(APPS_VERSIONS.CMD_PREFIX, app.getCmdPrefix())
-              .set(APPS_VERSIONS.PARAMETER_SET, parameterSetJson)
-              .set(APPS_VERSIONS.FILE_INPUTS, fileInputsJson)
-              .set(APPS_VERSIONS.FILE_INPUT_ARRAYS, fileInputArraysJson)
-              .set(APPS_VERSIONS.NODE_COUNT, app.getNodeCount())
-              .set(APPS_VERSIONS.CORES_PER_NODE, app.getCoresPerNode())
-              .set(APPS_VERSIONS.MEMORY_MB, app.getMemoryMB())
-              .set(APPS_VERSIONS.MAX_MINUTES, app.getMaxMinutes())
-              .set(APPS_VERSIONS.SUBSCRIPTIONS, subscriptionsJson)
-              .set(APPS_VERSIONS.JOB_TAGS, jobTagsStrArray)
-              .set(APPS_VERSIONS.TAGS, tagsStrArray)
-              .set(APPS_VERSIONS.NOTES, notesObj)
-              .set(APPS_VERSIONS.UUID, app.getUuid())
+              .set(newAppsVersionsRecord(app, appSeqId))
+              .onConflict(APPS_VERSIONS.APP_SEQ_ID, APPS_VERSIONS.VERSION)
+              .doNothing()
               .returningResult(APPS_VERSIONS.SEQ_ID)
               .fetchOne();
 
-      // If record is null it is an error
+      // If app (id+version) exists then throw IllegalStateException
       if (record == null)
-      {
-        throw new TapisException(LibUtils.getMsgAuth("APPLIB_DB_NULL_RESULT", rUser, app.getId(), opName));
-      }
+        throw new IllegalStateException(LibUtils.getMsgAuth("APPLIB_APP_EXISTS", rUser, app.getId(),
+                                                            app.getVersion()));
 
       appVerSeqId = record.getValue(APPS_VERSIONS.SEQ_ID);
 
-      // Update top level table APPS
-      db.update(APPS).set(APPS.LATEST_VERSION, app.getVersion()).where(APPS.ID.eq(app.getId())).execute();
-
       // Persist change history record
       addUpdate(db, rUser, app.getTenant(), app.getId(), app.getVersion(), appSeqId, appVerSeqId, AppOperation.create,
                 changeDescription, rawData, app.getUuid());
+      AppCache.notifyChanged(db, app.getTenant(), app.getId());
 
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(app.getTenant(), app.getId());
     }
     catch (Exception e)
     {
@@ -270,6 +288,53 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     return true;
   }
 
+  /**
+   * Create new app versions in bulk.
+   * Apps are inserted in chunks of BULK_CREATE_CHUNK_SIZE with one transaction per chunk. Within a chunk each table
+   *   is written using a single multi-row statement, so the number of round trips does not grow with the chunk size.
+   * Items that already exist or whose app has been marked deleted are reported and skipped, the rest of the chunk
+   *   is still created. If a chunk fails for any other reason it is rolled back, all of its items are reported
+   *   as errors and processing continues with the next chunk.
+   * Apps are expected to have been validated and have defaults set.
+   *
+   * @param rUser - ResourceRequestUser containing tenant, user and request info
+   * @param apps - app versions to create
+   * @param changeDescriptions - change description for each app, same order as apps
+   * @param rawDataList - raw data for each app, same order as apps
+   * @return results in the same order as apps
+   * @throws TapisException - on invalid input
+   */
+  @Override
+  public List<AppCreateResult> createApps(ResourceRequestUser rUser, List<App> apps, List<String> changeDescriptions,
+                                          List<String> rawDataList)
+          throws TapisException
+  {
+    String opName = "createApps";
+    // ------------------------- Check Input -------------------------
+    if (rUser == null) LibUtils.logAndThrowNullParmException(opName, "resourceRequestUser");
+    if (apps == null) LibUtils.logAndThrowNullParmException(opName, "apps");
+    if (changeDescriptions == null || changeDescriptions.size() != apps.size())
+      LibUtils.logAndThrowNullParmException(opName, "changeDescriptions");
+    if (rawDataList == null || rawDataList.size() != apps.size())
+      LibUtils.logAndThrowNullParmException(opName, "rawDataList");
+    for (App app : apps)
+    {
+      if (app == null) LibUtils.logAndThrowNullParmException(opName, "app");
+      if (StringUtils.isBlank(app.getTenant())) LibUtils.logAndThrowNullParmException(opName, "tenant");
+      if (StringUtils.isBlank(app.getId())) LibUtils.logAndThrowNullParmException(opName, "appId");
+      if (StringUtils.isBlank(app.getVersion())) LibUtils.logAndThrowNullParmException(opName, "appVersion");
+    }
+
+    var results = new ArrayList<AppCreateResult>(apps.size());
+    for (int start = 0; start < apps.size(); start += BULK_CREATE_CHUNK_SIZE)
+    {
+      int end = Math.min(start + BULK_CREATE_CHUNK_SIZE, apps.size());
+      results.addAll(createAppsChunk(rUser, apps.subList(start, end), changeDescriptions.subList(start, end),
+                                     rawDataList.subList(start, end)));
+    }
+    return results;
+  }
+
   /**
    * Update all updatable attributes of an existing specific version of an application.
    * @throws TapisException - on error
@@ -312,10 +377,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     }
 
     if (putApp.getExecSystemConstraints() != null) execSystemConstraintsStrArray = putApp.getExecSystemConstraints();
-    if (putApp.getParameterSet() != null) parameterSetJson = TapisGsonUtils.getGson().toJsonTree(putApp.getParameterSet());
-    if (putApp.getFileInputs() != null) fileInputsJson = TapisGsonUtils.getGson().toJsonTree(putApp.getFileInputs());
-    if (putApp.getFileInputArrays() != null) fileInputArraysJson = TapisGsonUtils.getGson().toJsonTree(putApp.getFileInputArrays());
-    if (putApp.getSubscriptions() != null) subscriptionsJson = TapisGsonUtils.getGson().toJsonTree(putApp.getSubscriptions());
+    if (putApp.getParameterSet() != null) parameterSetJson = JsonbCodec.toJsonTree(putApp.getParameterSet());
+    if (putApp.getFileInputs() != null) fileInputsJson = JsonbCodec.toJsonTree(putApp.getFileInputs());
+    if (putApp.getFileInputArrays() != null) fileInputArraysJson = JsonbCodec.toJsonTree(putApp.getFileInputArrays());
+    if (putApp.getSubscriptions() != null) subscriptionsJson = JsonbCodec.toJsonTree(putApp.getSubscriptions());
     if (putApp.getJobTags() != null) jobTagsStrArray = putApp.getJobTags();
     if (putApp.getTags() != null) tagsStrArray = putApp.getTags();
     if (putApp.getNotes() != null) notesObj = putApp.getNotes();
@@ -392,9 +457,11 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       // Persist update record
       addUpdate(db, rUser, tenantId, appId, appVersion, appSeqId, appVerSeqId, AppOperation.modify,
               changeDescription, rawData, uuid);
+      AppCache.notifyChanged(db, tenantId, appId);
 
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenantId, appId);
     }
     catch (Exception e)
     {
@@ -449,10 +516,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     }
 
     if (patchedApp.getExecSystemConstraints() != null) execSystemConstraintsStrArray = patchedApp.getExecSystemConstraints();
-    if (patchedApp.getParameterSet() != null) parameterSetJson = TapisGsonUtils.getGson().toJsonTree(patchedApp.getParameterSet());
-    if (patchedApp.getFileInputs() != null) fileInputsJson = TapisGsonUtils.getGson().toJsonTree(patchedApp.getFileInputs());
-    if (patchedApp.getFileInputArrays() != null) fileInputArraysJson = TapisGsonUtils.getGson().toJsonTree(patchedApp.getFileInputArrays());
-    if (patchedApp.getSubscriptions() != null) subscriptionsJson = TapisGsonUtils.getGson().toJsonTree(patchedApp.getSubscriptions());
+    if (patchedApp.getParameterSet() != null) parameterSetJson = JsonbCodec.toJsonTree(patchedApp.getParameterSet());
+    if (patchedApp.getFileInputs() != null) fileInputsJson = JsonbCodec.toJsonTree(patchedApp.getFileInputs());
+    if (patchedApp.getFileInputArrays() != null) fileInputArraysJson = JsonbCodec.toJsonTree(patchedApp.getFileInputArrays());
+    if (patchedApp.getSubscriptions() != null) subscriptionsJson = JsonbCodec.toJsonTree(patchedApp.getSubscriptions());
     if (patchedApp.getJobTags() != null) jobTagsStrArray = patchedApp.getJobTags();
     if (patchedApp.getTags() != null) tagsStrArray = patchedApp.getTags();
     if (patchedApp.getNotes() != null) notesObj = patchedApp.getNotes();
@@ -524,9 +591,11 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       // Persist update record
       addUpdate(db, rUser, tenant, appId, appVersion, appSeqId, appVerSeqId, AppOperation.modify,
               changeDescription, rawData, patchedApp.getUuid());
+      AppCache.notifyChanged(db, tenant, appId);
 
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenant, appId);
     }
     catch (Exception e)
     {
@@ -582,8 +651,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       String changeDescription = "{\"enabled\":" +  enabled + "}";
       addUpdate(db, rUser, tenantId, appId, versionStr, INVALID_SEQ_ID, INVALID_SEQ_ID,
                 appOp, changeDescription , null, INVALID_UUID);
+      AppCache.notifyChanged(db, tenantId, appId);
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenantId, appId);
     }
     catch (Exception e)
     {
@@ -629,8 +700,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       int appVerSeqId = -1;
       addUpdate(db, rUser, tenantId, appId, appVersion, appSeqId, appVerSeqId, appOp,
                 changeDescription, null, INVALID_UUID);
+      AppCache.notifyChanged(db, tenantId, appId);
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenantId, appId);
     }
     catch (Exception e)
     {
@@ -672,8 +745,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       String changeDescription = "{\"deleted\":" +  deleted + "}";
       addUpdate(db, rUser, tenantId, appId, null, INVALID_SEQ_ID, INVALID_SEQ_ID,
               appOp, changeDescription , null, INVALID_UUID);
+      AppCache.notifyChanged(db, tenantId, appId);
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenantId, appId);
     }
     catch (Exception e)
     {
@@ -714,8 +789,10 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       String changeDescription = "{\"owner\":\"" +  newOwnerName + "\"}";
       addUpdate(db, rUser, tenantId, appId, null, INVALID_SEQ_ID, INVALID_SEQ_ID,
                 AppOperation.changeOwner, changeDescription , null, INVALID_UUID);
+      AppCache.notifyChanged(db, tenantId, appId);
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenantId, appId);
     }
     catch (Exception e)
     {
@@ -749,7 +826,9 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       conn = getConnection();
       DSLContext db = DSL.using(conn);
       db.deleteFrom(APPS).where(APPS.TENANT.eq(tenant),APPS.ID.eq(appId)).execute();
+      AppCache.notifyChanged(db, tenant, appId);
       LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.invalidate(tenant, appId);
     }
     catch (Exception e)
     {
@@ -810,6 +889,96 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     flyway.migrate();
   }
 
+  /**
+   * acquireLease - acquire or renew a named lease.
+   * Used to make sure work is done by only one service instance at a time. The lease is not waited for,
+   *   if another holder has a lease that has not expired then the lease is not acquired.
+   * A holder that already has the lease renews it. Each call uses its own short-lived connection, so no connection
+   *   is held while the work is done.
+   * @param leaseName - name of lease
+   * @param holder - unique ID of holder
+   * @param leaseSeconds - seconds until the lease expires if not renewed
+   * @return true if the lease was acquired or renewed, false if it is held by another holder
+   * @throws TapisException - on error
+   */
+  @Override
+  public boolean acquireLease(String leaseName, String holder, long leaseSeconds) throws TapisException
+  {
+    String opName = "acquireLease";
+    // ------------------------- Check Input -------------------------
+    if (StringUtils.isBlank(leaseName)) LibUtils.logAndThrowNullParmException(opName, "leaseName");
+    if (StringUtils.isBlank(holder)) LibUtils.logAndThrowNullParmException(opName, "holder");
+
+    // ------------------------- Call SQL ----------------------------
+    boolean acquired = false;
+    Connection conn = null;
+    try
+    {
+      // Get a database connection.
+      conn = getConnection();
+      DSLContext db = DSL.using(conn);
+      // Insert the lease, or take it over if it is ours or has expired. Times come from the DB so that
+      //   clock differences between service instances do not matter.
+      acquired = db.resultQuery(
+              "INSERT INTO leases (name, holder, expires) " +
+              "VALUES ({0}, {1}, (NOW() AT TIME ZONE 'utc') + {2} * INTERVAL '1 second') " +
+              "ON CONFLICT (name) DO UPDATE SET holder = EXCLUDED.holder, expires = EXCLUDED.expires " +
+              "WHERE leases.holder = EXCLUDED.holder OR leases.expires < (NOW() AT TIME ZONE 'utc') " +
+              "RETURNING name",
+              DSL.val(leaseName), DSL.val(holder), DSL.val(leaseSeconds)).fetchOne() != null;
+      // Close out and commit
+      LibUtils.closeAndCommitDB(conn, null, null);
+    }
+    catch (Exception e)
+    {
+      // Rollback transaction and throw an exception
+      LibUtils.rollbackDB(conn, e,"DB_QUERY_ERROR", "leases", e.getMessage());
+    }
+    finally
+    {
+      // Always return the connection back to the connection pool.
+      LibUtils.finalCloseDB(conn);
+    }
+    return acquired;
+  }
+
+  /**
+   * releaseLease - release a named lease. Does nothing if the lease is held by another holder.
+   * @param leaseName - name of lease
+   * @param holder - unique ID of holder
+   * @throws TapisException - on error
+   */
+  @Override
+  public void releaseLease(String leaseName, String holder) throws TapisException
+  {
+    String opName = "releaseLease";
+    // ------------------------- Check Input -------------------------
+    if (StringUtils.isBlank(leaseName)) LibUtils.logAndThrowNullParmException(opName, "leaseName");
+    if (StringUtils.isBlank(holder)) LibUtils.logAndThrowNullParmException(opName, "holder");
+
+    // ------------------------- Call SQL ----------------------------
+    Connection conn = null;
+    try
+    {
+      // Get a database connection.
+      conn = getConnection();
+      DSLContext db = DSL.using(conn);
+      db.query("DELETE FROM leases WHERE name = {0} AND holder = {1}", DSL.val(leaseName), DSL.val(holder)).execute();
+      // Close out and commit
+      LibUtils.closeAndCommitDB(conn, null, null);
+    }
+    catch (Exception e)
+    {
+      // Rollback transaction and throw an exception
+      LibUtils.rollbackDB(conn, e,"DB_DELETE_FAILURE", "leases");
+    }
+    finally
+    {
+      // Always return the connection back to the connection pool.
+      LibUtils.finalCloseDB(conn);
+    }
+  }
+
   /**
    * checkForApp - check that app with specified Id (any version) exists
    * @param appId - app name
@@ -847,6 +1016,49 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     return result;
   }
 
+  /**
+   * getExistingAppIDs - determine which of a set of app Ids exist (any version), using a single query
+   * @param appIds - app names to check
+   * @param includeDeleted - whether to include deleted items
+   * @return subset of appIds that exist, never null
+   * @throws TapisException - on error
+   */
+  @Override
+  public Set<String> getExistingAppIDs(String tenant, Set<String> appIds, boolean includeDeleted)
+          throws TapisException
+  {
+    // The result set is always non-null.
+    var idSet = new HashSet<String>();
+    if (appIds == null || appIds.isEmpty()) return idSet;
+
+    // Bind all Ids as a single array parameter: id = ANY(?)
+    Condition whereCondition = APPS.TENANT.eq(tenant).and(APPS.ID.eq(DSL.any(appIds.toArray(App.EMPTY_STR_ARRAY))));
+    if (!includeDeleted) whereCondition = whereCondition.and(APPS.DELETED.eq(false));
+
+    // ------------------------- Call SQL ----------------------------
+    Connection conn = null;
+    try
+    {
+      // Get a database connection.
+      conn = getConnection();
+      DSLContext db = DSL.using(conn);
+      idSet.addAll(db.select(APPS.ID).from(APPS).where(whereCondition).fetch(APPS.ID));
+      // Close out and commit
+      LibUtils.closeAndCommitDB(conn, null, null);
+    }
+    catch (Exception e)
+    {
+      // Rollback transaction and throw an exception
+      LibUtils.rollbackDB(conn, e,"DB_QUERY_ERROR", "apps", e.getMessage());
+    }
+    finally
+    {
+      // Always return the connection back to the connection pool.
+      LibUtils.finalCloseDB(conn);
+    }
+    return idSet;
+  }
+
   /**
    * checkForAppVersion - check that app with specified Id and version exists
    * @param appId - app name
@@ -1003,6 +1215,9 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
   /**
    * getApp
    * Retrieve specified or most recently created version of an application.
+   * When no version is specified the latest version is resolved as part of the join, so a single
+   *   statement is always used.
+   * Apps found are kept in AppCache, see there for how cached apps are kept current.
    * @param appId - app name
    * @param appVersion - app version, null for most recently created version
    * @param includeDeleted - whether to include deleted items
@@ -1012,14 +1227,20 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
   @Override
   public App getApp(String tenant, String appId, String appVersion, boolean includeDeleted) throws TapisException
   {
-    // Initialize result.
-    App app = null;
-    String fetchVersion = appVersion;
+    if (StringUtils.isBlank(appVersion)) appVersion = null;
+    App app = AppCache.get(tenant, appId, appVersion, includeDeleted);
+    if (app != null) return app;
+    long cacheGeneration = AppCache.getGeneration();
 
     // Begin where condition for the query
     Condition whereCondition = APPS.TENANT.eq(tenant).and(APPS.ID.eq(appId));
     if (!includeDeleted) whereCondition = whereCondition.and(APPS.DELETED.eq(false));
 
+    // Use either provided version or latest version
+    Condition joinCondition = APPS_VERSIONS.APP_SEQ_ID.eq(APPS.SEQ_ID);
+    if (!StringUtils.isBlank(appVersion)) whereCondition = whereCondition.and(APPS_VERSIONS.VERSION.eq(appVersion));
+    else joinCondition = joinCondition.and(APPS_VERSIONS.VERSION.eq(APPS.LATEST_VERSION));
+
     // ------------------------- Call SQL ----------------------------
     Connection conn = null;
     try
@@ -1028,26 +1249,66 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       conn = getConnection();
       DSLContext db = DSL.using(conn);
 
-      // Use either provided version or latest version
-      if (!StringUtils.isBlank(appVersion))
-      {
-        whereCondition = whereCondition.and(APPS_VERSIONS.VERSION.eq(fetchVersion));
-      }
-      else
-      {
-        fetchVersion = db.selectFrom(APPS).where(APPS.TENANT.eq(tenant),APPS.ID.eq(appId)).fetchOne(APPS.LATEST_VERSION);
-        whereCondition = whereCondition.and(APPS_VERSIONS.VERSION.eq(fetchVersion));
-      }
-
       // Fetch all attributes by joining APPS and APPS_VERSIONS tables
       Record appRecord;
-      appRecord = db.selectFrom(APPS.join(APPS_VERSIONS).on(APPS_VERSIONS.APP_SEQ_ID.eq(APPS.SEQ_ID)))
-                         .where(whereCondition).fetchOne();
+      appRecord = db.select(APP_JOIN_FIELDS).from(APPS.join(APPS_VERSIONS).on(joinCondition)).where(whereCondition).fetchOne();
       if (appRecord == null) return null;
 
       // Create an App object using the appRecord
       app = getAppFromJoinRecord(appRecord);
 
+      // Close out and commit
+      LibUtils.closeAndCommitDB(conn, null, null);
+      AppCache.put(tenant, appId, appVersion, includeDeleted, app, cacheGeneration);
+    }
+    catch (Exception e)
+    {
+      // Rollback transaction and throw an exception
+      LibUtils.rollbackDB(conn, e,"DB_SELECT_NAME_ERROR", "App", tenant, appId, e.getMessage());
+    }
+    finally
+    {
+      // Always return the connection back to the connection pool.
+      LibUtils.finalCloseDB(conn);
+    }
+    return app;
+  }
+
+  /**
+   * getAppMetadata
+   * Retrieve the attributes of a specified or most recently created version of an application that identify its
+   *   current state: the columns always fetched for a select list plus containerized, uuid and updated.
+   * Much cheaper than getApp when the app is not cached, none of the large text or JSONB columns are read.
+   *   If the full app is cached it is returned instead.
+   * Deleted apps are not included.
+   * @param appId - app name
+   * @param appVersion - app version, null for most recently created version
+   * @return App object with only the attributes listed above set if found, null if not found
+   * @throws TapisException - on error
+   */
+  @Override
+  public App getAppMetadata(String tenant, String appId, String appVersion) throws TapisException
+  {
+    if (StringUtils.isBlank(appVersion)) appVersion = null;
+    App app = AppCache.get(tenant, appId, appVersion, false);
+    if (app != null) return app;
+
+    Condition whereCondition = APPS.TENANT.eq(tenant).and(APPS.ID.eq(appId)).and(APPS.DELETED.eq(false));
+    Condition joinCondition = APPS_VERSIONS.APP_SEQ_ID.eq(APPS.SEQ_ID);
+    if (appVersion != null) whereCondition = whereCondition.and(APPS_VERSIONS.VERSION.eq(appVersion));
+    else joinCondition = joinCondition.and(APPS_VERSIONS.VERSION.eq(APPS.LATEST_VERSION));
+
+    // ------------------------- Call SQL ----------------------------
+    Connection conn = null;
+    try
+    {
+      // Get a database connection.
+      conn = getConnection();
+      DSLContext db = DSL.using(conn);
+      Record appRecord = db.select(METADATA_FIELDS).from(APPS.join(APPS_VERSIONS).on(joinCondition))
+                           .where(whereCondition).fetchOne();
+      if (appRecord != null) app = getAppFromProjectionRecord(appRecord);
+
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
     }
@@ -1288,9 +1549,166 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
                            List<OrderBy> orderByList, int skip, String startAfter, Boolean versionSpecified,
                            boolean includeDeleted, AuthListType listType, Set<String> viewableIDs, Set<String> sharedIDs)
           throws TapisException
+  {
+    return getApps(rUser, oboUser, searchList, searchAST, null, limit, orderByList, skip, startAfter, null,
+                   versionSpecified, includeDeleted, listType, viewableIDs, sharedIDs);
+  }
+
+  /**
+   * getApps
+   * Retrieve all Apps matching various search and sort criteria, optionally starting after a page cursor.
+   * Results are always sorted with APPS_VERSIONS.SEQ_ID as the final sort key, so the order is stable even when
+   *   values for the orderBy attributes are duplicated. Nulls sort last for ascending and first for descending keys.
+   * When a page is full a cursor for the next page is returned (see getAppsPage()). The cursor is a signed value
+   *   holding the sort order and the values of all sort keys of the last item of the page
+   *   (see LibUtils.encodePageCursor). It seeks directly to the next page instead of skipping over all prior rows,
+   *   and is only valid for the same tenant and sort order.
+   * If a select list is given then only the columns needed for the selected attributes are fetched. Attributes
+   *   not selected are left unset (null, false or 0) in the returned objects. In particular, the JSONB columns
+   *   are only read when jobAttributes is selected.
+   * See getApps() above for other parameters.
+   * @param selectList - attributes to be returned, null or empty or allAttributes to fetch everything
+   * @param cursor - nextCursor returned with a previous page, used with the same limit and orderBy
+   *                 (may not be used with skip or startAfter)
+   * @return - list of App objects
+   * @throws TapisException - on error
+   * @throws IllegalArgumentException - if cursor is invalid or combined with skip or startAfter
+   */
+  @Override
+  public List<App> getApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                           List<String> selectList, int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                           String cursor, Boolean versionSpecified, boolean includeDeleted, AuthListType listType,
+                           Set<String> viewableIDs, Set<String> sharedIDs)
+          throws TapisException
+  {
+    return getAppsPage(rUser, oboUser, searchList, searchAST, selectList, limit, orderByList, skip, startAfter, cursor,
+                       versionSpecified, includeDeleted, listType, viewableIDs, sharedIDs, false).getApps();
+  }
+
+  /**
+   * getAppsPage
+   * Retrieve a page of Apps as for getApps() above and optionally the total number of Apps matching the listing.
+   * The total ignores limit, skip and cursor and, as for getAppsCount(), includes startAfter.
+   * When there is no cursor the total is computed in the same statement as the page using COUNT(*) OVER().
+   *   A separate count statement is only needed when the page is empty because skip is past the end, when a
+   *   cursor is given or when limit is 0.
+   * See getApps() above for other parameters.
+   * @param computeTotal - whether to compute the total number of matching Apps
+   * @return - page of App objects, the total, or AppsPage.TOTAL_NOT_COMPUTED if computeTotal is false, and the
+   *           cursor for the next page if the page is full
+   * @throws TapisException - on error
+   * @throws IllegalArgumentException - if cursor is invalid or combined with skip or startAfter
+   */
+  @Override
+  public AppsPage getAppsPage(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                              List<String> selectList, int limit, List<OrderBy> orderByList, int skip,
+                              String startAfter, String cursor, Boolean versionSpecified, boolean includeDeleted,
+                              AuthListType listType, Set<String> viewableIDs, Set<String> sharedIDs,
+                              boolean computeTotal)
+          throws TapisException
   {
     // The result list should always be non-null.
     var retList = new ArrayList<App>();
+    AppsPage result = queryApps(rUser, oboUser, searchList, searchAST, selectList, limit, orderByList, skip, startAfter,
+                                cursor, versionSpecified, includeDeleted, listType, viewableIDs, sharedIDs, computeTotal,
+                                retList::add);
+    return new AppsPage(retList, result.getTotalCount(), result.getNextCursor());
+  }
+
+  /**
+   * streamApps
+   * Retrieve Apps as for getAppsPage() above, passing each App to a consumer rather than building a list.
+   * Apps are read in batches of APPS_STREAM_BATCH_SIZE, each batch in its own transaction, and passed to the
+   *   consumer after the connection for the batch has been returned to the pool. So memory use does not depend on
+   *   the number of Apps and no DB connection is held while the consumer runs, e.g. while a slow client reads.
+   * Each batch starts after the last App of the previous batch, using a page cursor when the sort order allows one
+   *   and otherwise skipping the Apps already read. The cursor seek includes Apps with null sort key values, see
+   *   buildSeekCondition(), so a listing sorted on a nullable attribute is not cut short at a batch boundary.
+   *   Changes made between batches may be seen by later batches.
+   * See getAppsPage() above for other parameters.
+   * @param consumer - receives each App. An exception thrown by the consumer is passed to the caller.
+   * @return - empty page with the total, or AppsPage.TOTAL_NOT_COMPUTED if computeTotal is false, and the cursor
+   *           for the next page if limit Apps were passed to the consumer
+   * @throws TapisException - on error
+   * @throws IllegalArgumentException - if cursor is invalid or combined with skip or startAfter
+   */
+  @Override
+  public AppsPage streamApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                             List<String> selectList, int limit, List<OrderBy> orderByList, int skip,
+                             String startAfter, String cursor, Boolean versionSpecified, boolean includeDeleted,
+                             AuthListType listType, Set<String> viewableIDs, Set<String> sharedIDs,
+                             boolean computeTotal, Consumer<App> consumer)
+          throws TapisException
+  {
+    return streamApps(rUser, oboUser, searchList, searchAST, selectList, limit, orderByList, skip, startAfter, cursor,
+                      versionSpecified, includeDeleted, listType, viewableIDs, sharedIDs, computeTotal, consumer,
+                      APPS_STREAM_BATCH_SIZE);
+  }
+
+  /*
+   * Implementation of streamApps() above reading at most batchSize Apps per DB call
+   */
+  AppsPage streamApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                      List<String> selectList, int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                      String cursor, Boolean versionSpecified, boolean includeDeleted, AuthListType listType,
+                      Set<String> viewableIDs, Set<String> sharedIDs, boolean computeTotal, Consumer<App> consumer,
+                      int batchSize)
+          throws TapisException
+  {
+    int totalCount = AppsPage.TOTAL_NOT_COMPUTED;
+    String nextCursor = null;
+    int numRead = 0;
+    // Position of the next batch
+    int batchSkip = Math.max(skip, 0);
+    String batchStartAfter = startAfter;
+    String batchCursor = cursor;
+    while (true)
+    {
+      int batchLimit = (limit < 0) ? batchSize : Math.min(batchSize, limit - numRead);
+      var batch = new ArrayList<App>();
+      // Only the first batch computes the total
+      AppsPage batchPage = queryApps(rUser, oboUser, searchList, searchAST, selectList, batchLimit, orderByList,
+                                     batchSkip, batchStartAfter, batchCursor, versionSpecified, includeDeleted,
+                                     listType, viewableIDs, sharedIDs, computeTotal && numRead == 0, batch::add);
+      if (numRead == 0) totalCount = batchPage.getTotalCount();
+      for (App app : batch) { consumer.accept(app); }
+      numRead += batch.size();
+      nextCursor = batchPage.getNextCursor();
+
+      // Done if the batch was not full or the limit has been reached
+      if (batchLimit == 0 || batch.size() < batchLimit || (limit >= 0 && numRead >= limit)) break;
+
+      // Continue after the last App read
+      if (nextCursor != null)
+      {
+        batchCursor = nextCursor;
+        batchSkip = 0;
+        batchStartAfter = null;
+      }
+      else
+      {
+        batchSkip += batch.size();
+      }
+    }
+    // The cursor for the next page is only returned if limit Apps were passed to the consumer
+    if (limit <= 0 || numRead < limit) nextCursor = null;
+    return new AppsPage(null, totalCount, nextCursor);
+  }
+
+  /*
+   * Run the query for getAppsPage() and streamApps(), passing each App to the consumer.
+   * Returns an empty page with the total or AppsPage.TOTAL_NOT_COMPUTED and the cursor for the next page, if any.
+   */
+  private AppsPage queryApps(ResourceRequestUser rUser, String oboUser, List<String> searchList, ASTNode searchAST,
+                             List<String> selectList, int limit, List<OrderBy> orderByList, int skip,
+                             String startAfter, String cursor, Boolean versionSpecified, boolean includeDeleted,
+                             AuthListType listType, Set<String> viewableIDs, Set<String> sharedIDs,
+                             boolean computeTotal, Consumer<App> consumer)
+          throws TapisException
+  {
+    int totalCount = AppsPage.TOTAL_NOT_COMPUTED;
+    String nextCursor = null;
+    var emptyPage = new AppsPage(null, computeTotal ? 0 : AppsPage.TOTAL_NOT_COMPUTED);
 
     // Ensure we have a valid listType
     if (listType == null) listType = DEFAULT_LIST_TYPE;
@@ -1309,8 +1727,8 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
 
     // If only looking for public items or only looking for directly shared items
     //   and there are none in the list we are done.
-    if ((publicOnly || sharedOnly) && (sharedIDs == null || sharedIDs.isEmpty())) return retList;
-    if (readPermOnly && (viewableIDs == null || viewableIDs.isEmpty())) return retList;
+    if ((publicOnly || sharedOnly) && (sharedIDs == null || sharedIDs.isEmpty())) return emptyPage;
+    if (readPermOnly && (viewableIDs == null || viewableIDs.isEmpty())) return emptyPage;
 
     // Ensure we have valid viewable and shared ID sets.
     if (viewableIDs == null) viewableIDs = Collections.emptySet();
@@ -1341,9 +1759,19 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       throw new TapisException(LibUtils.getMsg("APPLIB_DB_INVALID_SORT_START", APPS.getName()));
     }
 
+    // If cursor is given it may not be combined with skip or startAfter
+    boolean hasCursor = !StringUtils.isBlank(cursor);
+    if (hasCursor && (skip > 0 || !StringUtils.isBlank(startAfter)))
+    {
+      throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_DB_INVALID_SORT_CURSOR", APPS.getName()));
+    }
+
     // Determine and check orderBy columns, build orderFieldList
     // Each OrderField contains the column and direction
+    // Also track the columns and directions separately. They are needed to seek past a cursor.
     List<OrderField> orderFieldList = new ArrayList<>();
+    List<Field<?>> sortFieldList = new ArrayList<>();
+    List<Boolean> sortAscList = new ArrayList<>();
     Field<?> colOrderBy;
     for (OrderBy orderBy : tmpOrderByList)
     {
@@ -1362,8 +1790,27 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
         String msg = LibUtils.getMsg("APPLIB_DB_NO_COLUMN_SORT", DSL.name(orderByStr));
         throw new TapisException(msg);
       }
-      if (orderBy.getOrderByDir() == OrderBy.OrderByDir.ASC) orderFieldList.add(colOrderBy.asc());
-      else orderFieldList.add(colOrderBy.desc());
+      // Null placement is given explicitly since the cursor seek depends on it. It is the DB default.
+      if (orderBy.getOrderByDir() == OrderBy.OrderByDir.ASC) orderFieldList.add(colOrderBy.asc().nullsLast());
+      else orderFieldList.add(colOrderBy.desc().nullsFirst());
+      sortFieldList.add(colOrderBy);
+      sortAscList.add(orderBy.getOrderByDir() == OrderBy.OrderByDir.ASC);
+    }
+
+    // Add the version seqId as a final sort key so the sort order is total.
+    // Use the direction of the major sort so that a uniform sort can be handled with a single row comparison.
+    boolean tiebreakAsc = tmpOrderByList.isEmpty() || sortAsc;
+    orderFieldList.add(tiebreakAsc ? APPS_VERSIONS.SEQ_ID.asc() : APPS_VERSIONS.SEQ_ID.desc());
+    sortFieldList.add(APPS_VERSIONS.SEQ_ID);
+    sortAscList.add(tiebreakAsc);
+
+    // A cursor holds the sort key values of the last row of the previous page and is only valid for the same
+    //   tenant and sort order.
+    String sortSpec = getSortSpec(sortFieldList, sortAscList);
+    List<Object> cursorKeyValues = null;
+    if (hasCursor)
+    {
+      cursorKeyValues = parseSortKeyValues(sortFieldList, LibUtils.decodePageCursor(cursor, oboTenant, sortSpec), cursor);
     }
 
     // Boolean used to determine if we are to get just latest version or all versions specified by a search condition
@@ -1441,6 +1888,18 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
 
     whereCondition = whereCondition.and(listTypeCondition);
 
+    // The total is computed without the cursor
+    Condition countCondition = whereCondition;
+
+    // Add cursor
+    if (hasCursor)
+    {
+      whereCondition = whereCondition.and(buildSeekCondition(sortFieldList, sortAscList, cursorKeyValues));
+    }
+
+    // Compute the total along with the page when possible
+    boolean windowTotal = computeTotal && limit > 0 && !hasCursor;
+
     // ------------------------- Build and execute SQL ----------------------------
     Connection conn = null;
     try
@@ -1449,42 +1908,66 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       conn = getConnection();
       DSLContext db = DSL.using(conn);
 
-      // Execute the select including limit, orderByAttrList, skip and startAfter
+      // Execute the select including limit, orderByAttrList, skip, startAfter and cursor
       // NOTE: LIMIT + OFFSET is not standard among DBs and often very difficult to get right.
       //       Jooq claims to handle it well.
-      // Join tables APPS and APPS_VERSIONS to get all fields
-      Result<Record> results;
-      org.jooq.SelectConditionStep condStep =
-              db.selectFrom(APPS.join(APPS_VERSIONS).on(APPS_VERSIONS.APP_SEQ_ID.eq(APPS.SEQ_ID))).where(whereCondition);
-      if (!StringUtils.isBlank(majorOrderByStr) && limit >= 0)
+      // NOTE: Paging without a total sort order is not repeatable, so whenever we limit or seek we also sort,
+      //       using the version seqId alone if no orderBy was given.
+      // Join tables APPS and APPS_VERSIONS to get all fields or only the fields needed for the select list
+      var fromTables = APPS.join(APPS_VERSIONS).on(APPS_VERSIONS.APP_SEQ_ID.eq(APPS.SEQ_ID));
+      Set<Field<?>> selectFields = getSelectFields(selectList);
+      List<Field<?>> queryFields = new ArrayList<>((selectFields == null) ? APP_JOIN_FIELDS : selectFields);
+      // Sort keys are needed to build the cursor for the next page, even if not in the select list
+      for (Field<?> sortField : sortFieldList) { if (!queryFields.contains(sortField)) queryFields.add(sortField); }
+      if (windowTotal) queryFields.add(TOTAL_COUNT_FIELD);
+      SelectConditionStep<Record> condStep = db.select(queryFields).from(fromTables).where(whereCondition);
+      boolean ordering = !StringUtils.isBlank(majorOrderByStr) || limit >= 0 || hasCursor;
+      ResultQuery<Record> query;
+      if (ordering && limit >= 0)
       {
         // We are ordering and limiting
-        results = condStep.orderBy(orderFieldList).limit(limit).offset(skip).fetch();
+        query = condStep.orderBy(orderFieldList).limit(limit).offset(skip);
       }
-      else if (!StringUtils.isBlank(majorOrderByStr))
+      else if (ordering)
       {
         // We are ordering but not limiting
-        results = condStep.orderBy(orderFieldList).fetch();
-      }
-      else if (limit >= 0)
-      {
-        // We are limiting but not ordering
-        results = condStep.limit(limit).offset(skip).fetch();
+        query = condStep.orderBy(orderFieldList);
       }
       else
       {
         // We are not limiting and not ordering
-        results = condStep.fetch();
+        query = condStep;
       }
 
-      if (results == null || results.isEmpty()) return retList;
+      // For each record found create an App object and pass it on.
+      int count = 0;
+      Record lastRecord = null;
+      try (Cursor<Record> dbCursor = query.fetchLazy())
+      {
+        for (Record appRecord : dbCursor)
+        {
+          if (count == 0 && windowTotal) totalCount = appRecord.get(TOTAL_COUNT_FIELD);
+          // Create App from appRecord using appVersion=null to use the latest app version
+          App a = (selectFields == null) ? getAppFromJoinRecord(appRecord) : getAppFromProjectionRecord(appRecord);
+          consumer.accept(a);
+          lastRecord = appRecord;
+          count++;
+        }
+      }
 
-      // For each record found create an App object.
-      for (Record appRecord : results)
+      // A full page means there may be more items. The last row of the page marks where the next page starts.
+      if (limit > 0 && count == limit && isSeekable(sortFieldList))
       {
-        // Create App from appRecord using appVersion=null to use the latest app version
-        App a = getAppFromJoinRecord(appRecord);
-        retList.add(a);
+        nextCursor = LibUtils.encodePageCursor(oboTenant, sortSpec, getSortKeyValues(sortFieldList, lastRecord));
+      }
+
+      // Unless it was read from the first row, compute the total
+      if (computeTotal && !(windowTotal && count > 0))
+      {
+        boolean pageEmpty = (count == 0);
+        if (limit < 0 && !hasCursor) totalCount = count;
+        else if (pageEmpty && limit != 0 && skip == 0 && !hasCursor) totalCount = 0;
+        else totalCount = db.selectCount().from(fromTables).where(countCondition).fetchOne(0, int.class);
       }
 
       // Close out and commit
@@ -1500,7 +1983,7 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       // Always return the connection back to the connection pool.
       LibUtils.finalCloseDB(conn);
     }
-    return retList;
+    return new AppsPage(null, totalCount, nextCursor);
   }
 
   /**
@@ -1626,8 +2109,32 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
   @Override
   public List<AppHistoryItem> getAppHistory(String oboTenantId, String appId) throws TapisException
   {
-    // Initialize result.
-    List<AppHistoryItem> appHistoryList =  new ArrayList<AppHistoryItem>();;
+    List<AppHistoryItem> appHistoryList = new ArrayList<>();
+    getAppHistory(oboTenantId, appId, -1, INVALID_SEQ_ID, appHistoryList::add);
+    return appHistoryList;
+  }
+
+  /**
+   * Retrieves App History for given tenant and app name, passing each item to a consumer.
+   * Items are ordered by creation time and sequence id and are read from the DB using a cursor,
+   *   so the full history is never materialized in memory.
+   * Keyset pagination is supported. Only items following the item with sequence id startAfter are returned.
+   *   The startAfter item must be part of the history of the same app in the same tenant.
+   * NOTE: Each update record carries its own app version, so no join to APPS_VERSIONS is needed.
+   *
+   * @param oboTenantId - The tenant ID
+   * @param appId - App name
+   * @param limit - maximum number of items to return, 0 or less for no limit
+   * @param startAfter - sequence id of the last item from the previous page, 0 or less to start at the beginning
+   * @param consumer - receives each history item
+   * @return - number of items passed to the consumer, -1 if startAfter is not an item in the history of the app
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public int getAppHistory(String oboTenantId, String appId, int limit, int startAfter,
+                           Consumer<AppHistoryItem> consumer) throws TapisException
+  {
+    int count = 0;
 
     // Begin where condition for the query
     Condition whereCondition = APP_UPDATES.OBO_TENANT.eq(oboTenantId).and(APP_UPDATES.APP_ID.eq(appId));
@@ -1640,15 +2147,29 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       conn = getConnection();
       DSLContext db = DSL.using(conn);
 
+      // If starting after a specific item then seek past it using the sort key (created, seq_id)
+      if (startAfter > 0)
+      {
+        LocalDateTime startCreated = db.select(APP_UPDATES.CREATED).from(APP_UPDATES)
+                                       .where(whereCondition).and(APP_UPDATES.SEQ_ID.eq(startAfter))
+                                       .fetchOne(APP_UPDATES.CREATED);
+        if (startCreated == null)
+        {
+          LibUtils.closeAndCommitDB(conn, null, null);
+          return -1;
+        }
+        whereCondition = whereCondition.and(DSL.row(APP_UPDATES.CREATED, APP_UPDATES.SEQ_ID).gt(startCreated, startAfter));
+      }
 
-      // Fetch all attributes by joining APPS and APPS_VERSIONS tables
-      @org.jetbrains.annotations.NotNull SelectConditionStep<Record> results;
-      results = db.selectFrom(APP_UPDATES.join(APPS_VERSIONS).on(APPS_VERSIONS.APP_SEQ_ID.eq(APP_UPDATES.APP_SEQ_ID)))
-              .where(whereCondition);
-      if (results == null) return null;
+      var orderedQuery = db.selectFrom(APP_UPDATES).where(whereCondition)
+                           .orderBy(APP_UPDATES.CREATED.asc(), APP_UPDATES.SEQ_ID.asc());
+      ResultQuery<AppUpdatesRecord> query = (limit > 0) ? orderedQuery.limit(limit) : orderedQuery;
 
-      // Create an App object using the appRecord
-      for (Record r : results) { AppHistoryItem s = getAppHistoryFromRecord(r); appHistoryList.add(s); }
+      // Stream results using a DB cursor
+      try (Cursor<AppUpdatesRecord> cursor = query.fetchSize(HISTORY_FETCH_SIZE).fetchLazy())
+      {
+        for (AppUpdatesRecord r : cursor) { consumer.accept(getAppHistoryFromRecord(r)); count++; }
+      }
 
       // Close out and commit
       LibUtils.closeAndCommitDB(conn, null, null);
@@ -1663,7 +2184,7 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       // Always return the connection back to the connection pool.
       LibUtils.finalCloseDB(conn);
     }
-    return appHistoryList;
+    return count;
   }
 
   /**
@@ -1685,6 +2206,160 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
   /*                             Private Methods                            */
   /* ********************************************************************** */
 
+  /**
+   * Create one chunk of apps for createApps in a single transaction.
+   * @return results in the same order as apps
+   */
+  private List<AppCreateResult> createAppsChunk(ResourceRequestUser rUser, List<App> apps,
+                                                List<String> changeDescriptions, List<String> rawDataList)
+  {
+    var results = new AppCreateResult[apps.size()];
+    Connection conn = null;
+    try
+    {
+      // Get a database connection.
+      conn = getConnection();
+      DSLContext db = DSL.using(conn);
+
+      // Create top level records for apps that do not yet exist. Each app id appears at most once in the insert,
+      //   the first version of an app in the chunk supplies the top level attributes.
+      // The no-op update locks and returns existing rows, so versions created concurrently for the same app are
+      //   serialized as they are for createApp.
+      var firstById = new LinkedHashMap<String, App>();
+      for (App app : apps) { firstById.putIfAbsent(app.getId(), app); }
+      var appsInsert = db.insertInto(APPS, APPS.TENANT, APPS.ID, APPS.LATEST_VERSION, APPS.OWNER, APPS.ENABLED,
+                                     APPS.CONTAINERIZED);
+      for (App app : firstById.values())
+      {
+        String owner = StringUtils.isNotBlank(app.getOwner()) ? app.getOwner() : App.DEFAULT_OWNER;
+        appsInsert = appsInsert.values(app.getTenant(), app.getId(), app.getVersion(), owner, app.isEnabled(),
+                                       app.isContainerized());
+      }
+      var appsRecords = appsInsert.onConflict(APPS.TENANT, APPS.ID)
+              .doUpdate()
+              .set(APPS.LATEST_VERSION, APPS.LATEST_VERSION)
+              .returningResult(APPS.ID, APPS.SEQ_ID, APPS.DELETED)
+              .fetchMap(APPS.ID);
+
+      // Build version records for everything that may be created. Apps marked deleted and repeats of an
+      //   id+version within the chunk are reported here and left out of the insert.
+      InsertSetStep<AppsVersionsRecord> versInsert = db.insertInto(APPS_VERSIONS);
+      InsertSetMoreStep<AppsVersionsRecord> versInsertMore = null;
+      var versionKeys = new HashSet<String>();
+      int[] appSeqIds = new int[apps.size()];
+      for (int i = 0; i < apps.size(); i++)
+      {
+        App app = apps.get(i);
+        Record appsRecord = appsRecords.get(app.getId());
+        if (appsRecord.get(APPS.DELETED))
+        {
+          results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.INVALID,
+                                           LibUtils.getMsgAuth("APPLIB_APP_DELETED", rUser, app.getId()));
+          continue;
+        }
+        appSeqIds[i] = appsRecord.get(APPS.SEQ_ID);
+        if (!versionKeys.add(appSeqIds[i] + ":" + app.getVersion()))
+        {
+          results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.EXISTS,
+                                           LibUtils.getMsgAuth("APPLIB_APP_EXISTS", rUser, app.getId(),
+                                                               app.getVersion()));
+          continue;
+        }
+        app.setUuid(UUID.randomUUID());
+        if (versInsertMore != null) versInsert = versInsertMore.newRecord();
+        versInsertMore = versInsert.set(newAppsVersionsRecord(app, appSeqIds[i]));
+      }
+
+      // Insert new versions. Any id+version that already exists is not returned.
+      var verSeqIds = new HashMap<String, Integer>();
+      if (versInsertMore != null)
+      {
+        versInsertMore.onConflict(APPS_VERSIONS.APP_SEQ_ID, APPS_VERSIONS.VERSION)
+                .doNothing()
+                .returningResult(APPS_VERSIONS.APP_SEQ_ID, APPS_VERSIONS.VERSION, APPS_VERSIONS.SEQ_ID)
+                .fetch()
+                .forEach(r -> verSeqIds.put(r.get(APPS_VERSIONS.APP_SEQ_ID) + ":" + r.get(APPS_VERSIONS.VERSION),
+                                            r.get(APPS_VERSIONS.SEQ_ID)));
+      }
+
+      // Record results, persist change history for created versions and collect the new latest version of each app
+      var updateRecords = new ArrayList<AppUpdatesRecord>();
+      var latestVersions = new LinkedHashMap<Integer, String>();
+      for (int i = 0; i < apps.size(); i++)
+      {
+        if (results[i] != null) continue;
+        App app = apps.get(i);
+        Integer appVerSeqId = verSeqIds.get(appSeqIds[i] + ":" + app.getVersion());
+        if (appVerSeqId == null)
+        {
+          results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.EXISTS,
+                                           LibUtils.getMsgAuth("APPLIB_APP_EXISTS", rUser, app.getId(),
+                                                               app.getVersion()));
+          continue;
+        }
+        updateRecords.add(newAppUpdatesRecord(rUser, app.getId(), app.getVersion(), appSeqIds[i], appVerSeqId,
+                                              AppOperation.create, changeDescriptions.get(i), rawDataList.get(i),
+                                              app.getUuid()));
+        latestVersions.put(appSeqIds[i], app.getVersion());
+        results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.CREATED, null);
+      }
+      if (!updateRecords.isEmpty())
+      {
+        InsertSetStep<AppUpdatesRecord> updInsert = db.insertInto(APP_UPDATES);
+        InsertSetMoreStep<AppUpdatesRecord> updInsertMore = null;
+        for (AppUpdatesRecord rec : updateRecords)
+        {
+          if (updInsertMore != null) updInsert = updInsertMore.newRecord();
+          updInsertMore = updInsert.set(rec);
+        }
+        updInsertMore.execute();
+
+        // As for createApp, the most recently created version becomes the latest version
+        var latestUpdates = latestVersions.entrySet().stream()
+                .map(e -> db.update(APPS).set(APPS.LATEST_VERSION, e.getValue()).where(APPS.SEQ_ID.eq(e.getKey())))
+                .collect(Collectors.toList());
+        db.batch(latestUpdates).execute();
+      }
+
+      // Apps with a new version have a new latest version
+      var changedIds = new LinkedHashSet<String>();
+      for (int i = 0; i < apps.size(); i++)
+      {
+        if (results[i].getOutcome() == AppCreateResult.Outcome.CREATED) changedIds.add(apps.get(i).getId());
+      }
+      for (String appId : changedIds) { AppCache.notifyChanged(db, firstById.get(appId).getTenant(), appId); }
+
+      // Close out and commit
+      LibUtils.closeAndCommitDB(conn, null, null);
+      for (String appId : changedIds) { AppCache.invalidate(firstById.get(appId).getTenant(), appId); }
+    }
+    catch (Exception e)
+    {
+      // Rollback the chunk and report every item in it as an error
+      try
+      {
+        if (conn != null) conn.rollback();
+      }
+      catch (Exception e1)
+      {
+        _log.error(MsgUtils.getMsg("DB_FAILED_ROLLBACK"), e1);
+      }
+      String msg = LibUtils.getMsgAuth("APPLIB_BULK_CREATE_ERROR", rUser, apps.size(), e.getMessage());
+      _log.error(msg, e);
+      for (int i = 0; i < apps.size(); i++)
+      {
+        App app = apps.get(i);
+        results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.ERROR, msg);
+      }
+    }
+    finally
+    {
+      // Always return the connection back to the connection pool.
+      LibUtils.finalCloseDB(conn);
+    }
+    return Arrays.asList(results);
+  }
+
   /**
    * Given an sql connection and basic info add a change history record
    * If appSeqId < 1 then appSeqId is fetched.
@@ -1707,7 +2382,6 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
                                 String version, int appSeqId, int appVerSeqId, AppOperation op,
                                 String changeDescription, String rawData, UUID uuid)
   {
-    String updJsonStr = (StringUtils.isBlank(changeDescription)) ? EMPTY_JSON_OBJ_STR : changeDescription;
     if (appSeqId < 1)
     {
       appSeqId = db.selectFrom(APPS).where(APPS.TENANT.eq(tenant),APPS.ID.eq(id)).fetchOne(APPS.SEQ_ID);
@@ -1720,21 +2394,116 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     }
     // Persist update record
     db.insertInto(APP_UPDATES)
-            .set(APP_UPDATES.APP_SEQ_ID, appSeqId)
-            .set(APP_UPDATES.APP_VER_SEQ_ID, appVerSeqId)
-            .set(APP_UPDATES.JWT_TENANT, rUser.getJwtTenantId())
-            .set(APP_UPDATES.JWT_USER, rUser.getJwtUserId())
-            .set(APP_UPDATES.OBO_TENANT, rUser.getOboTenantId())
-            .set(APP_UPDATES.OBO_USER, rUser.getOboUserId())
-            .set(APP_UPDATES.APP_ID, id)
-            .set(APP_UPDATES.APP_VERSION, version)
-            .set(APP_UPDATES.OPERATION, op)
-            .set(APP_UPDATES.DESCRIPTION, TapisGsonUtils.getGson().fromJson(updJsonStr, JsonElement.class))
-            .set(APP_UPDATES.RAW_DATA, rawData)
-            .set(APP_UPDATES.UUID, uuid)
+            .set(newAppUpdatesRecord(rUser, id, version, appSeqId, appVerSeqId, op, changeDescription, rawData, uuid))
             .execute();
   }
 
+  /**
+   * Build a change history record
+   * @return record to insert
+   */
+  private static AppUpdatesRecord newAppUpdatesRecord(ResourceRequestUser rUser, String id, String version,
+                                                      int appSeqId, int appVerSeqId, AppOperation op,
+                                                      String changeDescription, String rawData, UUID uuid)
+  {
+    String updJsonStr = (StringUtils.isBlank(changeDescription)) ? EMPTY_JSON_OBJ_STR : changeDescription;
+    var rec = new AppUpdatesRecord();
+    rec.set(APP_UPDATES.APP_SEQ_ID, appSeqId);
+    rec.set(APP_UPDATES.APP_VER_SEQ_ID, appVerSeqId);
+    rec.set(APP_UPDATES.JWT_TENANT, rUser.getJwtTenantId());
+    rec.set(APP_UPDATES.JWT_USER, rUser.getJwtUserId());
+    rec.set(APP_UPDATES.OBO_TENANT, rUser.getOboTenantId());
+    rec.set(APP_UPDATES.OBO_USER, rUser.getOboUserId());
+    rec.set(APP_UPDATES.APP_ID, id);
+    rec.set(APP_UPDATES.APP_VERSION, version);
+    rec.set(APP_UPDATES.OPERATION, op);
+    rec.set(APP_UPDATES.DESCRIPTION, JsonbCodec.parse(updJsonStr));
+    rec.set(APP_UPDATES.RAW_DATA, rawData);
+    rec.set(APP_UPDATES.UUID, uuid);
+    return rec;
+  }
+
+  /**
+   * Build the APPS_VERSIONS record for a new app version, filling in defaults for owner, runtime, notes, tags etc.
+   * Only columns that are set are included in an insert, so DB defaults apply to the rest (e.g. created, updated).
+   * @param app - app version to insert
+   * @param appSeqId - sequence id of the top level APPS record
+   * @return record to insert
+   */
+  private static AppsVersionsRecord newAppsVersionsRecord(App app, int appSeqId)
+  {
+    // Make sure runtime, notes, tags etc. are set
+    Runtime runtime = App.DEFAULT_RUNTIME;
+    String[] runtimeOptionsStrArray = null;
+    String[] execSystemConstraintsStrArray = null;
+    JsonElement parameterSetJson = App.DEFAULT_PARAMETER_SET;
+    JsonElement fileInputsJson = App.DEFAULT_FILE_INPUTS;
+    JsonElement fileInputArraysJson = App.DEFAULT_FILE_INPUT_ARRAYS;
+    JsonElement subscriptionsJson = App.DEFAULT_SUBSCRIPTIONS;
+    String[] jobTagsStrArray = App.EMPTY_STR_ARRAY;
+    String[] tagsStrArray = App.EMPTY_STR_ARRAY;
+    JsonObject notesObj = App.DEFAULT_NOTES;
+
+    if (app.getRuntime() != null) runtime = app.getRuntime();
+    // Convert runtimeOptions array from enum to string
+    if (app.getRuntimeOptions() != null)
+    {
+      runtimeOptionsStrArray = app.getRuntimeOptions().stream().map(RuntimeOption::name).toArray(String[]::new);
+    }
+    if (app.getExecSystemConstraints() != null) execSystemConstraintsStrArray = app.getExecSystemConstraints();
+    if (app.getParameterSet() != null) parameterSetJson = JsonbCodec.toJsonTree(app.getParameterSet());
+    if (app.getFileInputs() != null) fileInputsJson = JsonbCodec.toJsonTree(app.getFileInputs());
+    if (app.getFileInputArrays() != null) fileInputArraysJson = JsonbCodec.toJsonTree(app.getFileInputArrays());
+    if (app.getSubscriptions() != null) subscriptionsJson = JsonbCodec.toJsonTree(app.getSubscriptions());
+    if (app.getJobTags() != null) jobTagsStrArray = app.getJobTags();
+    if (app.getTags() != null) tagsStrArray = app.getTags();
+    if (app.getNotes() != null) notesObj = app.getNotes();
+
+    var rec = new AppsVersionsRecord();
+    rec.set(APPS_VERSIONS.APP_SEQ_ID, appSeqId);
+    rec.set(APPS_VERSIONS.TENANT, app.getTenant());
+    rec.set(APPS_VERSIONS.ID, app.getId());
+    rec.set(APPS_VERSIONS.VERSION, app.getVersion());
+    rec.set(APPS_VERSIONS.DESCRIPTION, app.getDescription());
+    rec.set(APPS_VERSIONS.LOCKED, app.isLocked());
+    rec.set(APPS_VERSIONS.RUNTIME, runtime);
+    rec.set(APPS_VERSIONS.RUNTIME_VERSION, app.getRuntimeVersion());
+    rec.set(APPS_VERSIONS.RUNTIME_OPTIONS, runtimeOptionsStrArray);
+    rec.set(APPS_VERSIONS.CONTAINER_IMAGE, app.getContainerImage());
+    rec.set(APPS_VERSIONS.JOB_TYPE, app.getJobType());
+    rec.set(APPS_VERSIONS.MAX_JOBS, app.getMaxJobs());
+    rec.set(APPS_VERSIONS.MAX_JOBS_PER_USER, app.getMaxJobsPerUser());
+    rec.set(APPS_VERSIONS.JOB_DESCRIPTION, app.getJobDescription());
+    rec.set(APPS_VERSIONS.DYNAMIC_EXEC_SYSTEM, app.isDynamicExecSystem());
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_CONSTRAINTS, execSystemConstraintsStrArray);
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_ID, app.getExecSystemId());
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_EXEC_DIR, app.getExecSystemExecDir());
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_INPUT_DIR, app.getExecSystemInputDir());
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_OUTPUT_DIR, app.getExecSystemOutputDir());
+    rec.set(APPS_VERSIONS.DTN_SYSTEM_INPUT_DIR, app.getDtnSystemInputDir());
+    rec.set(APPS_VERSIONS.DTN_SYSTEM_OUTPUT_DIR, app.getDtnSystemOutputDir());
+    rec.set(APPS_VERSIONS.EXEC_SYSTEM_LOGICAL_QUEUE, app.getExecSystemLogicalQueue());
+    rec.set(APPS_VERSIONS.ARCHIVE_SYSTEM_ID, app.getArchiveSystemId());
+    rec.set(APPS_VERSIONS.ARCHIVE_SYSTEM_DIR, app.getArchiveSystemDir());
+    rec.set(APPS_VERSIONS.ARCHIVE_ON_APP_ERROR, app.isArchiveOnAppError());
+    rec.set(APPS_VERSIONS.IS_MPI, app.getIsMpi());
+    rec.set(APPS_VERSIONS.MPI_CMD, app.getMpiCmd());
+    rec.set(APPS_VERSIONS.CMD_PREFIX, app.getCmdPrefix());
+    rec.set(APPS_VERSIONS.PARAMETER_SET, parameterSetJson);
+    rec.set(APPS_VERSIONS.FILE_INPUTS, fileInputsJson);
+    rec.set(APPS_VERSIONS.FILE_INPUT_ARRAYS, fileInputArraysJson);
+    rec.set(APPS_VERSIONS.NODE_COUNT, app.getNodeCount());
+    rec.set(APPS_VERSIONS.CORES_PER_NODE, app.getCoresPerNode());
+    rec.set(APPS_VERSIONS.MEMORY_MB, app.getMemoryMB());
+    rec.set(APPS_VERSIONS.MAX_MINUTES, app.getMaxMinutes());
+    rec.set(APPS_VERSIONS.SUBSCRIPTIONS, subscriptionsJson);
+    rec.set(APPS_VERSIONS.JOB_TAGS, jobTagsStrArray);
+    rec.set(APPS_VERSIONS.TAGS, tagsStrArray);
+    rec.set(APPS_VERSIONS.NOTES, notesObj);
+    rec.set(APPS_VERSIONS.UUID, app.getUuid());
+    return rec;
+  }
+
   /**
    * Given an sql connection check to see if specified app exists. Inclusion of deleted items determined by flag.
    * @param db - jooq context
@@ -1770,18 +2539,6 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     return db.fetchExists(APPS_VERSIONS, APPS_VERSIONS.APP_SEQ_ID.eq(appSeqId), APPS_VERSIONS.VERSION.eq(appVersion));
   }
 
-  /**
-   * Given an sql connection check to see if specified app has been marked as deleted.
-   * @param db - jooq context
-   * @param tenant - name of tenant
-   * @param appId - Id of app
-   * @return - true if app has been deleted else false
-   */
-  private static boolean isDeleted(DSLContext db, String tenant, String appId)
-  {
-    return db.fetchExists(APPS, APPS.TENANT.eq(tenant), APPS.ID.eq(appId), APPS.DELETED.eq(true));
-  }
-
   /**
    * Given an sql connection retrieve the app sequence id.
    * @param db - jooq context
@@ -1797,6 +2554,128 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
     else return sid;
   }
 
+  /*
+   * Build the condition used to seek past the row identified by a page cursor.
+   * The cursor holds the sort key values of that row, so the row does not need to be read again and the seek
+   *   works even if the row has since been deleted.
+   * Nulls sort last for an ascending key and first for a descending key. A key that may be null is compared using
+   *   IS NULL and IS NOT NULL, since comparing null with a value never matches. The comparison is expanded to
+   *   (k1 after v1) or (k1 = v1 and k2 after v2) or (k1 = v1 and k2 = v2 and seqId after v3) ...
+   *   where after is > for an ascending key and < for a descending key, adjusted for nulls as above.
+   * When no sort key may be null and all keys sort in the same direction a single row comparison is used.
+   * If the major sort key may not be null the redundant condition k1 >= v1 (or k1 <= v1) is added so that an index
+   *   on the major sort key can be used to skip directly to the start of the page.
+   */
+  private static Condition buildSeekCondition(List<Field<?>> sortFieldList, List<Boolean> sortAscList,
+                                              List<Object> keyValues)
+  {
+    @SuppressWarnings("unchecked")
+    Field<Object> majorKey = (Field<Object>) sortFieldList.get(0);
+    Object majorValue = keyValues.get(0);
+    boolean nullableKeys = sortFieldList.stream().anyMatch(key -> key.getDataType().nullable());
+    Condition majorRange = DSL.trueCondition();
+    if (!majorKey.getDataType().nullable())
+      majorRange = sortAscList.get(0) ? majorKey.ge(majorValue) : majorKey.le(majorValue);
+    boolean allAsc = !sortAscList.contains(Boolean.FALSE);
+    boolean allDesc = !sortAscList.contains(Boolean.TRUE);
+    if (!nullableKeys && allAsc) return majorRange.and(DSL.row(sortFieldList).gt(keyValues.toArray()));
+    if (!nullableKeys && allDesc) return majorRange.and(DSL.row(sortFieldList).lt(keyValues.toArray()));
+    Condition seekCondition = DSL.falseCondition();
+    Condition priorKeysEqual = DSL.trueCondition();
+    for (int i = 0; i < sortFieldList.size(); i++)
+    {
+      @SuppressWarnings("unchecked")
+      Field<Object> key = (Field<Object>) sortFieldList.get(i);
+      Object keyValue = keyValues.get(i);
+      boolean asc = sortAscList.get(i);
+      Condition afterKey;
+      if (keyValue == null) afterKey = asc ? DSL.falseCondition() : key.isNotNull();
+      else if (asc) afterKey = key.getDataType().nullable() ? key.gt(keyValue).or(key.isNull()) : key.gt(keyValue);
+      else afterKey = key.lt(keyValue);
+      seekCondition = seekCondition.or(priorKeysEqual.and(afterKey));
+      priorKeysEqual = priorKeysEqual.and((keyValue == null) ? key.isNull() : key.eq(keyValue));
+    }
+    return majorRange.and(seekCondition);
+  }
+
+  /*
+   * Build the description of a sort order that is included in a page cursor, e.g.
+   *   apps.owner.asc,apps_versions.seq_id.asc
+   */
+  private static String getSortSpec(List<Field<?>> sortFieldList, List<Boolean> sortAscList)
+  {
+    var sortSpec = new StringJoiner(",");
+    for (int i = 0; i < sortFieldList.size(); i++)
+    {
+      Field<?> key = sortFieldList.get(i);
+      String table = (key instanceof TableField) ? ((TableField<?, ?>) key).getTable().getName() + "." : "";
+      sortSpec.add(table + key.getName() + (sortAscList.get(i) ? ".asc" : ".desc"));
+    }
+    return sortSpec.toString();
+  }
+
+  /*
+   * Determine if a cursor can be built for a sort order. Only scalar sort keys can be carried in a cursor.
+   */
+  private static boolean isSeekable(List<Field<?>> sortFieldList)
+  {
+    for (Field<?> key : sortFieldList)
+    {
+      Class<?> type = key.getType();
+      if (type != String.class && type != Integer.class && type != Boolean.class && type != LocalDateTime.class &&
+          type != UUID.class && !type.isEnum()) return false;
+    }
+    return true;
+  }
+
+  /*
+   * Get the sort key values of a row as strings for inclusion in a page cursor
+   */
+  private static List<String> getSortKeyValues(List<Field<?>> sortFieldList, Record r)
+  {
+    var keyValues = new ArrayList<String>();
+    for (Field<?> key : sortFieldList)
+    {
+      Object keyValue = r.get(key);
+      if (keyValue == null) keyValues.add(null);
+      else if (keyValue instanceof Enum) keyValues.add(((Enum<?>) keyValue).name());
+      else keyValues.add(keyValue.toString());
+    }
+    return keyValues;
+  }
+
+  /*
+   * Convert the sort key values from a page cursor back to the types of the sort keys
+   */
+  private static List<Object> parseSortKeyValues(List<Field<?>> sortFieldList, List<String> keyValues, String cursor)
+  {
+    if (keyValues.size() != sortFieldList.size() || !isSeekable(sortFieldList))
+    {
+      throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_INVALID_CURSOR", cursor));
+    }
+    var values = new ArrayList<Object>();
+    try
+    {
+      for (int i = 0; i < sortFieldList.size(); i++)
+      {
+        Class<?> type = sortFieldList.get(i).getType();
+        String keyValue = keyValues.get(i);
+        if (keyValue == null || type == String.class) values.add(keyValue);
+        else if (type == Integer.class) values.add(Integer.valueOf(keyValue));
+        else if (type == Boolean.class) values.add(Boolean.valueOf(keyValue));
+        else if (type == LocalDateTime.class) values.add(LocalDateTime.parse(keyValue));
+        else if (type == UUID.class) values.add(UUID.fromString(keyValue));
+        else values.add(Arrays.stream(type.getEnumConstants()).filter(e -> ((Enum<?>) e).name().equals(keyValue))
+                              .findFirst().orElseThrow(IllegalArgumentException::new));
+      }
+    }
+    catch (RuntimeException e)
+    {
+      throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_INVALID_CURSOR", cursor), e);
+    }
+    return values;
+  }
+
   /**
    * Given an appRecord from a JOIN, create an App object
    *
@@ -1820,19 +2699,8 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
       runtimeOptions = Arrays.stream(runtimeOptionsStrArray).map(RuntimeOption::valueOf).collect(Collectors.toList());
     }
 
-    // Build lists for ParameterSet arguments, FileInputs, FileInputArrays.
-    JsonElement parmSetJsonElement = r.get(APPS_VERSIONS.PARAMETER_SET);
-
-    ParameterSet parmSet = TapisGsonUtils.getGson().fromJson(parmSetJsonElement, ParameterSet.class);
-    // NOTE: At this point all ArgSpec notes inside parmSet are of type com.google.gson.internal.LinkedTreeMap
-    //       gson has done the conversion because the embedded field is of type object.
-    JsonElement fiJsonElement = r.get(APPS_VERSIONS.FILE_INPUTS);
-    List<FileInput> fileInputs = Arrays.asList(TapisGsonUtils.getGson().fromJson(fiJsonElement, FileInput[].class));
-    JsonElement fiaJsonElement = r.get(APPS_VERSIONS.FILE_INPUT_ARRAYS);
-    List<FileInputArray> fileInputArrays = Arrays.asList(TapisGsonUtils.getGson().fromJson(fiaJsonElement, FileInputArray[].class));
-    JsonElement subscriptionsJsonElement = r.get(APPS_VERSIONS.SUBSCRIPTIONS);
-    List<ReqSubscribe> subscriptions =
-            Arrays.asList(TapisGsonUtils.getGson().fromJson(subscriptionsJsonElement, ReqSubscribe[].class));
+    // ParameterSet, FileInputs, FileInputArrays and Subscriptions are set below from the raw JSONB
+    //   and only decoded if accessed.
     app = new App(appSeqId, appVerSeqId, r.get(APPS.TENANT), r.get(APPS.ID), r.get(APPS_VERSIONS.VERSION),
             r.get(APPS_VERSIONS.DESCRIPTION), r.get(APPS_VERSIONS.JOB_TYPE), r.get(APPS.OWNER),
             r.get(APPS.ENABLED), r.get(APPS_VERSIONS.VERSION_ENABLED), r.get(APPS_VERSIONS.LOCKED), r.get(APPS.CONTAINERIZED),
@@ -1846,13 +2714,107 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
             r.get(APPS_VERSIONS.EXEC_SYSTEM_LOGICAL_QUEUE), r.get(APPS_VERSIONS.ARCHIVE_SYSTEM_ID),
             r.get(APPS_VERSIONS.ARCHIVE_SYSTEM_DIR), r.get(APPS_VERSIONS.ARCHIVE_ON_APP_ERROR),
             r.get(APPS_VERSIONS.IS_MPI), r.get(APPS_VERSIONS.MPI_CMD), r.get(APPS_VERSIONS.CMD_PREFIX),
-            parmSet, fileInputs, fileInputArrays, r.get(APPS_VERSIONS.NODE_COUNT), r.get(APPS_VERSIONS.CORES_PER_NODE),
-            r.get(APPS_VERSIONS.MEMORY_MB), r.get(APPS_VERSIONS.MAX_MINUTES), subscriptions,
+            null, null, null, r.get(APPS_VERSIONS.NODE_COUNT), r.get(APPS_VERSIONS.CORES_PER_NODE),
+            r.get(APPS_VERSIONS.MEMORY_MB), r.get(APPS_VERSIONS.MAX_MINUTES), null,
             r.get(APPS_VERSIONS.JOB_TAGS), r.get(APPS_VERSIONS.TAGS), (JsonObject) r.get(APPS_VERSIONS.NOTES),
             r.get(APPS_VERSIONS.UUID), r.get(APPS.DELETED), created, updated);
+    app.setJsonbAttributes(jsonbData(r.get(PARAMETER_SET_JSONB)), jsonbData(r.get(FILE_INPUTS_JSONB)),
+                           jsonbData(r.get(FILE_INPUT_ARRAYS_JSONB)), jsonbData(r.get(SUBSCRIPTIONS_JSONB)));
     return app;
   }
 
+  /**
+   * Given an appRecord from a JOIN that contains only some of the columns, create an App object.
+   * Columns not in the record are left unset. JSONB columns are only decoded if present.
+   * See getSelectFields()
+   */
+  private static App getAppFromProjectionRecord(Record r)
+  {
+    LocalDateTime createdLdt = getValue(r, APPS_VERSIONS.CREATED, null);
+    Instant created = (createdLdt == null) ? null : createdLdt.toInstant(ZoneOffset.UTC);
+    LocalDateTime updatedLdt = getValue(r, APPS_VERSIONS.UPDATED, null);
+    Instant updated = (updatedLdt == null) ? null : updatedLdt.toInstant(ZoneOffset.UTC);
+
+    String[] runtimeOptionsStrArray = getValue(r, APPS_VERSIONS.RUNTIME_OPTIONS, null);
+    List<RuntimeOption> runtimeOptions = null;
+    if (runtimeOptionsStrArray != null && runtimeOptionsStrArray.length != 0)
+    {
+      runtimeOptions = Arrays.stream(runtimeOptionsStrArray).map(RuntimeOption::valueOf).collect(Collectors.toList());
+    }
+
+    App app = new App(r.get(APPS.SEQ_ID), r.get(APPS_VERSIONS.SEQ_ID), r.get(APPS.TENANT), r.get(APPS.ID),
+            r.get(APPS_VERSIONS.VERSION), getValue(r, APPS_VERSIONS.DESCRIPTION, null),
+            getValue(r, APPS_VERSIONS.JOB_TYPE, null), r.get(APPS.OWNER), r.get(APPS.ENABLED),
+            r.get(APPS_VERSIONS.VERSION_ENABLED), r.get(APPS_VERSIONS.LOCKED), getValue(r, APPS.CONTAINERIZED, false),
+            getValue(r, APPS_VERSIONS.RUNTIME, null), getValue(r, APPS_VERSIONS.RUNTIME_VERSION, null), runtimeOptions,
+            getValue(r, APPS_VERSIONS.CONTAINER_IMAGE, null), getValue(r, APPS_VERSIONS.MAX_JOBS, 0),
+            getValue(r, APPS_VERSIONS.MAX_JOBS_PER_USER, 0), getValue(r, APPS_VERSIONS.STRICT_FILE_INPUTS, false),
+            getValue(r, APPS_VERSIONS.JOB_DESCRIPTION, null), getValue(r, APPS_VERSIONS.DYNAMIC_EXEC_SYSTEM, false),
+            getValue(r, APPS_VERSIONS.EXEC_SYSTEM_CONSTRAINTS, null), getValue(r, APPS_VERSIONS.EXEC_SYSTEM_ID, null),
+            getValue(r, APPS_VERSIONS.EXEC_SYSTEM_EXEC_DIR, null), getValue(r, APPS_VERSIONS.EXEC_SYSTEM_INPUT_DIR, null),
+            getValue(r, APPS_VERSIONS.EXEC_SYSTEM_OUTPUT_DIR, null), getValue(r, APPS_VERSIONS.DTN_SYSTEM_INPUT_DIR, null),
+            getValue(r, APPS_VERSIONS.DTN_SYSTEM_OUTPUT_DIR, null),
+            getValue(r, APPS_VERSIONS.EXEC_SYSTEM_LOGICAL_QUEUE, null), getValue(r, APPS_VERSIONS.ARCHIVE_SYSTEM_ID, null),
+            getValue(r, APPS_VERSIONS.ARCHIVE_SYSTEM_DIR, null), getValue(r, APPS_VERSIONS.ARCHIVE_ON_APP_ERROR, false),
+            getValue(r, APPS_VERSIONS.IS_MPI, false), getValue(r, APPS_VERSIONS.MPI_CMD, null),
+            getValue(r, APPS_VERSIONS.CMD_PREFIX, null), null, null, null,
+            getValue(r, APPS_VERSIONS.NODE_COUNT, 0), getValue(r, APPS_VERSIONS.CORES_PER_NODE, 0),
+            getValue(r, APPS_VERSIONS.MEMORY_MB, 0), getValue(r, APPS_VERSIONS.MAX_MINUTES, 0), null,
+            getValue(r, APPS_VERSIONS.JOB_TAGS, null), getValue(r, APPS_VERSIONS.TAGS, null),
+            (JsonObject) getValue(r, APPS_VERSIONS.NOTES, null), getValue(r, APPS_VERSIONS.UUID, null),
+            r.get(APPS.DELETED), created, updated);
+
+    // The JSONB columns are fetched together as part of jobAttributes
+    if (r.indexOf(PARAMETER_SET_JSONB) >= 0)
+    {
+      app.setJsonbAttributes(jsonbData(r.get(PARAMETER_SET_JSONB)), jsonbData(r.get(FILE_INPUTS_JSONB)),
+                             jsonbData(r.get(FILE_INPUT_ARRAYS_JSONB)), jsonbData(r.get(SUBSCRIPTIONS_JSONB)));
+    }
+    return app;
+  }
+
+  /*
+   * Create a field for a JSONB column that is read as raw JSONB, bypassing the binding for the column.
+   */
+  private static Field<JSONB> rawJsonbField(Field<?> jsonbColumn)
+  {
+    return DSL.field(jsonbColumn.getQualifiedName(), SQLDataType.JSONB);
+  }
+
+  /*
+   * Get the JSON text of a raw JSONB value, null if the value is null.
+   */
+  private static String jsonbData(JSONB jsonb)
+  {
+    return (jsonb == null) ? null : jsonb.data();
+  }
+
+  /*
+   * Get the value of a column from a record, or the default if the column is not in the record.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T getValue(Record r, Field<T> field, T defaultValue)
+  {
+    int idx = r.indexOf(field);
+    return (idx < 0) ? defaultValue : (T) r.get(idx);
+  }
+
+  /*
+   * Determine the columns to fetch for a select list.
+   * Returns null if all columns are to be fetched.
+   */
+  private static Set<Field<?>> getSelectFields(List<String> selectList)
+  {
+    if (selectList == null || selectList.isEmpty() || selectList.contains(App.SEL_ALL_ATTRS)) return null;
+    var selectFields = new LinkedHashSet<Field<?>>(BASE_SELECT_FIELDS);
+    for (String attrName : selectList)
+    {
+      List<Field<?>> attrFields = SELECT_ATTR_FIELDS.get(attrName);
+      if (attrFields != null) selectFields.addAll(attrFields);
+    }
+    return selectFields;
+  }
+
   /**
    * Given an sql connection retrieve the app_ver uuid.
    * @param db - jooq context
@@ -2288,7 +3250,7 @@ public class AppsDaoImpl extends AbstractDao implements AppsDao
    */
   private AppHistoryItem getAppHistoryFromRecord(Record r)
   {
-    return new AppHistoryItem(r.get(APP_UPDATES.JWT_TENANT), r.get(APP_UPDATES.JWT_USER),
+    return new AppHistoryItem(r.get(APP_UPDATES.SEQ_ID), r.get(APP_UPDATES.JWT_TENANT), r.get(APP_UPDATES.JWT_USER),
                               r.get(APP_UPDATES.OBO_TENANT), r.get(APP_UPDATES.OBO_USER),
                               r.get(APP_UPDATES.APP_VERSION), r.get(APP_UPDATES.OPERATION),
                               r.get(APP_UPDATES.DESCRIPTION), r.get(APP_UPDATES.CREATED).toInstant(ZoneOffset.UTC));
@@ -0,0 +1,165 @@
+package edu.utexas.tacc.tapis.apps.dao;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/*
+ * Instrumentation for the DB connection pool used by all DAO classes.
+ *   Records how long callers wait to borrow a connection, how many borrows fail and how many of those failures
+ *   were pool timeouts. Wait times are kept in a fixed bucket histogram so recording is lock-free.
+ *   Current active/idle/pending counts are read from the pool itself when a snapshot is taken.
+ * This class is non-instantiable
+ */
+public final class DbPoolMetrics
+{
+  // Private constructor to make it non-instantiable
+  private DbPoolMetrics() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                               Constants                                */
+  /* ********************************************************************** */
+  // Upper bounds in milliseconds for the borrow wait histogram buckets. Final bucket catches everything larger.
+  private static final long[] WAIT_BUCKET_BOUNDS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  private static final AtomicLongArray waitBuckets = new AtomicLongArray(WAIT_BUCKET_BOUNDS_MS.length + 1);
+  private static final AtomicLong borrowCount = new AtomicLong();
+  private static final AtomicLong borrowFailures = new AtomicLong();
+  private static final AtomicLong borrowTimeouts = new AtomicLong();
+  private static final AtomicLong totalWaitNanos = new AtomicLong();
+  private static final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Take a point in time snapshot of the pool metrics.
+   * @return snapshot of counters, histogram and current pool state
+   */
+  public static Snapshot getSnapshot()
+  {
+    return new Snapshot(AbstractDao.getCachedDataSource());
+  }
+
+  /* ********************************************************************** */
+  /*                         Package-Private Methods                        */
+  /* ********************************************************************** */
+
+  /**
+   * Record a successful borrow
+   * @param waitNanos - time spent waiting for the connection
+   */
+  static void recordBorrow(long waitNanos)
+  {
+    borrowCount.incrementAndGet();
+    recordWait(waitNanos);
+  }
+
+  /**
+   * Record a failed borrow. Hikari reports pool exhaustion as SQLTransientConnectionException.
+   * @param waitNanos - time spent waiting before the failure
+   * @param e - exception thrown by the datasource
+   */
+  static void recordBorrowFailure(long waitNanos, Exception e)
+  {
+    borrowFailures.incrementAndGet();
+    if (e instanceof SQLTransientConnectionException) borrowTimeouts.incrementAndGet();
+    recordWait(waitNanos);
+  }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  private static void recordWait(long waitNanos)
+  {
+    totalWaitNanos.addAndGet(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    int i = 0;
+    while (i < WAIT_BUCKET_BOUNDS_MS.length && waitMs > WAIT_BUCKET_BOUNDS_MS[i]) i++;
+    waitBuckets.incrementAndGet(i);
+  }
+
+  /* ********************************************************************** */
+  /*                              Snapshot                                  */
+  /* ********************************************************************** */
+
+  /*
+   * Immutable view of the pool metrics. Pool state values are -1 if the pool has not been created yet or
+   *   the datasource does not expose its pool.
+   */
+  public static final class Snapshot
+  {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int totalConnections;
+    private final int pendingThreads;
+    private final int maxPoolSize;
+    private final long borrows;
+    private final long failures;
+    private final long timeouts;
+    private final double meanWaitMs;
+    private final double maxWaitMs;
+    private final Map<String, Long> waitHistogramMs;
+
+    private Snapshot(DataSource ds)
+    {
+      int active = -1, idle = -1, total = -1, pending = -1, maxSize = -1;
+      if (ds instanceof HikariDataSource)
+      {
+        HikariDataSource hds = (HikariDataSource) ds;
+        maxSize = hds.getMaximumPoolSize();
+        HikariPoolMXBean pool = hds.getHikariPoolMXBean();
+        if (pool != null)
+        {
+          active = pool.getActiveConnections();
+          idle = pool.getIdleConnections();
+          total = pool.getTotalConnections();
+          pending = pool.getThreadsAwaitingConnection();
+        }
+      }
+      activeConnections = active;
+      idleConnections = idle;
+      totalConnections = total;
+      pendingThreads = pending;
+      maxPoolSize = maxSize;
+      borrows = borrowCount.get();
+      failures = borrowFailures.get();
+      timeouts = borrowTimeouts.get();
+      long attempts = borrows + failures;
+      meanWaitMs = (attempts == 0) ? 0d : totalWaitNanos.get() / 1.0e6 / attempts;
+      maxWaitMs = maxWaitNanos.get() / 1.0e6;
+      waitHistogramMs = new LinkedHashMap<>();
+      for (int i = 0; i < WAIT_BUCKET_BOUNDS_MS.length; i++)
+      {
+        waitHistogramMs.put("le_" + WAIT_BUCKET_BOUNDS_MS[i], waitBuckets.get(i));
+      }
+      waitHistogramMs.put("gt_" + WAIT_BUCKET_BOUNDS_MS[WAIT_BUCKET_BOUNDS_MS.length-1],
+                          waitBuckets.get(WAIT_BUCKET_BOUNDS_MS.length));
+    }
+
+    public int getActiveConnections() { return activeConnections; }
+    public int getIdleConnections() { return idleConnections; }
+    public int getTotalConnections() { return totalConnections; }
+    public int getPendingThreads() { return pendingThreads; }
+    public int getMaxPoolSize() { return maxPoolSize; }
+    public long getBorrows() { return borrows; }
+    public long getFailures() { return failures; }
+    public long getTimeouts() { return timeouts; }
+    public double getMeanWaitMs() { return meanWaitMs; }
+    public double getMaxWaitMs() { return maxWaitMs; }
+    public Map<String, Long> getWaitHistogramMs() { return waitHistogramMs; }
+  }
+}
@@ -6,7 +6,6 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.util.Objects;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
-import com.google.gson.Gson;
 import org.jooq.Binding;
 import org.jooq.BindingGetResultSetContext;
 import org.jooq.BindingGetSQLInputContext;
@@ -20,6 +19,8 @@ import org.jooq.JSONB;
 import org.jooq.conf.ParamType;
 import org.jooq.impl.DSL;
 
+import edu.utexas.tacc.tapis.apps.utils.JsonbCodec;
+
 // Based on example in jOOQ manual
 // https://www.jooq.org/doc/3.13/manual/code-generation/custom-data-type-bindings/
 // We're binding <T> = Object (unknown JDBC type), and <U> = JsonElement (user type)
@@ -27,27 +28,28 @@ import org.jooq.impl.DSL;
 // Bind Postgrsql jsonb column type to Gson JsonElement
 public class JSONBToJsonElementBinding implements Binding<JSONB, JsonElement>
 {
-  // The converter does all the work
-  @Override
-  public Converter<JSONB, JsonElement> converter() {
-    return new Converter<>() {
-      @Override
-      public JsonElement from(JSONB t) {
-        return t == null ? JsonNull.INSTANCE : new Gson().fromJson(t.data(), JsonElement.class);
-      }
+  // The converter does all the work. It is stateless so a single instance is shared by all bindings.
+  // Conversions use the shared Gson instance in JsonbCodec rather than creating one per value.
+  private static final Converter<JSONB, JsonElement> CONVERTER = new Converter<>() {
+    @Override
+    public JsonElement from(JSONB t) {
+      return t == null ? JsonNull.INSTANCE : JsonbCodec.parse(t.data());
+    }
+
+    @Override
+    public JSONB to(JsonElement u) {
+      return u == null || u == JsonNull.INSTANCE ? null : JSONB.valueOf(JsonbCodec.toJson(u));
+    }
 
-      @Override
-      public JSONB to(JsonElement u) {
-        return u == null || u == JsonNull.INSTANCE ? null : JSONB.valueOf(new Gson().toJson(u));
-      }
+    @Override
+    public Class<JSONB> fromType() { return JSONB.class; }
 
-      @Override
-      public Class<JSONB> fromType() { return JSONB.class; }
+    @Override
+    public Class<JsonElement> toType() { return JsonElement.class; }
+  };
 
-      @Override
-      public Class<JsonElement> toType() { return JsonElement.class; }
-    };
-  }
+  @Override
+  public Converter<JSONB, JsonElement> converter() { return CONVERTER; }
 
     // Rendering a bind variable for the binding context's value and casting it to the jsonb type
     @Override
@@ -4,6 +4,7 @@
 package edu.utexas.tacc.tapis.apps.gen.jooq;
 
 
+import edu.utexas.tacc.tapis.apps.gen.jooq.tables.AppUpdates;
 import edu.utexas.tacc.tapis.apps.gen.jooq.tables.Apps;
 import edu.utexas.tacc.tapis.apps.gen.jooq.tables.AppsVersions;
 import edu.utexas.tacc.tapis.apps.gen.jooq.tables.FlywaySchemaHistory;
@@ -24,7 +25,12 @@ public class Indexes {
     // INDEX definitions
     // -------------------------------------------------------------------------
 
+    public static final Index APP_UPDATES_APPSEQ_SEQID_IDX = Internal.createIndex(DSL.name("app_updates_appseq_seqid_idx"), AppUpdates.APP_UPDATES, new OrderField[] { AppUpdates.APP_UPDATES.APP_SEQ_ID, AppUpdates.APP_UPDATES.SEQ_ID }, false);
+    public static final Index APP_UPDATES_TENANT_APP_CREATED_IDX = Internal.createIndex(DSL.name("app_updates_tenant_app_created_idx"), AppUpdates.APP_UPDATES, new OrderField[] { AppUpdates.APP_UPDATES.OBO_TENANT, AppUpdates.APP_UPDATES.APP_ID, AppUpdates.APP_UPDATES.CREATED }, false);
+    public static final Index APP_TENANT_CREATED_IDX = Internal.createIndex(DSL.name("app_tenant_created_idx"), Apps.APPS, new OrderField[] { Apps.APPS.TENANT, Apps.APPS.CREATED }, false);
     public static final Index APP_TENANT_ID_IDX = Internal.createIndex(DSL.name("app_tenant_id_idx"), Apps.APPS, new OrderField[] { Apps.APPS.TENANT, Apps.APPS.ID }, false);
+    public static final Index APP_TENANT_OWNER_ID_IDX = Internal.createIndex(DSL.name("app_tenant_owner_id_idx"), Apps.APPS, new OrderField[] { Apps.APPS.TENANT, Apps.APPS.OWNER, Apps.APPS.ID }, false);
+    public static final Index APP_VERSION_APPSEQ_SEQID_IDX = Internal.createIndex(DSL.name("app_version_appseq_seqid_idx"), AppsVersions.APPS_VERSIONS, new OrderField[] { AppsVersions.APPS_VERSIONS.APP_SEQ_ID, AppsVersions.APPS_VERSIONS.SEQ_ID }, false);
     public static final Index APP_VERSION_SEQID_IDX = Internal.createIndex(DSL.name("app_version_seqid_idx"), AppsVersions.APPS_VERSIONS, new OrderField[] { AppsVersions.APPS_VERSIONS.VERSION, AppsVersions.APPS_VERSIONS.APP_SEQ_ID }, false);
     public static final Index FLYWAY_SCHEMA_HISTORY_S_IDX = Internal.createIndex(DSL.name("flyway_schema_history_s_idx"), FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY, new OrderField[] { FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY.SUCCESS }, false);
 }
@@ -7,6 +7,7 @@ package edu.utexas.tacc.tapis.apps.gen.jooq.tables;
 import com.google.gson.JsonElement;
 
 import edu.utexas.tacc.tapis.apps.dao.JSONBToJsonElementBinding;
+import edu.utexas.tacc.tapis.apps.gen.jooq.Indexes;
 import edu.utexas.tacc.tapis.apps.gen.jooq.Keys;
 import edu.utexas.tacc.tapis.apps.gen.jooq.TapisApp;
 import edu.utexas.tacc.tapis.apps.gen.jooq.tables.records.AppUpdatesRecord;
@@ -21,6 +22,7 @@ import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Function14;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Records;
@@ -180,6 +182,11 @@ public class AppUpdates extends TableImpl<AppUpdatesRecord> {
         return aliased() ? null : TapisApp.TAPIS_APP;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.APP_UPDATES_APPSEQ_SEQID_IDX, Indexes.APP_UPDATES_TENANT_APP_CREATED_IDX);
+    }
+
     @Override
     public Identity<AppUpdatesRecord, Integer> getIdentity() {
         return (Identity<AppUpdatesRecord, Integer>) super.getIdentity();
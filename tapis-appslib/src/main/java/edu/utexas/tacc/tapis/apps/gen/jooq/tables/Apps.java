@@ -152,7 +152,7 @@ public class Apps extends TableImpl<AppsRecord> {
 
     @Override
     public List<Index> getIndexes() {
-        return Arrays.asList(Indexes.APP_TENANT_ID_IDX);
+        return Arrays.asList(Indexes.APP_TENANT_CREATED_IDX, Indexes.APP_TENANT_ID_IDX, Indexes.APP_TENANT_OWNER_ID_IDX);
     }
 
     @Override
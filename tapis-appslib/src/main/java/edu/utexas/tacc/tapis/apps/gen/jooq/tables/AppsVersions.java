@@ -335,7 +335,7 @@ public class AppsVersions extends TableImpl<AppsVersionsRecord> {
 
     @Override
     public List<Index> getIndexes() {
-        return Arrays.asList(Indexes.APP_VERSION_SEQID_IDX);
+        return Arrays.asList(Indexes.APP_VERSION_APPSEQ_SEQID_IDX, Indexes.APP_VERSION_SEQID_IDX);
     }
 
     @Override
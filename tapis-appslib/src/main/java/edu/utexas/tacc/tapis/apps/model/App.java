@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -16,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.DomainValidator;
 import org.apache.commons.validator.routines.InetAddressValidator;
 
+import edu.utexas.tacc.tapis.apps.utils.JsonbCodec;
 import edu.utexas.tacc.tapis.apps.utils.LibUtils;
 import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
 
@@ -276,6 +278,12 @@ public final class App
   private List<ReqSubscribe> subscriptions;
   private String[] jobTags;
   // === End jobAttributes ==========
+  // Raw JSONB text for parameterSet, fileInputs, fileInputArrays and subscriptions as read from the DB.
+  // Each is decoded on first access and then cleared. See setJsonbAttributes()
+  private transient volatile String parameterSetJson;
+  private transient volatile String fileInputsJson;
+  private transient volatile String fileInputArraysJson;
+  private transient volatile String subscriptionsJson;
   private String[] tags;       // List of arbitrary tags as strings
   private JsonObject notes;      // Simple metadata as json
   private UUID uuid;
@@ -358,17 +366,14 @@ public final class App
     isMpi = a.getIsMpi();
     mpiCmd = LibUtils.stripStr(a.getMpiCmd());
     cmdPrefix = a.getCmdPrefix();
-    parameterSet = a.getParameterSet();
-    fileInputs = a.getFileInputs();
-    fileInputArrays = a.getFileInputArrays();
+    copyJsonbAttributes(a);
     nodeCount = a.getNodeCount();
     coresPerNode = a.getCoresPerNode();
     memoryMB = a.getMemoryMB();
     maxMinutes = a.getMaxMinutes();
-    subscriptions = a.getSubscriptions();
     jobTags = a.getJobTags();
     tags = (a.getTags() == null) ? EMPTY_STR_ARRAY : a.getTags().clone();
-    notes = a.getNotes();
+    notes = (a.getNotes() == null) ? null : a.getNotes().deepCopy();
     sharedAppCtx = LibUtils.stripStr(a.getSharedAppCtx());
     isPublic = a.isPublic();
     sharedWithUsers = a.getSharedWithUsers();
@@ -455,8 +460,8 @@ public final class App
   }
 
   /**
-   * Copy constructor. Returns a deep copy of an App object.
-   * The getters make defensive copies as needed.
+   * Copy constructor. Returns a deep copy of an App object, no mutable state is shared with the original.
+   * The getters make defensive copies as needed. Nested objects are copied by copyJsonbAttributes().
    */
   public App(App a)
   {
@@ -496,17 +501,14 @@ public final class App
     isMpi = a.getIsMpi();
     mpiCmd = LibUtils.stripStr(a.getMpiCmd());
     cmdPrefix = a.getCmdPrefix();
-    parameterSet = a.getParameterSet();
-    fileInputs = a.getFileInputs();
-    fileInputArrays = a.getFileInputArrays();
+    copyJsonbAttributes(a);
     nodeCount = a.getNodeCount();
     coresPerNode = a.getCoresPerNode();
     memoryMB = a.getMemoryMB();
     maxMinutes = a.getMaxMinutes();
-    subscriptions = a.getSubscriptions();
     jobTags = a.getJobTags();
     tags = a.getTags();
-    notes = a.getNotes();
+    notes = (a.getNotes() == null) ? null : a.getNotes().deepCopy();
     sharedAppCtx = LibUtils.stripStr(a.getSharedAppCtx());
     isPublic = a.isPublic();
     sharedWithUsers = a.getSharedWithUsers();
@@ -537,6 +539,7 @@ public final class App
    */
   public void setDefaults()
   {
+    decodeJsonbAttributes();
     if (StringUtils.isBlank(owner)) setOwner(DEFAULT_OWNER);
     if (jobTags == null) setJobTags(EMPTY_STR_ARRAY);
     if (tags == null) setTags(EMPTY_STR_ARRAY);
@@ -557,6 +560,7 @@ public final class App
    */
   public List<String> checkAttributeRestrictions()
   {
+    decodeJsonbAttributes();
     var errMessages = new ArrayList<String>();
     checkAttrRequired(errMessages);
     checkAttrValidity(errMessages);
@@ -583,10 +587,65 @@ public final class App
     return envVars;
   }
 
+  /**
+   * Set parameterSet, fileInputs, fileInputArrays and subscriptions from the raw JSONB text of their DB columns.
+   * Decoding is deferred until the corresponding getter is first called, so code that never looks at
+   * these attributes does not pay to build the object graphs.
+   * A null value leaves the attribute unset.
+   */
+  public void setJsonbAttributes(String parameterSetJson1, String fileInputsJson1, String fileInputArraysJson1,
+                                 String subscriptionsJson1)
+  {
+    parameterSet = null;
+    fileInputs = null;
+    fileInputArrays = null;
+    subscriptions = null;
+    parameterSetJson = parameterSetJson1;
+    fileInputsJson = fileInputsJson1;
+    fileInputArraysJson = fileInputArraysJson1;
+    subscriptionsJson = subscriptionsJson1;
+  }
+
   // ************************************************************************
   // ******************** Private methods ***********************************
   // ************************************************************************
 
+  /*
+   * Copy parameterSet, fileInputs, fileInputArrays and subscriptions from another App.
+   * Attributes the other App has not yet decoded are copied as raw JSONB text, so this App decodes its own objects
+   *   on first access. Decoded attributes are copied along with the elements of their lists, since elements hold
+   *   notes as a mutable JsonObject. Subscriptions are immutable so only the list is copied.
+   * The raw text is read first, a null value means the decoded value has been set. See getParameterSet()
+   */
+  private void copyJsonbAttributes(App a)
+  {
+    String json = a.parameterSetJson;
+    if (json != null) parameterSetJson = json;
+    else parameterSet = (a.parameterSet == null) ? null : new ParameterSet(a.parameterSet);
+    json = a.fileInputsJson;
+    if (json != null) fileInputsJson = json;
+    else fileInputs = (a.fileInputs == null) ? null
+                      : a.fileInputs.stream().map(FileInput::new).collect(Collectors.toList());
+    json = a.fileInputArraysJson;
+    if (json != null) fileInputArraysJson = json;
+    else fileInputArrays = (a.fileInputArrays == null) ? null
+                           : a.fileInputArrays.stream().map(FileInputArray::new).collect(Collectors.toList());
+    json = a.subscriptionsJson;
+    if (json != null) subscriptionsJson = json;
+    else subscriptions = (a.subscriptions == null) ? null : new ArrayList<>(a.subscriptions);
+  }
+
+  /*
+   * Decode any JSONB attributes not yet accessed. Used before methods that read the fields directly.
+   */
+  private void decodeJsonbAttributes()
+  {
+    getParameterSet();
+    getFileInputs();
+    getFileInputArrays();
+    getSubscriptions();
+  }
+
   /**
    * Check for missing required attributes
    *   Id, version, containerImage
@@ -1356,31 +1415,53 @@ public final class App
   public boolean isStrictFileInputs() { return strictFileInputs; }
   public void setStrictFileInputs(boolean b) { strictFileInputs = b;   }
 
+  // NOTE: For the JSONB attributes the decoded value is assigned before the raw text is cleared,
+  //       so a thread that sees the cleared (volatile) raw text also sees the decoded value.
   public List<FileInput> getFileInputs() {
+    String json = fileInputsJson;
+    if (json != null) { fileInputs = JsonbCodec.readList(json, FileInput[].class); fileInputsJson = null; }
     return (fileInputs == null) ? null : new ArrayList<>(fileInputs);
   }
   public void setFileInputs(List<FileInput> fi)
   {
     fileInputs = (fi == null) ? null : new ArrayList<>(fi);
+    fileInputsJson = null;
   }
 
   public List<FileInputArray> getFileInputArrays() {
+    String json = fileInputArraysJson;
+    if (json != null) { fileInputArrays = JsonbCodec.readList(json, FileInputArray[].class); fileInputArraysJson = null; }
     return (fileInputArrays == null) ? null : new ArrayList<>(fileInputArrays);
   }
   public void setFileInputArrays(List<FileInputArray> fia) { fileInputArrays = (fia == null) ? null : new ArrayList<>(fia);
+    fileInputArraysJson = null;
   }
 
   public List<ReqSubscribe> getSubscriptions()
   {
+    String json = subscriptionsJson;
+    if (json != null) { subscriptions = JsonbCodec.readList(json, ReqSubscribe[].class); subscriptionsJson = null; }
     return (subscriptions == null) ? null : new ArrayList<>(subscriptions);
   }
   public void setSubscriptions(List<ReqSubscribe> ns)
   {
     subscriptions = (ns == null) ? null : new ArrayList<>(ns);
+    subscriptionsJson = null;
   }
 
-  public ParameterSet getParameterSet() { return parameterSet; }
-  public void setParameterSet(ParameterSet ps) { parameterSet = ps; }
+  public ParameterSet getParameterSet()
+  {
+    String json = parameterSetJson;
+    if (json != null)
+    {
+      // NOTE: ArgSpec notes inside parmSet are of type com.google.gson.internal.LinkedTreeMap
+      //       gson does the conversion because the embedded field is of type object.
+      parameterSet = JsonbCodec.read(json, ParameterSet.class);
+      parameterSetJson = null;
+    }
+    return parameterSet;
+  }
+  public void setParameterSet(ParameterSet ps) { parameterSet = ps; parameterSetJson = null; }
 
   public String[] getJobTags()
   {
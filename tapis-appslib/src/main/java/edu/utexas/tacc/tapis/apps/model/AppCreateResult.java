@@ -0,0 +1,43 @@
+package edu.utexas.tacc.tapis.apps.model;
+
+/*
+ * Outcome of creating one app version as part of a bulk create request.
+ *
+ */
+public final class AppCreateResult
+{
+  // ************************************************************************
+  // *********************** Enums ******************************************
+  // ************************************************************************
+  public enum Outcome {CREATED, EXISTS, INVALID, FORBIDDEN, ERROR}
+
+  // ************************************************************************
+  // *********************** Fields *****************************************
+  // ************************************************************************
+  private final String id;
+  private final String version;
+  private final Outcome outcome;
+  private final String message; // Reason for failure, null if created
+
+  // ************************************************************************
+  // *********************** Constructors ***********************************
+  // ************************************************************************
+
+  public AppCreateResult(String id1, String version1, Outcome outcome1, String message1)
+  {
+    id = id1;
+    version = version1;
+    outcome = outcome1;
+    message = message1;
+  }
+
+  // ************************************************************************
+  // *********************** Accessors **************************************
+  // ************************************************************************
+
+  public String getId() { return id; }
+  public String getVersion() { return version; }
+  public Outcome getOutcome() { return outcome; }
+  public String getMessage() { return message; }
+  public boolean isCreated() { return outcome == Outcome.CREATED; }
+}
@@ -20,6 +20,7 @@ public final class AppHistoryItem
   // ************************************************************************
   // *********************** Fields *****************************************
   // ************************************************************************
+  private final int seqId; // Sequence id of the history record. Used as the cursor for paging.
   private final String jwtTenant;
   private final String jwtUser;
   private final String oboTenant;
@@ -37,9 +38,10 @@ public final class AppHistoryItem
    * Constructor for jOOQ with input parameter matching order of columns in DB
    * Also useful for testing
    */
-  public AppHistoryItem(String jwtTenant1, String jwtUser1, String oboTenant1, String oboUser1,
+  public AppHistoryItem(int seqId1, String jwtTenant1, String jwtUser1, String oboTenant1, String oboUser1,
                         String appVersion1, AppOperation operation1, JsonElement jsonElement, Instant created1)
   {
+    seqId = seqId1;
     jwtTenant = jwtTenant1;
     jwtUser = jwtUser1;
     oboTenant = oboTenant1;
@@ -54,6 +56,7 @@ public final class AppHistoryItem
   // *********************** Accessors **************************************
   // ************************************************************************
 
+  public int getSeqId() { return seqId; }
   public String getJwtTenant() { return jwtTenant; }
   public String getJwtUser() { return jwtUser; }
   public String getOboTenant() { return oboTenant; }
@@ -0,0 +1,48 @@
+package edu.utexas.tacc.tapis.apps.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * A page of apps from a listing, along with the total number of apps matching the listing if it was requested
+ *   and the cursor to use for the next page.
+ *
+ */
+public final class AppsPage
+{
+  // ************************************************************************
+  // *********************** Constants **************************************
+  // ************************************************************************
+  public static final int TOTAL_NOT_COMPUTED = -1;
+
+  // ************************************************************************
+  // *********************** Fields *****************************************
+  // ************************************************************************
+  private final List<App> apps;
+  private final int totalCount; // Total matching items ignoring limit and skip, TOTAL_NOT_COMPUTED if not requested
+  private final String nextCursor; // Cursor for the page following this one, null if the page is not full
+
+  // ************************************************************************
+  // *********************** Constructors ***********************************
+  // ************************************************************************
+
+  public AppsPage(List<App> apps1, int totalCount1)
+  {
+    this(apps1, totalCount1, null);
+  }
+
+  public AppsPage(List<App> apps1, int totalCount1, String nextCursor1)
+  {
+    apps = (apps1 == null) ? Collections.emptyList() : apps1;
+    totalCount = totalCount1;
+    nextCursor = nextCursor1;
+  }
+
+  // ************************************************************************
+  // *********************** Accessors **************************************
+  // ************************************************************************
+
+  public List<App> getApps() { return apps; }
+  public int getTotalCount() { return totalCount; }
+  public String getNextCursor() { return nextCursor; }
+}
@@ -58,6 +58,16 @@ public final class ArgSpec
     notes = (notes1 == null) ? DEFAULT_NOTES : notes1;
   }
 
+  // Copy constructor. Values are copied as is and notes is deep copied, since JsonObject is mutable.
+  public ArgSpec(ArgSpec a)
+  {
+    arg = a.arg;
+    name = a.name;
+    description = a.description;
+    inputMode = a.inputMode;
+    notes = (a.notes == null) ? null : a.notes.deepCopy();
+  }
+
   /* ********************************************************************** */
   /*                               Accessors                                */
   /* ********************************************************************** */
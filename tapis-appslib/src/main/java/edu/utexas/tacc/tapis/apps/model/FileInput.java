@@ -70,6 +70,19 @@ public final class FileInput
     targetPath = LibUtils.stripStr(targetPath1);
   }
 
+  // Copy constructor. Values are copied as is and notes is deep copied, since JsonObject is mutable.
+  public FileInput(FileInput f)
+  {
+    name = f.name;
+    description = f.description;
+    inputMode = f.inputMode;
+    autoMountLocal = f.autoMountLocal;
+    envKey = f.envKey;
+    notes = (f.notes == null) ? null : f.notes.deepCopy();
+    sourceUrl = f.sourceUrl;
+    targetPath = f.targetPath;
+  }
+
   /* ********************************************************************** */
   /*                               Accessors                                */
   /* ********************************************************************** */
@@ -68,6 +68,18 @@ public final class FileInputArray
     targetDir = LibUtils.stripStr(targetDir1);
   }
 
+  // Copy constructor. Values are copied as is and notes is deep copied, since JsonObject is mutable.
+  public FileInputArray(FileInputArray f)
+  {
+    name = f.name;
+    description = f.description;
+    inputMode = f.inputMode;
+    envKey = f.envKey;
+    notes = (f.notes == null) ? null : f.notes.deepCopy();
+    sourceUrls = (f.sourceUrls == null) ? null : new ArrayList<>(f.sourceUrls);
+    targetDir = f.targetDir;
+  }
+
   /* ********************************************************************** */
   /*                               Accessors                                */
   /* ********************************************************************** */
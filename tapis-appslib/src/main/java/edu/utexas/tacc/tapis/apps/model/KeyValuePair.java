@@ -73,6 +73,16 @@ public final class KeyValuePair
     notes = (notes1 == null) ? DEFAULT_NOTES : notes1;
   }
 
+  // Copy constructor. Values are copied as is and notes is deep copied, since JsonObject is mutable.
+  public KeyValuePair(KeyValuePair kv)
+  {
+    key = kv.key;
+    value = kv.value;
+    description = kv.description;
+    inputMode = kv.inputMode;
+    notes = (kv.notes == null) ? null : kv.notes.deepCopy();
+  }
+
   public String getKey() { return key; }
   public String getValue() { return value; }
   public String getDescription() { return description; }
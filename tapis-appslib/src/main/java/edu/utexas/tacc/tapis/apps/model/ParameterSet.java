@@ -4,6 +4,7 @@ import org.jooq.Log;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /*
  * Class for ParameterSet attributes in an App.
@@ -47,14 +48,20 @@ public final class ParameterSet
     logConfig = new LogConfig(logConfig1);
   }
 
+  /**
+   * Copy constructor. Returns a deep copy. List elements are copied since they hold notes as a mutable JsonObject.
+   */
   public ParameterSet(ParameterSet p)
   {
-    appArgs = p.getAppArgs();
-    containerArgs = p.getContainerArgs();
-    schedulerOptions = p.getSchedulerOptions();
-    envVariables = p.getEnvVariables();
-    archiveFilter = p.getArchiveFilter();
-    logConfig = p.getLogConfig();
+    appArgs = copyArgSpecs(p.appArgs);
+    containerArgs = copyArgSpecs(p.containerArgs);
+    schedulerOptions = copyArgSpecs(p.schedulerOptions);
+    envVariables = (p.envVariables == null) ? null
+                   : p.envVariables.stream().map(KeyValuePair::new).collect(Collectors.toList());
+    ArchiveFilter af = p.getArchiveFilter();
+    archiveFilter = (af == null) ? null : new ArchiveFilter(af);
+    LogConfig lc = p.getLogConfig();
+    logConfig = (lc == null) ? null : new LogConfig(lc.getStdoutFilename(), lc.getStderrFilename());
   }
 
   /* ********************************************************************** */
@@ -73,4 +80,13 @@ public final class ParameterSet
   public void setArchiveFilter(ArchiveFilter af) { archiveFilter = af; }
   public LogConfig getLogConfig() { return logConfig; }
   public void setLogConfig(LogConfig lc) { logConfig = lc; }
+
+  // ************************************************************************
+  // *********************** Private Methods ********************************
+  // ************************************************************************
+
+  private static List<ArgSpec> copyArgSpecs(List<ArgSpec> argSpecs)
+  {
+    return (argSpecs == null) ? null : argSpecs.stream().map(ArgSpec::new).collect(Collectors.toList());
+  }
 }
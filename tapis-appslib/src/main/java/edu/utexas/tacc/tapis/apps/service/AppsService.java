@@ -7,8 +7,10 @@ import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.apps.model.PatchApp;
 import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.model.App.Permission;
+import edu.utexas.tacc.tapis.apps.model.AppCreateResult;
 import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
 import edu.utexas.tacc.tapis.apps.model.AppShare;
+import edu.utexas.tacc.tapis.apps.model.AppsPage;
 
 import org.jvnet.hk2.annotations.Contract;
 
@@ -16,6 +18,7 @@ import javax.ws.rs.NotAuthorizedException;
 import javax.ws.rs.NotFoundException;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /*
  * Interface for Apps Service
@@ -27,6 +30,9 @@ public interface AppsService
   void createApp(ResourceRequestUser rUser, App app, String rawData)
           throws TapisException, TapisClientException, IllegalStateException, IllegalArgumentException;
 
+  List<AppCreateResult> createApps(ResourceRequestUser rUser, List<App> apps, List<String> rawDataList)
+          throws TapisException, TapisClientException, IllegalArgumentException;
+
   void patchApp(ResourceRequestUser rUser, String appId, String appVersion, PatchApp patchApp, String rawData)
           throws TapisException, TapisClientException, IllegalStateException, IllegalArgumentException, NotFoundException;
 
@@ -67,6 +73,10 @@ public interface AppsService
              String impersonationId, String resourceTenant)
           throws TapisException, TapisClientException;
 
+  App getAppMetadata(ResourceRequestUser rUser, String appId, String appVersion, boolean requireExecPerm,
+                     String impersonationId, String resourceTenant)
+          throws TapisException, TapisClientException;
+
   int getAppsTotalCount(ResourceRequestUser rUser, List<String> searchList, List<OrderBy> orderByList,
                         String startAfter, boolean includeDeleted, String listType, String impersonationId)
           throws TapisException, TapisClientException;
@@ -76,10 +86,43 @@ public interface AppsService
                     String impersonationId)
           throws TapisException, TapisClientException;
 
+  List<App> getApps(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                    List<OrderBy> orderByList, int skip, String startAfter, String cursor, boolean includeDeleted,
+                    String listType, boolean fetchShareInfo, String impersonationId)
+          throws TapisException, TapisClientException;
+
+  AppsPage getAppsPage(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                       List<OrderBy> orderByList, int skip, String startAfter, String cursor, boolean includeDeleted,
+                       String listType, boolean fetchShareInfo, String impersonationId, boolean computeTotal)
+          throws TapisException, TapisClientException;
+
+  AppsPage streamApps(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                      List<OrderBy> orderByList, int skip, String startAfter, String cursor, boolean includeDeleted,
+                      String listType, boolean fetchShareInfo, String impersonationId, boolean computeTotal,
+                      Consumer<App> consumer)
+          throws TapisException, TapisClientException;
+
   List<App> getAppsUsingSqlSearchStr(ResourceRequestUser rUser, String searchStr, int limit, List<OrderBy> orderByList,
                                      int skip, String startAfter, boolean includeDeleted, String listType, boolean fetchShareInfo)
           throws TapisException, TapisClientException;
 
+  List<App> getAppsUsingSqlSearchStr(ResourceRequestUser rUser, String searchStr, List<String> selectList, int limit,
+                                     List<OrderBy> orderByList, int skip, String startAfter, String cursor,
+                                     boolean includeDeleted, String listType, boolean fetchShareInfo)
+          throws TapisException, TapisClientException;
+
+  AppsPage getAppsPageUsingSqlSearchStr(ResourceRequestUser rUser, String searchStr, List<String> selectList, int limit,
+                                        List<OrderBy> orderByList, int skip, String startAfter, String cursor,
+                                        boolean includeDeleted, String listType, boolean fetchShareInfo,
+                                        boolean computeTotal)
+          throws TapisException, TapisClientException;
+
+  AppsPage streamAppsUsingSqlSearchStr(ResourceRequestUser rUser, String searchStr, List<String> selectList,
+                                       int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                                       String cursor, boolean includeDeleted, String listType,
+                                       boolean fetchShareInfo, boolean computeTotal, Consumer<App> consumer)
+          throws TapisException, TapisClientException;
+
   String getAppOwner(ResourceRequestUser rUser, String appId)
           throws TapisException, TapisClientException;
 
@@ -95,6 +138,10 @@ public interface AppsService
   List<AppHistoryItem> getAppHistory(ResourceRequestUser rUser, String appId)
           throws TapisException, TapisClientException;
 
+  boolean getAppHistory(ResourceRequestUser rUser, String appId, int limit, String startAfter,
+                        Consumer<AppHistoryItem> consumer)
+          throws TapisException, TapisClientException;
+
   //------------------- Share ---------------------------------
   // -----------------------------------------------------------------------
   AppShare getAppShare(ResourceRequestUser rUser, String appId)
@@ -1,10 +1,30 @@
 package edu.utexas.tacc.tapis.apps.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
 import javax.ws.rs.ForbiddenException;
@@ -20,13 +40,17 @@ import edu.utexas.tacc.tapis.shared.TapisConstants;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
 import edu.utexas.tacc.tapis.shared.threadlocal.OrderBy;
 import edu.utexas.tacc.tapis.systems.client.gen.model.LogicalQueue;
+import edu.utexas.tacc.tapis.apps.dao.AppCache;
 import edu.utexas.tacc.tapis.apps.dao.AppsDao;
 import edu.utexas.tacc.tapis.apps.dao.AppsDaoImpl;
+import edu.utexas.tacc.tapis.apps.dao.DbPoolMetrics;
 import edu.utexas.tacc.tapis.apps.model.*;
 import edu.utexas.tacc.tapis.apps.model.App.JobType;
 import edu.utexas.tacc.tapis.apps.model.App.Permission;
 import edu.utexas.tacc.tapis.apps.model.App.AppOperation;
 import edu.utexas.tacc.tapis.apps.utils.LibUtils;
+import edu.utexas.tacc.tapis.apps.utils.ServiceExecutors;
+import edu.utexas.tacc.tapis.apps.utils.TtlCache;
 import edu.utexas.tacc.tapis.client.shared.exceptions.TapisClientException;
 import edu.utexas.tacc.tapis.search.parser.ASTParser;
 import edu.utexas.tacc.tapis.search.parser.ASTNode;
@@ -40,11 +64,13 @@ import edu.utexas.tacc.tapis.security.client.model.SKShareGetSharesParms;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisException;
 import edu.utexas.tacc.tapis.shared.security.ServiceClients;
 import edu.utexas.tacc.tapis.shared.security.ServiceContext;
+import edu.utexas.tacc.tapis.shared.security.TenantManager;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
 import edu.utexas.tacc.tapis.systems.client.SystemsClient;
 import edu.utexas.tacc.tapis.systems.client.gen.model.TapisSystem;
 
+import static edu.utexas.tacc.tapis.apps.model.App.INVALID_SEQ_ID;
 import static edu.utexas.tacc.tapis.shared.TapisConstants.APPS_SERVICE;
 
 /*
@@ -101,6 +127,77 @@ public class AppsServiceImpl implements AppsService
   private static final int SK_READ_TIMEOUT_MS = 20000;
   private static final int SK_CONN_TIMEOUT_MS = 20000;
 
+  // Time allowed for background work to finish when the service shuts down
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  // Threads used to make independent remote calls for a single request concurrently, e.g. SK calls in getApp.
+  // The calls for one request are waited for at most REMOTE_CALL_TIMEOUT_MS in total, longer than the SK client
+  //   timeouts so a slow call normally fails with the SK error. If all threads are busy the call runs on the request thread.
+  private static final int REMOTE_CALL_THREADS = 32;
+  private static final int REMOTE_CALL_QUEUE_SIZE = 256;
+  private static final long REMOTE_CALL_TIMEOUT_MS = SK_READ_TIMEOUT_MS + SK_CONN_TIMEOUT_MS;
+  private static final ExecutorService remoteCallExecutor =
+          ServiceExecutors.newBoundedThreadPool("apps-remote-call", REMOTE_CALL_THREADS, REMOTE_CALL_QUEUE_SIZE,
+                                                new ThreadPoolExecutor.CallerRunsPolicy());
+
+  // Systems fetched to validate apps are cached briefly so a burst of creates or updates referencing the same
+  //   systems, such as a bulk publish, does not fetch them again for every app.
+  private static final int SYSTEM_CACHE_MAX_SIZE = 1000;
+  private static final long SYSTEM_CACHE_TTL_SECONDS = 60;
+
+  // Authorization decisions made by SK are cached briefly so repeated checks for the same user and app
+  //   do not each call SK. Changes made through this service invalidate affected entries immediately,
+  //   changes made elsewhere are seen once the entry expires.
+  private static final int AUTH_CACHE_MAX_SIZE = 10000;
+  private static final long AUTH_CACHE_TTL_SECONDS = 15;
+  private static final String AUTH_CHECK_ADMIN = "admin";
+  private static final String AUTH_CHECK_PERM = "perm";
+  private static final String AUTH_CHECK_PERM_ANY = "permAny";
+  private static final String AUTH_CHECK_SHARE = "share";
+
+  // Share info for all apps in a tenant is cached briefly so listings that include it do not each fetch all
+  //   shares in the tenant from SK. Share changes made through this service invalidate the tenant's entry.
+  private static final int SHARE_CACHE_MAX_SIZE = 1000;
+  private static final long SHARE_CACHE_TTL_SECONDS = 15;
+
+  // Threads used to validate the apps in a bulk create request
+  private static final int BULK_VALIDATE_THREADS = 8;
+  private static final ExecutorService bulkValidateExecutor =
+          ServiceExecutors.newFixedThreadPool("apps-bulk-validate", BULK_VALIDATE_THREADS);
+
+  // Orphaned permissions found while listing apps are removed by a single background thread.
+  // If the queue is full the removal is skipped, the permissions will be found again by a later listing.
+  private static final int ORPHAN_QUEUE_SIZE = 1000;
+  private static final ExecutorService orphanPermExecutor =
+          ServiceExecutors.newBoundedThreadPool("apps-orphan-perms", 1, ORPHAN_QUEUE_SIZE,
+                                                new ThreadPoolExecutor.AbortPolicy());
+
+  // Scheduled reconciler that removes SK permissions for apps that no longer exist.
+  // Runs in at most one service instance at a time, coordinated by a lease in the DB that is renewed before each batch.
+  // Orphans are revoked in batches with a pause between batches to limit the load on SK.
+  private static final String ORPHAN_RECONCILE_LEASE = "orphan_perm_reconcile";
+  private static final long ORPHAN_RECONCILE_LEASE_SECONDS = 600;
+  private static final long ORPHAN_RECONCILE_INITIAL_DELAY_MINUTES = 15;
+  private static final long ORPHAN_RECONCILE_INTERVAL_MINUTES = 360;
+  private static final int ORPHAN_RECONCILE_BATCH_SIZE = 20;
+  private static final long ORPHAN_RECONCILE_BATCH_PAUSE_MS = 1000;
+  private static final ScheduledExecutorService orphanReconcileScheduler =
+          ServiceExecutors.newSingleThreadScheduledExecutor("apps-orphan-reconcile");
+  private static final AtomicBoolean orphanReconcileStarted = new AtomicBoolean();
+
+  // SK and Systems clients are kept warm per tenant and user so their HTTP connections are reused across requests.
+  // A client is only used while the service JWT it was created with is current and unexpired, otherwise it is replaced
+  //   on use through serviceClients.getClient(), which refreshes the JWT. Clients are also replaced in the background
+  //   once they reach the refresh age, and dropped once idle. A client that reaches the maximum age is replaced on use.
+  private static final int CLIENT_POOL_MAX_SIZE = 1000;
+  private static final long CLIENT_REFRESH_AGE_MINUTES = 10;
+  private static final long CLIENT_MAX_AGE_MINUTES = 15;
+  private static final long CLIENT_MAX_IDLE_MINUTES = 30;
+  private static final long CLIENT_REFRESH_INTERVAL_MINUTES = 1;
+  private static final ScheduledExecutorService clientRefreshScheduler =
+          ServiceExecutors.newSingleThreadScheduledExecutor("apps-client-refresh");
+  private static final AtomicBoolean clientRefreshStarted = new AtomicBoolean();
+
   // ************************************************************************
   // *********************** Enums ******************************************
   // ************************************************************************
@@ -127,6 +224,39 @@ public class AppsServiceImpl implements AppsService
   public static String getServiceTenantId() {return siteAdminTenantId;}
   public static String getServiceUserId() {return SERVICE_NAME;}
 
+  // Orphaned permissions, as "tenant:appId", queued for removal but not yet removed
+  private static final Set<String> pendingOrphanPerms = ConcurrentHashMap.newKeySet();
+
+  // Cache of systems fetched to validate apps, and count of calls made to the Systems service to fetch them
+  private static final TtlCache<String, CompletableFuture<TapisSystem>> systemCache =
+          new TtlCache<>(SYSTEM_CACHE_MAX_SIZE, SYSTEM_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+  private static final AtomicLong systemsCalls = new AtomicLong();
+
+  // Warm clients for SK and Systems. Created through serviceClients, which configures the service JWT headers.
+  private final ServiceClientPool<SKClient> skClients =
+          new ServiceClientPool<>(TapisConstants.SERVICE_NAME_SECURITY, this::createSKClient, this::getCurrentServiceJWT,
+                                  CLIENT_POOL_MAX_SIZE, CLIENT_REFRESH_AGE_MINUTES, CLIENT_MAX_AGE_MINUTES,
+                                  CLIENT_MAX_IDLE_MINUTES, TimeUnit.MINUTES);
+  private final ServiceClientPool<SystemsClient> systemsClients =
+          new ServiceClientPool<>(TapisConstants.SERVICE_NAME_SYSTEMS,
+                                  (tenant, user) -> serviceClients.getClient(user, tenant, SystemsClient.class),
+                                  this::getCurrentServiceJWT, CLIENT_POOL_MAX_SIZE, CLIENT_REFRESH_AGE_MINUTES,
+                                  CLIENT_MAX_AGE_MINUTES, CLIENT_MAX_IDLE_MINUTES, TimeUnit.MINUTES);
+
+  // getApp requests currently being processed, keyed by everything that affects the result, and counts of all getApp
+  //   requests and of those that shared the result of an identical request already in progress
+  private static final Map<List<Object>, CompletableFuture<App>> getAppInFlight = new ConcurrentHashMap<>();
+  private static final AtomicLong getAppCalls = new AtomicLong();
+  private static final AtomicLong getAppCoalesced = new AtomicLong();
+
+  // Cache of SK authorization decisions
+  private static final TtlCache<AuthDecisionKey, Boolean> authDecisions =
+          new TtlCache<>(AUTH_CACHE_MAX_SIZE, AUTH_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+
+  // Cache of share info for all shared apps in a tenant, keyed by tenant
+  private static final TtlCache<String, Map<String, AppShare>> tenantShares =
+          new TtlCache<>(SHARE_CACHE_MAX_SIZE, SHARE_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+
   // ************************************************************************
   // *********************** Public Methods *********************************
   // ************************************************************************
@@ -144,6 +274,12 @@ public class AppsServiceImpl implements AppsService
     serviceContext.initServiceJWT(siteId, APPS_SERVICE, svcPassword);
     // Make sure DB is present and updated to latest version using flyway
     dao.migrateDB();
+    // Start listening for app changes made by other service instances
+    AppCache.startListener();
+    // Start periodic refresh of warm service clients
+    startClientRefresh();
+    // Start periodic removal of orphaned permissions
+    startOrphanPermReconciler();
   }
 
   /**
@@ -155,6 +291,51 @@ public class AppsServiceImpl implements AppsService
     return dao.checkDB();
   }
 
+  /**
+   * Stop background work started by the service. Called once when the service is shutting down.
+   * Running tasks are given a short time to finish, then interrupted.
+   */
+  public void shutDown()
+  {
+    ServiceExecutors.shutdownAll(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Collect runtime metrics for the service, keyed by component name.
+   * Metrics include tenant and user identities and internal capacity, so only a service or a tenant admin
+   *   may retrieve them.
+   * @param rUser - ResourceRequestUser containing tenant, user and request info
+   * @return map of metrics snapshots
+   * @throws ForbiddenException - if the request is not from a service or a tenant admin
+   */
+  public Map<String, Object> getServiceMetrics(ResourceRequestUser rUser)
+          throws TapisException, TapisClientException
+  {
+    if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
+    if (!rUser.isServiceRequest() && !hasAdminRole(rUser))
+      throw new ForbiddenException(LibUtils.getMsgAuth("APPLIB_UNAUTH_METRICS", rUser));
+    var metrics = new LinkedHashMap<String, Object>();
+    metrics.put("dbPool", DbPoolMetrics.getSnapshot());
+    metrics.put("appCache", AppCache.getSnapshot());
+    metrics.put("authDecisionCache", authDecisions.getSnapshot());
+    metrics.put("shareCache", tenantShares.getSnapshot());
+    var systemCacheMetrics = new LinkedHashMap<String, Object>();
+    systemCacheMetrics.put("cache", systemCache.getSnapshot());
+    systemCacheMetrics.put("systemsCalls", systemsCalls.get());
+    metrics.put("systemCache", systemCacheMetrics);
+    metrics.put("orphanPermReconciler", OrphanPermMetrics.getSnapshot());
+    var getAppMetrics = new LinkedHashMap<String, Object>();
+    long calls = getAppCalls.get();
+    long coalesced = getAppCoalesced.get();
+    getAppMetrics.put("calls", calls);
+    getAppMetrics.put("coalesced", coalesced);
+    getAppMetrics.put("inFlight", getAppInFlight.size());
+    getAppMetrics.put("coalescedRatio", (calls == 0) ? 0d : (double) coalesced / calls);
+    metrics.put("getAppCoalescing", getAppMetrics);
+    metrics.put("serviceClients", List.of(skClients.getSnapshot(), systemsClients.getSnapshot()));
+    return metrics;
+  }
+
   // -----------------------------------------------------------------------
   // ------------------------- Apps -------------------------------------
   // -----------------------------------------------------------------------
@@ -242,6 +423,138 @@ public class AppsServiceImpl implements AppsService
     }
   }
 
+  /**
+   * Create new app versions in bulk given a list of Apps and the text used to create each App.
+   * Secrets in the text should be masked.
+   * Each app is checked as for createApp and the outcome for each app is reported, so one bad app does not
+   *   prevent the others from being created.
+   *   - Authorization is checked once per distinct owner.
+   *   - Apps are validated in parallel and each system referenced by the apps is fetched from the Systems service
+   *     at most once for the whole request.
+   *   - Apps that pass all checks are persisted in chunks, see AppsDao.createApps.
+   * @param rUser - ResourceRequestUser containing tenant, user and request info
+   * @param apps - Pre-populated App objects
+   * @param rawDataList - Text used to create each App object - secrets should be scrubbed. Saved in update record.
+   * @return results in the same order as apps
+   * @throws TapisException - for Tapis related exceptions
+   * @throws IllegalArgumentException - invalid parameter passed in
+   */
+  @Override
+  public List<AppCreateResult> createApps(ResourceRequestUser rUser, List<App> apps, List<String> rawDataList)
+          throws TapisException, TapisClientException, IllegalArgumentException
+  {
+    AppOperation op = AppOperation.create;
+    if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
+    if (apps == null || rawDataList == null || apps.size() != rawDataList.size())
+      throw new IllegalArgumentException(LibUtils.getMsgAuth("APPLIB_NULL_INPUT_APP", rUser));
+
+    var results = new AppCreateResult[apps.size()];
+    var allowedOwners = new HashSet<String>();
+    var deniedOwners = new HashMap<String, String>();
+    var pending = new ArrayList<Integer>();
+    // ---------------------------- Check inputs and authorization ------------------------------------
+    for (int i = 0; i < apps.size(); i++)
+    {
+      App app = apps.get(i);
+      String appId = (app == null) ? null : app.getId();
+      String appVersion = (app == null) ? null : app.getVersion();
+      _log.trace(LibUtils.getMsgAuth("APPLIB_CREATE_TRACE", rUser, rawDataList.get(i)));
+      // Required app attributes: tenant, id, version
+      if (app == null || StringUtils.isBlank(app.getTenant()) || StringUtils.isBlank(appId) ||
+          StringUtils.isBlank(appVersion))
+      {
+        results[i] = new AppCreateResult(appId, appVersion, AppCreateResult.Outcome.INVALID,
+                                         LibUtils.getMsgAuth("APPLIB_CREATE_ERROR_ARG", rUser, appId));
+        continue;
+      }
+
+      try
+      {
+        // Make sure owner, notes and tags are all set and resolve variables
+        app.setDefaults();
+        app.resolveVariables(rUser.getOboUserId());
+        // Check for reserved names or versions
+        checkReservedIds(rUser, appId, appVersion);
+      }
+      catch (IllegalStateException | IllegalArgumentException e)
+      {
+        results[i] = new AppCreateResult(appId, appVersion, AppCreateResult.Outcome.INVALID, e.getMessage());
+        continue;
+      }
+
+      // Check authorization once per owner
+      String owner = app.getOwner();
+      if (!allowedOwners.contains(owner) && !deniedOwners.containsKey(owner))
+      {
+        try
+        {
+          checkAuthOwnerKnown(rUser, op, appId, owner);
+          allowedOwners.add(owner);
+        }
+        catch (ForbiddenException e)
+        {
+          deniedOwners.put(owner, e.getMessage());
+        }
+      }
+      if (deniedOwners.containsKey(owner))
+      {
+        results[i] = new AppCreateResult(appId, appVersion, AppCreateResult.Outcome.FORBIDDEN, deniedOwners.get(owner));
+        continue;
+      }
+      pending.add(i);
+    }
+
+    // ---------------- Check constraints on App attributes ------------------------
+    // Validate in parallel, sharing one lookup so each referenced system is fetched once.
+    var systemLookup = newSystemLookup(rUser);
+    var validations = new ArrayList<CompletableFuture<Void>>(pending.size());
+    for (int i : pending)
+    {
+      validations.add(CompletableFuture.runAsync(() -> {
+        App app = apps.get(i);
+        try
+        {
+          validateApp(rUser, app, systemLookup);
+        }
+        catch (IllegalStateException e)
+        {
+          results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.INVALID,
+                                           e.getMessage());
+        }
+        catch (Exception e)
+        {
+          _log.error(e.getMessage(), e);
+          results[i] = new AppCreateResult(app.getId(), app.getVersion(), AppCreateResult.Outcome.ERROR,
+                                           e.getMessage());
+        }
+      }, bulkValidateExecutor));
+    }
+    CompletableFuture.allOf(validations.toArray(new CompletableFuture[0])).join();
+
+    // ----------------- Create all apps that passed the checks --------------------
+    var validIdx = new ArrayList<Integer>();
+    var validApps = new ArrayList<App>();
+    var changeDescriptions = new ArrayList<String>();
+    var validRawData = new ArrayList<String>();
+    for (int i : pending)
+    {
+      if (results[i] != null) continue;
+      App app = apps.get(i);
+      validIdx.add(i);
+      validApps.add(app);
+      // Construct Json string representing the App about to be created
+      // This will be used as the description for the change history record
+      changeDescriptions.add(TapisGsonUtils.getGson().toJson(new App(app)));
+      validRawData.add(rawDataList.get(i));
+    }
+    if (!validApps.isEmpty())
+    {
+      List<AppCreateResult> createResults = dao.createApps(rUser, validApps, changeDescriptions, validRawData);
+      for (int j = 0; j < validIdx.size(); j++) { results[validIdx.get(j)] = createResults.get(j); }
+    }
+    return Arrays.asList(results);
+  }
+
   /**
    * Update existing version of an app given a PatchApp and the text used to create the PatchApp.
    * Secrets in the text should be masked.
@@ -537,6 +850,10 @@ public class AppsServiceImpl implements AppsService
       try { dao.updateAppOwner(rUser, resourceTenantId, appId, oldOwnerName); } catch (Exception e) {_log.warn(LibUtils.getMsgAuth(ERROR_ROLLBACK, rUser, appId, "updateOwner", e.getMessage()));}
       throw e0;
     }
+    finally
+    {
+      invalidateAuthDecisions(resourceTenantId, appId);
+    }
     return 1;
   }
 
@@ -676,8 +993,76 @@ public class AppsServiceImpl implements AppsService
                     String impersonationId, String resourceTenant)
           throws TapisException, TapisClientException
   {
-    AppOperation op = AppOperation.read;
+    return getApp(rUser, appId, appVersion, requireExecPerm, impersonationId, resourceTenant, false);
+  }
+
+  /**
+   * getAppMetadata
+   * Retrieve the attributes of an app that identify its current state, using a cheaper lookup than getApp.
+   * Authorization is checked and dynamically computed info (isPublic, sharedWithUsers, sharedAppCtx) is set exactly
+   *   as for getApp. Attributes set are: tenant, id, version, owner, enabled, versionEnabled, locked, containerized,
+   *   deleted, uuid and updated. Any change to the App returned by getApp changes at least one of these.
+   * Intended for conditional requests, where the full app is only needed if it has changed.
+   * See getApp for parameters.
+   * @return App with only the attributes listed above or null if not found.
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public App getAppMetadata(ResourceRequestUser rUser, String appId, String appVersion, boolean requireExecPerm,
+                            String impersonationId, String resourceTenant)
+          throws TapisException, TapisClientException
+  {
+    return getApp(rUser, appId, appVersion, requireExecPerm, impersonationId, resourceTenant, true);
+  }
+
+  /*
+   * Implement getApp and getAppMetadata. See getApp for parameters.
+   */
+  private App getApp(ResourceRequestUser rUser, String appId, String appVersion, boolean requireExecPerm,
+                     String impersonationId, String resourceTenant, boolean metadataOnly)
+          throws TapisException, TapisClientException
+  {
     if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
+    getAppCalls.incrementAndGet();
+    // Identical requests that arrive while one is in progress wait for it and share its result, e.g. when Jobs fetches
+    //   the same app many times for a job array. The key includes the requesting identity since authorization
+    //   depends on it.
+    List<Object> key = Arrays.asList(rUser.isServiceRequest(), rUser.getJwtTenantId(), rUser.getJwtUserId(),
+                                     rUser.getOboTenantId(), rUser.getOboUserId(), resourceTenant, appId, appVersion,
+                                     requireExecPerm, impersonationId, metadataOnly);
+    var call = new CompletableFuture<App>();
+    CompletableFuture<App> inFlightCall = getAppInFlight.putIfAbsent(key, call);
+    if (inFlightCall != null)
+    {
+      getAppCoalesced.incrementAndGet();
+      App app = awaitInFlightCall(inFlightCall);
+      // Each caller gets its own copy since callers may modify the App
+      return (app == null) ? null : new App(app);
+    }
+    try
+    {
+      // The loaded App is only held by the future and never modified. Waiting callers copy it, and this caller
+      //   gets its own copy as well, so no caller can change it while another is copying it.
+      App app = loadApp(rUser, appId, appVersion, requireExecPerm, impersonationId, resourceTenant, metadataOnly);
+      call.complete(app);
+      return (app == null) ? null : new App(app);
+    }
+    catch (TapisException | TapisClientException | RuntimeException | Error e)
+    {
+      call.completeExceptionally(e);
+      throw e;
+    }
+    finally { getAppInFlight.remove(key, call); }
+  }
+
+  /*
+   * Retrieve an app, or only its metadata, and check authorization for getApp. See getApp for parameters.
+   */
+  private App loadApp(ResourceRequestUser rUser, String appId, String appVersion, boolean requireExecPerm,
+                      String impersonationId, String resourceTenant, boolean metadataOnly)
+          throws TapisException, TapisClientException
+  {
+    AppOperation op = AppOperation.read;
     if (StringUtils.isBlank(appId)) throw new IllegalArgumentException(LibUtils.getMsgAuth("APPLIB_NULL_INPUT_APP", rUser));
     // For clarity and convenience
     // Allow for option of impersonation. Auth checked below.
@@ -696,7 +1081,7 @@ public class AppsServiceImpl implements AppsService
 
     // Fetch the app. We need to make sure it exists and is not deleted.
     // Also, knowing app owner is useful here. We can skip auth checking.
-    App app = dao.getApp(resTenant, appId, appVersion);
+    App app = metadataOnly ? dao.getAppMetadata(resTenant, appId, appVersion) : dao.getApp(resTenant, appId, appVersion);
     if (app == null) return null;
 
     // ------------------------- Check authorization -------------------------
@@ -705,47 +1090,64 @@ public class AppsServiceImpl implements AppsService
     String owner = app.getOwner();
     boolean isOwner = oboOrImpersonatedUser.equals(owner);
 
-    // Determine if shared directly with user. Used in auth check and to update sharedAppCtx
-    boolean sharedWithUser = isAppSharedWithUser(rUser, appId, oboOrImpersonatedUser, Permission.READ);
-
-    // If not owner we need to do some authorization checking
-    if (!isOwner)
-    {
-      // Access might be allowed due to permission or due to sharing, so we will need to check for both.
-      // Also, need to record if it was allowed due to sharing. Jobs needs to know.
-      // First check if allowed by permissions or ownership and record the result.
-      try
+    // The remote calls needed below do not depend on each other, so start them all now and run them concurrently.
+    // The execute check is only needed if the app is not shared with the user, but it is started anyway so the
+    //   request waits for the slowest call rather than for a chain of calls. Its result is ignored if not needed.
+    // Share info is only returned once the user is authorized, so it is fetched without another auth check.
+    // Calls still outstanding when the request finishes or fails are cancelled.
+    try (var remoteCalls = new RemoteCalls())
+    {
+      String shareTenant = StringUtils.isBlank(resourceTenant) ? rUser.getOboTenantId() : resourceTenant;
+      CompletableFuture<Boolean> sharedPublicCall = remoteCalls.start(() -> isAppSharedPublic(rUser, shareTenant, appId));
+      CompletableFuture<Set<String>> shareUsersCall = remoteCalls.start(() -> getAppShareUsers(shareTenant, appId));
+      CompletableFuture<Boolean> sharedCall = null, permittedCall = null, execPermittedCall = null;
+      if (!isOwner)
       {
-        checkAuth(rUser, op, appId, owner, nullTargetUser, nullPermSet, impersonationId);
+        sharedCall = remoteCalls.start(() -> isAppSharedWithUser(rUser, appId, oboOrImpersonatedUser, Permission.READ));
+        permittedCall = remoteCalls.start(() -> isAuthorized(rUser, op, appId, owner, impersonationId));
+        if (requireExecPerm)
+          execPermittedCall = remoteCalls.start(() -> isAuthorized(rUser, AppOperation.execute, appId, owner, impersonationId));
       }
-      catch (ForbiddenException e) {isPermitted = false;}
 
-      // Check shared app context
-      // Even if allowed by permission we still need to check for sharing.
-      // If not permitted or shared then deny
-      if (!isPermitted && !sharedWithUser)
+      // Determine if shared directly with user. Used in auth check and to update sharedAppCtx
+      boolean sharedWithUser = false;
+
+      // If not owner we need to do some authorization checking
+      if (!isOwner)
       {
-        throw new ForbiddenException(LibUtils.getMsgAuth("APPLIB_UNAUTH", rUser, appId, op.name()));
+        sharedWithUser = remoteCalls.await(sharedCall);
+        // Access might be allowed due to permission or due to sharing, so we will need to check for both.
+        // Also, need to record if it was allowed due to sharing. Jobs needs to know.
+        // First check if allowed by permissions or ownership and record the result.
+        isPermitted = remoteCalls.await(permittedCall);
+
+        // Check shared app context
+        // Even if allowed by permission we still need to check for sharing.
+        // If not permitted or shared then deny
+        if (!isPermitted && !sharedWithUser)
+        {
+          throw new ForbiddenException(LibUtils.getMsgAuth("APPLIB_UNAUTH", rUser, appId, op.name()));
+        }
+
+        // If flag is set to also require EXECUTE perm then make sure user has exec perm
+        if (!sharedWithUser && requireExecPerm && !remoteCalls.await(execPermittedCall))
+        {
+          throw new ForbiddenException(LibUtils.getMsgAuth("APPLIB_UNAUTH", rUser, appId, AppOperation.execute.name()));
+        }
       }
 
-      // If flag is set to also require EXECUTE perm then make explicit auth call to make sure user has exec perm
-      if (!sharedWithUser && requireExecPerm)
+      // Update dynamically computed info.
+      var appShare = new AppShare(remoteCalls.await(sharedPublicCall), remoteCalls.await(shareUsersCall));
+      app.setIsPublic(appShare.isPublic());
+      app.setSharedWithUsers(appShare.getUserList());
+      // Update sharedAppCtx unless owner is making the request
+      // NOTE: Grantor is always app owner
+      if (!isOwner && (sharedWithUser || appShare.isPublic()))
       {
-        checkAuth(rUser, AppOperation.execute, appId, owner, nullTargetUser, nullPermSet, impersonationId);
+        app.setSharedAppCtx(owner);
       }
     }
 
-    // Update dynamically computed info.
-    AppShare appShare = getAppShare(rUser, appId, impersonationId, resourceTenant);
-    app.setIsPublic(appShare.isPublic());
-    app.setSharedWithUsers(appShare.getUserList());
-    // Update sharedAppCtx unless owner is making the request
-    // NOTE: Grantor is always app owner
-    if (!isOwner && (sharedWithUser || appShare.isPublic()))
-    {
-      app.setSharedAppCtx(owner);
-    }
-
     return app;
   }
 
@@ -858,6 +1260,84 @@ public class AppsServiceImpl implements AppsService
                            int skip, String startAfter, boolean includeDeleted, String listType, boolean fetchShareInfo,
                            String impersonationId)
           throws TapisException, TapisClientException
+  {
+    return getApps(rUser, searchList, null, limit, orderByList, skip, startAfter, null, includeDeleted, listType,
+                   fetchShareInfo, impersonationId);
+  }
+
+  /**
+   * Get apps
+   * Retrieve apps accessible by requester and matching any search conditions provided.
+   * Paging may be done using a cursor returned with a previous page. See AppsDaoImpl.getApps().
+   * If a select list is given only attributes in the list are fully populated.
+   * See getApps() above for other parameters.
+   * @param selectList - attributes to be returned, null or empty for all attributes
+   * @param cursor - cursor from a previous page (may not be used with skip or startAfter)
+   * @return List of App objects
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public List<App> getApps(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                           List<OrderBy> orderByList, int skip, String startAfter, String cursor, boolean includeDeleted,
+                           String listType, boolean fetchShareInfo, String impersonationId)
+          throws TapisException, TapisClientException
+  {
+    return getAppsPage(rUser, searchList, selectList, limit, orderByList, skip, startAfter, cursor, includeDeleted,
+                       listType, fetchShareInfo, impersonationId, false).getApps();
+  }
+
+  /**
+   * Get a page of apps and optionally the total number of apps matching the listing.
+   * Authorization for the listing is resolved once and the DAO returns the page and the total from a single query,
+   *   so there is no need for a separate call to getAppsTotalCount().
+   * See getApps() above for other parameters.
+   * @param computeTotal - whether to compute the total number of matching apps, ignoring limit, skip and cursor
+   * @return Page of App objects along with the total
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public AppsPage getAppsPage(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                              List<OrderBy> orderByList, int skip, String startAfter, String cursor,
+                              boolean includeDeleted, String listType, boolean fetchShareInfo, String impersonationId,
+                              boolean computeTotal)
+          throws TapisException, TapisClientException
+  {
+    return getAppsPage(rUser, searchList, selectList, limit, orderByList, skip, startAfter, cursor, includeDeleted,
+                       listType, fetchShareInfo, impersonationId, computeTotal, null);
+  }
+
+  /**
+   * Stream apps
+   * Retrieve apps as for getAppsPage() above, passing each app to a consumer rather than building a page, so
+   *   memory use does not depend on the number of apps. Apps are read in batches and no DB connection is held
+   *   while the consumer runs. See AppsDaoImpl.streamApps().
+   * See getAppsPage() above for other parameters.
+   * @param consumer - receives each app. An exception thrown by the consumer is passed to the caller.
+   * @return empty page with the total, or AppsPage.TOTAL_NOT_COMPUTED if computeTotal is false, and the cursor
+   *         for the next page
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public AppsPage streamApps(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                             List<OrderBy> orderByList, int skip, String startAfter, String cursor,
+                             boolean includeDeleted, String listType, boolean fetchShareInfo, String impersonationId,
+                             boolean computeTotal, Consumer<App> consumer)
+          throws TapisException, TapisClientException
+  {
+    if (consumer == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT"));
+    return getAppsPage(rUser, searchList, selectList, limit, orderByList, skip, startAfter, cursor, includeDeleted,
+                       listType, fetchShareInfo, impersonationId, computeTotal, consumer);
+  }
+
+  /*
+   * Common method for getAppsPage() and streamApps().
+   * If consumer is null the page of apps is returned, else the apps are passed to the consumer and the page is empty.
+   */
+  private AppsPage getAppsPage(ResourceRequestUser rUser, List<String> searchList, List<String> selectList, int limit,
+                               List<OrderBy> orderByList, int skip, String startAfter, String cursor,
+                               boolean includeDeleted, String listType, boolean fetchShareInfo, String impersonationId,
+                               boolean computeTotal, Consumer<App> consumer)
+          throws TapisException, TapisClientException
   {
     AppOperation op = AppOperation.read;
     if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
@@ -923,20 +1403,19 @@ public class AppsServiceImpl implements AppsService
     else if (publicOnly) sharedIDs = getSharedAppIDs(rUser, oboOrImpersonatedUser, true, false);
     else if (sharedOnly || mine) sharedIDs = getSharedAppIDs(rUser, oboOrImpersonatedUser, false, true);
 
-    List<App> apps = dao.getApps(rUser, oboOrImpersonatedUser, verifiedSearchList, null, limit, orderByList, skip, startAfter,
-                                 versionSpecified, includeDeleted, listTypeEnum, viewableIDs, sharedIDs);
-    // Update dynamically computed info.
-    // Fetch share info only if requested by caller
-    if (fetchShareInfo)
+    if (consumer != null)
     {
-      for (App app : apps)
-      {
-        AppShare appShare = getAppShare(rUser, app.getId());
-        app.setIsPublic(appShare.isPublic());
-        app.setSharedWithUsers(appShare.getUserList());
-      }
+      return dao.streamApps(rUser, oboOrImpersonatedUser, verifiedSearchList, null, selectList, limit, orderByList,
+                            skip, startAfter, cursor, versionSpecified, includeDeleted, listTypeEnum, viewableIDs,
+                            sharedIDs, computeTotal, fetchShareInfo ? withShareInfo(rUser, consumer) : consumer);
     }
-    return apps;
+    AppsPage page = dao.getAppsPage(rUser, oboOrImpersonatedUser, verifiedSearchList, null, selectList, limit,
+                                    orderByList, skip, startAfter, cursor, versionSpecified, includeDeleted,
+                                    listTypeEnum, viewableIDs, sharedIDs, computeTotal);
+    // Update dynamically computed info.
+    // Fetch share info only if requested by caller
+    if (fetchShareInfo) setShareInfo(rUser, page.getApps());
+    return page;
   }
 
   /**
@@ -955,9 +1434,86 @@ public class AppsServiceImpl implements AppsService
                                             boolean includeDeleted, String listType, boolean fetchShareInfo)
           throws TapisException, TapisClientException
   {
-    // If search string is empty delegate to getApps()
-    if (StringUtils.isBlank(sqlSearchStr)) return getApps(rUser, null, limit, orderByList, skip, startAfter,
-                                                          includeDeleted, listType, fetchShareInfo, null);
+    return getAppsUsingSqlSearchStr(rUser, sqlSearchStr, null, limit, orderByList, skip, startAfter, null,
+                                    includeDeleted, listType, fetchShareInfo);
+  }
+
+  /**
+   * Get apps.
+   * Use provided string containing a valid SQL where clause for the search.
+   * Paging may be done using a cursor returned with a previous page. See AppsDaoImpl.getApps().
+   * If a select list is given only attributes in the list are fully populated.
+   * See getAppsUsingSqlSearchStr() above for other parameters.
+   * @param selectList - attributes to be returned, null or empty for all attributes
+   * @param cursor - cursor from a previous page (may not be used with skip or startAfter)
+   * @return List of App objects
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public List<App> getAppsUsingSqlSearchStr(ResourceRequestUser rUser, String sqlSearchStr, List<String> selectList,
+                                            int limit, List<OrderBy> orderByList, int skip, String startAfter,
+                                            String cursor, boolean includeDeleted, String listType,
+                                            boolean fetchShareInfo)
+          throws TapisException, TapisClientException
+  {
+    return getAppsPageUsingSqlSearchStr(rUser, sqlSearchStr, selectList, limit, orderByList, skip, startAfter, cursor,
+                                        includeDeleted, listType, fetchShareInfo, false).getApps();
+  }
+
+  /**
+   * Get a page of apps using a search string containing a valid SQL where clause and optionally the total number
+   *   of apps matching the search.
+   * See getAppsUsingSqlSearchStr() and getAppsPage() above for parameters.
+   * @param computeTotal - whether to compute the total number of matching apps, ignoring limit, skip and cursor
+   * @return Page of App objects along with the total
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public AppsPage getAppsPageUsingSqlSearchStr(ResourceRequestUser rUser, String sqlSearchStr,
+                                               List<String> selectList, int limit, List<OrderBy> orderByList,
+                                               int skip, String startAfter, String cursor, boolean includeDeleted,
+                                               String listType, boolean fetchShareInfo, boolean computeTotal)
+          throws TapisException, TapisClientException
+  {
+    return getAppsPageUsingSqlSearchStr(rUser, sqlSearchStr, selectList, limit, orderByList, skip, startAfter, cursor,
+                                        includeDeleted, listType, fetchShareInfo, computeTotal, null);
+  }
+
+  /**
+   * Stream apps using a search string containing a valid SQL where clause.
+   * See getAppsPageUsingSqlSearchStr() and streamApps() above for parameters.
+   * @return empty page with the total, or AppsPage.TOTAL_NOT_COMPUTED if computeTotal is false, and the cursor
+   *         for the next page
+   * @throws TapisException - for Tapis related exceptions
+   */
+  @Override
+  public AppsPage streamAppsUsingSqlSearchStr(ResourceRequestUser rUser, String sqlSearchStr,
+                                              List<String> selectList, int limit, List<OrderBy> orderByList, int skip,
+                                              String startAfter, String cursor, boolean includeDeleted,
+                                              String listType, boolean fetchShareInfo, boolean computeTotal,
+                                              Consumer<App> consumer)
+          throws TapisException, TapisClientException
+  {
+    if (consumer == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT"));
+    return getAppsPageUsingSqlSearchStr(rUser, sqlSearchStr, selectList, limit, orderByList, skip, startAfter, cursor,
+                                        includeDeleted, listType, fetchShareInfo, computeTotal, consumer);
+  }
+
+  /*
+   * Common method for getAppsPageUsingSqlSearchStr() and streamAppsUsingSqlSearchStr().
+   * If consumer is null the page of apps is returned, else the apps are passed to the consumer and the page is empty.
+   */
+  private AppsPage getAppsPageUsingSqlSearchStr(ResourceRequestUser rUser, String sqlSearchStr,
+                                                List<String> selectList, int limit, List<OrderBy> orderByList,
+                                                int skip, String startAfter, String cursor, boolean includeDeleted,
+                                                String listType, boolean fetchShareInfo, boolean computeTotal,
+                                                Consumer<App> consumer)
+          throws TapisException, TapisClientException
+  {
+    // If search string is empty delegate to getAppsPage()
+    if (StringUtils.isBlank(sqlSearchStr)) return getAppsPage(rUser, null, selectList, limit, orderByList, skip,
+                                                              startAfter, cursor, includeDeleted, listType,
+                                                              fetchShareInfo, null, computeTotal, consumer);
 
     if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
 
@@ -1015,20 +1571,19 @@ public class AppsServiceImpl implements AppsService
     Boolean versionSpecified = null;
 
     // Get all allowed apps matching the search conditions
-    List<App> apps = dao.getApps(rUser, null, null, searchAST, limit, orderByList, skip, startAfter, versionSpecified,
-                                 includeDeleted, listTypeEnum, viewableIDs, sharedIDs);
-    // Update dynamically computed info.
-    // Fetch share info only if requested by caller
-    if (fetchShareInfo)
+    if (consumer != null)
     {
-      for (App app : apps)
-      {
-        AppShare appShare = getAppShare(rUser, app.getId());
-        app.setIsPublic(appShare.isPublic());
-        app.setSharedWithUsers(appShare.getUserList());
-      }
+      return dao.streamApps(rUser, null, null, searchAST, selectList, limit, orderByList, skip, startAfter, cursor,
+                            versionSpecified, includeDeleted, listTypeEnum, viewableIDs, sharedIDs, computeTotal,
+                            fetchShareInfo ? withShareInfo(rUser, consumer) : consumer);
     }
-    return apps;
+    AppsPage page = dao.getAppsPage(rUser, null, null, searchAST, selectList, limit, orderByList, skip, startAfter,
+                                    cursor, versionSpecified, includeDeleted, listTypeEnum, viewableIDs, sharedIDs,
+                                    computeTotal);
+    // Update dynamically computed info.
+    // Fetch share info only if requested by caller
+    if (fetchShareInfo) setShareInfo(rUser, page.getApps());
+    return page;
   }
 
   /**
@@ -1132,6 +1687,10 @@ public class AppsServiceImpl implements AppsService
       // Convert to TapisException and re-throw
       throw new TapisException(LibUtils.getMsgAuth("APPLIB_PERM_SK_ERROR", rUser, appId, op.name()), tce);
     }
+    finally
+    {
+      invalidateAuthDecisions(oboTenant, appId);
+    }
 
     // Construct Json string representing the update
     String updateJsonStr = TapisGsonUtils.getGson().toJson(permissions);
@@ -1215,6 +1774,10 @@ public class AppsServiceImpl implements AppsService
       // Convert to TapisException and re-throw
       throw new TapisException(LibUtils.getMsgAuth("APPLIB_PERM_SK_ERROR", rUser, appId, op.name()), tce);
     }
+    finally
+    {
+      invalidateAuthDecisions(oboTenant, appId);
+    }
 
     // Construct Json string representing the update
     String updateJsonStr = TapisGsonUtils.getGson().toJson(permissions);
@@ -1266,26 +1829,60 @@ public class AppsServiceImpl implements AppsService
   @Override
   public List<AppHistoryItem> getAppHistory(ResourceRequestUser rUser, String appId)
           throws TapisException, TapisClientException
+  {
+    List<AppHistoryItem> result = new ArrayList<>();
+    if (!getAppHistory(rUser, appId, -1, null, result::add)) return null;
+    return result;
+  }
+
+  /**
+   * Retrieves App History for given user and app name, passing each item to a consumer as it is read.
+   * Supports keyset pagination using the sequence id of the last item from the previous page.
+   *
+   * @param rUser - ResourceRequestUser containing tenant, user and request info
+   * @param appId - name of app
+   * @param limit - maximum number of items to return, 0 or less for no limit
+   * @param startAfter - sequence id of the last item from the previous page, null or empty to start at the beginning
+   * @param consumer - receives each history item
+   * @return - false if app does not exist, else true
+   * @throws TapisException - for Tapis related exceptions
+   * @throws TapisClientException - for Tapis Client related exceptions
+   * @throws IllegalArgumentException - if startAfter is not the sequence id of an item in the history of the app
+   */
+  @Override
+  public boolean getAppHistory(ResourceRequestUser rUser, String appId, int limit, String startAfter,
+                               Consumer<AppHistoryItem> consumer)
+          throws TapisException, TapisClientException
   {
     // ---------------------------- Check inputs ------------------------------------
     // Required app attributes: rUser, id
     AppOperation op = AppOperation.read;
     if (rUser == null) throw new IllegalArgumentException(LibUtils.getMsg("APPLIB_NULL_INPUT_AUTHUSR"));
     if (StringUtils.isBlank(appId)) throw new IllegalArgumentException(LibUtils.getMsgAuth("APPLIB_NULL_INPUT_APP", rUser));
+    int startAfterSeqId = INVALID_SEQ_ID;
+    if (!StringUtils.isBlank(startAfter))
+    {
+      try { startAfterSeqId = Integer.parseInt(startAfter.strip()); }
+      catch (NumberFormatException e)
+      {
+        throw new IllegalArgumentException(LibUtils.getMsgAuth("APPLIB_HISTORY_INVALID_START", rUser, appId, startAfter));
+      }
+    }
     // Extract various names for convenience
     String oboTenantId = rUser.getOboTenantId();
 
     // We need owner to check auth and if app not there cannot find owner, so
-    // if app does not exist then return null
-    if (!dao.checkForApp(oboTenantId, appId, true)) return null;
+    // if app does not exist then return false
+    if (!dao.checkForApp(oboTenantId, appId, true)) return false;
 
     // ------------------------- Check authorization -------------------------
     checkAuthOwnerUnknown(rUser, op, appId);
 
-    // ------------------- Make Dao call to retrieve the app history -----------------------
-    List<AppHistoryItem> result = dao.getAppHistory(oboTenantId, appId);
-
-    return result;
+    // ------------------- Make Dao call to stream the app history -----------------------
+    // A startAfter that is not part of this history would otherwise silently give an empty page
+    if (dao.getAppHistory(oboTenantId, appId, limit, startAfterSeqId, consumer) < 0)
+      throw new IllegalArgumentException(LibUtils.getMsgAuth("APPLIB_HISTORY_INVALID_START", rUser, appId, startAfter));
+    return true;
   }
   
   
@@ -1328,23 +1925,34 @@ public class AppsServiceImpl implements AppsService
     checkAuthOwnerUnknown(rUser, op, appId);
 
     // ------------------- Make a call to retrieve the app sharing -----------------------
+    return getAppShareInfo(rUser, oboOrResourceTenant, appId);
+  }
+
+  /*
+   * Retrieve app share information from SK. No checks are done.
+   */
+  private AppShare getAppShareInfo(ResourceRequestUser rUser, String tenant, String appId)
+          throws TapisException, TapisClientException
+  {
+    // First determine if app is publicly shared, then get all the users with whom the app has been shared
+    boolean isPublic = isAppSharedPublic(rUser, tenant, appId);
+    return new AppShare(isPublic, getAppShareUsers(tenant, appId));
+  }
+
+  /*
+   * Retrieve the users with whom an app has been shared, excluding public grantees. No checks are done.
+   */
+  private Set<String> getAppShareUsers(String tenant, String appId) throws TapisException, TapisClientException
+  {
     // Create SKShareGetSharesParms needed for SK calls.
     var skParms = new SKShareGetSharesParms();
     skParms.setResourceType(APPS_SHR_TYPE);
-    skParms.setTenant(oboOrResourceTenant);
+    skParms.setTenant(tenant);
     skParms.setResourceId1(appId);
+    skParms.setIncludePublicGrantees(false);
 
     var userSet = new HashSet<String>();
-    
-    // First determine if app is publicly shared. Search for share to grantee ~public
-    skParms.setGrantee(SKClient.PUBLIC_GRANTEE);
     SkShareList skShares = getSKClient().getShares(skParms);
-    // Set isPublic based on result.
-    boolean isPublic = (skShares != null && skShares.getShares() != null && !skShares.getShares().isEmpty());
-    // Now get all the users with whom the system has been shared
-    skParms.setGrantee(null);
-    skParms.setIncludePublicGrantees(false);
-    skShares = getSKClient().getShares(skParms);
     if (skShares != null && skShares.getShares() != null)
     {
       for (SkShare skShare : skShares.getShares())
@@ -1352,9 +1960,7 @@ public class AppsServiceImpl implements AppsService
         userSet.add(skShare.getGrantee());
       }
     }
-
-    var shareInfo = new AppShare(isPublic, userSet);
-    return shareInfo;
+    return userSet;
   }
   
   @Override
@@ -1564,7 +2170,8 @@ public class AppsServiceImpl implements AppsService
   
   /**
    * Get Security Kernel client.
-   * Need to use serviceClients.getClient() every time because it checks for expired service jwt token and
+   * Client is taken from the warm pool. The pool only hands out a client created with the current, unexpired service
+   *   jwt. Otherwise it creates one using serviceClients.getClient(), which checks for expired service jwt token and
    *   refreshes it as needed.
    * Apps service always calls SK as itself, i.e. oboUser=apps, oboTenant=*site_admin_tenant*
    * @return SK client
@@ -1576,10 +2183,7 @@ public class AppsServiceImpl implements AppsService
     String oboUser = getServiceUserId();
     try
     {
-      SKClient skClient = serviceClients.getClient(oboUser, oboTenant, SKClient.class);
-      skClient.setReadTimeout(SK_READ_TIMEOUT_MS);
-      skClient.setConnectTimeout(SK_CONN_TIMEOUT_MS);
-      return skClient;
+      return skClients.getClient(oboTenant, oboUser);
     }
     catch (Exception e)
     {
@@ -1613,7 +2217,7 @@ public class AppsServiceImpl implements AppsService
     }
     try
     {
-      sysClient = serviceClients.getClient(userName, tenantName, SystemsClient.class);
+      sysClient = systemsClients.getClient(tenantName, userName);
     }
     catch (Exception e)
     {
@@ -1623,6 +2227,55 @@ public class AppsServiceImpl implements AppsService
     return sysClient;
   }
 
+  /**
+   * Create and configure a new SK client for the warm pool. Timeouts are set once, when the client is created.
+   */
+  private SKClient createSKClient(String oboTenant, String oboUser) throws Exception
+  {
+    SKClient skClient = serviceClients.getClient(oboUser, oboTenant, SKClient.class);
+    skClient.setReadTimeout(SK_READ_TIMEOUT_MS);
+    skClient.setConnectTimeout(SK_CONN_TIMEOUT_MS);
+    return skClient;
+  }
+
+  /**
+   * Current service JWT for the site, used by the warm client pools to check that a client is still usable.
+   * Return null if the JWT has expired.
+   */
+  private String getCurrentServiceJWT() throws Exception
+  {
+    var serviceJWT = serviceContext.getServiceJWT();
+    if (serviceJWT.hasExpiredAccessJWT(siteId)) return null;
+    return serviceJWT.getAccessJWT(siteId);
+  }
+
+  /**
+   * Schedule periodic refresh of the warm SK and Systems clients. Only the first call has any effect.
+   */
+  private void startClientRefresh()
+  {
+    if (!clientRefreshStarted.compareAndSet(false, true)) return;
+    // Catch everything, an exception would cancel all future runs
+    clientRefreshScheduler.scheduleWithFixedDelay(() -> {
+      try
+      {
+        skClients.refresh();
+        systemsClients.refresh();
+      }
+      catch (Exception e) { _log.warn(LibUtils.getMsg("APPLIB_CLIENT_REFRESH_ERROR", e.getMessage()), e); }
+    }, CLIENT_REFRESH_INTERVAL_MINUTES, CLIENT_REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Create a SystemLookup for one request, using a Systems client for the same tenant and user as getSystemsClient
+   */
+  private SystemLookup newSystemLookup(ResourceRequestUser rUser) throws TapisException
+  {
+    if (rUser.isServiceRequest())
+      return new SystemLookup(getSystemsClient(rUser), rUser.getOboTenantId(), rUser.getOboUserId());
+    return new SystemLookup(getSystemsClient(rUser), rUser.getJwtTenantId(), rUser.getJwtUserId());
+  }
+
   /**
    * Check for reserved names.
    * Endpoints defined lead to certain names that are not valid.
@@ -1658,17 +2311,31 @@ public class AppsServiceImpl implements AppsService
    * @throws IllegalStateException - if any constraints are violated
    */
   private void validateApp(ResourceRequestUser rUser, App app) throws TapisException, IllegalStateException
+  {
+    validateApp(rUser, app, newSystemLookup(rUser));
+  }
+
+  /**
+   * Check constraints on App attributes, fetching referenced systems using the given lookup.
+   * @param app - the App to check
+   * @param systemLookup - lookup used to fetch systems
+   * @throws IllegalStateException - if any constraints are violated
+   */
+  private void validateApp(ResourceRequestUser rUser, App app, SystemLookup systemLookup) throws IllegalStateException
   {
     // Make api level checks, i.e. checks that do not involve a dao or service call.
     List<String> errMessages = app.checkAttributeRestrictions();
 
     // Now make checks that do require a dao or service call.
-    var systemsClient = getSystemsClient(rUser);
+    // If both systems are set fetch the archive system while the exec system is fetched
+    if (!StringUtils.isBlank(app.getExecSystemId()) && !StringUtils.isBlank(app.getArchiveSystemId()))
+      systemLookup.prefetchArchiveSystem(app.getArchiveSystemId());
+
     // If execSystemId is set verify it
-    if (!StringUtils.isBlank(app.getExecSystemId())) checkExecSystem(systemsClient, app, errMessages);
+    if (!StringUtils.isBlank(app.getExecSystemId())) checkExecSystem(systemLookup, app, errMessages);
 
     // If archiveSystemId is set verify it
-    if (!StringUtils.isBlank(app.getArchiveSystemId())) checkArchiveSystem(systemsClient, app, errMessages);
+    if (!StringUtils.isBlank(app.getArchiveSystemId())) checkArchiveSystem(systemLookup, app, errMessages);
 
     // If validation failed throw an exception
     if (!errMessages.isEmpty())
@@ -1780,7 +2447,7 @@ public class AppsServiceImpl implements AppsService
   private Set<String> getViewableAppIDs(ResourceRequestUser rUser, String oboUser)
           throws TapisException, TapisClientException
   {
-    var appIDs = new HashSet<String>();
+    var permIDs = new HashSet<String>();
     // Use implies to filter permissions returned. Without implies all permissions for apps, etc. are returned.
     String impliedBy = null;
     String implies = String.format("%s:%s:*:*", PERM_SPEC_PREFIX, rUser.getOboTenantId());
@@ -1798,24 +2465,111 @@ public class AppsServiceImpl implements AppsService
                       permFields[2].contains(Permission.MODIFY.name()) ||
                       permFields[2].contains(App.PERMISSION_WILDCARD)))
       {
-        // If system exists add ID to the list
-        // else resource no longer exists or has been deleted so remove orphaned permissions
-        if (dao.checkForApp(rUser.getOboTenantId(), permFields[3], false))
-        {
-          appIDs.add(permFields[3]);
-        }
-        else
-        {
-          // Log a warning and remove the permission
-          String msg = LibUtils.getMsgAuth("APPLIB_PERM_ORPHAN", rUser, permFields[3]);
-          _log.warn(msg);
-          removeOrphanedSKPerms(permFields[3], rUser.getOboTenantId());
-        }
+        permIDs.add(permFields[3]);
       }
     }
+    // Keep IDs for apps that exist. Check all IDs with one query.
+    // Any other app no longer exists or has been deleted so queue removal of the orphaned permissions
+    Set<String> appIDs = dao.getExistingAppIDs(rUser.getOboTenantId(), permIDs, false);
+    for (String permID : permIDs)
+    {
+      if (appIDs.contains(permID)) continue;
+      // Log a warning and queue removal of the permission
+      String msg = LibUtils.getMsgAuth("APPLIB_PERM_ORPHAN", rUser, permID);
+      _log.warn(msg);
+      queueOrphanedSKPermsRemoval(permID, rUser.getOboTenantId());
+    }
     return appIDs;
   }
 
+  /**
+   * Set isPublic and sharedWithUsers for apps returned by a listing.
+   * Apps have already been filtered by authorization, so no per-app auth check is made.
+   */
+  private void setShareInfo(ResourceRequestUser rUser, List<App> apps)
+          throws TapisException, TapisClientException
+  {
+    if (apps == null || apps.isEmpty()) return;
+    Map<String, AppShare> appShares = getAppShares(rUser.getOboTenantId());
+    for (App app : apps) { setShareInfo(app, appShares.get(app.getId())); }
+  }
+
+  /*
+   * Wrap a consumer of apps so that share info is set on each app before it is passed on.
+   */
+  private Consumer<App> withShareInfo(ResourceRequestUser rUser, Consumer<App> consumer)
+          throws TapisException, TapisClientException
+  {
+    Map<String, AppShare> appShares = getAppShares(rUser.getOboTenantId());
+    return app -> {
+      setShareInfo(app, appShares.get(app.getId()));
+      consumer.accept(app);
+    };
+  }
+
+  /*
+   * Set isPublic and sharedWithUsers for an app. appShare is null if the app is not shared.
+   * The user list is copied since share info is cached and shared by requests.
+   */
+  private static void setShareInfo(App app, AppShare appShare)
+  {
+    app.setIsPublic(appShare != null && appShare.isPublic());
+    app.setSharedWithUsers((appShare == null) ? new HashSet<>() : new HashSet<>(appShare.getUserList()));
+  }
+
+  /**
+   * Get share info for all shared apps in a tenant.
+   * Share info is cached briefly. On a miss all app shares in the tenant are fetched with a single SK call.
+   * @return map of app ID to share info, apps that are not shared have no entry. Must not be modified.
+   */
+  private Map<String, AppShare> getAppShares(String tenant) throws TapisException, TapisClientException
+  {
+    Map<String, AppShare> appShares = tenantShares.get(tenant);
+    if (appShares != null) return appShares;
+    // Read generation before the SK call so a result that races with a share change is not cached
+    long generation = tenantShares.getGeneration();
+    var skParms = new SKShareGetSharesParms();
+    skParms.setResourceType(APPS_SHR_TYPE);
+    skParms.setTenant(tenant);
+    skParms.setIncludePublicGrantees(true);
+    SkShareList skShares = getSKClient().getShares(skParms);
+    appShares = getAppSharesFromSkShares((skShares == null) ? null : skShares.getShares());
+    tenantShares.put(tenant, appShares, generation);
+    return appShares;
+  }
+
+  /**
+   * Build share info for apps from the shares returned by SK.
+   * Matches getAppShare: isPublic is set by a share to ~public and the user list excludes public grantees,
+   *   which SK names with a leading ~.
+   * @param skShares - app shares from SK, may be null
+   * @return map of app ID to share info, contains an entry for every app with at least one share
+   */
+  static Map<String, AppShare> getAppSharesFromSkShares(List<SkShare> skShares)
+  {
+    var publicIDs = new HashSet<String>();
+    var usersById = new HashMap<String, Set<String>>();
+    if (skShares != null)
+    {
+      for (SkShare skShare : skShares)
+      {
+        String appId = skShare.getResourceId1();
+        String grantee = skShare.getGrantee();
+        if (appId == null || grantee == null) continue;
+        if (SKClient.PUBLIC_GRANTEE.equals(grantee)) publicIDs.add(appId);
+        else if (!grantee.startsWith("~")) usersById.computeIfAbsent(appId, k -> new HashSet<>()).add(grantee);
+      }
+    }
+    var appIDs = new HashSet<>(publicIDs);
+    appIDs.addAll(usersById.keySet());
+    var appShares = new HashMap<String, AppShare>(appIDs.size() * 2);
+    for (String appId : appIDs)
+    {
+      appShares.put(appId, new AppShare(publicIDs.contains(appId), usersById.getOrDefault(appId, new HashSet<>())));
+    }
+    return Collections.unmodifiableMap(appShares);
+  }
+
   /**
    * Determine apps that are shared with a user.
    * @param rUser - ResourceRequestUser containing tenant, user and request info
@@ -1867,7 +2621,8 @@ public class AppsServiceImpl implements AppsService
     String tenantName = (StringUtils.isBlank(tenantToCheck) ? rUser.getOboTenantId() : tenantToCheck);
     String userName = (StringUtils.isBlank(userToCheck) ? rUser.getJwtUserId() : userToCheck);
     String permSpecStr = getPermSpecStr(tenantName, appId, perm);
-    return getSKClient().isPermitted(tenantName, userName, permSpecStr);
+    var key = new AuthDecisionKey(AUTH_CHECK_PERM, tenantName, userName, appId, permSpecStr);
+    return getAuthDecision(key, () -> getSKClient().isPermitted(tenantName, userName, permSpecStr));
   }
 
   /**
@@ -1885,7 +2640,9 @@ public class AppsServiceImpl implements AppsService
     for (Permission perm : perms) {
       permSpecs.add(getPermSpecStr(tenantName, appId, perm));
     }
-    return getSKClient().isPermittedAny(tenantName, userName, permSpecs.toArray(App.EMPTY_STR_ARRAY));
+    var key = new AuthDecisionKey(AUTH_CHECK_PERM_ANY, tenantName, userName, appId, String.join(",", permSpecs));
+    return getAuthDecision(key, () -> getSKClient().isPermittedAny(tenantName, userName,
+                                                                   permSpecs.toArray(App.EMPTY_STR_ARRAY)));
   }
 
   /**
@@ -1905,6 +2662,7 @@ public class AppsServiceImpl implements AppsService
       // Remove wildcard perm
       getSKClient().revokeUserPermission(resourceTenantId, userName, getPermSpecAllStr(resourceTenantId, appId));
     }
+    invalidateAuthDecisions(resourceTenantId, appId);
   }
 
   /**
@@ -1924,6 +2682,226 @@ public class AppsServiceImpl implements AppsService
       // Remove wildcard perm
       getSKClient().revokeUserPermission(tenant, userName, getPermSpecAllStr(tenant, appId));
     }
+    invalidateAuthDecisions(tenant, appId);
+  }
+
+  /**
+   * Queue removal of SK permissions for an app that no longer exists.
+   * Removal runs on a background thread so the request that found the orphaned permissions is not delayed.
+   * Each app is queued at most once until its removal has run.
+   */
+  private void queueOrphanedSKPermsRemoval(String appId, String tenant)
+  {
+    String pendingKey = tenant + ":" + appId;
+    if (!pendingOrphanPerms.add(pendingKey)) return;
+    try
+    {
+      orphanPermExecutor.execute(() -> {
+        try
+        {
+          // App may have been created again since the permissions were found
+          if (!dao.checkForApp(tenant, appId, false)) removeOrphanedSKPerms(appId, tenant);
+        }
+        catch (Exception e)
+        {
+          _log.warn(LibUtils.getMsg("APPLIB_PERM_ORPHAN_ERROR", tenant, appId, e.getMessage()));
+        }
+        finally
+        {
+          pendingOrphanPerms.remove(pendingKey);
+        }
+      });
+    }
+    catch (RejectedExecutionException e)
+    {
+      pendingOrphanPerms.remove(pendingKey);
+      _log.warn(LibUtils.getMsg("APPLIB_PERM_ORPHAN_QUEUE_FULL", tenant, appId));
+    }
+  }
+
+  /**
+   * Schedule the orphaned permission reconciler. Only the first call has any effect.
+   */
+  private void startOrphanPermReconciler()
+  {
+    if (!orphanReconcileStarted.compareAndSet(false, true)) return;
+    // Catch everything, an exception would cancel all future runs
+    orphanReconcileScheduler.scheduleWithFixedDelay(() -> {
+      try { reconcileOrphanedSKPerms(); }
+      catch (Exception e)
+      {
+        OrphanPermMetrics.recordRunFailure();
+        _log.error(LibUtils.getMsg("APPLIB_PERM_RECONCILE_ERROR", e.getMessage()), e);
+      }
+    }, ORPHAN_RECONCILE_INITIAL_DELAY_MINUTES, ORPHAN_RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Remove SK permissions for apps that no longer exist or have been deleted, for all tenants on this site.
+   * Does nothing if the reconciler is already running in another service instance.
+   * NOTE: This is package-private. Other than the scheduler only test code should call it.
+   * @return true if the reconciler ran, false if it is running elsewhere
+   * @throws TapisException - on error acquiring the lease
+   */
+  boolean reconcileOrphanedSKPerms() throws TapisException
+  {
+    String leaseHolder = UUID.randomUUID().toString();
+    if (!dao.acquireLease(ORPHAN_RECONCILE_LEASE, leaseHolder, ORPHAN_RECONCILE_LEASE_SECONDS))
+    {
+      OrphanPermMetrics.recordRunSkipped();
+      _log.info(LibUtils.getMsg("APPLIB_PERM_RECONCILE_SKIPPED"));
+      return false;
+    }
+    try { reconcileAllTenants(leaseHolder); }
+    finally
+    {
+      try { dao.releaseLease(ORPHAN_RECONCILE_LEASE, leaseHolder); }
+      catch (Exception e) { _log.warn(LibUtils.getMsg("APPLIB_PERM_RECONCILE_ERROR", e.getMessage()), e); }
+    }
+    return true;
+  }
+
+  /*
+   * Reconcile each tenant in turn. A failure for one tenant is logged and the next tenant is processed.
+   * Stops early if interrupted or if the lease is lost.
+   */
+  private void reconcileAllTenants(String leaseHolder)
+  {
+    OrphanPermMetrics.recordRunStart();
+    _log.info(LibUtils.getMsg("APPLIB_PERM_RECONCILE_START"));
+    try
+    {
+      for (String tenant : getSiteTenantIds())
+      {
+        if (Thread.currentThread().isInterrupted() || !renewReconcileLease(leaseHolder)) break;
+        OrphanPermMetrics.recordTenantStart(tenant);
+        try
+        {
+          if (!reconcileTenant(tenant, leaseHolder)) break;
+        }
+        catch (Exception e)
+        {
+          OrphanPermMetrics.recordTenantFailure();
+          _log.warn(LibUtils.getMsg("APPLIB_PERM_RECONCILE_TENANT_ERROR", tenant, e.getMessage()), e);
+        }
+      }
+    }
+    catch (Exception e)
+    {
+      OrphanPermMetrics.recordRunFailure();
+      _log.error(LibUtils.getMsg("APPLIB_PERM_RECONCILE_ERROR", e.getMessage()), e);
+    }
+    finally
+    {
+      OrphanPermMetrics.recordRunEnd();
+      var snapshot = OrphanPermMetrics.getSnapshot();
+      _log.info(LibUtils.getMsg("APPLIB_PERM_RECONCILE_END", snapshot.getTenantsScanned(), snapshot.getUsersScanned(),
+                                snapshot.getOrphansFound(), snapshot.getOrphansRemoved()));
+    }
+  }
+
+  /*
+   * Find app IDs referenced by SK permissions in a tenant that do not match an existing app and revoke the permissions.
+   * The lease is renewed before each batch. No DB connection is held between batches.
+   * Return false if the run should stop, i.e. if interrupted or the lease was lost.
+   */
+  private boolean reconcileTenant(String tenant, String leaseHolder) throws TapisException, TapisClientException
+  {
+    Set<String> appIDs = dao.getAppIDs(tenant, false);
+    // Find all users holding any app permission in the tenant, then the app IDs in each user's permissions
+    String permSpec = String.format(PERM_SPEC_TEMPLATE, tenant, "%", "%");
+    var userNames = getSKClient().getUsersWithPermission(tenant, permSpec);
+    String implies = String.format("%s:%s:*:*", PERM_SPEC_PREFIX, tenant);
+    var orphanIDs = new TreeSet<String>();
+    for (String userName : userNames)
+    {
+      for (String userPerm : getSKClient().getUserPerms(tenant, userName, implies, null))
+      {
+        String permID = getPermSpecAppId(userPerm);
+        if (permID != null && !appIDs.contains(permID)) orphanIDs.add(permID);
+      }
+    }
+    OrphanPermMetrics.recordTenantScanned(userNames.size(), orphanIDs.size());
+
+    // Revoke in batches, pausing between batches
+    var batch = new HashSet<String>();
+    for (var iter = orphanIDs.iterator(); iter.hasNext();)
+    {
+      batch.add(iter.next());
+      if (batch.size() < ORPHAN_RECONCILE_BATCH_SIZE && iter.hasNext()) continue;
+      if (!renewReconcileLease(leaseHolder)) return false;
+      removeOrphanedSKPermsBatch(tenant, batch);
+      batch.clear();
+      if (!iter.hasNext()) break;
+      try { Thread.sleep(ORPHAN_RECONCILE_BATCH_PAUSE_MS); }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Renew the reconciler lease. Return false if it has been taken over by another service instance.
+   */
+  private boolean renewReconcileLease(String leaseHolder) throws TapisException
+  {
+    if (dao.acquireLease(ORPHAN_RECONCILE_LEASE, leaseHolder, ORPHAN_RECONCILE_LEASE_SECONDS)) return true;
+    _log.warn(LibUtils.getMsg("APPLIB_PERM_RECONCILE_LEASE_LOST"));
+    return false;
+  }
+
+  /*
+   * Revoke permissions for a batch of app IDs found to be orphaned.
+   * An app may have been created since the IDs were found, so check again before revoking.
+   */
+  private void removeOrphanedSKPermsBatch(String tenant, Set<String> orphanIDs) throws TapisException
+  {
+    Set<String> existingIDs = dao.getExistingAppIDs(tenant, orphanIDs, false);
+    int numRemoved = 0;
+    for (String appId : orphanIDs)
+    {
+      if (existingIDs.contains(appId)) continue;
+      try
+      {
+        removeOrphanedSKPerms(appId, tenant);
+        numRemoved++;
+      }
+      catch (Exception e)
+      {
+        OrphanPermMetrics.recordRemovalFailure();
+        _log.warn(LibUtils.getMsg("APPLIB_PERM_ORPHAN_ERROR", tenant, appId, e.getMessage()));
+      }
+    }
+    OrphanPermMetrics.recordRemoved(numRemoved);
+  }
+
+  /*
+   * IDs of the tenants on the site where this service is running
+   */
+  private static List<String> getSiteTenantIds() throws TapisException
+  {
+    var tenantIds = new ArrayList<String>();
+    for (var tenant : TenantManager.getInstance().getTenants().values())
+    {
+      if (siteId != null && siteId.equals(tenant.getSiteId())) tenantIds.add(tenant.getTenantId());
+    }
+    return tenantIds;
+  }
+
+  /*
+   * Extract the app ID from a permSpec of the form app:<tenant>:<perms>:<app_id>
+   * Return null if not an app permSpec or if the ID is a wildcard.
+   */
+  private static String getPermSpecAppId(String permSpec)
+  {
+    if (StringUtils.isBlank(permSpec)) return null;
+    String[] permFields = COLON_SPLIT.split(permSpec);
+    if (permFields.length < 4 || !PERM_SPEC_PREFIX.equals(permFields[0]) ||
+        App.PERMISSION_WILDCARD.equals(permFields[3])) return null;
+    return permFields[3];
   }
 
   /**
@@ -1936,9 +2914,16 @@ public class AppsServiceImpl implements AppsService
     // Create a set of individual permSpec entries based on the list passed in
     Set<String> permSpecSet = getPermSpecSet(resourceTenantId, appId, permissions);
     // Remove perms from default user role
-    for (String permSpec : permSpecSet)
+    try
+    {
+      for (String permSpec : permSpecSet)
+      {
+        getSKClient().revokeUserPermission(resourceTenantId, userName, permSpec);
+      }
+    }
+    finally
     {
-      getSKClient().revokeUserPermission(resourceTenantId, userName, permSpec);
+      invalidateAuthDecisions(resourceTenantId, appId);
     }
     return permSpecSet.size();
   }
@@ -2062,7 +3047,7 @@ public class AppsServiceImpl implements AppsService
    *     - verify that logical queue is defined for the execSystem
    *     - verify that constraints for the queue are not violated.
    */
-  private void checkExecSystem(SystemsClient systemsClient, App app, List<String> errMessages)
+  private void checkExecSystem(SystemLookup systemLookup, App app, List<String> errMessages)
   {
     if (app == null || StringUtils.isBlank(app.getExecSystemId())) return;
     String execSystemId = app.getExecSystemId();
@@ -2072,8 +3057,7 @@ public class AppsServiceImpl implements AppsService
     try
     {
       // Get system, requireExecPerm=true
-      // authnMethod=null, requireExec=true, select=null, returnCred=false, impersonationId=null, sharedAppCtx=null
-      execSystem = systemsClient.getSystem(execSystemId, null, true, null, false, null, null, null);
+      execSystem = systemLookup.getExecSystem(execSystemId);
     }
     catch (TapisClientException e)
     {
@@ -2192,7 +3176,7 @@ public class AppsServiceImpl implements AppsService
    * Check attributes related to archiveSystemId
    *   - verify that archiveSystemId exists
    */
-  private void checkArchiveSystem(SystemsClient systemsClient, App app, List<String> errMessages)
+  private void checkArchiveSystem(SystemLookup systemLookup, App app, List<String> errMessages)
   {
     if (app == null || StringUtils.isBlank(app.getArchiveSystemId())) return;
     String msg;
@@ -2200,7 +3184,7 @@ public class AppsServiceImpl implements AppsService
     TapisSystem archiveSystem = null;
     try
     {
-      archiveSystem = systemsClient.getSystem(archiveSystemId);
+      archiveSystem = systemLookup.getArchiveSystem(archiveSystemId);
     }
     catch (TapisClientException e)
     {
@@ -2441,7 +3425,8 @@ public class AppsServiceImpl implements AppsService
     skParms.setResourceId1(appId);
     skParms.setGrantee(targetUser);
     skParms.setPrivilege(privilege.name());
-    return getSKClient().hasPrivilege(skParms);
+    var key = new AuthDecisionKey(AUTH_CHECK_SHARE, oboTenant, targetUser, appId, privilege.name());
+    return getAuthDecision(key, () -> getSKClient().hasPrivilege(skParms));
   }
 
   /**
@@ -2498,12 +3483,146 @@ public class AppsServiceImpl implements AppsService
     throw new ForbiddenException(LibUtils.getMsgAuth("APPLIB_UNAUTH_RESOURCETENANT", rUser, appId, op.name(), resourceTenant));
   }
 
+  /**
+   * Run an authorization check and report the result rather than throwing ForbiddenException
+   */
+  private boolean isAuthorized(ResourceRequestUser rUser, AppOperation op, String appId, String owner,
+                               String impersonationId)
+          throws TapisException, TapisClientException
+  {
+    try
+    {
+      checkAuth(rUser, op, appId, owner, nullTargetUser, nullPermSet, impersonationId);
+      return true;
+    }
+    catch (ForbiddenException e) { return false; }
+  }
+
+  /*
+   * Remote calls made concurrently for a single request.
+   * All calls share one deadline, REMOTE_CALL_TIMEOUT_MS from when the group was created, so a request waits at most
+   *   that long in total no matter how many calls it waits for. Calls not waited for, e.g. when the request ends
+   *   early with an exception, are cancelled by close(). A cancelled call that has not started yet is not run.
+   */
+  private static final class RemoteCalls implements AutoCloseable
+  {
+    private final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REMOTE_CALL_TIMEOUT_MS);
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+    /*
+     * Start a remote call on the remote call thread pool
+     */
+    <T> CompletableFuture<T> start(RemoteCall<T> call)
+    {
+      CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+        try { return call.call(); }
+        catch (TapisException | TapisClientException e) { throw new CompletionException(e); }
+      }, remoteCallExecutor);
+      futures.add(future);
+      return future;
+    }
+
+    /*
+     * Wait for a remote call started by start() and return its result.
+     * Exceptions thrown by the call are re-thrown unchanged. If the deadline passes the call is abandoned.
+     */
+    <T> T await(CompletableFuture<T> future) throws TapisException, TapisClientException
+    {
+      try
+      {
+        return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+      catch (TimeoutException e)
+      {
+        future.cancel(true);
+        throw new TapisException(LibUtils.getMsg("APPLIB_REMOTE_CALL_TIMEOUT", REMOTE_CALL_TIMEOUT_MS), e);
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        throw new TapisException(LibUtils.getMsg("APPLIB_REMOTE_CALL_INTERRUPTED"), e);
+      }
+      catch (ExecutionException e) { throw unwrapFailure(e); }
+    }
+
+    /*
+     * Cancel any calls that have not completed
+     */
+    @Override
+    public void close()
+    {
+      for (CompletableFuture<?> future : futures) { future.cancel(true); }
+    }
+  }
+
+  /*
+   * Wait for an identical getApp request already in progress and return its result.
+   * Exceptions thrown by that request are re-thrown unchanged. No timeout is needed, the remote calls made by
+   *   the request in progress have their own timeouts.
+   */
+  private static App awaitInFlightCall(CompletableFuture<App> future) throws TapisException, TapisClientException
+  {
+    try
+    {
+      return future.get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new TapisException(LibUtils.getMsg("APPLIB_REMOTE_CALL_INTERRUPTED"), e);
+    }
+    catch (ExecutionException e) { throw unwrapFailure(e); }
+  }
+
+  /*
+   * Re-throw the exception that caused a future to fail, unchanged if possible.
+   * Declared to return an exception so callers can use "throw unwrapFailure(e)".
+   */
+  private static TapisException unwrapFailure(ExecutionException e) throws TapisClientException
+  {
+    Throwable cause = e.getCause();
+    if (cause instanceof TapisException) return (TapisException) cause;
+    if (cause instanceof TapisClientException) throw (TapisClientException) cause;
+    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+    if (cause instanceof Error) throw (Error) cause;
+    return new TapisException(cause == null ? e.getMessage() : cause.getMessage(), cause);
+  }
+
+  private interface RemoteCall<T> { T call() throws TapisException, TapisClientException; }
+
   /**
    * Check to see if the oboUser has the admin role in the obo tenant
    */
   private boolean hasAdminRole(ResourceRequestUser rUser) throws TapisException, TapisClientException
   {
-    return getSKClient().isAdmin(rUser.getOboTenantId(), rUser.getOboUserId());
+    String oboTenant = rUser.getOboTenantId();
+    String oboUser = rUser.getOboUserId();
+    var key = new AuthDecisionKey(AUTH_CHECK_ADMIN, oboTenant, oboUser, null, null);
+    return getAuthDecision(key, () -> getSKClient().isAdmin(oboTenant, oboUser));
+  }
+
+  /**
+   * Return a cached authorization decision or make the check and cache the result.
+   * Failed checks are not cached.
+   */
+  private static boolean getAuthDecision(AuthDecisionKey key, AuthCheck check)
+          throws TapisException, TapisClientException
+  {
+    Boolean decision = authDecisions.get(key);
+    if (decision != null) return decision;
+    // Read generation before the check so a result that races with an invalidation is not cached
+    long generation = authDecisions.getGeneration();
+    boolean allowed = check.isAllowed();
+    authDecisions.put(key, allowed, generation);
+    return allowed;
+  }
+
+  /**
+   * Remove cached authorization decisions for an app. Called after permissions, shares or ownership change.
+   */
+  private static void invalidateAuthDecisions(String tenant, String appId)
+  {
+    authDecisions.invalidateIf(k -> k.isForApp(tenant, appId));
   }
 
   /**
@@ -2579,44 +3698,186 @@ public class AppsServiceImpl implements AppsService
     // ------------------------- Check authorization -------------------------
     checkAuthOwnerUnknown(rUser, op, appId);
     
-    switch (shareOpName)
+    try
     {
-      case OP_SHARE ->
+      switch (shareOpName)
       {
-        // Create request object needed for SK calls.
-        var reqShareResource = new ReqShareResource();
-        reqShareResource.setResourceType(APPS_SHR_TYPE);
-        reqShareResource.setTenant(oboTenantId);
-        reqShareResource.setResourceId1(appId);
-        reqShareResource.setGrantor(rUser.getOboUserId());
-
-        for (String userName : userList)
+        case OP_SHARE ->
         {
-          reqShareResource.setGrantee(userName);
-          reqShareResource.setPrivilege(Permission.READ.name());
-          getSKClient().shareResource(reqShareResource);
-          reqShareResource.setPrivilege(Permission.EXECUTE.name());
-          getSKClient().shareResource(reqShareResource);
+          // Create request object needed for SK calls.
+          var reqShareResource = new ReqShareResource();
+          reqShareResource.setResourceType(APPS_SHR_TYPE);
+          reqShareResource.setTenant(oboTenantId);
+          reqShareResource.setResourceId1(appId);
+          reqShareResource.setGrantor(rUser.getOboUserId());
+
+          for (String userName : userList)
+          {
+            reqShareResource.setGrantee(userName);
+            reqShareResource.setPrivilege(Permission.READ.name());
+            getSKClient().shareResource(reqShareResource);
+            reqShareResource.setPrivilege(Permission.EXECUTE.name());
+            getSKClient().shareResource(reqShareResource);
+          }
         }
-      }
-      case OP_UNSHARE ->
-      {
-        // Create object needed for SK calls.
-        SKShareDeleteShareParms deleteShareParms = new SKShareDeleteShareParms();
-        deleteShareParms.setResourceType(APPS_SHR_TYPE);
-        deleteShareParms.setTenant(oboTenantId);
-        deleteShareParms.setResourceId1(appId);
-        deleteShareParms.setGrantor(rUser.getOboUserId());
-
-        for (String userName : userList)
+        case OP_UNSHARE ->
         {
-          deleteShareParms.setGrantee(userName);
-          deleteShareParms.setPrivilege(Permission.READ.name());
-          getSKClient().deleteShare(deleteShareParms);
-          deleteShareParms.setPrivilege(Permission.EXECUTE.name());
-          getSKClient().deleteShare(deleteShareParms);
+          // Create object needed for SK calls.
+          SKShareDeleteShareParms deleteShareParms = new SKShareDeleteShareParms();
+          deleteShareParms.setResourceType(APPS_SHR_TYPE);
+          deleteShareParms.setTenant(oboTenantId);
+          deleteShareParms.setResourceId1(appId);
+          deleteShareParms.setGrantor(rUser.getOboUserId());
+
+          for (String userName : userList)
+          {
+            deleteShareParms.setGrantee(userName);
+            deleteShareParms.setPrivilege(Permission.READ.name());
+            getSKClient().deleteShare(deleteShareParms);
+            deleteShareParms.setPrivilege(Permission.EXECUTE.name());
+            getSKClient().deleteShare(deleteShareParms);
+          }
         }
       }
     }
+    finally
+    {
+      invalidateAuthDecisions(oboTenantId, appId);
+      tenantShares.invalidateIf(oboTenantId::equals);
+    }
+  }
+
+  /*
+   * Key for a cached authorization decision. appId and detail are null for checks that do not involve an app.
+   * detail is the permSpec(s) or share privilege checked.
+   */
+  private static final class AuthDecisionKey
+  {
+    private final String check;
+    private final String tenant;
+    private final String user;
+    private final String appId;
+    private final String detail;
+
+    AuthDecisionKey(String check1, String tenant1, String user1, String appId1, String detail1)
+    {
+      check = check1;
+      tenant = tenant1;
+      user = user1;
+      appId = appId1;
+      detail = detail1;
+    }
+
+    boolean isForApp(String tenant1, String appId1) { return Objects.equals(tenant, tenant1) && Objects.equals(appId, appId1); }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) return true;
+      if (!(o instanceof AuthDecisionKey)) return false;
+      var k = (AuthDecisionKey) o;
+      return Objects.equals(check, k.check) && Objects.equals(tenant, k.tenant) && Objects.equals(user, k.user) &&
+             Objects.equals(appId, k.appId) && Objects.equals(detail, k.detail);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(check, tenant, user, appId, detail); }
+  }
+
+  private interface AuthCheck { boolean isAllowed() throws TapisException, TapisClientException; }
+
+  /*
+   * Fetch systems referenced by apps being validated.
+   * Results, including failures, are kept so each distinct system is fetched at most once for the lifetime of the
+   *   lookup, even when apps are validated concurrently. A lookup is used for one request.
+   * Systems that were found are also kept in a cache shared across requests for a short time, keyed by the tenant and
+   *   user the Systems client makes requests for, so requests from the same user reuse them. Loads are single-flight:
+   *   concurrent requests for the same key wait for one Systems call. Failures and missing systems are not cached.
+   */
+  private static final class SystemLookup
+  {
+    private final SystemsClient systemsClient;
+    private final String authKey;
+    private final Map<String, CompletableFuture<TapisSystem>> systems = new ConcurrentHashMap<>();
+
+    SystemLookup(SystemsClient systemsClient1, String clientTenant, String clientUser)
+    {
+      systemsClient = systemsClient1;
+      authKey = clientTenant + ":" + clientUser + ":";
+    }
+
+    // Get system, requireExecPerm=true
+    // authnMethod=null, requireExec=true, select=null, returnCred=false, impersonationId=null, sharedAppCtx=null
+    TapisSystem getExecSystem(String systemId) throws TapisClientException
+    {
+      return get("exec:" + systemId, () -> systemsClient.getSystem(systemId, null, true, null, false, null, null, null));
+    }
+
+    TapisSystem getArchiveSystem(String systemId) throws TapisClientException
+    {
+      return get("archive:" + systemId, () -> systemsClient.getSystem(systemId));
+    }
+
+    /*
+     * Start fetching the archive system in the background so it can be fetched at the same time as the exec system
+     */
+    void prefetchArchiveSystem(String systemId)
+    {
+      String key = "archive:" + systemId;
+      var newFuture = new CompletableFuture<TapisSystem>();
+      if (systems.putIfAbsent(key, newFuture) != null) return;
+      try
+      {
+        remoteCallExecutor.execute(() -> load(newFuture, key, () -> systemsClient.getSystem(systemId)));
+      }
+      catch (RuntimeException e) { newFuture.completeExceptionally(e); }
+    }
+
+    /*
+     * The first caller for a key makes the Systems call, concurrent callers for the same key wait for its result
+     */
+    private TapisSystem get(String key, SystemFetch fetch) throws TapisClientException
+    {
+      var newFuture = new CompletableFuture<TapisSystem>();
+      CompletableFuture<TapisSystem> future = systems.putIfAbsent(key, newFuture);
+      if (future == null)
+      {
+        future = newFuture;
+        load(future, key, fetch);
+      }
+      try
+      {
+        return future.join();
+      }
+      catch (CompletionException e)
+      {
+        if (e.getCause() instanceof TapisClientException) throw (TapisClientException) e.getCause();
+        if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+        throw e;
+      }
+    }
+
+    /*
+     * Complete a future for this lookup using the shared cache, calling Systems only if the cache has no entry
+     */
+    private void load(CompletableFuture<TapisSystem> future, String key, SystemFetch fetch)
+    {
+      String cacheKey = authKey + key;
+      var newShared = new CompletableFuture<TapisSystem>();
+      CompletableFuture<TapisSystem> shared = systemCache.getOrCreate(cacheKey, () -> newShared);
+      if (shared == newShared)
+      {
+        systemsCalls.incrementAndGet();
+        try { newShared.complete(fetch.fetch()); }
+        catch (TapisClientException | RuntimeException e) { newShared.completeExceptionally(e); }
+      }
+      shared.whenComplete((system, e) -> {
+        if (e != null || system == null) systemCache.remove(cacheKey, shared);
+        if (e != null) future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+        else future.complete(system);
+      });
+    }
+
+    private interface SystemFetch { TapisSystem fetch() throws TapisClientException; }
   }
 }
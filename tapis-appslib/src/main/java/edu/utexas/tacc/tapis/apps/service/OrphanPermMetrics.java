@@ -0,0 +1,149 @@
+package edu.utexas.tacc.tapis.apps.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Progress and totals for the background reconciler that removes SK permissions for apps that no longer exist.
+ *   Totals are cumulative since service start. Values for the current or most recent run are replaced
+ *   when a run starts.
+ * This class is non-instantiable
+ */
+public final class OrphanPermMetrics
+{
+  // Private constructor to make it non-instantiable
+  private OrphanPermMetrics() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  // Totals since service start
+  private static final AtomicLong runs = new AtomicLong();
+  private static final AtomicLong runsSkipped = new AtomicLong();
+  private static final AtomicLong runFailures = new AtomicLong();
+  private static final AtomicLong appsRemoved = new AtomicLong();
+  private static final AtomicLong removalFailures = new AtomicLong();
+  private static final AtomicLong tenantFailures = new AtomicLong();
+
+  // Current or most recent run
+  private static final AtomicReference<Instant> lastRunStart = new AtomicReference<>();
+  private static final AtomicReference<Instant> lastRunEnd = new AtomicReference<>();
+  private static final AtomicReference<String> currentTenant = new AtomicReference<>();
+  private static final AtomicLong tenantsScanned = new AtomicLong();
+  private static final AtomicLong usersScanned = new AtomicLong();
+  private static final AtomicLong orphansFound = new AtomicLong();
+  private static final AtomicLong orphansRemoved = new AtomicLong();
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Take a point in time snapshot of the reconciler metrics.
+   * @return snapshot
+   */
+  public static Snapshot getSnapshot() { return new Snapshot(); }
+
+  /* ********************************************************************** */
+  /*                         Package-Private Methods                        */
+  /* ********************************************************************** */
+
+  static void recordRunStart()
+  {
+    runs.incrementAndGet();
+    lastRunStart.set(Instant.now());
+    lastRunEnd.set(null);
+    tenantsScanned.set(0);
+    usersScanned.set(0);
+    orphansFound.set(0);
+    orphansRemoved.set(0);
+  }
+
+  static void recordRunEnd()
+  {
+    currentTenant.set(null);
+    lastRunEnd.set(Instant.now());
+  }
+
+  // Lock held by another service instance
+  static void recordRunSkipped() { runsSkipped.incrementAndGet(); }
+  static void recordRunFailure() { runFailures.incrementAndGet(); }
+
+  static void recordTenantStart(String tenant) { currentTenant.set(tenant); }
+  static void recordTenantScanned(int numUsers, int numOrphans)
+  {
+    tenantsScanned.incrementAndGet();
+    usersScanned.addAndGet(numUsers);
+    orphansFound.addAndGet(numOrphans);
+  }
+
+  static void recordRemoved(int numApps)
+  {
+    orphansRemoved.addAndGet(numApps);
+    appsRemoved.addAndGet(numApps);
+  }
+
+  static void recordRemovalFailure() { removalFailures.incrementAndGet(); }
+  static void recordTenantFailure() { tenantFailures.incrementAndGet(); }
+
+  /* ********************************************************************** */
+  /*                              Snapshot                                  */
+  /* ********************************************************************** */
+
+  /*
+   * Immutable view of the reconciler metrics. Times are null if not yet reached.
+   */
+  public static final class Snapshot
+  {
+    private final long runs;
+    private final long runsSkipped;
+    private final long runFailures;
+    private final long appsRemoved;
+    private final long removalFailures;
+    private final long tenantFailures;
+    private final boolean running;
+    private final String lastRunStart;
+    private final String lastRunEnd;
+    private final String currentTenant;
+    private final long tenantsScanned;
+    private final long usersScanned;
+    private final long orphansFound;
+    private final long orphansRemoved;
+
+    private Snapshot()
+    {
+      runs = OrphanPermMetrics.runs.get();
+      runsSkipped = OrphanPermMetrics.runsSkipped.get();
+      runFailures = OrphanPermMetrics.runFailures.get();
+      appsRemoved = OrphanPermMetrics.appsRemoved.get();
+      removalFailures = OrphanPermMetrics.removalFailures.get();
+      tenantFailures = OrphanPermMetrics.tenantFailures.get();
+      Instant start = OrphanPermMetrics.lastRunStart.get();
+      Instant end = OrphanPermMetrics.lastRunEnd.get();
+      running = (start != null && end == null);
+      lastRunStart = (start == null) ? null : start.toString();
+      lastRunEnd = (end == null) ? null : end.toString();
+      currentTenant = OrphanPermMetrics.currentTenant.get();
+      tenantsScanned = OrphanPermMetrics.tenantsScanned.get();
+      usersScanned = OrphanPermMetrics.usersScanned.get();
+      orphansFound = OrphanPermMetrics.orphansFound.get();
+      orphansRemoved = OrphanPermMetrics.orphansRemoved.get();
+    }
+
+    public long getRuns() { return runs; }
+    public long getRunsSkipped() { return runsSkipped; }
+    public long getRunFailures() { return runFailures; }
+    public long getAppsRemoved() { return appsRemoved; }
+    public long getRemovalFailures() { return removalFailures; }
+    public long getTenantFailures() { return tenantFailures; }
+    public boolean isRunning() { return running; }
+    public String getLastRunStart() { return lastRunStart; }
+    public String getLastRunEnd() { return lastRunEnd; }
+    public String getCurrentTenant() { return currentTenant; }
+    public long getTenantsScanned() { return tenantsScanned; }
+    public long getUsersScanned() { return usersScanned; }
+    public long getOrphansFound() { return orphansFound; }
+    public long getOrphansRemoved() { return orphansRemoved; }
+  }
+}
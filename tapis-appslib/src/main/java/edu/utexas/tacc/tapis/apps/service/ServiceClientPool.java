@@ -0,0 +1,267 @@
+package edu.utexas.tacc.tapis.apps.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * Warm clients for another Tapis service, one per (tenant, user) the client makes requests for.
+ *   Each client keeps its own HTTP connection pool, so reusing a client reuses open keep-alive connections and
+ *   avoids new TCP/TLS setup on every request. Clients are configured once, when created.
+ * Each client is configured with the service JWT current when it was created. A client is only handed out while
+ *   that JWT is still the current, unexpired service JWT, otherwise it is replaced with a client created by the
+ *   factory, which refreshes the JWT as needed. Clients are also replaced after a maximum age. Replacement is normally
+ *   done ahead of time by refresh(), which is called periodically in the background, so requests rarely wait for a
+ *   client to be created. Clients that have not been used for a while are dropped.
+ * Counts of clients created, reused and refreshed are kept for reporting through a Snapshot. Each created client
+ *   starts with no open connections, so creations approximate the connection setups that pooling cannot avoid.
+ * Instances are thread-safe.
+ */
+public final class ServiceClientPool<T>
+{
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  private final String name;
+  private final ClientFactory<T> factory;
+  private final TokenSource tokenSource;
+  private final LongSupplier nanoClock;
+  private final int maxSize;
+  private final long refreshAgeNanos;
+  private final long maxAgeNanos;
+  private final long maxIdleNanos;
+  private final Map<String, PooledClient<T>> clients = new ConcurrentHashMap<>();
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong reused = new AtomicLong();
+  private final AtomicLong refreshed = new AtomicLong();
+  private final AtomicLong createFailures = new AtomicLong();
+  private final AtomicLong evicted = new AtomicLong();
+
+  /* ********************************************************************** */
+  /*                              Constructors                              */
+  /* ********************************************************************** */
+
+  /**
+   * @param name1 - name of the service the clients call, used for reporting
+   * @param factory1 - creates and configures a client for a tenant and user
+   * @param tokenSource1 - current service JWT, null if expired or not available
+   * @param maxSize1 - maximum number of clients kept
+   * @param refreshAge - age after which refresh() replaces a client
+   * @param maxAge - age after which a client is replaced when requested, should be greater than refreshAge
+   * @param maxIdle - time without use after which refresh() drops a client
+   * @param unit - unit of the ages
+   */
+  ServiceClientPool(String name1, ClientFactory<T> factory1, TokenSource tokenSource1, int maxSize1, long refreshAge,
+                    long maxAge, long maxIdle, TimeUnit unit)
+  {
+    this(name1, factory1, tokenSource1, maxSize1, refreshAge, maxAge, maxIdle, unit, System::nanoTime);
+  }
+
+  /*
+   * Constructor with a clock, so tests can control the age of clients
+   */
+  ServiceClientPool(String name1, ClientFactory<T> factory1, TokenSource tokenSource1, int maxSize1, long refreshAge,
+                    long maxAge, long maxIdle, TimeUnit unit, LongSupplier nanoClock1)
+  {
+    name = name1;
+    factory = factory1;
+    tokenSource = tokenSource1;
+    nanoClock = nanoClock1;
+    maxSize = maxSize1;
+    refreshAgeNanos = unit.toNanos(refreshAge);
+    maxAgeNanos = unit.toNanos(maxAge);
+    maxIdleNanos = unit.toNanos(maxIdle);
+  }
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Get a warm client for a tenant and user, creating one if there is none, it is too old or it was created with a
+   *   service JWT that is no longer current.
+   * @param tenant - tenant the client makes requests for
+   * @param user - user the client makes requests for
+   * @return client
+   * @throws Exception - if a client needed to be created and could not be
+   */
+  public T getClient(String tenant, String user) throws Exception
+  {
+    String key = tenant + "@" + user;
+    long now = nanoClock.getAsLong();
+    String token = getCurrentToken();
+    PooledClient<T> pooled = clients.get(key);
+    if (pooled != null && now - pooled.createdNanos < maxAgeNanos && isCurrentToken(token, pooled))
+    {
+      pooled.lastUsedNanos = now;
+      reused.incrementAndGet();
+      return pooled.client;
+    }
+    // Concurrent callers may each create a client here. That is rare and harmless, the last one created is kept.
+    if (pooled == null && clients.size() >= maxSize) evictOne();
+    T client = createClient(tenant, user);
+    // Record the JWT read before the client was created. If it changed meanwhile the client is replaced on next use.
+    clients.put(key, new PooledClient<>(tenant, user, client, token, now));
+    return client;
+  }
+
+  /**
+   * Replace clients that are due to be refreshed or were created with a service JWT that is no longer current,
+   *   and drop clients that have not been used recently.
+   * Called periodically in the background. A failure to create a client is counted and the old client kept.
+   */
+  public void refresh()
+  {
+    long now = nanoClock.getAsLong();
+    String token = getCurrentToken();
+    for (var mapEntry : clients.entrySet())
+    {
+      PooledClient<T> pooled = mapEntry.getValue();
+      if (now - pooled.lastUsedNanos >= maxIdleNanos)
+      {
+        if (clients.remove(mapEntry.getKey(), pooled)) evicted.incrementAndGet();
+        continue;
+      }
+      if (now - pooled.createdNanos < refreshAgeNanos && isCurrentToken(token, pooled)) continue;
+      try
+      {
+        T client = createClient(pooled.tenant, pooled.user);
+        var newPooled = new PooledClient<>(pooled.tenant, pooled.user, client, token, nanoClock.getAsLong());
+        newPooled.lastUsedNanos = pooled.lastUsedNanos;
+        if (clients.replace(mapEntry.getKey(), pooled, newPooled)) refreshed.incrementAndGet();
+      }
+      catch (Exception e) { /* Counted in createClient. Old client is kept, getClient replaces it if no longer usable. */ }
+    }
+  }
+
+  /**
+   * Take a point in time snapshot of the pool counters
+   * @return snapshot
+   */
+  public Snapshot getSnapshot() { return new Snapshot(this); }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  private T createClient(String tenant, String user) throws Exception
+  {
+    try
+    {
+      T client = factory.create(tenant, user);
+      created.incrementAndGet();
+      return client;
+    }
+    catch (Exception e)
+    {
+      createFailures.incrementAndGet();
+      throw e;
+    }
+  }
+
+  /*
+   * Current service JWT, null if it has expired or cannot be determined
+   */
+  private String getCurrentToken()
+  {
+    try { return tokenSource.getToken(); }
+    catch (Exception e) { return null; }
+  }
+
+  /*
+   * Check if a client was created with the current service JWT. If there is no current JWT the client is not used,
+   *   so that a new client is created by the factory, which refreshes the JWT.
+   */
+  private static boolean isCurrentToken(String token, PooledClient<?> pooled)
+  {
+    return token != null && token.equals(pooled.token);
+  }
+
+  /*
+   * Make room for a new client by dropping the least recently used one
+   */
+  private void evictOne()
+  {
+    String lruKey = null;
+    long lruIdle = -1;
+    long now = nanoClock.getAsLong();
+    for (var mapEntry : clients.entrySet())
+    {
+      long idle = now - mapEntry.getValue().lastUsedNanos;
+      if (idle > lruIdle)
+      {
+        lruKey = mapEntry.getKey();
+        lruIdle = idle;
+      }
+    }
+    if (lruKey != null && clients.remove(lruKey) != null) evicted.incrementAndGet();
+  }
+
+  /* ********************************************************************** */
+  /*                            Nested types                                */
+  /* ********************************************************************** */
+
+  interface ClientFactory<T> { T create(String tenant, String user) throws Exception; }
+
+  interface TokenSource { String getToken() throws Exception; }
+
+  private static final class PooledClient<T>
+  {
+    private final String tenant;
+    private final String user;
+    private final T client;
+    private final String token;
+    private final long createdNanos;
+    private volatile long lastUsedNanos;
+
+    private PooledClient(String tenant1, String user1, T client1, String token1, long createdNanos1)
+    {
+      tenant = tenant1;
+      user = user1;
+      client = client1;
+      token = token1;
+      createdNanos = createdNanos1;
+      lastUsedNanos = createdNanos1;
+    }
+  }
+
+  /*
+   * Immutable view of the pool counters
+   */
+  public static final class Snapshot
+  {
+    private final String service;
+    private final int size;
+    private final long created;
+    private final long reused;
+    private final long refreshed;
+    private final long createFailures;
+    private final long evicted;
+    private final double reuseRatio;
+
+    private Snapshot(ServiceClientPool<?> pool)
+    {
+      service = pool.name;
+      size = pool.clients.size();
+      created = pool.created.get();
+      reused = pool.reused.get();
+      refreshed = pool.refreshed.get();
+      createFailures = pool.createFailures.get();
+      evicted = pool.evicted.get();
+      // Requests served by a client that already existed
+      long requests = reused + (created - refreshed);
+      reuseRatio = (requests <= 0) ? 0d : (double) reused / requests;
+    }
+
+    public String getService() { return service; }
+    public int getSize() { return size; }
+    public long getCreated() { return created; }
+    public long getReused() { return reused; }
+    public long getRefreshed() { return refreshed; }
+    public long getCreateFailures() { return createFailures; }
+    public long getEvicted() { return evicted; }
+    public double getReuseRatio() { return reuseRatio; }
+  }
+}
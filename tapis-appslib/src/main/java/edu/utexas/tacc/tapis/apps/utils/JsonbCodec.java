@@ -0,0 +1,102 @@
+package edu.utexas.tacc.tapis.apps.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+/*
+ * Shared conversions between the JSON text of jsonb columns and the objects used by the model and DAO layers.
+ *   Gson instances are thread-safe and cache the reflective type adapters they build, so each is created once
+ *   here and shared, rather than created for every value converted.
+ * Two instances are kept:
+ *   - treeGson has the default Gson configuration. It converts between text and JsonElement trees and is used by
+ *     the jOOQ binding, so the text written to the DB is unchanged from when the binding created its own Gson.
+ *   - modelGson has the Tapis configuration. It converts between text and model classes such as ParameterSet.
+ * This class is non-instantiable
+ */
+public final class JsonbCodec
+{
+  // Private constructor to make it non-instantiable
+  private JsonbCodec() { throw new AssertionError(); }
+
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  private static final Gson treeGson = new Gson();
+  private static final Gson modelGson = TapisGsonUtils.getGson();
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Parse JSON text into a JsonElement tree
+   * @param json - JSON text
+   * @return JsonElement, null if text is empty
+   */
+  public static JsonElement parse(String json)
+  {
+    return treeGson.fromJson(json, JsonElement.class);
+  }
+
+  /**
+   * Render a JsonElement tree as JSON text
+   * @param jsonElement - tree to render
+   * @return JSON text
+   */
+  public static String toJson(JsonElement jsonElement)
+  {
+    return treeGson.toJson(jsonElement);
+  }
+
+  /**
+   * Convert a model object into a JsonElement tree
+   * @param obj - object to convert
+   * @return JsonElement
+   */
+  public static JsonElement toJsonTree(Object obj)
+  {
+    return modelGson.toJsonTree(obj);
+  }
+
+  /**
+   * Read JSON text directly into a model class.
+   * The text is streamed into the target type without building an intermediate JsonElement tree.
+   * @param json - JSON text
+   * @param type - class of the result
+   * @return decoded object, null if text is null, empty or the JSON literal null
+   */
+  public static <T> T read(String json, Class<T> type)
+  {
+    if (json == null) return null;
+    try (JsonReader reader = new JsonReader(new StringReader(json)))
+    {
+      return modelGson.fromJson(reader, type);
+    }
+    catch (IOException e)
+    {
+      // Not expected for an in-memory reader
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * Read a JSON array directly into a list of a model class.
+   * @param json - JSON text
+   * @param arrayType - array class of the list elements, e.g. FileInput[].class
+   * @return fixed-size list, null if text is null, empty or the JSON literal null
+   */
+  public static <T> List<T> readList(String json, Class<T[]> arrayType)
+  {
+    T[] items = read(json, arrayType);
+    return (items == null) ? null : Arrays.asList(items);
+  }
+}
@@ -1,5 +1,9 @@
 package edu.utexas.tacc.tapis.apps.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -7,13 +11,21 @@ import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.util.*;
 import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.utexas.tacc.tapis.apps.config.RuntimeParameters;
 import edu.utexas.tacc.tapis.apps.model.App;
 import edu.utexas.tacc.tapis.apps.model.KeyValuePair;
 import edu.utexas.tacc.tapis.shared.exceptions.TapisException;
 import edu.utexas.tacc.tapis.shared.i18n.MsgUtils;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 
 
@@ -35,6 +47,10 @@ public class LibUtils
   // Location of message bundle files
   private static final String MESSAGE_BUNDLE = "edu.utexas.tacc.tapis.apps.AppLibMessages";
 
+  // Version of the page cursor format, the first element of the cursor content. Allows for a change in format.
+  private static final String PAGE_CURSOR_VERSION = "v2";
+  private static final String PAGE_CURSOR_MAC_ALGORITHM = "HmacSHA256";
+
   /* **************************************************************************** */
   /*                                Public Methods                                */
   /* **************************************************************************** */
@@ -213,6 +229,67 @@ public class LibUtils
     if (s == null) return s; else return s.strip();
   }
 
+  /**
+   * Build the opaque cursor returned with a page of apps. The cursor holds the values of the sort keys for the
+   *   last row of the page, the final key being the app version sequence id, so the next page can seek directly
+   *   past it without reading the row again.
+   * The cursor is signed. The signature covers the tenant and a description of the sort order, so a cursor may
+   *   only be used for the same listing in the same tenant.
+   * @param tenant - tenant of the listing
+   * @param sortSpec - description of the sort keys and directions of the listing
+   * @param keyValues - sort key values of the last item in the page, as strings. Values may be null.
+   * @return cursor string
+   */
+  public static String encodePageCursor(String tenant, String sortSpec, List<String> keyValues)
+  {
+    var content = new JsonArray();
+    content.add(PAGE_CURSOR_VERSION);
+    content.add(sortSpec);
+    for (String keyValue : keyValues) { content.add(keyValue); }
+    byte[] contentBytes = content.toString().getBytes(StandardCharsets.UTF_8);
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return encoder.encodeToString(contentBytes) + "." + encoder.encodeToString(signPageCursor(tenant, contentBytes));
+  }
+
+  /**
+   * Decode a cursor created by encodePageCursor()
+   * @param cursor - cursor string from a previous page
+   * @param tenant - tenant of the listing
+   * @param sortSpec - description of the sort keys and directions of the listing
+   * @return sort key values encoded in the cursor
+   * @throws IllegalArgumentException - if the cursor is not valid, was not signed by this service or was created
+   *                                    for a different tenant or sort order
+   */
+  public static List<String> decodePageCursor(String cursor, String tenant, String sortSpec)
+  {
+    try
+    {
+      String[] parts = StringUtils.split(cursor, '.');
+      if (parts.length == 2)
+      {
+        byte[] contentBytes = Base64.getUrlDecoder().decode(parts[0]);
+        byte[] signature = Base64.getUrlDecoder().decode(parts[1]);
+        if (MessageDigest.isEqual(signature, signPageCursor(tenant, contentBytes)))
+        {
+          JsonArray content = TapisGsonUtils.getGson().fromJson(new String(contentBytes, StandardCharsets.UTF_8), JsonArray.class);
+          if (content.size() > 2 && PAGE_CURSOR_VERSION.equals(content.get(0).getAsString()) &&
+              sortSpec.equals(content.get(1).getAsString()))
+          {
+            var keyValues = new ArrayList<String>();
+            for (int i = 2; i < content.size(); i++)
+            {
+              JsonElement keyValue = content.get(i);
+              keyValues.add(keyValue.isJsonNull() ? null : keyValue.getAsString());
+            }
+            return keyValues;
+          }
+        }
+      }
+    }
+    catch (RuntimeException e) { /* Fall through to common error handling */ }
+    throw new IllegalArgumentException(getMsg("APPLIB_INVALID_CURSOR", cursor));
+  }
+
 // NOTE: If these are ever needed they may need to be updated to handle the description attribute
 //  /**
 //   * Return String[] array of key=value given list of KeyValuePair
@@ -233,4 +310,50 @@ public class LibUtils
 //    List<KeyValuePair> kvList = Arrays.stream(kvArray).map(KeyValuePair::fromString).collect(Collectors.toList());
 //    return kvList;
 //  }
+
+  /*
+   * Compute the signature of the content of a page cursor for a tenant
+   */
+  private static byte[] signPageCursor(String tenant, byte[] contentBytes)
+  {
+    try
+    {
+      Mac mac = Mac.getInstance(PAGE_CURSOR_MAC_ALGORITHM);
+      mac.init(new SecretKeySpec(PageCursorKey.KEY, PAGE_CURSOR_MAC_ALGORITHM));
+      mac.update(StringUtils.defaultString(tenant).getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return mac.doFinal(contentBytes);
+    }
+    catch (GeneralSecurityException e) { throw new IllegalStateException(e); }
+  }
+
+  /*
+   * Holder for the key used to sign page cursors, created on first use.
+   * The key is derived from the service password so all instances of the service accept cursors created by any
+   *   instance.
+   */
+  private static final class PageCursorKey { static final byte[] KEY = createPageCursorKey(); }
+
+  /*
+   * Create the key used to sign page cursors.
+   * If the service password is not available, e.g. when running tests, a random key is used and cursors are
+   *   only accepted by the instance that created them.
+   */
+  private static byte[] createPageCursorKey()
+  {
+    String password = null;
+    try { password = RuntimeParameters.getInstance().getServicePassword(); }
+    catch (Exception e) { _log.warn("Unable to get service password for signing page cursors: " + e.getMessage()); }
+    if (StringUtils.isBlank(password))
+    {
+      var key = new byte[32];
+      new SecureRandom().nextBytes(key);
+      return key;
+    }
+    try
+    {
+      return MessageDigest.getInstance("SHA-256").digest(("apps-page-cursor:" + password).getBytes(StandardCharsets.UTF_8));
+    }
+    catch (GeneralSecurityException e) { throw new IllegalStateException(e); }
+  }
 }
@@ -0,0 +1,110 @@
+package edu.utexas.tacc.tapis.apps.utils;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Creates the thread pools used for background and concurrent work in the service, and shuts them all down when
+ *   the service stops.
+ * Threads are daemon threads named for the pool, so a pool that is not shut down does not keep the JVM running.
+ * Pools are registered when created. shutdownAll() stops them from accepting new work, waits for running work to
+ *   finish and then interrupts anything still running.
+ * Methods are thread-safe.
+ */
+public final class ServiceExecutors
+{
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  private static final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+  private ServiceExecutors() { }
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Create a pool with a fixed number of threads and an unbounded queue
+   * @param threadName - name of the pool threads
+   * @param numThreads - number of threads
+   * @return executor
+   */
+  public static ExecutorService newFixedThreadPool(String threadName, int numThreads)
+  {
+    return register(Executors.newFixedThreadPool(numThreads, daemonThreadFactory(threadName)));
+  }
+
+  /**
+   * Create a pool with a fixed number of threads and a bounded queue. Idle threads are kept.
+   * @param threadName - name of the pool threads
+   * @param numThreads - number of threads
+   * @param queueSize - maximum number of tasks waiting for a thread
+   * @param rejectedHandler - handles tasks submitted when the queue is full
+   * @return executor
+   */
+  public static ExecutorService newBoundedThreadPool(String threadName, int numThreads, int queueSize,
+                                                     RejectedExecutionHandler rejectedHandler)
+  {
+    return register(new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+                                           new ArrayBlockingQueue<>(queueSize), daemonThreadFactory(threadName),
+                                           rejectedHandler));
+  }
+
+  /**
+   * Create a single threaded scheduler for periodic tasks
+   * @param threadName - name of the scheduler thread
+   * @return scheduler
+   */
+  public static ScheduledExecutorService newSingleThreadScheduledExecutor(String threadName)
+  {
+    return register(Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(threadName)));
+  }
+
+  /**
+   * Shut down all pools created so far. Running tasks are given until the timeout to finish, then interrupted.
+   * @param timeout - maximum time to wait for all pools
+   * @param unit - unit of timeout
+   */
+  public static void shutdownAll(long timeout, TimeUnit unit)
+  {
+    for (ExecutorService executor : executors) { executor.shutdown(); }
+    long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+    try
+    {
+      for (ExecutorService executor : executors)
+      {
+        executor.awaitTermination(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+    }
+    catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    for (ExecutorService executor : executors) { executor.shutdownNow(); }
+  }
+
+  /* ********************************************************************** */
+  /*                            Private Methods                             */
+  /* ********************************************************************** */
+
+  private static <E extends ExecutorService> E register(E executor)
+  {
+    executors.add(executor);
+    return executor;
+  }
+
+  private static ThreadFactory daemonThreadFactory(String threadName)
+  {
+    return r -> {
+      Thread t = new Thread(r, threadName);
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
@@ -0,0 +1,250 @@
+package edu.utexas.tacc.tapis.apps.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/*
+ * Bounded in-memory cache where each entry expires a fixed time after it was stored.
+ *   Expired entries are treated as absent and are removed when read.
+ *   When the cache is full the least recently used entry is evicted to make room, in constant time.
+ * Invalidation advances a generation counter. A value loaded by a caller is only stored if no invalidation
+ *   happened between the caller reading the generation and storing the value, so a value computed from state
+ *   that was changed while it was being loaded is never kept.
+ * getOrCreate stores a value created on demand under a lock for the key, e.g. a future for single-flight loading.
+ * Hit, miss, eviction and invalidation counts are kept for reporting through a Snapshot.
+ * Instances are thread-safe. Entries are kept in an access ordered map guarded by a lock, operations other than
+ *   invalidation hold the lock only for a lookup or update of a single entry.
+ */
+public final class TtlCache<K, V>
+{
+  /* ********************************************************************** */
+  /*                                 Fields                                 */
+  /* ********************************************************************** */
+  // Access ordered, so the eldest entry is the least recently used. Guarded by synchronizing on entries.
+  private final Map<K, Entry<V>> entries;
+  private final int maxSize;
+  private final long ttlNanos;
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /* ********************************************************************** */
+  /*                              Constructors                              */
+  /* ********************************************************************** */
+
+  /**
+   * @param maxSize1 - maximum number of entries kept, must be positive
+   * @param ttl - time an entry remains valid after it is stored, must be positive
+   * @param ttlUnit - unit of ttl
+   */
+  public TtlCache(int maxSize1, long ttl, TimeUnit ttlUnit)
+  {
+    if (maxSize1 <= 0 || ttl <= 0) throw new IllegalArgumentException("TtlCache maxSize and ttl must be positive");
+    maxSize = maxSize1;
+    ttlNanos = ttlUnit.toNanos(ttl);
+    entries = new LinkedHashMap<K, TtlCache.Entry<V>>(16, 0.75f, true)
+    {
+      // Evict the least recently used entry when an insert takes the cache over the maximum size
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, TtlCache.Entry<V>> eldest)
+      {
+        if (size() <= maxSize) return false;
+        evictions.incrementAndGet();
+        return true;
+      }
+    };
+  }
+
+  /* ********************************************************************** */
+  /*                             Public Methods                             */
+  /* ********************************************************************** */
+
+  /**
+   * Get the current generation. Read this before loading a value that will be passed to put().
+   * @return current generation
+   */
+  public long getGeneration() { return generation.get(); }
+
+  /**
+   * Get an unexpired value
+   * @param key - key of entry
+   * @return value or null if not present or expired
+   */
+  public V get(K key)
+  {
+    Entry<V> entry;
+    synchronized (entries)
+    {
+      entry = entries.get(key);
+      if (entry != null && entry.isExpired(System.nanoTime()))
+      {
+        entries.remove(key);
+        entry = null;
+      }
+    }
+    if (entry == null)
+    {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  /**
+   * Store a value, unless the cache has been invalidated since the given generation was read.
+   * @param key - key of entry
+   * @param value - value to store, must not be null
+   * @param loadGeneration - value of getGeneration() read before the value was loaded
+   */
+  public void put(K key, V value, long loadGeneration)
+  {
+    var entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+    // Invalidation advances the generation while holding the lock, so checking it under the lock is sufficient
+    synchronized (entries)
+    {
+      if (loadGeneration != generation.get()) return;
+      entries.put(key, entry);
+    }
+  }
+
+  /**
+   * Get an unexpired value, or atomically create and store one if none is present.
+   * Concurrent callers for the same key all receive the same value, so storing a future gives single-flight loading.
+   * @param key - key of entry
+   * @param factory - creates the value if needed, must not return null. Should be fast, it runs under the lock.
+   * @return existing or newly created value
+   */
+  public V getOrCreate(K key, Supplier<V> factory)
+  {
+    long now = System.nanoTime();
+    synchronized (entries)
+    {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && !entry.isExpired(now))
+      {
+        hits.incrementAndGet();
+        return entry.value;
+      }
+      entry = new Entry<>(factory.get(), now + ttlNanos);
+      entries.put(key, entry);
+      misses.incrementAndGet();
+      return entry.value;
+    }
+  }
+
+  /**
+   * Remove an entry only if it currently holds the given value, e.g. to drop a failed load.
+   * @param key - key of entry
+   * @param value - value expected
+   */
+  public void remove(K key, V value)
+  {
+    synchronized (entries)
+    {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && entry.value == value) entries.remove(key);
+    }
+  }
+
+  /**
+   * Remove all entries with keys matching the predicate
+   * @param keyFilter - selects keys to remove
+   */
+  public void invalidateIf(Predicate<K> keyFilter)
+  {
+    synchronized (entries)
+    {
+      generation.incrementAndGet();
+      invalidations.incrementAndGet();
+      entries.keySet().removeIf(keyFilter);
+    }
+  }
+
+  /**
+   * Remove all entries
+   */
+  public void invalidateAll()
+  {
+    synchronized (entries)
+    {
+      generation.incrementAndGet();
+      invalidations.incrementAndGet();
+      entries.clear();
+    }
+  }
+
+  /**
+   * Take a point in time snapshot of the cache counters
+   * @return snapshot
+   */
+  public Snapshot getSnapshot()
+  {
+    return new Snapshot(this);
+  }
+
+  /* ********************************************************************** */
+  /*                                 Entry                                  */
+  /* ********************************************************************** */
+
+  private static final class Entry<V>
+  {
+    private final V value;
+    private final long expiresAtNanos;
+
+    private Entry(V value1, long expiresAtNanos1)
+    {
+      value = value1;
+      expiresAtNanos = expiresAtNanos1;
+    }
+
+    private boolean isExpired(long nowNanos) { return nowNanos - expiresAtNanos >= 0; }
+  }
+
+  /* ********************************************************************** */
+  /*                                Snapshot                                */
+  /* ********************************************************************** */
+
+  /*
+   * Immutable view of the cache counters
+   */
+  public static final class Snapshot
+  {
+    private final int size;
+    private final int maxSize;
+    private final long ttlMs;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final double hitRatio;
+
+    private Snapshot(TtlCache<?, ?> cache)
+    {
+      synchronized (cache.entries) { size = cache.entries.size(); }
+      maxSize = cache.maxSize;
+      ttlMs = TimeUnit.NANOSECONDS.toMillis(cache.ttlNanos);
+      hits = cache.hits.get();
+      misses = cache.misses.get();
+      evictions = cache.evictions.get();
+      invalidations = cache.invalidations.get();
+      long lookups = hits + misses;
+      hitRatio = (lookups == 0) ? 0d : (double) hits / lookups;
+    }
+
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getTtlMs() { return ttlMs; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getInvalidations() { return invalidations; }
+    public double getHitRatio() { return hitRatio; }
+  }
+}
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS app_updates_tenant_app_created_idx ON app_updates (obo_tenant, app_id, created);
+CREATE INDEX IF NOT EXISTS app_updates_appseq_seqid_idx ON app_updates (app_seq_id, seq_id);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS app_version_appseq_seqid_idx ON apps_versions (app_seq_id, seq_id);
+CREATE INDEX IF NOT EXISTS app_tenant_owner_id_idx ON apps (tenant, owner, id);
+CREATE INDEX IF NOT EXISTS app_tenant_created_idx ON apps (tenant, created);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS app_tenant_updated_idx ON apps (tenant, updated);
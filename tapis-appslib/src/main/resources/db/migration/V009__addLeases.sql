@@ -0,0 +1,12 @@
+-- ----------------------------------------------------------------------------------------
+--                                     LEASES
+-- ----------------------------------------------------------------------------------------
+-- Leases used to make sure background work is done by only one service instance at a time.
+-- A lease is held by a holder until it expires. The holder renews it while the work is in progress.
+CREATE TABLE IF NOT EXISTS leases
+(
+  name     TEXT NOT NULL PRIMARY KEY,
+  holder   TEXT NOT NULL,
+  expires  TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+ALTER TABLE leases OWNER TO tapis_app;
@@ -0,0 +1,54 @@
+package edu.utexas.tacc.tapis.apps;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+
+/**
+ * Utilities shared by the benchmark tests.
+ * Benchmarks only run when the system property apps.benchmark=true is set, e.g.
+ *   mvn test -Dapps.benchmark=true
+ * Results are printed to stdout.
+ */
+public final class BenchmarkUtils
+{
+  public static final String BENCHMARK_PROPERTY = "apps.benchmark";
+
+  private BenchmarkUtils() { }
+
+  /**
+   * Skip the calling test class unless benchmarks are enabled
+   */
+  public static void checkEnabled()
+  {
+    if (!Boolean.getBoolean(BENCHMARK_PROPERTY))
+      throw new SkipException("Benchmarks not enabled. Set -D" + BENCHMARK_PROPERTY + "=true");
+  }
+
+  /**
+   * Run an operation for the given number of warmup iterations and then for the given number of timed iterations.
+   * Report throughput and heap allocated per operation by the calling thread.
+   * @param label - printed with the results
+   * @param warmupIterations - number of untimed iterations
+   * @param iterations - number of timed iterations
+   * @param op - operation to run, must return a non-null result
+   */
+  public static void run(String label, int warmupIterations, int iterations, Supplier<Object> op)
+  {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    Object sink = null;
+    for (int i = 0; i < warmupIterations; i++) { sink = op.get(); }
+
+    long allocStart = threadBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) { sink = op.get(); }
+    long elapsed = System.nanoTime() - start;
+    long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocStart;
+    Assert.assertNotNull(sink);
+    System.out.printf("%s: ops/s=%.1f bytesAllocatedPerOp=%d%n", label, iterations / (elapsed / 1.0e9),
+                      allocated / iterations);
+  }
+}
@@ -400,6 +400,10 @@ public final class IntegrationUtils
   public static final List<OrderBy> orderByList3Desc = new ArrayList<>(List.of(OrderBy.fromString("container_image(desc)"),
                                                                                OrderBy.fromString("job_type(desc)")));
   public static final String startAfterNull = null;
+  public static final String cursorNull = null;
+  public static final List<String> selectListNull = null;
+  public static final List<String> selectListSummary = List.of(App.ID_FIELD, App.VERSION_FIELD, App.OWNER_FIELD);
+  public static final List<String> selectListJobAttrs = List.of(App.ID_FIELD, App.JOB_ATTRS_FIELD);
 
   public static final Boolean versionSpecifiedNull = null;
 
@@ -1,10 +1,14 @@
 package edu.utexas.tacc.tapis.apps.dao;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import com.google.gson.JsonObject;
 import org.testng.Assert;
 import org.testng.annotations.AfterSuite;
@@ -17,6 +21,7 @@ import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
 import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
 import edu.utexas.tacc.tapis.apps.IntegrationUtils;
 import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.apps.model.AppCreateResult;
 import edu.utexas.tacc.tapis.apps.model.AppHistoryItem;
 import edu.utexas.tacc.tapis.apps.model.App.AppOperation;
 import edu.utexas.tacc.tapis.apps.model.App.JobType;
@@ -37,7 +42,7 @@ public class AppsDaoTest
   private ResourceRequestUser rOwner1;
 
   // Test data
-  int numApps = 14;
+  int numApps = 20;
   App[] apps = IntegrationUtils.makeApps(numApps, "Dao");
 
   @BeforeSuite
@@ -239,6 +244,106 @@ public class AppsDaoTest
     Assert.assertTrue(appNames.contains(apps[3].getId()), "List of apps did not contain app name: " + apps[3].getId());
   }
 
+  // Test checking a set of IDs for existence in one query
+  @Test
+  public void testGetExistingAppIDs() throws Exception
+  {
+    // Create 2 apps and mark one as deleted
+    App app0 = apps[16];
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+    App app1 = apps[17];
+    appCreated = dao.createApp(rOwner1, app1, gson.toJson(app1), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app1.getId() + " version: " + app1.getVersion());
+    dao.updateDeleted(rOwner1, tenantName, app1.getId(), true);
+
+    String missingId = app0.getId() + "-missing";
+    Set<String> appIds = new HashSet<>(Set.of(app0.getId(), app1.getId(), missingId));
+    Set<String> existingIds = dao.getExistingAppIDs(tenantName, appIds, showDeletedFalse);
+    Assert.assertEquals(existingIds, Set.of(app0.getId()));
+    existingIds = dao.getExistingAppIDs(tenantName, appIds, showDeletedTrue);
+    Assert.assertEquals(existingIds, Set.of(app0.getId(), app1.getId()));
+    Assert.assertTrue(dao.getExistingAppIDs(tenantName, new HashSet<>(), showDeletedFalse).isEmpty());
+  }
+
+  // Test that a lease is held by one holder at a time, can be renewed by its holder and is free once released or expired
+  @Test
+  public void testLease() throws Exception
+  {
+    String leaseName = "apps-test-lease";
+    String holder1 = "holder1";
+    String holder2 = "holder2";
+    dao.releaseLease(leaseName, holder1);
+    dao.releaseLease(leaseName, holder2);
+    try
+    {
+      Assert.assertTrue(dao.acquireLease(leaseName, holder1, 60));
+      Assert.assertFalse(dao.acquireLease(leaseName, holder2, 60), "Lease acquired while held by another holder");
+      // Holder can renew
+      Assert.assertTrue(dao.acquireLease(leaseName, holder1, 60));
+      // Release by another holder has no effect
+      dao.releaseLease(leaseName, holder2);
+      Assert.assertFalse(dao.acquireLease(leaseName, holder2, 60));
+      // Lease is free once released
+      dao.releaseLease(leaseName, holder1);
+      Assert.assertTrue(dao.acquireLease(leaseName, holder2, 60));
+      Assert.assertFalse(dao.acquireLease(leaseName, holder1, 60));
+      // Lease is free once expired
+      Assert.assertTrue(dao.acquireLease(leaseName, holder2, -1));
+      Assert.assertTrue(dao.acquireLease(leaseName, holder1, 60));
+      Assert.assertFalse(dao.acquireLease(leaseName, holder2, 60));
+    }
+    finally
+    {
+      dao.releaseLease(leaseName, holder1);
+      dao.releaseLease(leaseName, holder2);
+    }
+  }
+
+  // Test that apps are served from the cache and that changes, local or notified by another instance, are seen
+  @Test
+  public void testAppCache() throws Exception
+  {
+    App app0 = apps[18];
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+    App tmpApp = dao.getApp(tenantName, app0.getId());
+    Assert.assertNotNull(tmpApp, "Failed to get item, id: " + app0.getId());
+
+    // Second fetch should not use the DB and should return a separate copy
+    long borrowsBefore = DbPoolMetrics.getSnapshot().getBorrows();
+    App tmpApp2 = dao.getApp(tenantName, app0.getId());
+    Assert.assertEquals(DbPoolMetrics.getSnapshot().getBorrows() - borrowsBefore, 0L);
+    Assert.assertNotSame(tmpApp2, tmpApp);
+    Assert.assertEquals(tmpApp2.getOwner(), tmpApp.getOwner());
+    // Notes held by nested objects are not shared with the cached app
+    tmpApp2.getParameterSet().getAppArgs().get(0).getNotes().addProperty("cacheTest", true);
+    tmpApp2.getFileInputs().get(0).getNotes().addProperty("cacheTest", true);
+    App tmpApp3 = dao.getApp(tenantName, app0.getId());
+    Assert.assertFalse(tmpApp3.getParameterSet().getAppArgs().get(0).getNotes().has("cacheTest"));
+    Assert.assertFalse(tmpApp3.getFileInputs().get(0).getNotes().has("cacheTest"));
+
+    // Change made through the DAO is seen immediately
+    dao.updateAppOwner(rOwner1, tenantName, app0.getId(), "newOwner");
+    Assert.assertEquals(dao.getApp(tenantName, app0.getId()).getOwner(), "newOwner");
+
+    // Notification from another instance drops the cached app
+    AppCache.startListener();
+    for (int i = 0; i < 50 && !AppCache.getSnapshot().isListening(); i++) Thread.sleep(100);
+    Assert.assertTrue(AppCache.getSnapshot().isListening(), "Cache listener not started");
+    long received = AppCache.getSnapshot().getNotificationsReceived();
+    try (var conn = AbstractDao.getConnection())
+    {
+      AppCache.notifyChanged(org.jooq.impl.DSL.using(conn), tenantName, app0.getId());
+      conn.commit();
+    }
+    for (int i = 0; i < 50 && AppCache.getSnapshot().getNotificationsReceived() == received; i++) Thread.sleep(100);
+    Assert.assertTrue(AppCache.getSnapshot().getNotificationsReceived() > received, "Notification not received");
+    borrowsBefore = DbPoolMetrics.getSnapshot().getBorrows();
+    dao.getApp(tenantName, app0.getId());
+    Assert.assertEquals(DbPoolMetrics.getSnapshot().getBorrows() - borrowsBefore, 1L);
+  }
+
   // Test retrieving all apps
   @Test
   public void testGetApps() throws Exception
@@ -254,6 +359,29 @@ public class AppsDaoTest
     {
       System.out.println("Found item with appId: " + app.getId() + " appVer: " + app.getVersion());
     }
+
+    // Streaming must give the same apps in the same order, along with the total
+    var streamedApps = new ArrayList<App>();
+    int totalCount = dao.streamApps(rOwner1, null, null, null, null, DEFAULT_LIMIT, orderByListNull, DEFAULT_SKIP,
+                                    startAfterNull, null, versionSpecifiedNull, showDeletedFalse, listTypeOwned,
+                                    setOfIDsNull, setOfIDsNull, true, streamedApps::add).getTotalCount();
+    Assert.assertEquals(streamedApps.stream().map(App::getId).collect(Collectors.toList()),
+                        apps.stream().map(App::getId).collect(Collectors.toList()));
+    Assert.assertTrue(totalCount >= streamedApps.size(), "Total less than number of apps streamed: " + totalCount);
+
+    // Streaming in small batches must give the same apps and total, with and without a limit
+    var batchedApps = new ArrayList<App>();
+    int batchedTotal = dao.streamApps(rOwner1, null, null, null, null, DEFAULT_LIMIT, orderByListNull, DEFAULT_SKIP,
+                                      startAfterNull, null, versionSpecifiedNull, showDeletedFalse, listTypeOwned,
+                                      setOfIDsNull, setOfIDsNull, true, batchedApps::add, 2).getTotalCount();
+    Assert.assertEquals(batchedApps.stream().map(App::getId).collect(Collectors.toList()),
+                        apps.stream().map(App::getId).collect(Collectors.toList()));
+    Assert.assertEquals(batchedTotal, totalCount);
+    batchedApps.clear();
+    dao.streamApps(rOwner1, null, null, null, null, -1, orderByListNull, DEFAULT_SKIP, startAfterNull, null,
+                   versionSpecifiedNull, showDeletedFalse, listTypeOwned, setOfIDsNull, setOfIDsNull, false,
+                   batchedApps::add, 2);
+    Assert.assertEquals(batchedApps.size(), totalCount);
   }
 
   // Test enable/disable/delete/undelete
@@ -379,6 +507,137 @@ public class AppsDaoTest
     }
   }
 
+  // Test create when app version exists or app is deleted. A failed create must not change the latest version.
+  @Test
+  public void testCreateConflicts() throws Exception
+  {
+    App app0 = apps[5];
+    App app0b = new App(app0, tenantName, app0.getId(), appVersion2);
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+    appCreated = dao.createApp(rOwner1, app0b, gson.toJson(app0b), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0b.getId() + " version: " + app0b.getVersion());
+
+    // Creating an existing version should fail and leave the latest version unchanged
+    boolean pass = false;
+    try { dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson); }
+    catch (IllegalStateException e)
+    {
+      Assert.assertTrue(e.getMessage().startsWith("APPLIB_APP_EXISTS"));
+      pass = true;
+    }
+    Assert.assertTrue(pass);
+    App tmpApp = dao.getApp(app0.getTenant(), app0.getId());
+    Assert.assertEquals(tmpApp.getVersion(), appVersion2);
+
+    // Creating a new version of a deleted app should fail
+    dao.updateDeleted(rOwner1, tenantName, app0.getId(), true);
+    App app0c = new App(app0, tenantName, app0.getId(), "0.0.3");
+    pass = false;
+    try { dao.createApp(rOwner1, app0c, gson.toJson(app0c), rawDataEmptyJson); }
+    catch (IllegalStateException e)
+    {
+      Assert.assertTrue(e.getMessage().startsWith("APPLIB_APP_DELETED"));
+      pass = true;
+    }
+    Assert.assertTrue(pass);
+    Assert.assertFalse(dao.checkForApp(tenantName, app0c.getId(), app0c.getVersion(), true));
+  }
+
+  // Test bulk create. Existing and repeated versions are reported, the rest are created.
+  @Test
+  public void testCreateApps() throws Exception
+  {
+    App app0 = apps[8];
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+
+    App app0b = new App(app0, tenantName, app0.getId(), appVersion2);
+    App app0c = new App(app0, tenantName, app0.getId(), appVersion2);
+    App app0d = new App(app0, tenantName, app0.getId(), "0.0.4");
+    List<App> bulkApps = List.of(app0, app0b, app0c, app0d);
+    List<String> changeDescriptions = bulkApps.stream().map(a -> gson.toJson(a)).collect(Collectors.toList());
+    List<String> rawDataList = Collections.nCopies(bulkApps.size(), rawDataEmptyJson);
+    List<AppCreateResult> results = dao.createApps(rOwner1, bulkApps, changeDescriptions, rawDataList);
+    Assert.assertEquals(results.size(), bulkApps.size());
+    Assert.assertEquals(results.get(0).getOutcome(), AppCreateResult.Outcome.EXISTS);
+    Assert.assertTrue(results.get(0).getMessage().startsWith("APPLIB_APP_EXISTS"));
+    Assert.assertEquals(results.get(1).getOutcome(), AppCreateResult.Outcome.CREATED);
+    Assert.assertEquals(results.get(2).getOutcome(), AppCreateResult.Outcome.EXISTS);
+    Assert.assertEquals(results.get(3).getOutcome(), AppCreateResult.Outcome.CREATED);
+    Assert.assertEquals(results.get(3).getVersion(), "0.0.4");
+    Assert.assertTrue(dao.checkForApp(tenantName, app0.getId(), appVersion2, false));
+    // Last version created becomes the latest version
+    App tmpApp = dao.getApp(app0.getTenant(), app0.getId());
+    Assert.assertEquals(tmpApp.getVersion(), "0.0.4");
+    Assert.assertEquals(dao.getAppHistory(tenantName, app0.getId()).size(), 3);
+
+    // Versions of a deleted app are reported as invalid
+    dao.updateDeleted(rOwner1, tenantName, app0.getId(), true);
+    App app0e = new App(app0, tenantName, app0.getId(), "0.0.5");
+    results = dao.createApps(rOwner1, List.of(app0e), List.of(gson.toJson(app0e)), List.of(rawDataEmptyJson));
+    Assert.assertEquals(results.get(0).getOutcome(), AppCreateResult.Outcome.INVALID);
+    Assert.assertTrue(results.get(0).getMessage().startsWith("APPLIB_APP_DELETED"));
+    Assert.assertFalse(dao.checkForApp(tenantName, app0e.getId(), app0e.getVersion(), true));
+  }
+
+  // Test concurrent creates of different versions of the same new app. All should succeed.
+  @Test
+  public void testCreateVersionsConcurrently() throws Exception
+  {
+    App app0 = apps[6];
+    int numVersions = 8;
+    var versions = new ArrayList<String>();
+    var executor = Executors.newFixedThreadPool(numVersions);
+    try
+    {
+      var futures = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < numVersions; i++)
+      {
+        App appVer = new App(app0, tenantName, app0.getId(), "1.0." + i);
+        versions.add(appVer.getVersion());
+        futures.add(executor.submit(() -> dao.createApp(rOwner1, appVer, gson.toJson(appVer), rawDataEmptyJson)));
+      }
+      for (var future : futures) { Assert.assertTrue(future.get()); }
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+
+    var searchList = Arrays.asList("id.eq." + app0.getId(), "version.like.%");
+    List<App> appList = dao.getApps(rOwner1, null, searchList, null, DEFAULT_LIMIT, orderByListNull, DEFAULT_SKIP,
+                                    startAfterNull, versionSpecifiedNull, showDeletedFalse, listTypeOwned,
+                                    setOfIDsNull, setOfIDsNull);
+    Assert.assertEquals(appList.size(), numVersions);
+    // Latest version must be one of the versions created
+    App tmpApp = dao.getApp(app0.getTenant(), app0.getId());
+    Assert.assertNotNull(tmpApp);
+    Assert.assertTrue(versions.contains(tmpApp.getVersion()));
+  }
+
+  // Test that retrieving the latest version is a single DB round trip when the app is not cached.
+  @Test
+  public void testGetLatestVersionSingleRoundTrip() throws Exception
+  {
+    App app0 = apps[14];
+    App app0b = new App(app0, tenantName, app0.getId(), appVersion2);
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+    appCreated = dao.createApp(rOwner1, app0b, gson.toJson(app0b), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0b.getId() + " version: " + app0b.getVersion());
+
+    // Fetching latest version of an app that is not cached should borrow exactly one connection and miss the cache
+    AppCache.invalidate(app0.getTenant(), app0.getId());
+    var cacheBefore = AppCache.getSnapshot();
+    long borrowsBefore = DbPoolMetrics.getSnapshot().getBorrows();
+    App tmpApp = dao.getApp(app0.getTenant(), app0.getId());
+    Assert.assertEquals(DbPoolMetrics.getSnapshot().getBorrows() - borrowsBefore, 1L);
+    Assert.assertEquals(AppCache.getSnapshot().getCache().getMisses() - cacheBefore.getCache().getMisses(), 1L);
+    Assert.assertNotNull(tmpApp, "Failed to get item, id: " + app0.getId());
+    Assert.assertEquals(tmpApp.getVersion(), appVersion2);
+  }
+
   // Test behavior when app is missing, especially for cases where service layer depends on the behavior.
   //  putApp - throws not found exception
   //  patchApp - throws not found exception
@@ -452,4 +711,44 @@ public class AppsDaoTest
       Assert.assertNotNull(item.getCreated(), "Fetched created timestamp should not be null");
     }
   }
+
+  // Test history with multiple versions. Each update should appear once and paging should walk all items.
+  @Test
+  public void testGetAppHistoryPaging() throws Exception
+  {
+    App app0 = apps[15];
+    App app0b = new App(app0, tenantName, app0.getId(), appVersion2);
+    boolean appCreated = dao.createApp(rOwner1, app0, gson.toJson(app0), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0.getId() + " version: " + app0.getVersion());
+    appCreated = dao.createApp(rOwner1, app0b, gson.toJson(app0b), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app0b.getId() + " version: " + app0b.getVersion());
+
+    // One create record per version, no fan-out across versions
+    List<AppHistoryItem> appHistoryList = dao.getAppHistory(tenantName, app0.getId());
+    Assert.assertEquals(appHistoryList.size(), 2);
+    Assert.assertEquals(appHistoryList.get(0).getAppVersion(), app0.getVersion());
+    Assert.assertEquals(appHistoryList.get(1).getAppVersion(), appVersion2);
+
+    // Walk the history one item at a time using startAfter
+    var page = new ArrayList<AppHistoryItem>();
+    int count = dao.getAppHistory(tenantName, app0.getId(), 1, -1, page::add);
+    Assert.assertEquals(count, 1);
+    Assert.assertEquals(page.get(0).getSeqId(), appHistoryList.get(0).getSeqId());
+    page.clear();
+    count = dao.getAppHistory(tenantName, app0.getId(), 1, appHistoryList.get(0).getSeqId(), page::add);
+    Assert.assertEquals(count, 1);
+    Assert.assertEquals(page.get(0).getSeqId(), appHistoryList.get(1).getSeqId());
+    page.clear();
+    count = dao.getAppHistory(tenantName, app0.getId(), 1, appHistoryList.get(1).getSeqId(), page::add);
+    Assert.assertEquals(count, 0);
+
+    // startAfter must be an item in the history of the same app
+    App app1 = apps[19];
+    appCreated = dao.createApp(rOwner1, app1, gson.toJson(app1), rawDataEmptyJson);
+    Assert.assertTrue(appCreated, "Item not created, id: " + app1.getId() + " version: " + app1.getVersion());
+    int otherSeqId = dao.getAppHistory(tenantName, app1.getId()).get(0).getSeqId();
+    Assert.assertEquals(dao.getAppHistory(tenantName, app0.getId(), 1, otherSeqId, page::add), -1);
+    Assert.assertEquals(dao.getAppHistory(tenantName, app0.getId(), 1, Integer.MAX_VALUE, page::add), -1);
+    Assert.assertTrue(page.isEmpty());
+  }
 }
@@ -0,0 +1,178 @@
+package edu.utexas.tacc.tapis.apps.dao;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gson.Gson;
+import org.jooq.impl.DSL;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.BenchmarkUtils;
+import edu.utexas.tacc.tapis.apps.IntegrationUtils;
+import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.search.SearchUtils;
+import edu.utexas.tacc.tapis.shared.threadlocal.TapisThreadContext;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
+import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
+
+import static edu.utexas.tacc.tapis.apps.IntegrationUtils.*;
+import static edu.utexas.tacc.tapis.shared.threadlocal.SearchParameters.DEFAULT_SKIP;
+
+/**
+ * Benchmarks for the AppsDao getApps() and getApp() calls against a DB running locally.
+ * Creates a large number of apps, so these only run when the system property apps.benchmark=true is set, e.g.
+ *   mvn test -Dapps.benchmark=true -Dapps.benchmark.numApps=10000
+ * Results are printed to stdout.
+ */
+@Test(groups={"integration"})
+public class SearchDaoBenchmarkTest
+{
+  private static final String NUM_APPS_PROPERTY = "apps.benchmark.numApps";
+  private static final int DEFAULT_NUM_APPS = 10000;
+  private static final int WARMUP_ITERATIONS = 2;
+  private static final int ITERATIONS = 5;
+
+  private AppsDaoImpl dao;
+  private static ResourceRequestUser rOwner1;
+  private static final Gson gson = TapisGsonUtils.getGson();
+
+  // Test data
+  private static final String testKey = "SrchBench";
+  private static final String appIdLikeAll = "id.like.*" + testKey + "*";
+
+  int numApps = Integer.getInteger(NUM_APPS_PROPERTY, DEFAULT_NUM_APPS);
+  App[] apps;
+
+  @BeforeClass
+  public void setup() throws Exception
+  {
+    BenchmarkUtils.checkEnabled();
+    System.out.println("Executing BeforeClass setup method: " + SearchDaoBenchmarkTest.class.getSimpleName());
+    dao = new AppsDaoImpl();
+    rOwner1 = new ResourceRequestUser(new AuthenticatedUser(owner1, tenantName,
+                              TapisThreadContext.AccountType.user.name(), null, owner1, tenantName, null, null, null));
+    apps = IntegrationUtils.makeApps(numApps, testKey);
+
+    // Cleanup anything leftover from previous failed run
+    teardown();
+
+    Instant createBegin = Instant.now();
+    for (App app : apps)
+    {
+      boolean itemCreated = dao.createApp(rOwner1, app, gson.toJson(app), rawDataEmptyJson);
+      Assert.assertTrue(itemCreated, "Item not created, id: " + app.getId());
+    }
+    System.out.println("Created " + numApps + " apps in: " + Duration.between(createBegin, Instant.now()));
+  }
+
+  @AfterClass
+  public void teardown() throws Exception
+  {
+    if (!Boolean.getBoolean(BenchmarkUtils.BENCHMARK_PROPERTY) || apps == null) return;
+    System.out.println("Executing AfterClass teardown for " + SearchDaoBenchmarkTest.class.getSimpleName());
+    for (App app : apps) { dao.hardDeleteApp(tenantName, app.getId()); }
+  }
+
+  /*
+   * Compare fetching all attributes with fetching only summary attributes when listing every app in the tenant.
+   * Reports heap allocated per request by the calling thread and the size of the column data selected.
+   */
+  @Test
+  public void benchmarkSelectList() throws Exception
+  {
+    var verifiedSearchList = Collections.singletonList(SearchUtils.validateAndProcessSearchCondition(appIdLikeAll));
+
+    long fullBytes = getSelectedBytes("pg_column_size(a.*) + pg_column_size(v.*)");
+    long summaryBytes = getSelectedBytes("pg_column_size(row(a.seq_id, v.seq_id, a.tenant, a.id, v.version, a.owner, " +
+                                         "a.enabled, v.version_enabled, v.locked, a.deleted))");
+
+    runSelectList("allAttributes", verifiedSearchList, selectListNull, fullBytes);
+    runSelectList("summaryAttributes", verifiedSearchList, selectListSummary, summaryBytes);
+  }
+
+  /*
+   * Latency of retrieving the latest version of an app from the DB. The app is dropped from AppCache before each
+   *   request so that every request runs the query.
+   */
+  @Test
+  public void benchmarkGetLatestVersion() throws Exception
+  {
+    App app0 = apps[0];
+    int iterations = 200;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) { getLatestVersionUncached(app0); }
+    long[] timings = new long[iterations];
+    for (int i = 0; i < iterations; i++)
+    {
+      long start = System.nanoTime();
+      App tmpApp = getLatestVersionUncached(app0);
+      timings[i] = System.nanoTime() - start;
+      Assert.assertNotNull(tmpApp, "Failed to get item, id: " + app0.getId());
+    }
+    Arrays.sort(timings);
+    System.out.printf("getApp latest version: apps=%d iterations=%d p50=%.3fms p99=%.3fms%n", numApps, iterations,
+                      timings[iterations/2]/1.0e6, timings[(iterations*99)/100]/1.0e6);
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  private void runSelectList(String label, List<String> searchList, List<String> selectList, long bytesSelected)
+          throws Exception
+  {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) { getAllApps(searchList, selectList); }
+
+    long[] timings = new long[ITERATIONS];
+    long allocated = 0;
+    for (int i = 0; i < ITERATIONS; i++)
+    {
+      long allocStart = threadBean.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+      List<App> results = getAllApps(searchList, selectList);
+      timings[i] = System.nanoTime() - start;
+      allocated += threadBean.getThreadAllocatedBytes(threadId) - allocStart;
+      Assert.assertEquals(results.size(), numApps, "Incorrect result count");
+    }
+    Arrays.sort(timings);
+    System.out.printf("getApps %s: apps=%d p50=%.1fms bytesSelected=%d heapAllocatedPerRequest=%d%n", label, numApps,
+                      timings[ITERATIONS/2]/1.0e6, bytesSelected, allocated/ITERATIONS);
+  }
+
+  private App getLatestVersionUncached(App app) throws Exception
+  {
+    AppCache.invalidate(app.getTenant(), app.getId());
+    return dao.getApp(app.getTenant(), app.getId());
+  }
+
+  private List<App> getAllApps(List<String> searchList, List<String> selectList) throws Exception
+  {
+    return dao.getApps(rOwner1, null, searchList, null, selectList, limitNone, orderByListNull, DEFAULT_SKIP,
+                       startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse, listTypeOwned,
+                       setOfIDsNull, setOfIDsNull);
+  }
+
+  /*
+   * Total size in bytes of the column data selected for all benchmark apps, given an expression for one row
+   */
+  private long getSelectedBytes(String rowSizeExpr) throws Exception
+  {
+    try (Connection conn = AbstractDao.getConnection())
+    {
+      Long bytes = DSL.using(conn).fetchOne("SELECT sum(" + rowSizeExpr + ") FROM tapis_app.apps a" +
+                                            " JOIN tapis_app.apps_versions v ON v.app_seq_id = a.seq_id" +
+                                            " WHERE a.id LIKE ?", "%" + testKey + "%").get(0, Long.class);
+      return (bytes == null) ? 0 : bytes;
+    }
+  }
+}
@@ -7,15 +7,20 @@ import edu.utexas.tacc.tapis.sharedapi.security.AuthenticatedUser;
 import edu.utexas.tacc.tapis.sharedapi.security.ResourceRequestUser;
 import edu.utexas.tacc.tapis.apps.IntegrationUtils;
 import edu.utexas.tacc.tapis.apps.model.App;
+import edu.utexas.tacc.tapis.apps.model.AppsPage;
+import edu.utexas.tacc.tapis.apps.utils.LibUtils;
+import edu.utexas.tacc.tapis.shared.threadlocal.OrderBy;
 import org.testng.Assert;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -133,6 +138,9 @@ public class SearchDaoTest
     apps[numApps-1].setDescription(specialChar7Str);
     apps[numApps-1].setRuntimeVersion(escapedCommanInListValue);
 
+    // Leave jobDescription unset for some apps, for testing paging with a cursor when sort key values are null
+    for (int i = 1; i < numApps; i += 3) { apps[i].setJobDescription(null); }
+
     // Create all the apps in the dB using the in-memory objects, recording start and end times
     LocalDateTime createBegin = TapisUtils.getUTCTimeNow();
     Thread.sleep(500);
@@ -473,6 +481,179 @@ public class SearchDaoTest
     checkOrder(searchResults, numApps - startWith, numApps - limit);
   }
 
+  /*
+   * Test sorting: limit, orderBy, cursor
+   * Sort on a column with many duplicate values, so pages only come out right if the tiebreaker is applied.
+   */
+  @Test(groups={"integration"})
+  public void testSortingCursor() throws Exception
+  {
+    String verifiedCondStr = SearchUtils.validateAndProcessSearchCondition(appIdLikeAll);
+    var verifiedSearchList = Collections.singletonList(verifiedCondStr);
+    System.out.println("VerfiedInput: " + verifiedSearchList);
+
+    List<List<OrderBy>> orderByLists = List.of(List.of(OrderBy.fromString("owner(asc)")),
+                                               List.of(OrderBy.fromString("owner(desc)")),
+                                               List.of(OrderBy.fromString("owner(asc)"), OrderBy.fromString("id(desc)")),
+                                               // Sort keys containing nulls, nulls sort last for asc and first for desc
+                                               List.of(OrderBy.fromString("jobDescription(asc)")),
+                                               List.of(OrderBy.fromString("jobDescription(desc)")),
+                                               List.of(OrderBy.fromString("owner(desc)"), OrderBy.fromString("jobDescription(asc)")),
+                                               List.of(OrderBy.fromString("jobDescription(desc)"), OrderBy.fromString("id(asc)")));
+    int limit = 3;
+    for (List<OrderBy> orderByList : orderByLists)
+    {
+      // Fetch everything in one call to get the expected order
+      List<App> allResults = dao.getApps(rOwner1, null, verifiedSearchList, null, DEFAULT_LIMIT, orderByList, DEFAULT_SKIP,
+                                         startAfterNull, versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null);
+      assertEquals(allResults.size(), numApps, "Incorrect result count");
+
+      // Walk the same results one page at a time using the cursor
+      var pagedIds = new ArrayList<String>();
+      String cursor = null;
+      AppsPage page;
+      do
+      {
+        page = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByList,
+                               DEFAULT_SKIP, startAfterNull, cursor, versionSpecifiedNull, showDeletedFalse,
+                               listTypeAll, viewableIDsAll, null, false);
+        for (App app : page.getApps()) { pagedIds.add(app.getId()); }
+        cursor = page.getNextCursor();
+        assertEquals(cursor != null, page.getApps().size() == limit, "Cursor should be returned only for a full page");
+      } while (cursor != null);
+      var allIds = new ArrayList<String>();
+      for (App app : allResults) { allIds.add(app.getId()); }
+      assertEquals(pagedIds, allIds, "Incorrect paging order for orderBy: " + orderByList);
+
+      // Streaming in batches continues from a cursor at each batch boundary and must give the same order
+      var streamedIds = new ArrayList<String>();
+      dao.streamApps(rOwner1, null, verifiedSearchList, null, selectListNull, -1, orderByList, DEFAULT_SKIP,
+                     startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll,
+                     null, false, app -> streamedIds.add(app.getId()), limit);
+      assertEquals(streamedIds, allIds, "Incorrect streaming order for orderBy: " + orderByList);
+    }
+
+    // Cursor may not be combined with skip or startAfter. Invalid cursor is rejected.
+    String cursor = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc,
+                                    DEFAULT_SKIP, startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse,
+                                    listTypeAll, viewableIDsAll, null, false).getNextCursor();
+    Assert.assertNotNull(cursor);
+    Assert.expectThrows(IllegalArgumentException.class, () ->
+      dao.getApps(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc, 1, startAfterNull, cursor,
+                  versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null));
+    Assert.expectThrows(IllegalArgumentException.class, () ->
+      dao.getApps(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc, DEFAULT_SKIP, "abc", cursor,
+                  versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null));
+    Assert.expectThrows(IllegalArgumentException.class, () ->
+      dao.getApps(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc, DEFAULT_SKIP, startAfterNull, "bad!",
+                  versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null));
+
+    // Cursor must be signed by the service and is only valid for the same tenant and sort order
+    String[] cursorParts = cursor.split("\\.");
+    String forgedContent = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            new String(Base64.getUrlDecoder().decode(cursorParts[0]), StandardCharsets.UTF_8)
+                    .replace("\"", "\" ").getBytes(StandardCharsets.UTF_8));
+    var invalidCursors = List.of(forgedContent + "." + cursorParts[1], cursorParts[0] + "." + cursorParts[0],
+                                 LibUtils.encodePageCursor("otherTenant", "apps.id.asc,apps_versions.seq_id.asc",
+                                                           List.of("a", "1")));
+    for (String invalidCursor : invalidCursors)
+    {
+      Assert.expectThrows(IllegalArgumentException.class, () ->
+        dao.getApps(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc, DEFAULT_SKIP,
+                    startAfterNull, invalidCursor, versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null));
+    }
+    Assert.expectThrows(IllegalArgumentException.class, () ->
+      dao.getApps(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListDesc, DEFAULT_SKIP,
+                  startAfterNull, cursor, versionSpecifiedNull, showDeletedFalse, listTypeAll, viewableIDsAll, null));
+  }
+
+  /*
+   * Test fetching a page along with the total: limit, skip, cursor
+   * Total ignores limit, skip and cursor and must match getAppsCount
+   */
+  @Test(groups={"integration"})
+  public void testPageTotal() throws Exception
+  {
+    String verifiedCondStr = SearchUtils.validateAndProcessSearchCondition(appIdLikeAll);
+    var verifiedSearchList = Collections.singletonList(verifiedCondStr);
+    System.out.println("VerfiedInput: " + verifiedSearchList);
+    int expectedTotal = dao.getAppsCount(rOwner1, null, verifiedSearchList, null, orderByListNull, startAfterNull,
+                                         versionSpecifiedNull, showDeletedFalse, listTypeOwned, viewableIDsNull,
+                                         sharedIDsNull);
+    assertEquals(expectedTotal, numApps/2, "Incorrect count");
+
+    // Total computed with the page, for a full page, a partial page, no limit, limit 0 and skip past the end.
+    int[][] limitSkipCases = {{5, 0}, {10, 7}, {-1, 0}, {0, 0}, {10, 100}};
+    for (int[] limitSkip : limitSkipCases)
+    {
+      AppsPage page = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limitSkip[0],
+                                      orderByListNull, limitSkip[1], startAfterNull, cursorNull, versionSpecifiedNull,
+                                      showDeletedFalse, listTypeOwned, viewableIDsNull, sharedIDsNull, true);
+      assertEquals(page.getTotalCount(), expectedTotal, "Incorrect total for limit, skip: " + Arrays.toString(limitSkip));
+    }
+
+    // Total ignores the cursor
+    int limit = 3;
+    AppsPage page = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc,
+                                    DEFAULT_SKIP, startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse,
+                                    listTypeAll, viewableIDsAll, null, true);
+    assertEquals(page.getTotalCount(), numApps, "Incorrect total");
+    String cursor = page.getNextCursor();
+    page = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc,
+                           DEFAULT_SKIP, startAfterNull, cursor, versionSpecifiedNull, showDeletedFalse,
+                           listTypeAll, viewableIDsAll, null, true);
+    assertEquals(page.getApps().size(), limit, "Incorrect result count");
+    assertEquals(page.getTotalCount(), numApps, "Incorrect total with cursor");
+
+    // Total not computed unless requested
+    page = dao.getAppsPage(rOwner1, null, verifiedSearchList, null, selectListNull, limit, orderByListAsc,
+                           DEFAULT_SKIP, startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse,
+                           listTypeOwned, viewableIDsNull, sharedIDsNull, false);
+    assertEquals(page.getTotalCount(), AppsPage.TOTAL_NOT_COMPUTED, "Total should not be computed");
+  }
+
+  /*
+   * Test select list: only selected attributes are fetched, JSONB columns only for jobAttributes.
+   */
+  @Test(groups={"integration"})
+  public void testSelectList() throws Exception
+  {
+    String verifiedCondStr = SearchUtils.validateAndProcessSearchCondition(appIdLikeAll);
+    var verifiedSearchList = Collections.singletonList(verifiedCondStr);
+    List<App> searchResults;
+
+    // Summary attributes. Description and the JSONB based attributes should not be set.
+    searchResults = dao.getApps(rOwner1, null, verifiedSearchList, null, selectListSummary, DEFAULT_LIMIT, orderByListAsc,
+                                DEFAULT_SKIP, startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse,
+                                listTypeAll, viewableIDsAll, null);
+    assertEquals(searchResults.size(), numApps, "Incorrect result count");
+    checkOrder(searchResults, 1, numApps);
+    for (App app : searchResults)
+    {
+      Assert.assertNotNull(app.getVersion());
+      Assert.assertNotNull(app.getOwner());
+      Assert.assertNull(app.getDescription());
+      Assert.assertNull(app.getParameterSet());
+      Assert.assertNull(app.getFileInputs());
+      Assert.assertNull(app.getSubscriptions());
+    }
+
+    // Job attributes. JSONB based attributes should be set.
+    searchResults = dao.getApps(rOwner1, null, verifiedSearchList, null, selectListJobAttrs, DEFAULT_LIMIT, orderByListAsc,
+                                DEFAULT_SKIP, startAfterNull, cursorNull, versionSpecifiedNull, showDeletedFalse,
+                                listTypeAll, viewableIDsAll, null);
+    assertEquals(searchResults.size(), numApps, "Incorrect result count");
+    for (App app : searchResults)
+    {
+      Assert.assertNotNull(app.getParameterSet());
+      Assert.assertNotNull(app.getFileInputs());
+      Assert.assertNotNull(app.getFileInputArrays());
+      Assert.assertNotNull(app.getSubscriptions());
+      Assert.assertEquals(app.getExecSystemId(), execSystemId1);
+      Assert.assertNull(app.getContainerImage());
+    }
+  }
+
   /*
    * Test listType options.
    * Test what we can without having to create shares or grant permissions.
@@ -0,0 +1,59 @@
+package edu.utexas.tacc.tapis.apps.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.model.AppShare;
+import edu.utexas.tacc.tapis.security.client.SKClient;
+import edu.utexas.tacc.tapis.security.client.gen.model.SkShare;
+
+/**
+ * Tests for building listing share info from the app shares returned by SK.
+ */
+@Test(groups={"unit"})
+public class AppShareInfoTest
+{
+  @Test
+  public void testShareMapping()
+  {
+    var skShares = new ArrayList<SkShare>();
+    // app1 shared publicly and with two users, each user share has READ and EXECUTE entries
+    skShares.add(makeShare("app1", SKClient.PUBLIC_GRANTEE));
+    skShares.add(makeShare("app1", "user1"));
+    skShares.add(makeShare("app1", "user1"));
+    skShares.add(makeShare("app1", "user2"));
+    // app2 only shared publicly
+    skShares.add(makeShare("app2", SKClient.PUBLIC_GRANTEE));
+    // app3 only shared with a user. Other public grantees and incomplete entries are ignored.
+    skShares.add(makeShare("app3", "user3"));
+    skShares.add(makeShare("app3", "~other"));
+    skShares.add(makeShare("app4", null));
+    skShares.add(makeShare(null, "user4"));
+
+    Map<String, AppShare> appShares = AppsServiceImpl.getAppSharesFromSkShares(skShares);
+    Assert.assertEquals(appShares.keySet(), Set.of("app1", "app2", "app3"));
+    Assert.assertTrue(appShares.get("app1").isPublic());
+    Assert.assertEquals(appShares.get("app1").getUserList(), Set.of("user1", "user2"));
+    Assert.assertTrue(appShares.get("app2").isPublic());
+    Assert.assertTrue(appShares.get("app2").getUserList().isEmpty());
+    Assert.assertFalse(appShares.get("app3").isPublic());
+    Assert.assertEquals(appShares.get("app3").getUserList(), Set.of("user3"));
+
+    // No shares
+    Assert.assertTrue(AppsServiceImpl.getAppSharesFromSkShares(null).isEmpty());
+    Assert.assertTrue(AppsServiceImpl.getAppSharesFromSkShares(List.of()).isEmpty());
+  }
+
+  private static SkShare makeShare(String appId, String grantee)
+  {
+    var skShare = new SkShare();
+    skShare.setResourceId1(appId);
+    skShare.setGrantee(grantee);
+    return skShare;
+  }
+}
@@ -2,10 +2,13 @@ package edu.utexas.tacc.tapis.apps.service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotFoundException;
 import com.google.gson.JsonObject;
@@ -82,7 +85,7 @@ public class AppsServiceTest
   private static final Set<Permission> testPermsMODIFY = new HashSet<>(Set.of(Permission.MODIFY));
 
   // Create test app definitions in memory
-  int numApps = 29; // UNUSED Apps (start with 0): ALL IN USE
+  int numApps = 31; // UNUSED Apps (start with 0): ALL IN USE
   App[] apps = IntegrationUtils.makeApps(numApps, testKey);
 
   @BeforeSuite
@@ -246,6 +249,35 @@ public class AppsServiceTest
     checkCommonAppAttrs(app0, tmpApp);
     tmpApp = svc.getApp(rFilesSvc1, app0.getId(), app0.getVersion(), false, null, null);
     checkCommonAppAttrs(app0, tmpApp);
+
+    // Metadata used for conditional requests must match the full app
+    App metaApp = svc.getAppMetadata(rOwner1, app0.getId(), app0.getVersion(), false, null, null);
+    Assert.assertNotNull(metaApp);
+    Assert.assertEquals(metaApp.getUuid(), tmpApp.getUuid());
+    Assert.assertEquals(metaApp.getUpdated(), tmpApp.getUpdated());
+    Assert.assertEquals(metaApp.getOwner(), tmpApp.getOwner());
+    Assert.assertEquals(metaApp.isEnabled(), tmpApp.isEnabled());
+    Assert.assertEquals(metaApp.isContainerized(), tmpApp.isContainerized());
+    Assert.assertNull(svc.getAppMetadata(rOwner1, app0.getId(), "no-such-version", false, null, null));
+
+    // Concurrent identical requests may share one result, each caller must still get its own App
+    var executor = Executors.newFixedThreadPool(8);
+    try
+    {
+      var futures = new ArrayList<Future<App>>();
+      for (int i = 0; i < 20; i++)
+      {
+        futures.add(executor.submit(() -> svc.getApp(rOwner1, app0.getId(), app0.getVersion(), false, null, null)));
+      }
+      var results = new HashSet<App>();
+      for (Future<App> f : futures)
+      {
+        App result = f.get();
+        checkCommonAppAttrs(app0, result);
+        Assert.assertTrue(results.add(result), "Same App instance returned to more than one caller");
+      }
+    }
+    finally { executor.shutdownNow(); }
   }
 
   // Test updating an app using put
@@ -462,6 +494,53 @@ public class AppsServiceTest
     checkCommonAppAttrs(app0, tmpAppPartial);
   }
 
+  // Test that a patch rejected after it has been merged does not change the app seen by later requests
+  @Test
+  public void testPatchAppRejected() throws Exception
+  {
+    App app0 = apps[30];
+    String appId = app0.getId();
+    String appVersion = app0.getVersion();
+    svc.createApp(rOwner1, app0, rawDataEmptyJson);
+    App origApp = svc.getApp(rOwner1, appId, appVersion, false, null, null);
+    ArchiveFilter origFilter = origApp.getParameterSet().getArchiveFilter();
+    LogConfig origLogConfig = origApp.getParameterSet().getLogConfig();
+
+    // Patch archiveFilter and logConfig, which are updated in place in the merged app, along with envVariables
+    //   that fail validation.
+    ParameterSet parameterSet = new ParameterSet(appArgListNull, containerArgListNull, schedulerOptionListNull,
+                                                 envVariablesReject, archiveFilter2, logConfig2);
+    JobAttributes jobAttributes = new JobAttributes(jobDescriptionNull, dynamicExecSystemNull, execSystemConstraintsNull,
+            execSystemIdNull, execSystemExecDirNull, execSystemInputDirNull, execSystemOutputDirNull,
+            dtnSystemInputDirNull, dtnSystemOutputDirNull, execSystemLogicalQueueNull,
+            archiveSystemIdNull, archiveSystemDirNull, archiveOnAppErrorNull,
+            isMpiNull, mpiCmdNull, cmdPrefixNull,
+            parameterSet, finListNull, fiaListNull, nodeCountNull,
+            coresPerNodeNull, memoryMBNull, maxMinutesNull, notifListNull, jobTagsNull);
+    PatchApp patchApp = new PatchApp(descriptionNull, runtimeNull, runtimeVersionNull, runtimeOptionsNull,
+            containerImageNull, App.JobType.UNSET, maxJobsNull, maxJobsPerUserNull, strictFileInputsNull,
+            jobAttributes, tagsNull, notesNull);
+    boolean pass = false;
+    try { svc.patchApp(rOwner1, appId, appVersion, patchApp, rawDataEmptyJson); }
+    catch (Exception e)
+    {
+      Assert.assertTrue(e.getMessage().contains("APPLIB_ENV_VAR_FIXED_UNSET"));
+      pass = true;
+    }
+    Assert.assertTrue(pass);
+
+    // App returned, from the cache, must be unchanged
+    App tmpApp = svc.getApp(rOwner1, appId, appVersion, false, null, null);
+    ArchiveFilter tmpFilter = tmpApp.getParameterSet().getArchiveFilter();
+    LogConfig tmpLogConfig = tmpApp.getParameterSet().getLogConfig();
+    Assert.assertEquals(tmpFilter.getIncludes(), origFilter.getIncludes());
+    Assert.assertEquals(tmpFilter.getExcludes(), origFilter.getExcludes());
+    Assert.assertEquals(tmpFilter.isIncludeLaunchFiles(), origFilter.isIncludeLaunchFiles());
+    Assert.assertEquals(tmpLogConfig.getStdoutFilename(), origLogConfig.getStdoutFilename());
+    Assert.assertEquals(tmpLogConfig.getStderrFilename(), origLogConfig.getStderrFilename());
+    Assert.assertEquals(tmpApp.getParameterSet().getEnvVariables(), origApp.getParameterSet().getEnvVariables());
+  }
+
   // Test changing app owner
   @Test
   public void testChangeAppOwner() throws Exception
@@ -1560,6 +1639,26 @@ public class AppsServiceTest
     }
   }
 
+  // Test that the reconciler removes permissions for an app that no longer exists
+  @Test
+  public void testReconcileOrphanedPerms() throws Exception
+  {
+    App app0 = apps[29];
+    svc.createApp(rOwner1, app0, rawDataEmptyJson);
+    svc.grantUserPermissions(rOwner1, app0.getId(), testUser3, testPermsREAD, rawDataEmptyJson);
+    Assert.assertEquals(svc.getUserPermissions(rOwner1, app0.getId(), testUser3), testPermsREAD);
+    // Remove the app record only, leaving the permissions in SK
+    new AppsDaoImpl().hardDeleteApp(tenantName, app0.getId());
+    Assert.assertFalse(svc.checkForApp(rOwner1, app0.getId(), true));
+
+    Assert.assertTrue(svcImpl.reconcileOrphanedSKPerms(), "Reconciler did not run");
+
+    // Create the app again, the orphaned permissions should not have been carried over
+    svc.createApp(rOwner1, app0, rawDataEmptyJson);
+    Set<Permission> userPerms = svc.getUserPermissions(rOwner1, app0.getId(), testUser3);
+    Assert.assertTrue(userPerms.isEmpty(), "Orphaned permissions not removed. Found: " + userPerms);
+  }
+
   // Test retrieving app sharing information
   // App owned by testUser5, shared with testUser6
   @Test
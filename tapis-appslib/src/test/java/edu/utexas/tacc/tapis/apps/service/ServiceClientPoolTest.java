@@ -0,0 +1,137 @@
+package edu.utexas.tacc.tapis.apps.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for ServiceClientPool, used to keep SK and Systems clients warm.
+ * Time and the current service JWT are controlled by the tests.
+ */
+@Test(groups={"unit"})
+public class ServiceClientPoolTest
+{
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicReference<String> token = new AtomicReference<>("jwt1");
+
+  @Test
+  public void testReuse() throws Exception
+  {
+    var pool = newPool((t, u) -> new Object(), 10, 1, 2, 5);
+    Object c1 = pool.getClient("tenant1", "user1");
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c1);
+    Assert.assertNotSame(pool.getClient("tenant1", "user2"), c1);
+    var snapshot = pool.getSnapshot();
+    Assert.assertEquals(snapshot.getSize(), 2);
+    Assert.assertEquals(snapshot.getCreated(), 2);
+    Assert.assertEquals(snapshot.getReused(), 1);
+  }
+
+  /*
+   * Clients past the refresh age are replaced by refresh(), idle clients are dropped
+   */
+  @Test
+  public void testRefresh() throws Exception
+  {
+    var pool = newPool((t, u) -> new Object(), 10, 50, 10000, 150);
+    Object c1 = pool.getClient("tenant1", "user1");
+    pool.refresh();
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c1);
+    clock.addAndGet(100);
+    pool.refresh();
+    Object c2 = pool.getClient("tenant1", "user1");
+    Assert.assertNotSame(c2, c1);
+    Assert.assertEquals(pool.getSnapshot().getRefreshed(), 1);
+    clock.addAndGet(150);
+    pool.refresh();
+    Assert.assertEquals(pool.getSnapshot().getSize(), 0);
+    Assert.assertEquals(pool.getSnapshot().getEvicted(), 1);
+  }
+
+  /*
+   * Clients past the maximum age are replaced when requested
+   */
+  @Test
+  public void testMaxAge() throws Exception
+  {
+    var pool = newPool((t, u) -> new Object(), 10, 50, 100, 10000);
+    Object c1 = pool.getClient("tenant1", "user1");
+    clock.addAndGet(99);
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c1);
+    clock.addAndGet(1);
+    Assert.assertNotSame(pool.getClient("tenant1", "user1"), c1);
+  }
+
+  /*
+   * Clients created with a service JWT that is no longer current are not handed out, and are replaced by refresh().
+   * While the JWT is expired every request creates a client, so the factory can refresh the JWT.
+   */
+  @Test
+  public void testTokenChange() throws Exception
+  {
+    var pool = newPool((t, u) -> new Object(), 10, 10000, 20000, 30000);
+    Object c1 = pool.getClient("tenant1", "user1");
+    Object c2 = pool.getClient("tenant1", "user2");
+    token.set("jwt2");
+    Object c3 = pool.getClient("tenant1", "user1");
+    Assert.assertNotSame(c3, c1);
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c3);
+    pool.refresh();
+    Assert.assertNotSame(pool.getClient("tenant1", "user2"), c2);
+    Assert.assertEquals(pool.getSnapshot().getRefreshed(), 1);
+
+    token.set(null);
+    Object c4 = pool.getClient("tenant1", "user1");
+    Assert.assertNotSame(c4, c3);
+    Assert.assertNotSame(pool.getClient("tenant1", "user1"), c4);
+    token.set("jwt3");
+    Object c5 = pool.getClient("tenant1", "user1");
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c5);
+
+    // A failure to get the JWT is treated as an expired JWT
+    var failingPool = new ServiceClientPool<Object>("test", (t, u) -> new Object(),
+                                                    () -> { throw new IllegalStateException("no jwt"); },
+                                                    10, 10000, 20000, 30000, TimeUnit.MILLISECONDS, clock::get);
+    Assert.assertNotSame(failingPool.getClient("tenant1", "user1"), failingPool.getClient("tenant1", "user1"));
+  }
+
+  /*
+   * A failed refresh keeps the old client, the pool never exceeds its maximum size
+   */
+  @Test
+  public void testFailuresAndMaxSize() throws Exception
+  {
+    var fail = new AtomicInteger();
+    var pool = newPool((t, u) -> {
+      if (fail.get() > 0) throw new IllegalStateException("create failed");
+      return new Object();
+    }, 2, 50, 10000, 10000);
+    Object c1 = pool.getClient("tenant1", "user1");
+    clock.addAndGet(100);
+    fail.set(1);
+    pool.refresh();
+    Assert.assertSame(pool.getClient("tenant1", "user1"), c1);
+    Assert.assertEquals(pool.getSnapshot().getCreateFailures(), 1);
+    fail.set(0);
+    pool.getClient("tenant1", "user2");
+    pool.getClient("tenant1", "user3");
+    Assert.assertEquals(pool.getSnapshot().getSize(), 2);
+    Assert.assertEquals(pool.getSnapshot().getEvicted(), 1);
+  }
+
+  /*
+   * Create a pool using the test clock and token, ages are in milliseconds
+   */
+  private ServiceClientPool<Object> newPool(ServiceClientPool.ClientFactory<Object> factory, int maxSize,
+                                            long refreshAge, long maxAge, long maxIdle)
+  {
+    clock.set(0);
+    token.set("jwt1");
+    return new ServiceClientPool<>("test", factory, token::get, maxSize, refreshAge, maxAge, maxIdle,
+                                   TimeUnit.MILLISECONDS, () -> TimeUnit.MILLISECONDS.toNanos(clock.get()));
+  }
+}
@@ -0,0 +1,91 @@
+package edu.utexas.tacc.tapis.apps.utils;
+
+import java.util.function.Supplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import edu.utexas.tacc.tapis.apps.BenchmarkUtils;
+import edu.utexas.tacc.tapis.apps.model.ParameterSet;
+import edu.utexas.tacc.tapis.shared.utils.TapisGsonUtils;
+
+import static edu.utexas.tacc.tapis.apps.IntegrationUtils.parameterSet1;
+
+/**
+ * Benchmarks for converting parameter_set jsonb column values.
+ * Compares the previous binding, which created a new Gson for every value and then converted the resulting tree
+ *   to the model, with the shared JsonbCodec tree conversion and the JsonbCodec streaming read.
+ * Only runs when benchmarks are enabled, see BenchmarkUtils.
+ */
+@Test(groups={"unit"})
+public class JsonbCodecBenchmarkTest
+{
+  private static final int WARMUP_ITERATIONS = 20000;
+  private static final int ITERATIONS = 100000;
+
+  private String parameterSetJson;
+  private JsonElement parameterSetTree;
+
+  @BeforeClass
+  public void setup()
+  {
+    BenchmarkUtils.checkEnabled();
+    System.out.println("Executing BeforeClass setup method: " + JsonbCodecBenchmarkTest.class.getSimpleName());
+    parameterSetJson = TapisGsonUtils.getGson().toJson(parameterSet1);
+    parameterSetTree = JsonbCodec.parse(parameterSetJson);
+    System.out.println("parameter_set payload size in chars: " + parameterSetJson.length());
+  }
+
+  /*
+   * Read a parameter_set value into a ParameterSet
+   */
+  @Test
+  public void benchmarkRead()
+  {
+    // Sanity check that all approaches give the same result
+    String expected = TapisGsonUtils.getGson().toJson(legacyRead(parameterSetJson));
+    Assert.assertEquals(TapisGsonUtils.getGson().toJson(treeRead(parameterSetJson)), expected);
+    Assert.assertEquals(TapisGsonUtils.getGson().toJson(JsonbCodec.read(parameterSetJson, ParameterSet.class)), expected);
+
+    run("read legacyBinding", () -> legacyRead(parameterSetJson));
+    run("read sharedTree", () -> treeRead(parameterSetJson));
+    run("read streaming", () -> JsonbCodec.read(parameterSetJson, ParameterSet.class));
+  }
+
+  /*
+   * Write a parameter_set tree as jsonb text
+   */
+  @Test
+  public void benchmarkWrite()
+  {
+    Assert.assertEquals(JsonbCodec.toJson(parameterSetTree), new Gson().toJson(parameterSetTree));
+
+    run("write legacyBinding", () -> new Gson().toJson(parameterSetTree));
+    run("write shared", () -> JsonbCodec.toJson(parameterSetTree));
+  }
+
+  /* ********************************************************************** */
+  /*                             Private Methods                            */
+  /* ********************************************************************** */
+
+  // Previous binding conversion followed by the previous DAO conversion to the model
+  private static ParameterSet legacyRead(String json)
+  {
+    JsonElement tree = new Gson().fromJson(json, JsonElement.class);
+    return TapisGsonUtils.getGson().fromJson(tree, ParameterSet.class);
+  }
+
+  // Current binding conversion followed by conversion of the tree to the model
+  private static ParameterSet treeRead(String json)
+  {
+    return TapisGsonUtils.getGson().fromJson(JsonbCodec.parse(json), ParameterSet.class);
+  }
+
+  private static void run(String label, Supplier<Object> op)
+  {
+    BenchmarkUtils.run("JsonbCodec " + label, WARMUP_ITERATIONS, ITERATIONS, op);
+  }
+}
@@ -0,0 +1,134 @@
+package edu.utexas.tacc.tapis.apps.utils;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for TtlCache, used to hold authorization decisions and systems.
+ */
+@Test(groups={"unit"})
+public class TtlCacheTest
+{
+  @Test
+  public void testGetPut()
+  {
+    var cache = new TtlCache<String, Boolean>(10, 1, TimeUnit.MINUTES);
+    Assert.assertNull(cache.get("k1"));
+    cache.put("k1", true, cache.getGeneration());
+    cache.put("k2", false, cache.getGeneration());
+    Assert.assertEquals(cache.get("k1"), Boolean.TRUE);
+    Assert.assertEquals(cache.get("k2"), Boolean.FALSE);
+    var snapshot = cache.getSnapshot();
+    Assert.assertEquals(snapshot.getSize(), 2);
+    Assert.assertEquals(snapshot.getHits(), 2);
+    Assert.assertEquals(snapshot.getMisses(), 1);
+  }
+
+  @Test
+  public void testExpiry() throws Exception
+  {
+    var cache = new TtlCache<String, Boolean>(10, 50, TimeUnit.MILLISECONDS);
+    cache.put("k1", true, cache.getGeneration());
+    Assert.assertEquals(cache.get("k1"), Boolean.TRUE);
+    Thread.sleep(100);
+    Assert.assertNull(cache.get("k1"));
+    Assert.assertEquals(cache.getSnapshot().getSize(), 0);
+  }
+
+  @Test
+  public void testMaxSize()
+  {
+    var cache = new TtlCache<Integer, Boolean>(5, 1, TimeUnit.MINUTES);
+    for (int i = 0; i < 20; i++) { cache.put(i, true, cache.getGeneration()); }
+    var snapshot = cache.getSnapshot();
+    Assert.assertTrue(snapshot.getSize() <= 5, "Cache exceeded max size: " + snapshot.getSize());
+    Assert.assertEquals(snapshot.getEvictions(), 15);
+    Assert.assertEquals(cache.get(19), Boolean.TRUE);
+  }
+
+  /*
+   * When full the least recently used entry must be evicted
+   */
+  @Test
+  public void testEvictLeastRecentlyUsed()
+  {
+    var cache = new TtlCache<Integer, Boolean>(3, 1, TimeUnit.MINUTES);
+    for (int i = 0; i < 3; i++) { cache.put(i, true, cache.getGeneration()); }
+    // Reading 0 makes 1 the least recently used
+    Assert.assertEquals(cache.get(0), Boolean.TRUE);
+    cache.put(3, true, cache.getGeneration());
+    Assert.assertNull(cache.get(1));
+    Assert.assertEquals(cache.get(0), Boolean.TRUE);
+    Assert.assertEquals(cache.get(2), Boolean.TRUE);
+    Assert.assertEquals(cache.get(3), Boolean.TRUE);
+    Assert.assertEquals(cache.getSnapshot().getEvictions(), 1);
+  }
+
+  @Test
+  public void testInvalidate()
+  {
+    var cache = new TtlCache<String, Boolean>(10, 1, TimeUnit.MINUTES);
+    cache.put("app1:user1", true, cache.getGeneration());
+    cache.put("app2:user1", true, cache.getGeneration());
+    cache.invalidateIf(k -> k.startsWith("app1:"));
+    Assert.assertNull(cache.get("app1:user1"));
+    Assert.assertEquals(cache.get("app2:user1"), Boolean.TRUE);
+    cache.invalidateAll();
+    Assert.assertNull(cache.get("app2:user1"));
+    Assert.assertEquals(cache.getSnapshot().getInvalidations(), 2);
+  }
+
+  /*
+   * Concurrent callers must all get the value created by the first caller
+   */
+  @Test
+  public void testGetOrCreate() throws Exception
+  {
+    var cache = new TtlCache<String, Object>(10, 1, TimeUnit.MINUTES);
+    var created = new AtomicInteger();
+    var executor = Executors.newFixedThreadPool(8);
+    try
+    {
+      var futures = new ArrayList<Future<Object>>();
+      for (int i = 0; i < 50; i++)
+      {
+        futures.add(executor.submit(() -> cache.getOrCreate("k1", () -> { created.incrementAndGet(); return new Object(); })));
+      }
+      Object first = futures.get(0).get();
+      for (Future<Object> f : futures) { Assert.assertSame(f.get(), first); }
+    }
+    finally { executor.shutdownNow(); }
+    Assert.assertEquals(created.get(), 1);
+    var snapshot = cache.getSnapshot();
+    Assert.assertEquals(snapshot.getMisses(), 1);
+    Assert.assertEquals(snapshot.getHits(), 49);
+
+    // Remove only if the value matches
+    Object value = cache.get("k1");
+    cache.remove("k1", new Object());
+    Assert.assertSame(cache.get("k1"), value);
+    cache.remove("k1", value);
+    Assert.assertNull(cache.get("k1"));
+  }
+
+  /*
+   * A value loaded before an invalidation must not be stored
+   */
+  @Test
+  public void testStaleLoadDropped()
+  {
+    var cache = new TtlCache<String, Boolean>(10, 1, TimeUnit.MINUTES);
+    long generation = cache.getGeneration();
+    cache.invalidateIf(k -> true);
+    cache.put("k1", true, generation);
+    Assert.assertNull(cache.get("k1"));
+    cache.put("k1", true, cache.getGeneration());
+    Assert.assertEquals(cache.get("k1"), Boolean.TRUE);
+  }
+}